@@ -36,6 +36,7 @@ import org.slf4j.LoggerFactory;
 import java.lang.annotation.Annotation;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.stream.Collectors;
 
 /**
@@ -52,18 +53,26 @@ import java.util.stream.Collectors;
 @Internal
 public class InterceptorChain<B, R> implements InvocationContext<B, R> {
     private static final Logger LOG = LoggerFactory.getLogger(InterceptorChain.class);
+    private static final AtomicReferenceFieldUpdater<InterceptorChain, MutableConvertibleValues> ATTRIBUTES =
+            AtomicReferenceFieldUpdater.newUpdater(InterceptorChain.class, MutableConvertibleValues.class, "attributes");
+    private static final AtomicReferenceFieldUpdater<InterceptorChain, Map> PARAMETERS =
+            AtomicReferenceFieldUpdater.newUpdater(InterceptorChain.class, Map.class, "parameters");
 
     protected final Interceptor<B, R>[] interceptors;
     protected final B target;
     protected final ExecutableMethod<B, R> executionHandle;
-    protected final MutableConvertibleValues attributes = MutableConvertibleValues.of(new ConcurrentHashMap<>());
-    protected final Map<String, MutableArgumentValue<?>> parameters = new LinkedHashMap<>();
+    protected final Object[] originalParameters;
 
-    private int index = 0;
+    // created on the first call to getAttributes() and getParameters(), which subclasses must use instead
+    private volatile MutableConvertibleValues<Object> attributes;
+    private volatile Map<String, MutableArgumentValue<?>> parameters;
 
+    private int index = 0;
 
     /**
-     * Constructor.
+     * Constructor. The interceptors array is not copied, so the array resolved once per method can be shared by all
+     * invocations of the method. The parameters are only wrapped in {@link MutableArgumentValue} instances if an
+     * interceptor requests them through {@link #getParameters()}.
      *
      * @param interceptors array of interceptors
      * @param target target type
@@ -79,22 +88,8 @@ public class InterceptorChain<B, R> implements InvocationContext<B, R> {
         }
         this.target = target;
         this.executionHandle = method;
-        this.interceptors = new Interceptor[interceptors.length + 1];
-        System.arraycopy(interceptors, 0, this.interceptors, 0, interceptors.length);
-        boolean isIntroduction = target instanceof Introduced;
-        if (isIntroduction) {
-            this.interceptors[this.interceptors.length - 1] = context -> {
-                throw new UnimplementedAdviceException(method);
-            };
-        } else {
-            this.interceptors[this.interceptors.length - 1] = context -> method.invoke(target, getParameterValues());
-        }
-        Argument[] arguments = method.getArguments();
-        for (int i = 0; i < arguments.length; i++) {
-            Argument argument = method.getArguments()[i];
-            Object value = originalParameters[i];
-            parameters.put(argument.getName(), MutableArgumentValue.create(argument, value));
-        }
+        this.interceptors = interceptors;
+        this.originalParameters = originalParameters;
     }
 
     @Override
@@ -104,6 +99,11 @@ public class InterceptorChain<B, R> implements InvocationContext<B, R> {
 
     @Override
     public MutableConvertibleValues<Object> getAttributes() {
+        MutableConvertibleValues<Object> attributes = this.attributes;
+        if (attributes == null) {
+            ATTRIBUTES.compareAndSet(this, null, MutableConvertibleValues.of(new ConcurrentHashMap<>()));
+            attributes = this.attributes;
+        }
         return attributes;
     }
 
@@ -114,9 +114,41 @@ public class InterceptorChain<B, R> implements InvocationContext<B, R> {
 
     @Override
     public Map<String, MutableArgumentValue<?>> getParameters() {
+        Map<String, MutableArgumentValue<?>> parameters = this.parameters;
+        if (parameters == null) {
+            Argument[] arguments = executionHandle.getArguments();
+            parameters = new LinkedHashMap<>(arguments.length);
+            for (int i = 0; i < arguments.length; i++) {
+                Argument argument = arguments[i];
+                parameters.put(argument.getName(), MutableArgumentValue.create(argument, originalParameters[i]));
+            }
+            PARAMETERS.compareAndSet(this, null, parameters);
+            parameters = this.parameters;
+        }
         return parameters;
     }
 
+    @Override
+    public Object[] getParameterValues() {
+        if (parameters == null) {
+            return Arrays.copyOf(originalParameters, executionHandle.getArguments().length);
+        }
+        return InvocationContext.super.getParameterValues();
+    }
+
+    @Override
+    public Map<String, Object> getParameterValueMap() {
+        if (parameters == null) {
+            Argument[] arguments = executionHandle.getArguments();
+            Map<String, Object> valueMap = new LinkedHashMap<>(arguments.length);
+            for (int i = 0; i < arguments.length; i++) {
+                valueMap.put(arguments[i].getName(), originalParameters[i]);
+            }
+            return valueMap;
+        }
+        return InvocationContext.super.getParameterValueMap();
+    }
+
     @Override
     public R invoke(B instance, Object... arguments) {
         return proceed();
@@ -129,17 +161,13 @@ public class InterceptorChain<B, R> implements InvocationContext<B, R> {
 
     @Override
     public R proceed() throws RuntimeException {
-        Interceptor<B, R> interceptor;
-        int len = this.interceptors.length;
-        if (len == 0) {
-            throw new IllegalStateException("At least one interceptor is required when calling proceed on the interceptor chain!");
-        }
-        int size = len - 1;
-        if (index == size) {
-            interceptor = this.interceptors[size];
-        } else {
-            interceptor = this.interceptors[index++];
+        if (index == interceptors.length) {
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Proceeded to target of interceptor chain for method invocation: {}", executionHandle);
+            }
+            return invokeTarget();
         }
+        Interceptor<B, R> interceptor = this.interceptors[index++];
         if (LOG.isTraceEnabled()) {
             LOG.trace("Proceeded to next interceptor [{}] in chain for method invocation: {}", interceptor, executionHandle);
         }
@@ -160,6 +188,20 @@ public class InterceptorChain<B, R> implements InvocationContext<B, R> {
         throw new IllegalArgumentException("Argument [" + from + "] is not within the interceptor chain");
     }
 
+    private R invokeTarget() {
+        if (target instanceof Introduced) {
+            throw new UnimplementedAdviceException(executionHandle);
+        }
+        Object[] parameterValues;
+        if (parameters == null && originalParameters.length == executionHandle.getArguments().length) {
+            // no interceptor has requested the parameters so they cannot have been changed
+            parameterValues = originalParameters;
+        } else {
+            parameterValues = getParameterValues();
+        }
+        return executionHandle.invoke(target, parameterValues);
+    }
+
     /**
      * Resolves the {@link Around} interceptors for a method.
      *
@@ -120,6 +120,8 @@ public class AopProxyWriter extends AbstractClassFileWriter implements ProxyingB
     private static final Type FIELD_TYPE_PROXY_METHODS = Type.getType(ExecutableMethod[].class);
     private static final Type EXECUTABLE_METHOD_TYPE = Type.getType(ExecutableMethod.class);
     private static final Type INTERCEPTOR_ARRAY_TYPE = Type.getType(Interceptor[].class);
+    private static final Type TYPE_ARRAY_UTILS = Type.getType(ArrayUtils.class);
+    private static final Type TYPE_OBJECT_ARRAY = Type.getType(Object[].class);
 
     private final String packageName;
     private final String targetClassShortName;
@@ -524,17 +526,22 @@ public class AopProxyWriter extends AbstractClassFileWriter implements ProxyingB
         overriddenMethodGenerator.loadLocal(methodProxyVar);
 
         // fourth argument: array of the argument values
-        overriddenMethodGenerator.push(argumentCount);
-        overriddenMethodGenerator.newArray(Type.getType(Object.class));
-
-        // now pass the remaining arguments from the original method
-        for (int i = 0; i < argumentCount; i++) {
-            overriddenMethodGenerator.dup();
-            Object argType = argumentTypeList.get(i);
-            overriddenMethodGenerator.push(i);
-            overriddenMethodGenerator.loadArg(i);
-            pushBoxPrimitiveIfNecessary(argType, overriddenMethodGenerator);
-            overriddenMethodGenerator.visitInsn(AASTORE);
+        if (argumentCount == 0) {
+            // ie ArrayUtils.EMPTY_OBJECT_ARRAY, the chain never writes to the array
+            overriddenMethodGenerator.getStatic(TYPE_ARRAY_UTILS, "EMPTY_OBJECT_ARRAY", TYPE_OBJECT_ARRAY);
+        } else {
+            overriddenMethodGenerator.push(argumentCount);
+            overriddenMethodGenerator.newArray(Type.getType(Object.class));
+
+            // now pass the remaining arguments from the original method
+            for (int i = 0; i < argumentCount; i++) {
+                overriddenMethodGenerator.dup();
+                Object argType = argumentTypeList.get(i);
+                overriddenMethodGenerator.push(i);
+                overriddenMethodGenerator.loadArg(i);
+                pushBoxPrimitiveIfNecessary(argType, overriddenMethodGenerator);
+                overriddenMethodGenerator.visitInsn(AASTORE);
+            }
         }
 
         // invoke MethodInterceptorChain constructor
@@ -55,6 +55,42 @@ class InterceptorChainSpec extends Specification {
         chain.getAttributes().get("invoked", List).get() == [1,2,3]
     }
 
+    void "test parameters are passed to the target unchanged when no interceptor reads them"() {
+        given:
+        Object[] received = null
+        def executionHandle = Mock(ExecutableMethod)
+        executionHandle.getArguments() >> ([Argument.of(String, "name")] as Argument[])
+        executionHandle.invoke(_, _) >> { args -> received = args[1]; "good" }
+        Object[] parameters = ["original"] as Object[]
+        InterceptorChain chain = new InterceptorChain([new OneInterceptor()] as Interceptor[], this, executionHandle, parameters)
+
+        when:
+        def result = chain.proceed()
+
+        then:
+        result == "good"
+        received.is(parameters)
+        chain.getParameterValueMap() == [name: "original"]
+    }
+
+    void "test parameters changed by an interceptor are passed to the target"() {
+        given:
+        Object[] received = null
+        def executionHandle = Mock(ExecutableMethod)
+        executionHandle.getArguments() >> ([Argument.of(String, "name")] as Argument[])
+        executionHandle.invoke(_, _) >> { args -> received = args[1]; "good" }
+        Object[] parameters = ["original"] as Object[]
+        InterceptorChain chain = new InterceptorChain([new ArgMutating()] as Interceptor[], this, executionHandle, parameters)
+
+        when:
+        chain.proceed()
+
+        then:
+        received == ["changed"] as Object[]
+        parameters == ["original"] as Object[]
+        chain.getParameterValues() == ["changed"] as Object[]
+    }
+
     @CompileStatic
     private sort(Interceptor[] interceptors) {
         OrderUtil.sort((Interceptor[]) interceptors)
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.core.beans;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.annotation.UsedByGeneratedCode;
+import io.micronaut.core.reflect.exception.InstantiationException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Base class for the {@link BeanIntrospection} implementations generated at compilation time. Subclasses read, write
+ * and instantiate the bean directly and identify properties by their index.
+ *
+ * @param <T> The bean type
+ * @author graemerocher
+ * @since 1.0
+ */
+@Internal
+@UsedByGeneratedCode
+public abstract class AbstractBeanIntrospection<T> implements BeanIntrospection<T> {
+
+    private final Class<T> beanType;
+    private final boolean instantiable;
+    private final List<BeanProperty<T, Object>> properties;
+    private final Map<String, BeanProperty<T, Object>> propertiesByName;
+
+    /**
+     * @param beanType      The bean type
+     * @param propertyNames The property names
+     * @param propertyTypes The property types
+     * @param readable      Whether each property is readable
+     * @param writable      Whether each property is writable
+     * @param instantiable  Whether the bean has a public no-argument constructor
+     */
+    @SuppressWarnings("unchecked")
+    protected AbstractBeanIntrospection(
+            Class<T> beanType,
+            String[] propertyNames,
+            Class[] propertyTypes,
+            boolean[] readable,
+            boolean[] writable,
+            boolean instantiable) {
+        this.beanType = beanType;
+        this.instantiable = instantiable;
+        List<BeanProperty<T, Object>> properties = new ArrayList<>(propertyNames.length);
+        Map<String, BeanProperty<T, Object>> propertiesByName = new HashMap<>(propertyNames.length * 2);
+        for (int i = 0; i < propertyNames.length; i++) {
+            BeanProperty<T, Object> property = new IndexedBeanProperty(i, propertyNames[i], propertyTypes[i], readable[i], writable[i]);
+            properties.add(property);
+            propertiesByName.put(propertyNames[i], property);
+        }
+        this.properties = Collections.unmodifiableList(properties);
+        this.propertiesByName = propertiesByName;
+    }
+
+    @Override
+    public Class<T> getBeanType() {
+        return beanType;
+    }
+
+    @Override
+    public Collection<BeanProperty<T, Object>> getBeanProperties() {
+        return properties;
+    }
+
+    @Override
+    public Optional<BeanProperty<T, Object>> getProperty(String name) {
+        return Optional.ofNullable(propertiesByName.get(name));
+    }
+
+    @Override
+    public boolean isInstantiable() {
+        return instantiable;
+    }
+
+    @Override
+    public T instantiate() {
+        if (!instantiable) {
+            throw new InstantiationException("Type [" + beanType.getName() + "] has no public no-argument constructor");
+        }
+        return instantiateInternal();
+    }
+
+    /**
+     * Reads a readable property.
+     *
+     * @param bean  The bean
+     * @param index The index of the property
+     * @return The value, boxed if the property is primitive
+     */
+    @UsedByGeneratedCode
+    protected abstract Object readInternal(T bean, int index);
+
+    /**
+     * Writes a writable property.
+     *
+     * @param bean  The bean
+     * @param index The index of the property
+     * @param value The value
+     */
+    @UsedByGeneratedCode
+    protected abstract void writeInternal(T bean, int index, Object value);
+
+    /**
+     * Creates an instance with the public no-argument constructor. Only invoked if the bean is instantiable.
+     *
+     * @return The new instance
+     */
+    @UsedByGeneratedCode
+    protected abstract T instantiateInternal();
+
+    /**
+     * A property that delegates to the read and write methods of the introspection.
+     */
+    private final class IndexedBeanProperty implements BeanProperty<T, Object> {
+
+        private final int index;
+        private final String name;
+        private final Class<Object> type;
+        private final boolean readable;
+        private final boolean writable;
+
+        private IndexedBeanProperty(int index, String name, Class<Object> type, boolean readable, boolean writable) {
+            this.index = index;
+            this.name = name;
+            this.type = type;
+            this.readable = readable;
+            this.writable = writable;
+        }
+
+        @Override
+        public BeanIntrospection<T> getDeclaringIntrospection() {
+            return AbstractBeanIntrospection.this;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Class<Object> getType() {
+            return type;
+        }
+
+        @Override
+        public boolean isReadable() {
+            return readable;
+        }
+
+        @Override
+        public boolean isWritable() {
+            return writable;
+        }
+
+        @Override
+        public Object get(T bean) {
+            if (!readable) {
+                throw new UnsupportedOperationException("Property [" + name + "] of type [" + beanType.getName() + "] is not readable");
+            }
+            return readInternal(bean, index);
+        }
+
+        @Override
+        public void set(T bean, Object value) {
+            if (!writable) {
+                throw new UnsupportedOperationException("Property [" + name + "] of type [" + beanType.getName() + "] is not writable");
+            }
+            writeInternal(bean, index, value);
+        }
+
+        @Override
+        public String toString() {
+            return beanType.getName() + "." + name;
+        }
+    }
+}
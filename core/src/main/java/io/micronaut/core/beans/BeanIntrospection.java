@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.core.beans;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * <p>Provides access to the properties and the default constructor of a bean without reflection.</p>
+ *
+ * <p>Implementations are generated at compilation time for types annotated with
+ * {@link io.micronaut.core.annotation.Introspected} and are obtained with {@link BeanIntrospector}.</p>
+ *
+ * @param <T> The bean type
+ * @author graemerocher
+ * @since 1.0
+ */
+public interface BeanIntrospection<T> {
+
+    /**
+     * @return The bean type
+     */
+    Class<T> getBeanType();
+
+    /**
+     * @return The properties of the bean, in declaration order
+     */
+    Collection<BeanProperty<T, Object>> getBeanProperties();
+
+    /**
+     * @param name The property name
+     * @return The property or {@link Optional#empty()} if the bean has no such property
+     */
+    Optional<BeanProperty<T, Object>> getProperty(String name);
+
+    /**
+     * @return Whether the bean has a public no-argument constructor
+     */
+    boolean isInstantiable();
+
+    /**
+     * Creates a new instance of the bean with its public no-argument constructor.
+     *
+     * @return The new instance
+     * @throws io.micronaut.core.reflect.exception.InstantiationException If the bean has no public no-argument constructor
+     */
+    T instantiate();
+}
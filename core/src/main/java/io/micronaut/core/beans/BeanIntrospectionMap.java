@@ -0,0 +1,154 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.core.beans;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.convert.ConversionService;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link BeanMap} implementation that reads and writes properties with a {@link BeanIntrospection}.
+ *
+ * @param <T> The bean type
+ * @author graemerocher
+ * @since 1.0
+ */
+@Internal
+class BeanIntrospectionMap<T> implements BeanMap<T> {
+
+    private final BeanIntrospection<T> introspection;
+    private final T bean;
+
+    /**
+     * @param introspection The introspection of the bean type
+     * @param bean          The bean
+     */
+    BeanIntrospectionMap(BeanIntrospection<T> introspection, T bean) {
+        Objects.requireNonNull(bean, "Bean cannot be null");
+        this.introspection = introspection;
+        this.bean = bean;
+    }
+
+    @Override
+    public Class<T> getBeanType() {
+        return introspection.getBeanType();
+    }
+
+    @Override
+    public int size() {
+        return keySet().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return keySet().isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String && introspection.getProperty((String) key).map(BeanProperty::isReadable).orElse(false);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return values().contains(value);
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (key instanceof String) {
+            Optional<BeanProperty<T, Object>> property = introspection.getProperty((String) key);
+            if (property.isPresent() && property.get().isReadable()) {
+                return property.get().get(bean);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Optional<BeanProperty<T, Object>> property = introspection.getProperty(key);
+        if (property.isPresent() && property.get().isWritable()) {
+            BeanProperty<T, Object> beanProperty = property.get();
+            Optional<?> converted = ConversionService.SHARED.convert(value, beanProperty.getType());
+            if (converted.isPresent()) {
+                beanProperty.set(bean, converted.get());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        throw new UnsupportedOperationException("Removal is not supported");
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> m) {
+        for (Entry<? extends String, ?> entry : m.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("Removal is not supported");
+    }
+
+    @Override
+    public Set<String> keySet() {
+        Set<String> keys = new LinkedHashSet<>();
+        for (BeanProperty<T, Object> property : introspection.getBeanProperties()) {
+            if (property.isReadable()) {
+                keys.add(property.getName());
+            }
+        }
+        return keys;
+    }
+
+    @Override
+    public Collection<Object> values() {
+        return keySet().stream().map(this::get).collect(Collectors.toList());
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return keySet().stream().map(key -> new Entry<String, Object>() {
+            @Override
+            public String getKey() {
+                return key;
+            }
+
+            @Override
+            public Object getValue() {
+                return get(key);
+            }
+
+            @Override
+            public Object setValue(Object value) {
+                return put(key, value);
+            }
+        }).collect(Collectors.toSet());
+    }
+}
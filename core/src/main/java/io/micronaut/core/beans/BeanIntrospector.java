@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.core.beans;
+
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.core.reflect.ClassUtils;
+import io.micronaut.core.reflect.InstantiationUtils;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Locates the {@link BeanIntrospection} generated for a type annotated with {@link Introspected}. The introspection
+ * of a type is loaded once and then cached.
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+public final class BeanIntrospector {
+
+    /**
+     * Suffix for generated introspection classes.
+     */
+    public static final String CLASS_SUFFIX = "Introspection";
+
+    private static final Map<Class<?>, Optional<BeanIntrospection<?>>> INTROSPECTIONS = new ConcurrentHashMap<>();
+
+    private BeanIntrospector() {
+    }
+
+    /**
+     * Find the introspection for the given type.
+     *
+     * @param beanType The bean type
+     * @param <T>      The bean type
+     * @return The introspection or {@link Optional#empty()} if the type is not annotated with {@link Introspected}
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Optional<BeanIntrospection<T>> findIntrospection(Class<T> beanType) {
+        Optional<BeanIntrospection<?>> introspection = INTROSPECTIONS.get(beanType);
+        if (introspection == null) {
+            introspection = INTROSPECTIONS.computeIfAbsent(beanType, BeanIntrospector::loadIntrospection);
+        }
+        return (Optional) introspection;
+    }
+
+    /**
+     * Computes the name of the introspection class generated for a bean class. The introspection is generated in the
+     * package of the bean.
+     *
+     * @param beanClassName The binary name of the bean class
+     * @return The name of the introspection class
+     */
+    public static String getIntrospectionClassName(String beanClassName) {
+        int i = beanClassName.lastIndexOf('.');
+        if (i > -1) {
+            return beanClassName.substring(0, i + 1) + '$' + beanClassName.substring(i + 1) + CLASS_SUFFIX;
+        }
+        return '$' + beanClassName + CLASS_SUFFIX;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Optional<BeanIntrospection<?>> loadIntrospection(Class<?> beanType) {
+        if (!beanType.isAnnotationPresent(Introspected.class)) {
+            return Optional.empty();
+        }
+        return ClassUtils.forName(getIntrospectionClassName(beanType.getName()), beanType.getClassLoader())
+                .flatMap(InstantiationUtils::tryInstantiate)
+                .filter(BeanIntrospection.class::isInstance)
+                .map(BeanIntrospection.class::cast);
+    }
+}
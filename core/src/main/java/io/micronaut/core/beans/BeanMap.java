@@ -17,6 +17,8 @@
 package io.micronaut.core.beans;
 
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Simple class that provides a map interface over a bean.
@@ -32,13 +34,20 @@ public interface BeanMap<T> extends Map<String, Object> {
     Class<T> getBeanType();
 
     /**
-     * Creates a {@link BeanMap} for the given bean.
+     * Creates a {@link BeanMap} for the given bean. Beans annotated with {@link io.micronaut.core.annotation.Introspected}
+     * are accessed through their generated {@link BeanIntrospection}, other beans through reflection.
      *
      * @param bean The bean
      * @param <B> type Generic
      * @return The bean map
      */
+    @SuppressWarnings("unchecked")
     static <B> BeanMap<B> of(B bean) {
+        Objects.requireNonNull(bean, "Bean cannot be null");
+        Optional<BeanIntrospection<B>> introspection = BeanIntrospector.findIntrospection((Class<B>) bean.getClass());
+        if (introspection.isPresent()) {
+            return new BeanIntrospectionMap<>(introspection.get(), bean);
+        }
         return new ReflectionBeanMap<>(bean);
     }
 }
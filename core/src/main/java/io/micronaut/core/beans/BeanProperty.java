@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.core.beans;
+
+import io.micronaut.core.naming.Named;
+
+import javax.annotation.Nullable;
+
+/**
+ * A property of a bean that is read and written without reflection.
+ *
+ * @param <B> The bean type
+ * @param <T> The property type
+ * @author graemerocher
+ * @since 1.0
+ */
+public interface BeanProperty<B, T> extends Named {
+
+    /**
+     * @return The bean introspection that declares this property
+     */
+    BeanIntrospection<B> getDeclaringIntrospection();
+
+    /**
+     * @return The property type. Primitive properties report their primitive type.
+     */
+    Class<T> getType();
+
+    /**
+     * @return Whether the property has a public getter
+     */
+    boolean isReadable();
+
+    /**
+     * @return Whether the property has a public setter
+     */
+    boolean isWritable();
+
+    /**
+     * Reads the property from the given bean.
+     *
+     * @param bean The bean
+     * @return The value
+     * @throws UnsupportedOperationException If the property is not readable
+     */
+    @Nullable T get(B bean);
+
+    /**
+     * Writes the property of the given bean. The value must be an instance of the property type, or of its wrapper
+     * type for primitive properties.
+     *
+     * @param bean  The bean
+     * @param value The value
+     * @throws UnsupportedOperationException If the property is not writable
+     */
+    void set(B bean, @Nullable T value);
+}
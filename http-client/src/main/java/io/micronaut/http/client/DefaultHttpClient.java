@@ -37,6 +37,7 @@ import io.micronaut.core.order.OrderUtil;
 import io.micronaut.core.reflect.InstantiationUtils;
 import io.micronaut.core.type.Argument;
 import io.micronaut.core.util.*;
+import io.micronaut.discovery.ServiceInstance;
 import io.micronaut.http.HttpResponseWrapper;
 import io.micronaut.http.HttpStatus;
 import io.micronaut.http.MediaType;
@@ -59,6 +60,7 @@ import io.micronaut.http.filter.HttpClientFilter;
 import io.micronaut.http.multipart.MultipartException;
 import io.micronaut.http.netty.NettyHttpHeaders;
 import io.micronaut.http.netty.channel.NettyThreadFactory;
+import io.micronaut.http.netty.channel.NettyTransport;
 import io.micronaut.http.netty.content.HttpContentUtil;
 import io.micronaut.http.netty.stream.HttpStreamsClientHandler;
 import io.micronaut.http.netty.stream.StreamedHttpResponse;
@@ -69,6 +71,8 @@ import io.micronaut.jackson.ObjectMapperFactory;
 import io.micronaut.jackson.codec.JsonMediaTypeCodec;
 import io.micronaut.jackson.codec.JsonStreamMediaTypeCodec;
 import io.micronaut.jackson.parser.JacksonProcessor;
+import io.micronaut.metrics.Gauge;
+import io.micronaut.metrics.MetricRegistry;
 import io.micronaut.runtime.ApplicationConfiguration;
 import io.micronaut.websocket.RxWebSocketClient;
 import io.micronaut.websocket.annotation.ClientWebSocket;
@@ -79,9 +83,7 @@ import io.micronaut.websocket.exceptions.WebSocketSessionException;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.*;
 import io.netty.channel.*;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.pool.*;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.LineBasedFrameDecoder;
 import io.netty.handler.codec.TooLongFrameException;
 import io.netty.handler.codec.http.*;
@@ -90,8 +92,13 @@ import io.netty.handler.codec.http.multipart.HttpDataFactory;
 import io.netty.handler.codec.http.multipart.HttpPostRequestEncoder;
 import io.netty.handler.codec.http.websocketx.WebSocketClientHandshakerFactory;
 import io.netty.handler.codec.http.websocketx.WebSocketVersion;
+import io.netty.handler.codec.http2.Http2MultiplexCodecBuilder;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
 import io.netty.handler.proxy.HttpProxyHandler;
 import io.netty.handler.proxy.Socks5ProxyHandler;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.stream.ChunkedWriteHandler;
@@ -102,6 +109,7 @@ import io.netty.util.CharsetUtil;
 import io.netty.util.ReferenceCountUtil;
 import io.netty.util.concurrent.DefaultThreadFactory;
 import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
 import io.reactivex.*;
 import io.reactivex.disposables.Disposable;
 import io.reactivex.functions.Cancellable;
@@ -129,7 +137,9 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
@@ -164,6 +174,9 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
     private static final int DEFAULT_HTTP_PORT = 80;
     private static final int DEFAULT_HTTPS_PORT = 443;
     private static final String HANDLER_HTTP_CLIENT_INIT = "handler-http-client-init";
+    private static final String HANDLER_HTTP2_CONNECTION = "handler-http2-connection";
+    private static final String HANDLER_HTTP2_STREAM_CODEC = "handler-http2-stream-codec";
+    private static final String HANDLER_HTTP2_PING = "handler-http2-ping";
 
     protected final Bootstrap bootstrap;
     protected EventLoopGroup group;
@@ -175,6 +188,7 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
     private final HttpClientConfiguration configuration;
     private final String contextPath;
     private final SslContext sslContext;
+    private final SslContext http2SslContext;
     private final AnnotationMetadataResolver annotationMetadataResolver;
     private final ThreadFactory threadFactory;
 
@@ -187,6 +201,7 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
     private Set<String> clientIdentifiers = Collections.emptySet();
     private WebSocketBeanRegistry webSocketRegistry = WebSocketBeanRegistry.EMPTY;
     private RequestBinderRegistry requestBinderRegistry;
+    private MetricRegistry metricRegistry;
 
     /**
      * Construct a client for the given arguments.
@@ -243,16 +258,27 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
         this.scheduler = Schedulers.from(group);
         this.threadFactory = threadFactory;
         this.bootstrap.group(group)
-                .channel(NioSocketChannel.class)
+                .channel(configuration.getTransport().getSocketChannelClass())
                 .option(ChannelOption.SO_KEEPALIVE, true);
 
         Optional<Duration> readTimeout = configuration.getReadTimeout();
         this.readTimeoutMillis = readTimeout.map(duration -> !duration.isNegative() ? duration.toMillis() : null).orElse(null);
 
         HttpClientConfiguration.ConnectionPoolConfiguration connectionPoolConfiguration = configuration.getConnectionPoolConfiguration();
+        boolean http2 = connectionPoolConfiguration.isEnabled() && connectionPoolConfiguration.isHttp2();
+        this.http2SslContext = http2 ? nettyClientSslBuilder.build(true).orElse(null) : null;
         if (connectionPoolConfiguration.isEnabled()) {
             int maxConnections = connectionPoolConfiguration.getMaxConnections();
-            if (maxConnections > -1) {
+            if (http2) {
+                poolMap = new AbstractChannelPoolMap<RequestKey, ChannelPool>() {
+                    @Override
+                    protected ChannelPool newPool(RequestKey key) {
+                        Bootstrap newBootstrap = bootstrap.clone(group);
+                        newBootstrap.remoteAddress(key.getRemoteAddress());
+                        return instrumentPool(key, newHttp2Pool(key, newBootstrap, connectionPoolConfiguration));
+                    }
+                };
+            } else if (maxConnections > -1) {
                 poolMap = new AbstractChannelPoolMap<RequestKey, ChannelPool>() {
                     @Override
                     protected ChannelPool newPool(RequestKey key) {
@@ -262,7 +288,7 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
 
                         AbstractChannelPoolHandler channelPoolHandler = newPoolHandler(key);
                         final Long acquireTimeoutMillis = connectionPoolConfiguration.getAcquireTimeout().map(Duration::toMillis).orElse(-1L);
-                        return new FixedChannelPool(
+                        return instrumentPool(key, new FixedChannelPool(
                                 newBootstrap,
                                 channelPoolHandler,
                                 ChannelHealthChecker.ACTIVE,
@@ -271,7 +297,7 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
                                 maxConnections,
                                 connectionPoolConfiguration.getMaxPendingAcquires()
 
-                        );
+                        ));
                     }
                 };
             } else {
@@ -281,10 +307,10 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
                         Bootstrap newBootstrap = bootstrap.clone(group);
                         newBootstrap.remoteAddress(key.getRemoteAddress());
                         AbstractChannelPoolHandler channelPoolHandler = newPoolHandler(key);
-                        return new SimpleChannelPool(
+                        return instrumentPool(key, new SimpleChannelPool(
                                 newBootstrap,
                                 channelPoolHandler
-                        );
+                        ));
                     }
                 };
             }
@@ -701,9 +727,33 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
     @Override
     public <I, O, E> Flowable<io.micronaut.http.HttpResponse<O>> exchange(io.micronaut.http.HttpRequest<I> request, Argument<O> bodyType, Argument<E> errorType) {
         final io.micronaut.http.HttpRequest<Object> parentRequest = ServerRequestContext.currentRequest().orElse(null);
-        Publisher<URI> uriPublisher = resolveRequestURI(request);
-        return Flowable.fromPublisher(uriPublisher)
-                .switchMap(buildExchangePublisher(parentRequest, request, bodyType, errorType));
+        Function<URI, Publisher<? extends io.micronaut.http.HttpResponse<O>>> exchange = buildExchangePublisher(parentRequest, request, bodyType, errorType);
+        if (request.getUri().getScheme() != null) {
+            return Flowable.fromPublisher(resolveRequestURI(request)).switchMap(exchange);
+        }
+        // report the request to the load balancer so that it can track the load of the selected server
+        return Flowable.fromPublisher(resolveRequestServer(request))
+                .switchMap(server -> {
+                    URI requestURI = resolveRequestURI(request, server);
+                    Publisher<? extends io.micronaut.http.HttpResponse<O>> response = exchange.apply(requestURI);
+                    AtomicBoolean started = new AtomicBoolean();
+                    AtomicLong start = new AtomicLong();
+                    Consumer<Throwable> onCompleted = error -> {
+                        if (started.compareAndSet(true, false)) {
+                            loadBalancer.onRequestCompleted(server, System.nanoTime() - start.get(), error);
+                        }
+                    };
+                    return Flowable.<io.micronaut.http.HttpResponse<O>>fromPublisher(response)
+                            .doOnSubscribe(subscription -> {
+                                start.set(System.nanoTime());
+                                if (started.compareAndSet(false, true)) {
+                                    loadBalancer.onRequestStarted(server);
+                                }
+                            })
+                            .doOnError(onCompleted::accept)
+                            .doOnComplete(() -> onCompleted.accept(null))
+                            .doOnCancel(() -> onCompleted.accept(null));
+                });
     }
 
     @Override
@@ -741,6 +791,7 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
         if (beanContext != null) {
             this.webSocketRegistry = WebSocketBeanRegistry.forClient(beanContext);
             this.requestBinderRegistry = beanContext.findBean(RequestBinderRegistry.class).orElse(null);
+            this.metricRegistry = beanContext.findBean(MetricRegistry.class).orElse(null);
         }
     }
 
@@ -1109,17 +1160,31 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
             return Publishers.just(requestURI);
         } else {
 
-            return Publishers.map(loadBalancer.select(getLoadBalancerDiscriminator()), server -> {
-                        Optional<String> authInfo = server.getMetadata().get(io.micronaut.http.HttpHeaders.AUTHORIZATION_INFO, String.class);
-                        if (request instanceof MutableHttpRequest) {
-                            if (authInfo.isPresent()) {
-                                ((MutableHttpRequest) request).getHeaders().auth(authInfo.get());
-                            }
-                        }
-                        return server.resolve(resolveRequestURI(requestURI));
-                    }
-            );
+            return Publishers.map(resolveRequestServer(request), server -> resolveRequestURI(request, server));
+        }
+    }
+
+    /**
+     * Selects the server a request whose URI is not fully qualified is sent to. Exchanges report the load of the
+     * selected server back to the {@link LoadBalancer}, so subclasses that customise the server selection should
+     * override this method rather than {@link #resolveRequestURI(io.micronaut.http.HttpRequest)}.
+     *
+     * @param request The request
+     * @param <I>     The input type
+     * @return A {@link Publisher} with the selected server
+     */
+    protected <I> Publisher<ServiceInstance> resolveRequestServer(io.micronaut.http.HttpRequest<I> request) {
+        return loadBalancer.select(getLoadBalancerDiscriminator());
+    }
+
+    private <I> URI resolveRequestURI(io.micronaut.http.HttpRequest<I> request, ServiceInstance server) {
+        Optional<String> authInfo = server.getMetadata().get(io.micronaut.http.HttpHeaders.AUTHORIZATION_INFO, String.class);
+        if (request instanceof MutableHttpRequest) {
+            if (authInfo.isPresent()) {
+                ((MutableHttpRequest) request).getHeaders().auth(authInfo.get());
+            }
         }
+        return server.resolve(resolveRequestURI(request.getUri()));
     }
 
     /**
@@ -1194,32 +1259,29 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
 
 
     /**
-     * Creates the {@link NioEventLoopGroup} for this client.
+     * Creates the {@link EventLoopGroup} for this client using the configured
+     * {@link io.micronaut.http.netty.channel.NettyTransport}.
      *
      * @param configuration The configuration
      * @param threadFactory The thread factory
      * @return The group
      */
-    protected NioEventLoopGroup createEventLoopGroup(HttpClientConfiguration configuration, ThreadFactory threadFactory) {
+    protected EventLoopGroup createEventLoopGroup(HttpClientConfiguration configuration, ThreadFactory threadFactory) {
         OptionalInt numOfThreads = configuration.getNumOfThreads();
         Optional<Class<? extends ThreadFactory>> threadFactoryType = configuration.getThreadFactory();
+        NettyTransport transport = configuration.getTransport();
         boolean hasThreads = numOfThreads.isPresent();
         boolean hasFactory = threadFactoryType.isPresent();
-        NioEventLoopGroup group;
+        EventLoopGroup group;
         if (hasThreads && hasFactory) {
-            group = new NioEventLoopGroup(numOfThreads.getAsInt(), InstantiationUtils.instantiate(threadFactoryType.get()));
+            group = transport.newEventLoopGroup(numOfThreads.getAsInt(), InstantiationUtils.instantiate(threadFactoryType.get()));
         } else if (hasThreads) {
-            if (threadFactory != null) {
-                group = new NioEventLoopGroup(numOfThreads.getAsInt(), threadFactory);
-            } else {
-                group = new NioEventLoopGroup(numOfThreads.getAsInt());
-            }
+            group = transport.newEventLoopGroup(numOfThreads.getAsInt(), threadFactory);
         } else {
             if (threadFactory != null) {
-                group = new NioEventLoopGroup(NettyThreadFactory.DEFAULT_EVENT_LOOP_THREADS, threadFactory);
+                group = transport.newEventLoopGroup(NettyThreadFactory.DEFAULT_EVENT_LOOP_THREADS, threadFactory);
             } else {
-
-                group = new NioEventLoopGroup();
+                group = transport.newEventLoopGroup(0, (ThreadFactory) null);
             }
         }
         return group;
@@ -1999,10 +2061,119 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
         };
     }
 
+    private HttpObjectAggregator newHttpObjectAggregator(int maxContentLength) {
+        return new HttpObjectAggregator(maxContentLength) {
+            @Override
+            protected void finishAggregation(FullHttpMessage aggregated) throws Exception {
+                if (!HttpUtil.isContentLengthSet(aggregated)) {
+                    if (aggregated.content().readableBytes() > 0) {
+                        super.finishAggregation(aggregated);
+                    }
+                }
+            }
+        };
+    }
+
+    private ChannelPool newHttp2Pool(RequestKey key, Bootstrap newBootstrap, HttpClientConfiguration.ConnectionPoolConfiguration poolConfiguration) {
+        final Long acquireTimeoutMillis = poolConfiguration.getAcquireTimeout().map(Duration::toMillis).orElse(-1L);
+        final SslContext sslCtx = key.isSecure() ? http2SslContext : null;
+        return new Http2ChannelPool(
+                newBootstrap,
+                poolConfiguration.getMaxConnections(),
+                poolConfiguration.getMaxConcurrentStreams(),
+                poolConfiguration.getMaxPendingAcquires(),
+                acquireTimeoutMillis) {
+
+            @Override
+            protected void initConnection(Channel ch, Promise<Channel> negotiated) {
+                trackConnection(key, ch);
+                ChannelPipeline p = ch.pipeline();
+                if (sslCtx != null) {
+                    p.addFirst(HANDLER_SSL, sslCtx.newHandler(ch.alloc(), key.getHost(), key.getPort()));
+                }
+
+                Optional<SocketAddress> proxy = configuration.getProxyAddress();
+                if (proxy.isPresent()) {
+                    configureProxy(p, configuration.getProxyType(), proxy.get());
+                }
+
+                Optional<Duration> pingInterval = poolConfiguration.getPingInterval();
+                pingInterval.ifPresent(duration -> {
+                    if (!duration.isNegative()) {
+                        p.addLast(HANDLER_IDLE_STATE, new IdleStateHandler(duration.toMillis(), 0, 0, TimeUnit.MILLISECONDS));
+                    }
+                });
+
+                if (sslCtx != null) {
+                    p.addLast(new ApplicationProtocolNegotiationHandler(ApplicationProtocolNames.HTTP_1_1) {
+                        @Override
+                        protected void configurePipeline(ChannelHandlerContext ctx, String protocol) {
+                            if (ApplicationProtocolNames.HTTP_2.equals(protocol)) {
+                                addHttp2ConnectionHandlers(ctx.pipeline());
+                                negotiated.trySuccess(ctx.channel());
+                            } else {
+                                negotiated.tryFailure(new HttpClientException("Server " + key.getHost() + ":" + key.getPort() + " does not support HTTP/2. Negotiated protocol: " + protocol));
+                                ctx.close();
+                            }
+                        }
+
+                        @Override
+                        protected void handshakeFailure(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+                            negotiated.tryFailure(cause);
+                            super.handshakeFailure(ctx, cause);
+                        }
+                    });
+                } else {
+                    addHttp2ConnectionHandlers(p);
+                    negotiated.trySuccess(ch);
+                }
+            }
+
+            @Override
+            protected void initStream(Channel stream) {
+                ChannelPipeline p = stream.pipeline();
+                if (readTimeoutMillis != null) {
+                    p.addLast(HANDLER_READ_TIMEOUT, new ReadTimeoutHandler(readTimeoutMillis, TimeUnit.MILLISECONDS));
+                }
+                p.addLast(HANDLER_HTTP2_STREAM_CODEC, new Http2StreamFrameToHttpObjectCodec(false));
+                p.addLast(HANDLER_DECODER, new HttpContentDecompressor());
+                p.addLast(HANDLER_AGGREGATOR, newHttpObjectAggregator(configuration.getMaxContentLength()));
+                p.addLast(HANDLER_STREAM, new HttpStreamsClientHandler());
+            }
+
+            private void addHttp2ConnectionHandlers(ChannelPipeline p) {
+                // server push is disabled, so the handler for inbound streams is never used
+                p.addLast(HANDLER_HTTP2_CONNECTION, Http2MultiplexCodecBuilder
+                        .forClient(new ChannelInboundHandlerAdapter())
+                        .initialSettings(Http2Settings.defaultSettings().pushEnabled(false))
+                        .build());
+                if (p.get(HANDLER_IDLE_STATE) != null) {
+                    p.addLast(HANDLER_HTTP2_PING, new Http2ChannelPool.PingHandler());
+                }
+            }
+        };
+    }
+
+    private ChannelPool instrumentPool(RequestKey key, ChannelPool pool) {
+        if (metricRegistry == null) {
+            return pool;
+        }
+        return new InstrumentedChannelPool(pool, metricRegistry, key.getHostAndPort());
+    }
+
+    private void trackConnection(RequestKey key, Channel ch) {
+        if (metricRegistry != null) {
+            Gauge connections = metricRegistry.gauge(InstrumentedChannelPool.METRIC_CONNECTIONS, InstrumentedChannelPool.TAG_HOST, key.getHostAndPort());
+            connections.increment();
+            ch.closeFuture().addListener(future -> connections.decrement());
+        }
+    }
+
     private AbstractChannelPoolHandler newPoolHandler(RequestKey key) {
         return new AbstractChannelPoolHandler() {
             @Override
             public void channelCreated(Channel ch) {
+                trackConnection(key, ch);
                 ch.pipeline().addLast(HANDLER_HTTP_CLIENT_INIT, new HttpClientInitializer(
                         key.isSecure() ? sslContext : null,
                         key.getHost(),
@@ -2094,16 +2265,7 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
             int maxContentLength = configuration.getMaxContentLength();
 
             if (!stream) {
-                p.addLast(HANDLER_AGGREGATOR, new HttpObjectAggregator(maxContentLength) {
-                    @Override
-                    protected void finishAggregation(FullHttpMessage aggregated) throws Exception {
-                        if (!HttpUtil.isContentLengthSet(aggregated)) {
-                            if (aggregated.content().readableBytes() > 0) {
-                                super.finishAggregation(aggregated);
-                            }
-                        }
-                    }
-                });
+                p.addLast(HANDLER_AGGREGATOR, newHttpObjectAggregator(maxContentLength));
             }
 
             // if the content type is a SSE event stream we add a decoder
@@ -2201,6 +2363,10 @@ public class DefaultHttpClient implements RxWebSocketClient, RxHttpClient, RxStr
             return port;
         }
 
+        public String getHostAndPort() {
+            return host + ":" + port;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) {
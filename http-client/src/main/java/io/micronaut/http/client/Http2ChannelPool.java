@@ -0,0 +1,321 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.client;
+
+import io.micronaut.core.annotation.Internal;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.handler.codec.http2.DefaultHttp2PingFrame;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * <p>A {@link ChannelPool} that multiplexes requests over a small number of HTTP/2 connections.</p>
+ *
+ * <p>The channels handed out by the pool are {@link Http2StreamChannel} instances, each of which carries a single
+ * request. A stream is opened on the least loaded connection that has fewer than the maximum number of concurrent
+ * streams, and a new connection is only established once every existing connection is saturated. Stream channels
+ * close themselves once the response has been received, which is when their slot becomes available again.</p>
+ *
+ * @author Graeme Rocher
+ * @since 1.0
+ */
+@Internal
+abstract class Http2ChannelPool implements ChannelPool {
+
+    private final Bootstrap bootstrap;
+    private final int maxConnections;
+    private final int maxConcurrentStreams;
+    private final int maxPendingAcquires;
+    private final long acquireTimeoutMillis;
+    private final List<Connection> connections = new ArrayList<>();
+    private final Deque<Promise<Channel>> pendingAcquires = new ArrayDeque<>();
+    private boolean closed;
+
+    /**
+     * @param bootstrap            The bootstrap, with the remote address configured
+     * @param maxConnections       The maximum number of connections or -1 for no maximum
+     * @param maxConcurrentStreams The maximum number of concurrent streams per connection
+     * @param maxPendingAcquires   The maximum number of acquire operations waiting for a stream
+     * @param acquireTimeoutMillis The time an acquire operation may wait for a stream or -1 to wait indefinitely
+     */
+    Http2ChannelPool(
+            Bootstrap bootstrap,
+            int maxConnections,
+            int maxConcurrentStreams,
+            int maxPendingAcquires,
+            long acquireTimeoutMillis) {
+        this.bootstrap = bootstrap;
+        this.maxConnections = maxConnections;
+        this.maxConcurrentStreams = Math.max(1, maxConcurrentStreams);
+        this.maxPendingAcquires = maxPendingAcquires;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    /**
+     * Initializes the pipeline of a new connection. Implementations must complete the given promise once the HTTP/2
+     * connection codec has been added to the pipeline, or fail it if HTTP/2 could not be negotiated.
+     *
+     * @param channel    The connection channel
+     * @param negotiated The promise to complete once HTTP/2 has been negotiated
+     */
+    protected abstract void initConnection(Channel channel, Promise<Channel> negotiated);
+
+    /**
+     * Initializes the pipeline of a new stream channel.
+     *
+     * @param stream The stream channel
+     */
+    protected abstract void initStream(Channel stream);
+
+    @Override
+    public Future<Channel> acquire() {
+        return acquire(bootstrap.config().group().next().<Channel>newPromise());
+    }
+
+    @Override
+    public Future<Channel> acquire(Promise<Channel> promise) {
+        Connection connection;
+        synchronized (this) {
+            if (closed) {
+                promise.tryFailure(new IllegalStateException("Channel pool is closed"));
+                return promise;
+            }
+            connection = leastLoadedConnection();
+            if (connection == null) {
+                if (maxConnections < 0 || connections.size() < maxConnections) {
+                    connection = connect();
+                    connections.add(connection);
+                } else if (pendingAcquires.size() < maxPendingAcquires) {
+                    pendingAcquires.add(promise);
+                    scheduleAcquireTimeout(promise);
+                    return promise;
+                } else {
+                    promise.tryFailure(new IllegalStateException("Too many outstanding acquire operations"));
+                    return promise;
+                }
+            }
+            connection.streams++;
+        }
+        openStream(connection, promise);
+        return promise;
+    }
+
+    @Override
+    public Future<Void> release(Channel channel) {
+        return release(channel, channel.eventLoop().<Void>newPromise());
+    }
+
+    @Override
+    public Future<Void> release(Channel channel, Promise<Void> promise) {
+        // a stream channel is closed by the HTTP/2 codec once both sides have ended the stream, which frees its slot
+        return promise.setSuccess(null);
+    }
+
+    @Override
+    public void close() {
+        List<Connection> toClose;
+        List<Promise<Channel>> toFail;
+        synchronized (this) {
+            closed = true;
+            toClose = new ArrayList<>(connections);
+            toFail = new ArrayList<>(pendingAcquires);
+            connections.clear();
+            pendingAcquires.clear();
+        }
+        for (Promise<Channel> promise : toFail) {
+            promise.tryFailure(new IllegalStateException("Channel pool is closed"));
+        }
+        for (Connection connection : toClose) {
+            connection.channel.close();
+        }
+    }
+
+    private Connection leastLoadedConnection() {
+        Connection leastLoaded = null;
+        for (Connection connection : connections) {
+            if (connection.streams < maxConcurrentStreams && (leastLoaded == null || connection.streams < leastLoaded.streams)) {
+                leastLoaded = connection;
+            }
+        }
+        return leastLoaded;
+    }
+
+    private Connection connect() {
+        Promise<Channel> ready = ImmediateEventExecutor.INSTANCE.newPromise();
+        Promise<Channel> negotiated = ImmediateEventExecutor.INSTANCE.newPromise();
+        ChannelFuture connectFuture = bootstrap.clone().handler(new ChannelInitializer<Channel>() {
+            @Override
+            protected void initChannel(Channel ch) {
+                initConnection(ch, negotiated);
+            }
+        }).connect();
+        Connection connection = new Connection(connectFuture.channel(), ready);
+        connectFuture.addListener(future -> {
+            if (future.isSuccess()) {
+                negotiated.addListener(n -> {
+                    if (n.isSuccess()) {
+                        ready.trySuccess(connection.channel);
+                    } else {
+                        ready.tryFailure(n.cause());
+                        connection.channel.close();
+                    }
+                });
+            } else {
+                ready.tryFailure(future.cause());
+            }
+        });
+        connection.channel.closeFuture().addListener(future -> {
+            ready.tryFailure(new ClosedChannelException());
+            synchronized (this) {
+                connections.remove(connection);
+            }
+            drainPendingAcquires();
+        });
+        return connection;
+    }
+
+    private void openStream(Connection connection, Promise<Channel> promise) {
+        connection.ready.addListener(future -> {
+            if (!future.isSuccess()) {
+                streamClosed(connection);
+                promise.tryFailure(future.cause());
+                return;
+            }
+            new Http2StreamChannelBootstrap(connection.channel)
+                    .handler(new ChannelInitializer<Channel>() {
+                        @Override
+                        protected void initChannel(Channel ch) {
+                            initStream(ch);
+                        }
+                    })
+                    .open()
+                    .addListener(streamFuture -> {
+                        if (streamFuture.isSuccess()) {
+                            Channel stream = (Channel) streamFuture.getNow();
+                            stream.closeFuture().addListener(f -> streamClosed(connection));
+                            if (!promise.trySuccess(stream)) {
+                                stream.close();
+                            }
+                        } else {
+                            streamClosed(connection);
+                            promise.tryFailure(streamFuture.cause());
+                        }
+                    });
+        });
+    }
+
+    private void streamClosed(Connection connection) {
+        synchronized (this) {
+            connection.streams--;
+        }
+        drainPendingAcquires();
+    }
+
+    private void drainPendingAcquires() {
+        // serve as many waiters as there is capacity for, since a new connection frees many slots at once
+        while (true) {
+            Promise<Channel> pending;
+            synchronized (this) {
+                if (closed || leastLoadedConnection() == null && maxConnections > -1 && connections.size() >= maxConnections) {
+                    return;
+                }
+                pending = pendingAcquires.poll();
+            }
+            if (pending == null) {
+                return;
+            }
+            if (!pending.isDone()) {
+                acquire(pending);
+            }
+        }
+    }
+
+    private void scheduleAcquireTimeout(Promise<Channel> promise) {
+        if (acquireTimeoutMillis > -1) {
+            EventExecutor executor = bootstrap.config().group().next();
+            executor.schedule(() -> {
+                synchronized (this) {
+                    pendingAcquires.remove(promise);
+                }
+                promise.tryFailure(new TimeoutException(
+                        "Acquire operation took longer then configured maximum time of " + acquireTimeoutMillis + "ms"));
+            }, acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * An HTTP/2 connection and the number of streams it currently carries.
+     */
+    private static final class Connection {
+        private final Channel channel;
+        private final Future<Channel> ready;
+        private int streams;
+
+        private Connection(Channel channel, Future<Channel> ready) {
+            this.channel = channel;
+            this.ready = ready;
+        }
+    }
+
+    /**
+     * Sends a PING frame when a connection has been idle and closes the connection if the previous PING was never
+     * acknowledged. Must be added after the HTTP/2 codec and preceded by an {@link io.netty.handler.timeout.IdleStateHandler}.
+     */
+    static final class PingHandler extends ChannelInboundHandlerAdapter {
+
+        private boolean pingOutstanding;
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            pingOutstanding = false;
+            ctx.fireChannelRead(msg);
+        }
+
+        @Override
+        public void userEventTriggered(ChannelHandlerContext ctx, Object evt) {
+            if (evt instanceof IdleStateEvent) {
+                if (pingOutstanding) {
+                    ctx.close();
+                } else {
+                    pingOutstanding = true;
+                    ctx.writeAndFlush(new DefaultHttp2PingFrame(System.nanoTime()));
+                }
+            } else {
+                ctx.fireUserEventTriggered(evt);
+            }
+        }
+    }
+}
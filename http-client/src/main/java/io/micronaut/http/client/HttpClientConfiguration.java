@@ -18,6 +18,7 @@ package io.micronaut.http.client;
 
 import io.micronaut.core.convert.format.ReadableBytes;
 import io.micronaut.core.util.Toggleable;
+import io.micronaut.http.netty.channel.NettyTransport;
 import io.micronaut.http.ssl.ClientSslConfiguration;
 import io.micronaut.http.ssl.SslConfiguration;
 import io.micronaut.runtime.ApplicationConfiguration;
@@ -78,6 +79,8 @@ public abstract class HttpClientConfiguration {
 
     private Integer numOfThreads = null;
 
+    private NettyTransport transport = NettyTransport.NIO;
+
     /**
      * The thread factory to use for creating threads.
      */
@@ -297,6 +300,23 @@ public abstract class HttpClientConfiguration {
         this.numOfThreads = numOfThreads;
     }
 
+    /**
+     * @return The Netty transport the client should use
+     */
+    public NettyTransport getTransport() {
+        return transport;
+    }
+
+    /**
+     * Sets the Netty transport the client should use. When a native transport is not available NIO is used instead.
+     * Default value ({@link NettyTransport#NIO}).
+     *
+     * @param transport The transport
+     */
+    public void setTransport(@Nullable NettyTransport transport) {
+        this.transport = transport != null ? transport : NettyTransport.NIO;
+    }
+
     /**
      * @return An {@link Optional} {@code ThreadFactory}
      */
@@ -423,8 +443,26 @@ public abstract class HttpClientConfiguration {
         @SuppressWarnings("WeakerAccess")
         public static final int DEFAULT_MAXCONNECTIONS = -1;
 
+        /**
+         * The default HTTP/2 value.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final boolean DEFAULT_HTTP2 = false;
+
+        /**
+         * The default max concurrent streams value.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final int DEFAULT_MAXCONCURRENTSTREAMS = 100;
+
         private int maxConnections = DEFAULT_MAXCONNECTIONS;
 
+        private boolean http2 = DEFAULT_HTTP2;
+
+        private int maxConcurrentStreams = DEFAULT_MAXCONCURRENTSTREAMS;
+
+        private Duration pingInterval;
+
         private int maxPendingAcquires = Integer.MAX_VALUE;
 
         private Duration acquireTimeout;
@@ -503,5 +541,64 @@ public abstract class HttpClientConfiguration {
         public void setAcquireTimeout(@Nullable Duration acquireTimeout) {
             this.acquireTimeout = acquireTimeout;
         }
+
+        /**
+         * Whether pooled connections use HTTP/2. When enabled each connection carries many concurrent requests as
+         * separate streams, and {@link #getMaxConnections()} limits the number of connections per host. HTTP/2 is
+         * negotiated with ALPN for HTTPS and spoken with prior knowledge for plain HTTP. Defaults to
+         * ({@value io.micronaut.http.client.HttpClientConfiguration.ConnectionPoolConfiguration#DEFAULT_HTTP2}).
+         *
+         * @return True if HTTP/2 is used
+         */
+        public boolean isHttp2() {
+            return http2;
+        }
+
+        /**
+         * Sets whether pooled connections use HTTP/2.
+         *
+         * @param http2 True if HTTP/2 should be used
+         */
+        public void setHttp2(boolean http2) {
+            this.http2 = http2;
+        }
+
+        /**
+         * The maximum number of concurrent streams per HTTP/2 connection. Defaults to
+         * ({@value io.micronaut.http.client.HttpClientConfiguration.ConnectionPoolConfiguration#DEFAULT_MAXCONCURRENTSTREAMS}).
+         *
+         * @return The max concurrent streams
+         */
+        public int getMaxConcurrentStreams() {
+            return maxConcurrentStreams;
+        }
+
+        /**
+         * Sets the maximum number of concurrent streams per HTTP/2 connection.
+         *
+         * @param maxConcurrentStreams The max concurrent streams
+         */
+        public void setMaxConcurrentStreams(int maxConcurrentStreams) {
+            this.maxConcurrentStreams = maxConcurrentStreams;
+        }
+
+        /**
+         * The time an HTTP/2 connection may be idle before a PING is sent to check it is still alive. A connection
+         * whose PING is not acknowledged within the same interval is closed.
+         *
+         * @return The ping interval
+         */
+        public Optional<Duration> getPingInterval() {
+            return Optional.ofNullable(pingInterval);
+        }
+
+        /**
+         * Sets the HTTP/2 ping interval.
+         *
+         * @param pingInterval The ping interval
+         */
+        public void setPingInterval(@Nullable Duration pingInterval) {
+            this.pingInterval = pingInterval;
+        }
     }
 }
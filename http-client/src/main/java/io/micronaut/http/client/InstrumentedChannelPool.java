@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.client;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.metrics.Gauge;
+import io.micronaut.metrics.MetricRegistry;
+import io.micronaut.metrics.Timer;
+import io.netty.channel.Channel;
+import io.netty.channel.pool.ChannelPool;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+
+/**
+ * A {@link ChannelPool} that records the time taken to acquire a channel and the number of acquire operations that
+ * are waiting for a channel.
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+@Internal
+final class InstrumentedChannelPool implements ChannelPool {
+
+    /**
+     * The name of the timers that record the time taken to acquire a pooled channel.
+     */
+    static final String METRIC_ACQUIRE = "http.client.pool.acquire";
+
+    /**
+     * The name of the gauges that track the acquire operations waiting for a pooled channel.
+     */
+    static final String METRIC_PENDING = "http.client.pool.pending";
+
+    /**
+     * The name of the gauges that track the open connections of a pool.
+     */
+    static final String METRIC_CONNECTIONS = "http.client.pool.connections";
+
+    /**
+     * The tag that identifies the remote host of a pool.
+     */
+    static final String TAG_HOST = "host";
+
+    private final ChannelPool delegate;
+    private final Timer acquireTimer;
+    private final Gauge pending;
+
+    /**
+     * @param delegate       The pool to instrument
+     * @param metricRegistry The metric registry
+     * @param host           The remote host and port of the pool
+     */
+    InstrumentedChannelPool(ChannelPool delegate, MetricRegistry metricRegistry, String host) {
+        this.delegate = delegate;
+        this.acquireTimer = metricRegistry.timer(METRIC_ACQUIRE, TAG_HOST, host);
+        this.pending = metricRegistry.gauge(METRIC_PENDING, TAG_HOST, host);
+    }
+
+    @Override
+    public Future<Channel> acquire() {
+        long start = acquireStarted();
+        return acquireCompleted(start, delegate.acquire());
+    }
+
+    @Override
+    public Future<Channel> acquire(Promise<Channel> promise) {
+        long start = acquireStarted();
+        return acquireCompleted(start, delegate.acquire(promise));
+    }
+
+    @Override
+    public Future<Void> release(Channel channel) {
+        return delegate.release(channel);
+    }
+
+    @Override
+    public Future<Void> release(Channel channel, Promise<Void> promise) {
+        return delegate.release(channel, promise);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    private long acquireStarted() {
+        pending.increment();
+        return System.nanoTime();
+    }
+
+    private Future<Channel> acquireCompleted(long start, Future<Channel> future) {
+        future.addListener(f -> {
+            pending.decrement();
+            acquireTimer.recordSince(start);
+        });
+        return future;
+    }
+}
@@ -47,6 +47,28 @@ public interface LoadBalancer {
         return select(null);
     }
 
+    /**
+     * Called by the client when it sends a request to an instance selected by this load balancer. Allows load
+     * balancers to track the load of each instance.
+     *
+     * @param instance The selected instance
+     */
+    default void onRequestStarted(ServiceInstance instance) {
+        // no-op
+    }
+
+    /**
+     * Called by the client once a request started with {@link #onRequestStarted(ServiceInstance)} has completed,
+     * failed or been cancelled.
+     *
+     * @param instance The selected instance
+     * @param duration The time the request took in nanoseconds
+     * @param error    The error if the request failed, otherwise null
+     */
+    default void onRequestCompleted(ServiceInstance instance, long duration, @Nullable Throwable error) {
+        // no-op
+    }
+
     /**
      * A {@link LoadBalancer} that does no load balancing and always hits the given URL.
      *
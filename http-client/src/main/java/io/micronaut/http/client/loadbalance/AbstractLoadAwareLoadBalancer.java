@@ -0,0 +1,185 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.discovery.exceptions.NoAvailableServiceException;
+import io.micronaut.http.client.LoadBalancer;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import org.reactivestreams.Publisher;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * <p>Base class for load balancers that track the load of each instance from the requests reported by the client
+ * and select an instance using the power of two choices: two distinct instances are picked at random and the one
+ * with the lower {@link #cost(ServiceInstance)} is selected. This avoids both the herding of always picking the
+ * least loaded instance and the blindness of round robin.</p>
+ *
+ * <p>Only instances that are up are considered, and if a zone is configured only those in the same zone, unless
+ * none of them is available.</p>
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+public abstract class AbstractLoadAwareLoadBalancer implements LoadBalancer {
+
+    private static final long FAILURE_PENALTY = TimeUnit.SECONDS.toNanos(1);
+
+    private final String serviceID;
+    private final Supplier<Publisher<List<ServiceInstance>>> instances;
+    private final AvailableInstances availableInstances;
+    private final long decayTime;
+    private final Map<URI, InstanceLoad> loads = new ConcurrentHashMap<>();
+    private volatile List<ServiceInstance> tracked;
+
+    /**
+     * @param serviceID     The service ID
+     * @param instances     Supplies the current instances of the service
+     * @param configuration The load balancer configuration
+     */
+    protected AbstractLoadAwareLoadBalancer(String serviceID,
+                                            Supplier<Publisher<List<ServiceInstance>>> instances,
+                                            LoadBalancerConfiguration configuration) {
+        this.serviceID = serviceID;
+        this.instances = instances;
+        this.availableInstances = new AvailableInstances(configuration.getZone().orElse(null));
+        this.decayTime = Math.max(1, configuration.getDecayTime().toNanos());
+    }
+
+    /**
+     * @return The service ID
+     */
+    public String getServiceID() {
+        return serviceID;
+    }
+
+    @Override
+    public Publisher<ServiceInstance> select(@Nullable Object discriminator) {
+        return Publishers.map(instances.get(), this::getNextAvailable);
+    }
+
+    @Override
+    public void onRequestStarted(ServiceInstance instance) {
+        loads.computeIfAbsent(instance.getURI(), uri -> new InstanceLoad()).inFlight.incrementAndGet();
+    }
+
+    @Override
+    public void onRequestCompleted(ServiceInstance instance, long duration, @Nullable Throwable error) {
+        InstanceLoad load = loads.get(instance.getURI());
+        if (load != null) {
+            load.inFlight.decrementAndGet();
+            // a response with an error status is a measurement like any other, a connection failure is not
+            boolean failed = error != null && !(error instanceof HttpClientResponseException);
+            load.record(failed ? Math.max(duration, FAILURE_PENALTY) : duration, decayTime);
+        }
+    }
+
+    /**
+     * The cost of sending a request to the given instance. Lower is better.
+     *
+     * @param instance The instance
+     * @return The cost
+     */
+    protected abstract double cost(ServiceInstance instance);
+
+    /**
+     * @param instance The instance
+     * @return The number of requests sent to the instance that have not completed yet
+     */
+    protected int getRequestsInFlight(ServiceInstance instance) {
+        InstanceLoad load = loads.get(instance.getURI());
+        return load != null ? load.inFlight.get() : 0;
+    }
+
+    /**
+     * @param instance The instance
+     * @return The exponentially weighted moving average of the latency of the instance in nanoseconds, 0 if no
+     * request to the instance has completed yet
+     */
+    protected double getAverageLatency(ServiceInstance instance) {
+        InstanceLoad load = loads.get(instance.getURI());
+        return load != null ? load.average : 0;
+    }
+
+    /**
+     * @param serviceInstances A list of service instances
+     * @return The selected instance or a {@link NoAvailableServiceException} if none is available
+     */
+    protected ServiceInstance getNextAvailable(List<ServiceInstance> serviceInstances) {
+        List<ServiceInstance> candidates = availableInstances.of(serviceInstances);
+        forgetRemovedInstances();
+        int len = candidates.size();
+        if (len == 0) {
+            throw new NoAvailableServiceException(serviceID);
+        } else if (len == 1) {
+            return candidates.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i = random.nextInt(len);
+        int j = random.nextInt(len - 1);
+        if (j >= i) {
+            j++;
+        }
+        ServiceInstance first = candidates.get(i);
+        ServiceInstance second = candidates.get(j);
+        return cost(first) <= cost(second) ? first : second;
+    }
+
+    private void forgetRemovedInstances() {
+        List<ServiceInstance> all = availableInstances.all();
+        if (all != tracked) {
+            tracked = all;
+            Set<URI> uris = new HashSet<>(all.size());
+            for (ServiceInstance instance : all) {
+                uris.add(instance.getURI());
+            }
+            loads.keySet().retainAll(uris);
+        }
+    }
+
+    /**
+     * The requests in flight and average latency of an instance.
+     */
+    private static final class InstanceLoad {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile double average;
+        private long updated;
+
+        private synchronized void record(long latency, long decayTime) {
+            long now = System.nanoTime();
+            if (updated == 0) {
+                average = latency;
+            } else {
+                double weight = Math.exp(-(now - updated) / (double) decayTime);
+                average = average * weight + latency * (1 - weight);
+            }
+            updated = now;
+        }
+    }
+}
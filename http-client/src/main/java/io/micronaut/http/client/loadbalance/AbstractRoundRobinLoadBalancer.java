@@ -18,12 +18,10 @@ package io.micronaut.http.client.loadbalance;
 
 import io.micronaut.discovery.ServiceInstance;
 import io.micronaut.discovery.exceptions.NoAvailableServiceException;
-import io.micronaut.health.HealthStatus;
 import io.micronaut.http.client.LoadBalancer;
 
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 
 /**
  * @author graemerocher
@@ -33,6 +31,8 @@ public abstract class AbstractRoundRobinLoadBalancer implements LoadBalancer {
 
     protected final AtomicInteger index = new AtomicInteger(0);
 
+    private final AvailableInstances availableInstances = new AvailableInstances(null);
+
     /**
      * @return The service ID
      */
@@ -43,9 +43,7 @@ public abstract class AbstractRoundRobinLoadBalancer implements LoadBalancer {
      * @return The next available instance or a {@link NoAvailableServiceException} if none
      */
     protected ServiceInstance getNextAvailable(List<ServiceInstance> serviceInstances) {
-        List<ServiceInstance> availableServices = serviceInstances.stream()
-            .filter(si -> si.getHealthStatus().equals(HealthStatus.UP))
-            .collect(Collectors.toList());
+        List<ServiceInstance> availableServices = availableInstances.of(serviceInstances);
         int len = availableServices.size();
         if (len == 0) {
             throw new NoAvailableServiceException(getServiceID());
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.discovery.ServiceInstance;
+import io.micronaut.health.HealthStatus;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Caches the instances of a service that are {@link HealthStatus#UP}. The list is only filtered again when the
+ * instances, or their health status, differ from the previous call, so selecting a server from an unchanged
+ * discovery list allocates nothing.
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+@Internal
+final class AvailableInstances {
+
+    private final String zone;
+    private volatile Snapshot snapshot = new Snapshot(new ServiceInstance[0], new HealthStatus[0], Collections.emptyList(), Collections.emptyList());
+
+    /**
+     * @param zone The zone instances are preferred from or null for no preference
+     */
+    AvailableInstances(@Nullable String zone) {
+        this.zone = zone;
+    }
+
+    /**
+     * @param instances The instances of the service
+     * @return The instances that are up, limited to the preferred zone if any of them is in it
+     */
+    List<ServiceInstance> of(List<ServiceInstance> instances) {
+        Snapshot snapshot = this.snapshot;
+        if (!snapshot.matches(instances)) {
+            snapshot = Snapshot.of(instances, zone);
+            this.snapshot = snapshot;
+        }
+        return snapshot.preferred;
+    }
+
+    /**
+     * @return All the instances that were up when the list was last filtered, regardless of their zone
+     */
+    List<ServiceInstance> all() {
+        return snapshot.available;
+    }
+
+    /**
+     * The result of filtering a list of instances.
+     */
+    private static final class Snapshot {
+        private final ServiceInstance[] instances;
+        private final HealthStatus[] statuses;
+        private final List<ServiceInstance> available;
+        private final List<ServiceInstance> preferred;
+
+        private Snapshot(ServiceInstance[] instances, HealthStatus[] statuses, List<ServiceInstance> available, List<ServiceInstance> preferred) {
+            this.instances = instances;
+            this.statuses = statuses;
+            this.available = available;
+            this.preferred = preferred;
+        }
+
+        private boolean matches(List<ServiceInstance> list) {
+            int size = list.size();
+            if (size != instances.length) {
+                return false;
+            }
+            for (int i = 0; i < size; i++) {
+                ServiceInstance instance = list.get(i);
+                if (instance != instances[i] || !instance.getHealthStatus().equals(statuses[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static Snapshot of(List<ServiceInstance> list, @Nullable String zone) {
+            int size = list.size();
+            ServiceInstance[] instances = new ServiceInstance[size];
+            HealthStatus[] statuses = new HealthStatus[size];
+            List<ServiceInstance> available = new ArrayList<>(size);
+            List<ServiceInstance> inZone = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                ServiceInstance instance = list.get(i);
+                instances[i] = instance;
+                statuses[i] = instance.getHealthStatus();
+                if (statuses[i].equals(HealthStatus.UP)) {
+                    available.add(instance);
+                    if (zone != null && zone.equals(instance.getZone().orElse(null))) {
+                        inZone.add(instance);
+                    }
+                }
+            }
+            List<ServiceInstance> preferred = inZone.isEmpty() ? available : inZone;
+            return new Snapshot(instances, statuses, Collections.unmodifiableList(available), Collections.unmodifiableList(preferred));
+        }
+    }
+}
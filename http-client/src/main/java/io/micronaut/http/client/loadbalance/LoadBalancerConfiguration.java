@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.context.annotation.BootstrapContextCompatible;
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.http.client.DefaultHttpClientConfiguration;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Configuration of the {@link io.micronaut.http.client.LoadBalancer} instances created for services.
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+@ConfigurationProperties(LoadBalancerConfiguration.PREFIX)
+@BootstrapContextCompatible
+public class LoadBalancerConfiguration {
+
+    /**
+     * The prefix for load balancer configuration.
+     */
+    public static final String PREFIX = DefaultHttpClientConfiguration.PREFIX + ".load-balancer";
+
+    /**
+     * The default decay time of the latency average in seconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_DECAY_TIME = 10;
+
+    private Strategy strategy = Strategy.ROUND_ROBIN;
+    private String zone;
+    private Duration decayTime = Duration.ofSeconds(DEFAULT_DECAY_TIME);
+
+    /**
+     * @return The strategy used to select an instance
+     */
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Sets the strategy used to select an instance. Default value ROUND_ROBIN.
+     *
+     * @param strategy The strategy
+     */
+    public void setStrategy(Strategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * @return The zone instances are preferred from
+     */
+    public Optional<String> getZone() {
+        return Optional.ofNullable(zone);
+    }
+
+    /**
+     * Sets the zone of this application. When set, the power of two choices and least latency strategies only
+     * select instances in the same zone, unless none of them is available. The zone of an instance is read from
+     * {@link io.micronaut.discovery.ServiceInstance#getZone()}.
+     *
+     * @param zone The zone
+     */
+    public void setZone(@Nullable String zone) {
+        this.zone = zone;
+    }
+
+    /**
+     * @return The time over which the latency of older requests stops counting towards the average
+     */
+    public Duration getDecayTime() {
+        return decayTime;
+    }
+
+    /**
+     * Sets the decay time of the exponentially weighted moving average of the latency used by the least latency
+     * strategy. Shorter times react faster to a slow instance. Default value ({@value #DEFAULT_DECAY_TIME} seconds).
+     *
+     * @param decayTime The decay time
+     */
+    public void setDecayTime(Duration decayTime) {
+        this.decayTime = decayTime;
+    }
+
+    /**
+     * The strategies used to select an instance.
+     */
+    public enum Strategy {
+
+        /**
+         * Selects the available instances in turn.
+         */
+        ROUND_ROBIN,
+
+        /**
+         * Selects the instance with fewer requests in flight out of two random instances.
+         */
+        POWER_OF_TWO_CHOICES,
+
+        /**
+         * Selects the instance with the lower average latency, weighted by its requests in flight, out of two
+         * random instances.
+         */
+        LEAST_LATENCY
+    }
+}
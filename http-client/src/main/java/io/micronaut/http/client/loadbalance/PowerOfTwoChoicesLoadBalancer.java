@@ -0,0 +1,49 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.client.loadbalance;
+
+import io.micronaut.discovery.ServiceInstance;
+import org.reactivestreams.Publisher;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A {@link io.micronaut.http.client.LoadBalancer} that selects the instance with fewer requests in flight out of two
+ * random instances.
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+public class PowerOfTwoChoicesLoadBalancer extends AbstractLoadAwareLoadBalancer {
+
+    /**
+     * @param serviceID     The service ID
+     * @param instances     Supplies the current instances of the service
+     * @param configuration The load balancer configuration
+     */
+    public PowerOfTwoChoicesLoadBalancer(String serviceID,
+                                         Supplier<Publisher<List<ServiceInstance>>> instances,
+                                         LoadBalancerConfiguration configuration) {
+        super(serviceID, instances, configuration);
+    }
+
+    @Override
+    protected double cost(ServiceInstance instance) {
+        return getRequestsInFlight(instance);
+    }
+}
@@ -17,9 +17,11 @@
 package io.micronaut.http.client.loadbalance;
 
 import io.micronaut.context.annotation.BootstrapContextCompatible;
+import io.micronaut.core.async.publisher.Publishers;
 import io.micronaut.discovery.ServiceInstanceList;
 import io.micronaut.http.client.LoadBalancer;
 
+import javax.inject.Inject;
 import javax.inject.Singleton;
 
 /**
@@ -33,13 +35,39 @@ import javax.inject.Singleton;
 @BootstrapContextCompatible
 public class ServiceInstanceListLoadBalancerFactory {
 
+    private final LoadBalancerConfiguration configuration;
+
+    /**
+     * Creates a factory of round robin load balancers.
+     */
+    public ServiceInstanceListLoadBalancerFactory() {
+        this(new LoadBalancerConfiguration());
+    }
+
+    /**
+     * @param configuration The load balancer configuration
+     */
+    @Inject
+    public ServiceInstanceListLoadBalancerFactory(LoadBalancerConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
     /**
-     * Creates a {@link LoadBalancer} from the given {@link ServiceInstanceList}.
+     * Creates a {@link LoadBalancer} from the given {@link ServiceInstanceList} using the configured
+     * {@link LoadBalancerConfiguration.Strategy}.
      *
      * @param serviceInstanceList The {@link ServiceInstanceList}
      * @return The {@link LoadBalancer}
      */
     public LoadBalancer create(ServiceInstanceList serviceInstanceList) {
-        return new ServiceInstanceListRoundRobinLoadBalancer(serviceInstanceList);
+        String serviceID = serviceInstanceList.getID();
+        switch (configuration.getStrategy()) {
+            case POWER_OF_TWO_CHOICES:
+                return new PowerOfTwoChoicesLoadBalancer(serviceID, () -> Publishers.just(serviceInstanceList.getInstances()), configuration);
+            case LEAST_LATENCY:
+                return new LeastLatencyLoadBalancer(serviceID, () -> Publishers.just(serviceInstanceList.getInstances()), configuration);
+            default:
+                return new ServiceInstanceListRoundRobinLoadBalancer(serviceInstanceList);
+        }
     }
 }
@@ -20,9 +20,13 @@ import io.micronaut.context.annotation.BootstrapContextCompatible;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.io.ResourceResolver;
 import io.micronaut.http.ssl.*;
+import io.netty.handler.codec.http2.Http2SecurityUtil;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SupportedCipherSuiteFilter;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 
 import javax.inject.Inject;
@@ -69,9 +73,19 @@ public class NettyClientSslBuilder extends SslBuilder<SslContext> {
         return ssl;
     }
 
-    @SuppressWarnings("Duplicates")
     @Override
     public Optional<SslContext> build() {
+        return build(false);
+    }
+
+    /**
+     * Builds the SSL context, optionally requesting HTTP/2 with ALPN.
+     *
+     * @param http2 Whether HTTP/2 should be negotiated with ALPN
+     * @return The SSL context if SSL is enabled
+     */
+    @SuppressWarnings("Duplicates")
+    public Optional<SslContext> build(boolean http2) {
         if (!ssl.isEnabled()) {
             return Optional.empty();
         }
@@ -84,6 +98,17 @@ public class NettyClientSslBuilder extends SslBuilder<SslContext> {
         }
         if (ssl.getCiphers().isPresent()) {
             sslBuilder = sslBuilder.ciphers(Arrays.asList(ssl.getCiphers().get()));
+        } else if (http2) {
+            sslBuilder = sslBuilder.ciphers(Http2SecurityUtil.CIPHERS, SupportedCipherSuiteFilter.INSTANCE);
+        }
+        if (http2) {
+            sslBuilder = sslBuilder.applicationProtocolConfig(new ApplicationProtocolConfig(
+                    ApplicationProtocolConfig.Protocol.ALPN,
+                    ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                    ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                    ApplicationProtocolNames.HTTP_2,
+                    ApplicationProtocolNames.HTTP_1_1
+            ));
         }
         if (ssl.getClientAuthentication().isPresent()) {
             ClientAuthentication clientAuth = ssl.getClientAuthentication().get();
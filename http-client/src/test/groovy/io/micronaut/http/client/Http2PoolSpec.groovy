@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.http.annotation.Body
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Post
+import io.micronaut.http.client.annotation.Client
+import io.micronaut.runtime.server.EmbeddedServer
+import io.reactivex.Flowable
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class Http2PoolSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    ApplicationContext context = ApplicationContext.run(
+            'micronaut.server.netty.http2.enabled'                 : true,
+            'micronaut.http.client.pool.enabled'                   : true,
+            'micronaut.http.client.pool.http2'                     : true,
+            'micronaut.http.client.pool.max-connections'           : 2,
+            'micronaut.http.client.pool.max-concurrent-streams'    : 10,
+            'micronaut.http.client.pool.ping-interval'             : '10s'
+    )
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = context.getBean(EmbeddedServer).start()
+
+    void "test concurrent requests are multiplexed over HTTP/2 streams"() {
+        given:
+        RxHttpClient client = context.createBean(RxHttpClient, embeddedServer.getURL())
+
+        when:
+        List<String> results = Flowable.range(0, 50)
+                .flatMap({ i -> client.retrieve("/http2-pool/echo/$i") })
+                .toList()
+                .blockingGet()
+
+        then:
+        results.size() == 50
+        results.toSet() == (0..<50).collect { it.toString() }.toSet()
+
+        cleanup:
+        client.close()
+    }
+
+    void "test declarative clients work over HTTP/2"() {
+        given:
+        Http2PoolClient client = context.getBean(Http2PoolClient)
+
+        expect:
+        client.echo('foo') == 'foo'
+        client.save('bar') == 'bar'
+    }
+
+    @Client('/http2-pool')
+    static interface Http2PoolClient {
+        @Get('/echo/{value}')
+        String echo(String value)
+
+        @Post(value = '/save', consumes = 'text/plain', produces = 'text/plain')
+        String save(@Body String body)
+    }
+
+    @Controller('/http2-pool')
+    static class Http2PoolController {
+        @Get(value = '/echo/{value}', produces = 'text/plain')
+        String echo(String value) {
+            value
+        }
+
+        @Post(value = '/save', consumes = 'text/plain', produces = 'text/plain')
+        String save(@Body String body) {
+            body
+        }
+    }
+}
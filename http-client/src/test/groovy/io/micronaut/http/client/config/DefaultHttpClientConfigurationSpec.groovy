@@ -49,9 +49,12 @@ class DefaultHttpClientConfigurationSpec extends Specification {
         ctx.close()
 
         where:
-        key               | property         | value   | expected
-        'enabled'         | 'enabled'        | 'false' | false
-        'max-connections' | 'maxConnections' | '10'    | 10
+        key                      | property               | value   | expected
+        'enabled'                | 'enabled'              | 'false' | false
+        'max-connections'        | 'maxConnections'       | '10'    | 10
+        'http2'                  | 'http2'                | 'true'  | true
+        'max-concurrent-streams' | 'maxConcurrentStreams' | '50'    | 50
+        'ping-interval'          | 'pingInterval'         | '30s'   | Optional.of(Duration.ofSeconds(30))
     }
 
     void "test overriding logger for the client"() {
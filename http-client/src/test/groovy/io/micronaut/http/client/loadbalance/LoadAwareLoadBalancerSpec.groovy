@@ -0,0 +1,223 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.client.loadbalance
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.annotation.Requires
+import io.micronaut.core.async.publisher.Publishers
+import io.micronaut.core.convert.value.ConvertibleValues
+import io.micronaut.discovery.ServiceInstance
+import io.micronaut.discovery.exceptions.NoAvailableServiceException
+import io.micronaut.health.HealthStatus
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.DefaultHttpClient
+import io.micronaut.http.client.LoadBalancer
+import io.micronaut.runtime.server.EmbeddedServer
+import io.reactivex.Flowable
+import org.reactivestreams.Publisher
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.concurrent.TimeUnit
+
+class LoadAwareLoadBalancerSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer, ['spec.name': 'LoadAwareLoadBalancerSpec'])
+
+    void "power of two choices selects the instance with fewer requests in flight"() {
+        given:
+        ServiceInstance busy = instance('busy')
+        ServiceInstance idle = instance('idle')
+        PowerOfTwoChoicesLoadBalancer loadBalancer = new PowerOfTwoChoicesLoadBalancer('test', { Publishers.just([busy, idle]) }, new LoadBalancerConfiguration())
+        5.times { loadBalancer.onRequestStarted(busy) }
+
+        expect:
+        (0..<100).every { select(loadBalancer).is(idle) }
+
+        when:
+        5.times { loadBalancer.onRequestCompleted(busy, 1000, null) }
+        10.times { loadBalancer.onRequestStarted(idle) }
+
+        then:
+        (0..<100).every { select(loadBalancer).is(busy) }
+    }
+
+    void "least latency selects the instance with the lower average latency"() {
+        given:
+        ServiceInstance slow = instance('slow')
+        ServiceInstance fast = instance('fast')
+        LeastLatencyLoadBalancer loadBalancer = new LeastLatencyLoadBalancer('test', { Publishers.just([slow, fast]) }, new LoadBalancerConfiguration())
+        record(loadBalancer, slow, TimeUnit.MILLISECONDS.toNanos(100))
+        record(loadBalancer, fast, TimeUnit.MILLISECONDS.toNanos(1))
+
+        expect:
+        (0..<100).every { select(loadBalancer).is(fast) }
+
+        when: "the fast instance is saturated"
+        200.times { loadBalancer.onRequestStarted(fast) }
+
+        then:
+        (0..<100).every { select(loadBalancer).is(slow) }
+    }
+
+    void "connection failures are penalized"() {
+        given:
+        ServiceInstance failing = instance('failing')
+        ServiceInstance healthy = instance('healthy')
+        LeastLatencyLoadBalancer loadBalancer = new LeastLatencyLoadBalancer('test', { Publishers.just([failing, healthy]) }, new LoadBalancerConfiguration())
+        loadBalancer.onRequestStarted(failing)
+        loadBalancer.onRequestCompleted(failing, 1000, new ConnectException())
+        record(loadBalancer, healthy, TimeUnit.MILLISECONDS.toNanos(50))
+
+        expect:
+        loadBalancer.getAverageLatency(failing) == TimeUnit.SECONDS.toNanos(1)
+        (0..<100).every { select(loadBalancer).is(healthy) }
+    }
+
+    void "instances in the configured zone are preferred while any of them is up"() {
+        given:
+        LoadBalancerConfiguration configuration = new LoadBalancerConfiguration(zone: 'eu-west-1a', decayTime: Duration.ofSeconds(1))
+        ServiceInstance local = instance('local', 'eu-west-1a')
+        ServiceInstance remote = instance('remote', 'eu-west-1b')
+        List<ServiceInstance> instances = [local, remote]
+        PowerOfTwoChoicesLoadBalancer loadBalancer = new PowerOfTwoChoicesLoadBalancer('test', { Publishers.just(instances) }, configuration)
+
+        expect:
+        (0..<100).every { select(loadBalancer).is(local) }
+
+        when:
+        ServiceInstance down = instance('local', 'eu-west-1a', HealthStatus.DOWN)
+        instances = [down, remote]
+
+        then:
+        (0..<100).every { select(loadBalancer).is(remote) }
+
+        when:
+        instances = [instance('other', 'eu-west-1a', HealthStatus.DOWN)]
+        select(loadBalancer)
+
+        then:
+        thrown(NoAvailableServiceException)
+    }
+
+    void "the available instances are only filtered again when the list changes"() {
+        given:
+        AvailableInstances availableInstances = new AvailableInstances(null)
+        ServiceInstance up = instance('up')
+        Map<String, HealthStatus> status = [changing: HealthStatus.UP]
+        ServiceInstance changing = new ServiceInstance() {
+            String getId() { 'changing' }
+            URI getURI() { URI.create('http://changing:8080') }
+            HealthStatus getHealthStatus() { status.changing }
+        }
+        List<ServiceInstance> instances = [up, changing]
+
+        when:
+        List<ServiceInstance> first = availableInstances.of(instances)
+
+        then:
+        first == [up, changing]
+        availableInstances.of(instances).is(first)
+        availableInstances.of(new ArrayList<>(instances)).is(first)
+
+        when:
+        status.changing = HealthStatus.DOWN
+
+        then:
+        availableInstances.of(instances) == [up]
+    }
+
+    void "the client reports the requests it sends to the load balancer"() {
+        given:
+        ServiceInstance server = ServiceInstance.of('test', embeddedServer.getURI())
+        PowerOfTwoChoicesLoadBalancer loadBalancer = new PowerOfTwoChoicesLoadBalancer('test', { Publishers.just([server]) }, new LoadBalancerConfiguration())
+        DefaultHttpClient client = new DefaultHttpClient(loadBalancer)
+
+        when:
+        String body = client.toBlocking().retrieve(HttpRequest.GET('/load-balancer/slow'))
+
+        then:
+        body == 'done'
+        new PollingConditions(timeout: 5).eventually {
+            assert loadBalancer.getRequestsInFlight(server) == 0
+            assert loadBalancer.getAverageLatency(server) >= TimeUnit.MILLISECONDS.toNanos(50)
+        }
+
+        cleanup:
+        client.close()
+    }
+
+    void "the client reports the requests sent to a server selected by a subclass"() {
+        given:
+        ServiceInstance server = ServiceInstance.of('test', embeddedServer.getURI())
+        PowerOfTwoChoicesLoadBalancer loadBalancer = new PowerOfTwoChoicesLoadBalancer('test', { Publishers.just([]) }, new LoadBalancerConfiguration())
+        DefaultHttpClient client = new DefaultHttpClient(loadBalancer) {
+            @Override
+            protected Publisher<ServiceInstance> resolveRequestServer(HttpRequest request) {
+                Publishers.just(server)
+            }
+        }
+
+        when:
+        String body = client.toBlocking().retrieve(HttpRequest.GET('/load-balancer/slow'))
+
+        then:
+        body == 'done'
+        new PollingConditions(timeout: 5).eventually {
+            assert loadBalancer.getRequestsInFlight(server) == 0
+            assert loadBalancer.getAverageLatency(server) >= TimeUnit.MILLISECONDS.toNanos(50)
+        }
+
+        cleanup:
+        client.close()
+    }
+
+    private static ServiceInstance select(LoadBalancer loadBalancer) {
+        Flowable.fromPublisher(loadBalancer.select()).blockingFirst()
+    }
+
+    private static void record(LoadBalancer loadBalancer, ServiceInstance instance, long latency) {
+        loadBalancer.onRequestStarted(instance)
+        loadBalancer.onRequestCompleted(instance, latency, null)
+    }
+
+    private static ServiceInstance instance(String id, String zone = null, HealthStatus status = HealthStatus.UP) {
+        new ServiceInstance() {
+            String getId() { id }
+            URI getURI() { URI.create("http://$id:8080") }
+            HealthStatus getHealthStatus() { status }
+            ConvertibleValues<String> getMetadata() { ConvertibleValues.of(zone ? [zone: zone] : [:]) }
+        }
+    }
+
+    @Requires(property = 'spec.name', value = 'LoadAwareLoadBalancerSpec')
+    @Controller('/load-balancer')
+    static class SlowController {
+
+        @Get(uri = '/slow', produces = 'text/plain')
+        String slow() {
+            sleep(50)
+            'done'
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.netty.channel;
+
+import io.micronaut.core.annotation.Internal;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollMode;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Isolates references to the native epoll transport so that they are only loaded when the transport is present.
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+@Internal
+public final class EpollTransport {
+
+    private EpollTransport() {
+    }
+
+    /**
+     * @return Whether the native epoll library could be loaded
+     */
+    static boolean isAvailable() {
+        return Epoll.isAvailable();
+    }
+
+    /**
+     * @param threads       The number of threads
+     * @param threadFactory The thread factory
+     * @return The event loop group
+     */
+    static EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+        return new EpollEventLoopGroup(threads, threadFactory);
+    }
+
+    /**
+     * @param threads  The number of threads
+     * @param executor The executor
+     * @return The event loop group
+     */
+    static EventLoopGroup newEventLoopGroup(int threads, Executor executor) {
+        return new EpollEventLoopGroup(threads, executor);
+    }
+
+    /**
+     * @return The server socket channel type
+     */
+    static Class<? extends ServerSocketChannel> serverSocketChannelClass() {
+        return EpollServerSocketChannel.class;
+    }
+
+    /**
+     * @return The socket channel type
+     */
+    static Class<? extends SocketChannel> socketChannelClass() {
+        return EpollSocketChannel.class;
+    }
+
+    /**
+     * @param group The group
+     * @return Whether the group is an epoll group
+     */
+    static boolean isEventLoopGroup(EventLoopGroup group) {
+        return group instanceof EpollEventLoopGroup;
+    }
+
+    /**
+     * @param group   The group
+     * @param ioRatio The I/O ratio
+     */
+    static void setIoRatio(EventLoopGroup group, int ioRatio) {
+        ((EpollEventLoopGroup) group).setIoRatio(ioRatio);
+    }
+
+    /**
+     * Applies the epoll specific options to a server bootstrap. Must only be called when the epoll transport is in use.
+     *
+     * @param bootstrap     The bootstrap
+     * @param reusePort     Whether to enable {@code SO_REUSEPORT}
+     * @param tcpFastOpen   The {@code TCP_FASTOPEN} queue length, 0 to leave it disabled
+     * @param edgeTriggered Whether to use edge-triggered rather than level-triggered mode
+     */
+    public static void configure(ServerBootstrap bootstrap, boolean reusePort, int tcpFastOpen, boolean edgeTriggered) {
+        EpollMode mode = edgeTriggered ? EpollMode.EDGE_TRIGGERED : EpollMode.LEVEL_TRIGGERED;
+        bootstrap.option(EpollChannelOption.EPOLL_MODE, mode);
+        bootstrap.childOption(EpollChannelOption.EPOLL_MODE, mode);
+        if (reusePort) {
+            bootstrap.option(EpollChannelOption.SO_REUSEPORT, true);
+        }
+        if (tcpFastOpen > 0) {
+            bootstrap.option(EpollChannelOption.TCP_FASTOPEN, tcpFastOpen);
+        }
+    }
+}
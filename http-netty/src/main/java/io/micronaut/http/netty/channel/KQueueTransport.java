@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.netty.channel;
+
+import io.micronaut.core.annotation.Internal;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.kqueue.KQueue;
+import io.netty.channel.kqueue.KQueueEventLoopGroup;
+import io.netty.channel.kqueue.KQueueServerSocketChannel;
+import io.netty.channel.kqueue.KQueueSocketChannel;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Isolates references to the native kqueue transport so that they are only loaded when the transport is present.
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+@Internal
+final class KQueueTransport {
+
+    private KQueueTransport() {
+    }
+
+    /**
+     * @return Whether the native kqueue library could be loaded
+     */
+    static boolean isAvailable() {
+        return KQueue.isAvailable();
+    }
+
+    /**
+     * @param threads       The number of threads
+     * @param threadFactory The thread factory
+     * @return The event loop group
+     */
+    static EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+        return new KQueueEventLoopGroup(threads, threadFactory);
+    }
+
+    /**
+     * @param threads  The number of threads
+     * @param executor The executor
+     * @return The event loop group
+     */
+    static EventLoopGroup newEventLoopGroup(int threads, Executor executor) {
+        return new KQueueEventLoopGroup(threads, executor);
+    }
+
+    /**
+     * @return The server socket channel type
+     */
+    static Class<? extends ServerSocketChannel> serverSocketChannelClass() {
+        return KQueueServerSocketChannel.class;
+    }
+
+    /**
+     * @return The socket channel type
+     */
+    static Class<? extends SocketChannel> socketChannelClass() {
+        return KQueueSocketChannel.class;
+    }
+
+    /**
+     * @param group The group
+     * @return Whether the group is a kqueue group
+     */
+    static boolean isEventLoopGroup(EventLoopGroup group) {
+        return group instanceof KQueueEventLoopGroup;
+    }
+
+    /**
+     * @param group   The group
+     * @param ioRatio The I/O ratio
+     */
+    static void setIoRatio(EventLoopGroup group, int ioRatio) {
+        ((KQueueEventLoopGroup) group).setIoRatio(ioRatio);
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.netty.channel;
+
+import io.micronaut.core.reflect.ClassUtils;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * <p>The Netty transports that can be used to create event loop groups and channels.</p>
+ *
+ * <p>The native transports require the corresponding {@code netty-transport-native-epoll} or
+ * {@code netty-transport-native-kqueue} dependency to be on the classpath. When a native transport is requested but
+ * not available the {@link #NIO} transport is used instead.</p>
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+public enum NettyTransport {
+
+    /**
+     * Use the native transport of the current platform if it is available, otherwise NIO.
+     */
+    AUTO,
+
+    /**
+     * The NIO transport.
+     */
+    NIO,
+
+    /**
+     * The native epoll transport, available on Linux.
+     */
+    EPOLL,
+
+    /**
+     * The native kqueue transport, available on macOS and BSD.
+     */
+    KQUEUE;
+
+    private static final Logger LOG = LoggerFactory.getLogger(NettyTransport.class);
+
+    /**
+     * Resolves the transport that will actually be used for this transport. {@link #AUTO} resolves to the first
+     * available native transport and any unavailable native transport resolves to {@link #NIO}.
+     *
+     * @return The resolved transport
+     */
+    public NettyTransport resolve() {
+        switch (this) {
+            case AUTO:
+                if (EPOLL.isAvailable()) {
+                    return EPOLL;
+                } else if (KQUEUE.isAvailable()) {
+                    return KQUEUE;
+                }
+                return NIO;
+            case EPOLL:
+            case KQUEUE:
+                if (isAvailable()) {
+                    return this;
+                }
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("Netty {} transport requested but not available. Falling back to NIO.", name().toLowerCase());
+                }
+                return NIO;
+            default:
+                return NIO;
+        }
+    }
+
+    /**
+     * @return Whether this transport can be used on the current platform
+     */
+    public boolean isAvailable() {
+        ClassLoader classLoader = NettyTransport.class.getClassLoader();
+        switch (this) {
+            case EPOLL:
+                return ClassUtils.isPresent("io.netty.channel.epoll.Epoll", classLoader) && EpollTransport.isAvailable();
+            case KQUEUE:
+                return ClassUtils.isPresent("io.netty.channel.kqueue.KQueue", classLoader) && KQueueTransport.isAvailable();
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Creates a new event loop group for this transport.
+     *
+     * @param threads       The number of threads, 0 for the Netty default
+     * @param threadFactory The thread factory, can be null
+     * @return The event loop group
+     */
+    public EventLoopGroup newEventLoopGroup(int threads, @Nullable ThreadFactory threadFactory) {
+        switch (resolve()) {
+            case EPOLL:
+                return EpollTransport.newEventLoopGroup(threads, threadFactory);
+            case KQUEUE:
+                return KQueueTransport.newEventLoopGroup(threads, threadFactory);
+            default:
+                return new NioEventLoopGroup(threads, threadFactory);
+        }
+    }
+
+    /**
+     * Creates a new event loop group for this transport that runs on the given executor.
+     *
+     * @param threads  The number of threads, 0 for the Netty default
+     * @param executor The executor
+     * @return The event loop group
+     */
+    public EventLoopGroup newEventLoopGroup(int threads, Executor executor) {
+        switch (resolve()) {
+            case EPOLL:
+                return EpollTransport.newEventLoopGroup(threads, executor);
+            case KQUEUE:
+                return KQueueTransport.newEventLoopGroup(threads, executor);
+            default:
+                return new NioEventLoopGroup(threads, executor);
+        }
+    }
+
+    /**
+     * @return The server socket channel type for this transport
+     */
+    public Class<? extends ServerSocketChannel> getServerSocketChannelClass() {
+        switch (resolve()) {
+            case EPOLL:
+                return EpollTransport.serverSocketChannelClass();
+            case KQUEUE:
+                return KQueueTransport.serverSocketChannelClass();
+            default:
+                return NioServerSocketChannel.class;
+        }
+    }
+
+    /**
+     * @return The socket channel type for this transport
+     */
+    public Class<? extends SocketChannel> getSocketChannelClass() {
+        switch (resolve()) {
+            case EPOLL:
+                return EpollTransport.socketChannelClass();
+            case KQUEUE:
+                return KQueueTransport.socketChannelClass();
+            default:
+                return NioSocketChannel.class;
+        }
+    }
+
+    /**
+     * Sets the percentage of time the event loops of the given group spend on I/O, if supported by the group.
+     *
+     * @param group   The group
+     * @param ioRatio The I/O ratio
+     */
+    public static void setIoRatio(EventLoopGroup group, int ioRatio) {
+        if (group instanceof NioEventLoopGroup) {
+            ((NioEventLoopGroup) group).setIoRatio(ioRatio);
+        } else if (EPOLL.isAvailable() && EpollTransport.isEventLoopGroup(group)) {
+            EpollTransport.setIoRatio(group, ioRatio);
+        } else if (KQUEUE.isAvailable() && KQueueTransport.isEventLoopGroup(group)) {
+            KQueueTransport.setIoRatio(group, ioRatio);
+        }
+    }
+}
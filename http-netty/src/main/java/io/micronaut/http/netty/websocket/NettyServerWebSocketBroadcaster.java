@@ -20,17 +20,35 @@ import io.micronaut.context.annotation.Requires;
 import io.micronaut.http.MediaType;
 import io.micronaut.websocket.WebSocketBroadcaster;
 import io.micronaut.websocket.WebSocketSession;
+import io.micronaut.websocket.WebSocketSessionFilter;
 import io.micronaut.websocket.exceptions.WebSocketSessionException;
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
 import io.netty.handler.codec.http.websocketx.WebSocketFrame;
-import io.netty.util.Attribute;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GenericFutureListener;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
 import io.reactivex.BackpressureStrategy;
 import io.reactivex.Flowable;
 
 import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 
 /**
- * Netty implementation of {@link io.micronaut.websocket.WebSocketBroadcaster}.
+ * <p>Netty implementation of {@link io.micronaut.websocket.WebSocketBroadcaster}.</p>
+ *
+ * <p>A message is encoded once and every target channel is sent a retained duplicate of the same frame. The writes
+ * are batched per event loop, so that each event loop runs a single task that writes to all of its channels before
+ * flushing them. When the filter is a {@link WebSocketSessionFilter} and the repository maintains
+ * {@link WebSocketSessionGroups}, only the channels of the selected group are visited.</p>
  *
  * @author sdelamo
  * @since 1.0
@@ -57,11 +75,7 @@ public class NettyServerWebSocketBroadcaster implements WebSocketBroadcaster {
     public <T> void broadcastSync(T message, MediaType mediaType, Predicate<WebSocketSession> filter) {
         WebSocketFrame frame = webSocketMessageEncoder.encodeMessage(message, mediaType);
         try {
-            webSocketSessionRepository.getChannelGroup().writeAndFlush(frame, ch -> {
-                Attribute<NettyRxWebSocketSession> attr = ch.attr(NettyRxWebSocketSession.WEB_SOCKET_SESSION_KEY);
-                NettyRxWebSocketSession s = attr.get();
-                return s != null && s.isOpen() && filter.test(s);
-            }).sync();
+            writeAndFlush(frame, filter).sync();
         } catch (InterruptedException e) {
             throw new WebSocketSessionException("Broadcast Interrupted");
         }
@@ -72,11 +86,7 @@ public class NettyServerWebSocketBroadcaster implements WebSocketBroadcaster {
         return Flowable.create(emitter -> {
             try {
                 WebSocketFrame frame = webSocketMessageEncoder.encodeMessage(message, mediaType);
-                webSocketSessionRepository.getChannelGroup().writeAndFlush(frame, ch -> {
-                    Attribute<NettyRxWebSocketSession> attr = ch.attr(NettyRxWebSocketSession.WEB_SOCKET_SESSION_KEY);
-                    NettyRxWebSocketSession s = attr.get();
-                    return s != null && s.isOpen() && filter.test(s);
-                }).addListener(future -> {
+                writeAndFlush(frame, filter).addListener(future -> {
                     if (future.isSuccess()) {
                         emitter.onNext(message);
                         emitter.onComplete();
@@ -90,4 +100,89 @@ public class NettyServerWebSocketBroadcaster implements WebSocketBroadcaster {
             }
         }, BackpressureStrategy.BUFFER);
     }
+
+    /**
+     * Writes the frame to the channels of the open sessions matching the filter and releases it.
+     *
+     * @param frame  The frame
+     * @param filter The filter
+     * @return A future that completes once the frame has been written to every channel
+     */
+    private Future<Void> writeAndFlush(WebSocketFrame frame, Predicate<WebSocketSession> filter) {
+        Map<EventLoop, List<Channel>> batches = new IdentityHashMap<>();
+        int total = 0;
+        try {
+            for (Channel channel : resolveChannels(filter)) {
+                NettyRxWebSocketSession session = channel.attr(NettyRxWebSocketSession.WEB_SOCKET_SESSION_KEY).get();
+                if (session != null && session.isOpen() && filter.test(session)) {
+                    batches.computeIfAbsent(channel.eventLoop(), eventLoop -> new ArrayList<>()).add(channel);
+                    total++;
+                }
+            }
+        } catch (RuntimeException e) {
+            frame.release();
+            throw e;
+        }
+
+        Promise<Void> promise = ImmediateEventExecutor.INSTANCE.newPromise();
+        if (total == 0) {
+            frame.release();
+            return promise.setSuccess(null);
+        }
+        AtomicInteger remaining = new AtomicInteger(total);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        GenericFutureListener<Future<? super Void>> listener = future -> {
+            if (!future.isSuccess()) {
+                failure.compareAndSet(null, future.cause());
+            }
+            if (remaining.decrementAndGet() == 0) {
+                Throwable cause = failure.get();
+                if (cause != null) {
+                    promise.tryFailure(cause);
+                } else {
+                    promise.trySuccess(null);
+                }
+            }
+        };
+        try {
+            for (Map.Entry<EventLoop, List<Channel>> batch : batches.entrySet()) {
+                List<Channel> channels = batch.getValue();
+                WebSocketFrame[] frames = new WebSocketFrame[channels.size()];
+                for (int i = 0; i < frames.length; i++) {
+                    frames[i] = frame.retainedDuplicate();
+                }
+                try {
+                    batch.getKey().execute(() -> {
+                        for (int i = 0; i < frames.length; i++) {
+                            channels.get(i).write(frames[i]).addListener(listener);
+                        }
+                        for (Channel channel : channels) {
+                            channel.flush();
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    // the event loop is shutting down, the channels it serves are being closed
+                    for (WebSocketFrame duplicate : frames) {
+                        duplicate.release();
+                        listener.operationComplete(ImmediateEventExecutor.INSTANCE.newFailedFuture(e));
+                    }
+                }
+            }
+        } catch (Exception e) {
+            promise.tryFailure(e);
+        } finally {
+            frame.release();
+        }
+        return promise;
+    }
+
+    private Iterable<Channel> resolveChannels(Predicate<WebSocketSession> filter) {
+        if (filter instanceof WebSocketSessionFilter) {
+            Optional<WebSocketSessionGroups> groups = webSocketSessionRepository.getSessionGroups();
+            if (groups.isPresent()) {
+                return groups.get().getChannels((WebSocketSessionFilter) filter);
+            }
+        }
+        return webSocketSessionRepository.getChannelGroup();
+    }
 }
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.netty.websocket;
+
+import io.micronaut.core.convert.value.ConvertibleValues;
+import io.micronaut.websocket.WebSocketSession;
+import io.micronaut.websocket.WebSocketSessionFilter;
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Groups the channels of open WebSocket sessions by the value of each of their URI variables and attributes, so
+ * that a broadcast with a {@link WebSocketSessionFilter} only visits the sessions of the selected group.</p>
+ *
+ * <p>The URI variable groups are established when a session is added. The attribute groups reflect the attributes a
+ * session was opened with and those subsequently changed through {@link WebSocketSession#put(CharSequence, Object)},
+ * {@link WebSocketSession#remove(CharSequence)} and {@link WebSocketSession#clear()}.</p>
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+public class WebSocketSessionGroups {
+
+    private static final AttributeKey<Set<GroupKey>> GROUP_KEYS = AttributeKey.newInstance("micronaut.websocket.groups");
+
+    private final Map<GroupKey, Set<Channel>> groups = new ConcurrentHashMap<>();
+
+    /**
+     * Adds the channel of a session to the groups of its URI variables and attributes.
+     *
+     * @param channel The channel
+     * @param session The session
+     */
+    public void add(Channel channel, WebSocketSession session) {
+        ConvertibleValues<Object> uriVariables = session.getUriVariables();
+        for (String name : uriVariables.names()) {
+            uriVariables.get(name, String.class).ifPresent(value -> add(channel, new GroupKey(true, name, value)));
+        }
+        ConvertibleValues<Object> attributes = session.getAttributes();
+        for (String name : attributes.names()) {
+            attributes.get(name, Object.class).ifPresent(value -> add(channel, new GroupKey(false, name, value)));
+        }
+    }
+
+    /**
+     * Moves the channel to the group of the new value of an attribute. Changes to the attributes of a closed session
+     * are ignored, since its channel has already been removed from all groups.
+     *
+     * @param channel The channel
+     * @param name    The name of the attribute
+     * @param value   The new value or null if the attribute was removed
+     */
+    public void attributeChanged(Channel channel, CharSequence name, Object value) {
+        if (!channel.isActive()) {
+            return;
+        }
+        String attributeName = name.toString();
+        for (GroupKey key : keys(channel)) {
+            if (!key.uriVariable && key.name.equals(attributeName)) {
+                remove(channel, key);
+            }
+        }
+        if (value != null) {
+            add(channel, new GroupKey(false, attributeName, value));
+        }
+    }
+
+    /**
+     * Removes the channel from the groups of all of its attributes.
+     *
+     * @param channel The channel
+     */
+    public void attributesCleared(Channel channel) {
+        for (GroupKey key : keys(channel)) {
+            if (!key.uriVariable) {
+                remove(channel, key);
+            }
+        }
+    }
+
+    /**
+     * Removes the channel from all groups.
+     *
+     * @param channel The channel
+     */
+    public void remove(Channel channel) {
+        for (GroupKey key : keys(channel)) {
+            remove(channel, key);
+        }
+    }
+
+    /**
+     * Resolves the channels of the group selected by a filter. The channels still have to be tested against the
+     * filter, since it may carry additional conditions.
+     *
+     * @param filter The filter
+     * @return The channels of the group
+     */
+    public Collection<Channel> getChannels(WebSocketSessionFilter filter) {
+        Set<Channel> channels = groups.get(new GroupKey(filter.isUriVariable(), filter.getName(), filter.getValue()));
+        return channels != null ? channels : Collections.emptySet();
+    }
+
+    private void add(Channel channel, GroupKey key) {
+        Set<GroupKey> keys = channel.attr(GROUP_KEYS).get();
+        if (keys == null) {
+            Set<GroupKey> newKeys = ConcurrentHashMap.newKeySet();
+            keys = channel.attr(GROUP_KEYS).setIfAbsent(newKeys);
+            if (keys == null) {
+                keys = newKeys;
+            }
+        }
+        keys.add(key);
+        groups.compute(key, (k, channels) -> {
+            if (channels == null) {
+                channels = ConcurrentHashMap.newKeySet();
+            }
+            channels.add(channel);
+            return channels;
+        });
+        if (!channel.isActive()) {
+            // the channel closed concurrently and may have been removed from its groups before this key was added
+            remove(channel, key);
+        }
+    }
+
+    private void remove(Channel channel, GroupKey key) {
+        keys(channel).remove(key);
+        groups.computeIfPresent(key, (k, channels) -> {
+            channels.remove(channel);
+            return channels.isEmpty() ? null : channels;
+        });
+    }
+
+    private Set<GroupKey> keys(Channel channel) {
+        Set<GroupKey> keys = channel.attr(GROUP_KEYS).get();
+        return keys != null ? keys : Collections.emptySet();
+    }
+
+    /**
+     * Identifies the group of a URI variable or attribute value.
+     */
+    private static final class GroupKey {
+        private final boolean uriVariable;
+        private final String name;
+        private final Object value;
+
+        private GroupKey(boolean uriVariable, String name, Object value) {
+            this.uriVariable = uriVariable;
+            this.name = name;
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            GroupKey groupKey = (GroupKey) o;
+            return uriVariable == groupKey.uriVariable && name.equals(groupKey.name) && value.equals(groupKey.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(uriVariable, name, value);
+        }
+    }
+}
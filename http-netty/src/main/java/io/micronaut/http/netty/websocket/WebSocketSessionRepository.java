@@ -19,6 +19,8 @@ package io.micronaut.http.netty.websocket;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.Channel;
 
+import java.util.Optional;
+
 /**
  * Defines a ChannelGroup repository to handle WebSockets.
  *
@@ -44,4 +46,12 @@ public interface WebSocketSessionRepository {
      * @return A {@link io.netty.channel.group.ChannelGroup}
      */
     ChannelGroup getChannelGroup();
+
+    /**
+     * Returns the groups of sessions by URI variable and attribute value, if the repository maintains them.
+     * @return The {@link WebSocketSessionGroups}
+     */
+    default Optional<WebSocketSessionGroups> getSessionGroups() {
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.server.netty;
+
+import io.micronaut.core.annotation.Internal;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+
+/**
+ * An {@link OutputStream} that emits what is written to it as {@link ByteBuf} chunks of a fixed size, so that a
+ * {@link io.micronaut.core.io.Writable} can be streamed to the client while it is being written.
+ *
+ * <p>A chunk is only emitted once the subscriber has requested it, so writes block while the subscriber has no
+ * demand and at most one chunk is held by the stream. Once the subscription is cancelled, writes fail with an
+ * {@link IOException} and the pending chunk is released.</p>
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+@Internal
+final class ChunkedByteBufOutputStream extends OutputStream implements Subscription {
+
+    private final ByteBufAllocator allocator;
+    private final Subscriber<? super ByteBuf> subscriber;
+    private final int chunkSize;
+    private ByteBuf chunk;
+    private long demand;
+    private volatile boolean cancelled;
+
+    /**
+     * @param allocator  The allocator for the chunks
+     * @param subscriber The subscriber to emit the chunks to
+     * @param chunkSize  The number of bytes at which a chunk is emitted
+     */
+    ChunkedByteBufOutputStream(ByteBufAllocator allocator, Subscriber<? super ByteBuf> subscriber, int chunkSize) {
+        this.allocator = allocator;
+        this.subscriber = subscriber;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public synchronized void request(long n) {
+        if (n > 0) {
+            demand += n;
+            if (demand < 0) {
+                // overflow means the demand is unbounded
+                demand = Long.MAX_VALUE;
+            }
+            notifyAll();
+        }
+    }
+
+    @Override
+    public synchronized void cancel() {
+        cancelled = true;
+        notifyAll();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        chunk().writeByte(b);
+        emitIfFull();
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            ByteBuf current = chunk();
+            int length = Math.min(len, chunkSize - current.readableBytes());
+            current.writeBytes(b, off, length);
+            off += length;
+            len -= length;
+            emitIfFull();
+        }
+    }
+
+    /**
+     * Emits the bytes written since the last chunk was emitted.
+     *
+     * @throws IOException If the subscription is cancelled
+     */
+    @Override
+    public void close() throws IOException {
+        ByteBuf remaining = chunk;
+        chunk = null;
+        if (remaining != null) {
+            if (remaining.isReadable() && !cancelled) {
+                emit(remaining);
+            } else {
+                remaining.release();
+            }
+        }
+    }
+
+    /**
+     * Signals the subscriber that all chunks have been emitted.
+     */
+    void complete() {
+        if (!cancelled) {
+            subscriber.onComplete();
+        }
+    }
+
+    /**
+     * Releases the pending chunk and signals the subscriber that writing failed.
+     *
+     * @param cause The cause
+     */
+    void fail(Throwable cause) {
+        ByteBuf remaining = chunk;
+        chunk = null;
+        if (remaining != null) {
+            remaining.release();
+        }
+        if (!cancelled) {
+            subscriber.onError(cause);
+        }
+    }
+
+    private ByteBuf chunk() throws IOException {
+        if (cancelled) {
+            close();
+            throw new IOException("The response stream was cancelled");
+        }
+        if (chunk == null) {
+            chunk = allocator.ioBuffer(chunkSize);
+        }
+        return chunk;
+    }
+
+    private void emitIfFull() throws IOException {
+        if (chunk.readableBytes() >= chunkSize) {
+            ByteBuf full = chunk;
+            chunk = null;
+            emit(full);
+        }
+    }
+
+    private synchronized void emit(ByteBuf full) throws IOException {
+        while (demand == 0 && !cancelled) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                full.release();
+                throw new InterruptedIOException("Interrupted whilst waiting for the response stream to request more data");
+            }
+        }
+        if (cancelled) {
+            full.release();
+            throw new IOException("The response stream was cancelled");
+        }
+        if (demand != Long.MAX_VALUE) {
+            demand--;
+        }
+        // emitted whilst holding the lock, so that a concurrent cancellation cannot discard the chunk unreleased
+        subscriber.onNext(full);
+    }
+}
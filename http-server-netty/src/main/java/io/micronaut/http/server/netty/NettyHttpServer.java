@@ -30,7 +30,10 @@ import io.micronaut.core.reflect.ReflectionUtils;
 import io.micronaut.discovery.event.ServiceShutdownEvent;
 import io.micronaut.discovery.event.ServiceStartedEvent;
 import io.micronaut.http.codec.MediaTypeCodecRegistry;
+import io.micronaut.http.netty.channel.EpollTransport;
 import io.micronaut.http.netty.channel.NettyThreadFactory;
+import io.micronaut.http.netty.channel.NettyTransport;
+import io.micronaut.http.netty.websocket.WebSocketSessionGroups;
 import io.micronaut.http.netty.websocket.WebSocketSessionRepository;
 import io.micronaut.http.server.HttpServerConfiguration;
 import io.micronaut.http.server.binding.RequestArgumentSatisfier;
@@ -43,6 +46,9 @@ import io.micronaut.http.server.netty.types.NettyCustomizableResponseTypeHandler
 import io.micronaut.http.server.netty.websocket.NettyServerWebSocketUpgradeHandler;
 import io.micronaut.http.ssl.ServerSslConfiguration;
 import io.micronaut.inject.qualifiers.Qualifiers;
+import io.micronaut.metrics.MetricFamily;
+import io.micronaut.metrics.MetricRegistry;
+import io.micronaut.metrics.Timer;
 import io.micronaut.runtime.ApplicationConfiguration;
 import io.micronaut.runtime.server.EmbeddedServer;
 import io.micronaut.runtime.server.EmbeddedServerInstance;
@@ -54,24 +60,41 @@ import io.micronaut.web.router.Router;
 import io.micronaut.web.router.resource.StaticResourceResolver;
 import io.micronaut.websocket.context.WebSocketBeanRegistry;
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelOutboundHandler;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoopGroup;
 import io.netty.channel.group.ChannelGroup;
 import io.netty.channel.group.DefaultChannelGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.HttpServerCodec;
 import io.netty.handler.codec.http.HttpServerKeepAliveHandler;
+import io.netty.handler.codec.http.HttpServerUpgradeHandler;
 import io.netty.handler.codec.http.multipart.DiskFileUpload;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2MultiplexCodec;
+import io.netty.handler.codec.http2.Http2MultiplexCodecBuilder;
+import io.netty.handler.codec.http2.Http2ServerUpgradeCodec;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
 import io.netty.handler.flow.FlowControlHandler;
 import io.netty.handler.logging.LoggingHandler;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.stream.ChunkedWriteHandler;
 import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.AsciiString;
+import io.netty.util.concurrent.EventExecutor;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GlobalEventExecutor;
 import org.slf4j.Logger;
@@ -88,6 +111,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -116,11 +140,20 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
     @SuppressWarnings("WeakerAccess")
     public static final String HTTP_KEEP_ALIVE_HANDLER = "http-keep-alive-handler";
     @SuppressWarnings("WeakerAccess")
+    public static final String HTTP2_CODEC = "http2-codec";
+    @SuppressWarnings("WeakerAccess")
+    public static final String HTTP2_UPGRADE_HANDLER = "http2-upgrade-handler";
+    @SuppressWarnings("WeakerAccess")
+    public static final String HTTP2_PRIOR_KNOWLEDGE_HANDLER = "http2-prior-knowledge-handler";
+    @SuppressWarnings("WeakerAccess")
     public static final String MICRONAUT_HANDLER = "micronaut-inbound-handler";
     @SuppressWarnings("WeakerAccess")
     public static final String OUTBOUND_KEY = "-outbound-";
+    @SuppressWarnings("WeakerAccess")
+    public static final String METRIC_REQUESTS = "http.server.requests";
 
     private static final Logger LOG = LoggerFactory.getLogger(NettyHttpServer.class);
+    private static final ByteBuf HTTP2_CONNECTION_PREFACE = Unpooled.unreleasableBuffer(Http2CodecUtil.connectionPrefaceBuf());
 
     private final ExecutorService ioExecutor;
     private final ExecutorSelector executorSelector;
@@ -142,8 +175,11 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
     private final SslContext sslContext;
     private final AtomicBoolean running = new AtomicBoolean(false);
     private final ChannelGroup webSocketSessions = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
-    private NioEventLoopGroup workerGroup;
-    private NioEventLoopGroup parentGroup;
+    private final WebSocketSessionGroups webSocketSessionGroups = new WebSocketSessionGroups();
+    private final NettyTransport transport;
+    private final MetricFamily<Timer> requestTimers;
+    private EventLoopGroup workerGroup;
+    private EventLoopGroup parentGroup;
     private EmbeddedServerInstance serviceInstance;
 
     /**
@@ -205,9 +241,13 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
         this.outboundHandlers = outboundHandlers;
         this.requestArgumentSatisfier = requestArgumentSatisfier;
         this.staticResourceResolver = resourceResolver;
-        this.sslContext = nettyServerSslBuilder.build().orElse(null);
+        this.sslContext = nettyServerSslBuilder.build(serverConfiguration.getHttp2().isEnabled()).orElse(null);
         this.threadFactory = threadFactory;
+        this.transport = serverConfiguration.getTransport().resolve();
         this.webSocketBeanRegistry = WebSocketBeanRegistry.forServer(applicationContext);
+        this.requestTimers = applicationContext.findBean(MetricRegistry.class)
+                .map(registry -> registry.timers(METRIC_REQUESTS, "uri"))
+                .orElse(null);
     }
 
     /**
@@ -232,9 +272,17 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
 
             processOptions(serverConfiguration.getOptions(), serverBootstrap::option);
             processOptions(serverConfiguration.getChildOptions(), serverBootstrap::childOption);
+            if (transport == NettyTransport.EPOLL) {
+                EpollTransport.configure(
+                        serverBootstrap,
+                        serverConfiguration.isReusePort(),
+                        serverConfiguration.getTcpFastOpen(),
+                        serverConfiguration.isEdgeTriggered()
+                );
+            }
 
             serverBootstrap = serverBootstrap.group(parentGroup, workerGroup)
-                .channel(NioServerSocketChannel.class)
+                .channel(transport.getServerSocketChannelClass())
                 .childHandler(new ChannelInitializer() {
                     @Override
                     protected void initChannel(Channel ch) {
@@ -256,45 +304,26 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
                                     (int) idleTime.getSeconds()));
                         }
 
-                        pipeline.addLast(HTTP_CODEC, new HttpServerCodec(
-                                serverConfiguration.getMaxInitialLineLength(),
-                                serverConfiguration.getMaxHeaderSize(),
-                                serverConfiguration.getMaxChunkSize(),
-                                serverConfiguration.isValidateHeaders(),
-                                serverConfiguration.getInitialBufferSize()
-                        ));
-
-                        pipeline.addLast(new FlowControlHandler());
-                        pipeline.addLast(HTTP_KEEP_ALIVE_HANDLER, new HttpServerKeepAliveHandler());
-                        pipeline.addLast(HTTP_COMPRESSOR, new SmartHttpContentCompressor(serverConfiguration.getCompressionThreshold()));
-                        pipeline.addLast(HTTP_STREAMS_CODEC, new HttpStreamsServerHandler());
-                        pipeline.addLast(HTTP_CHUNKED_HANDLER, new ChunkedWriteHandler());
-                        pipeline.addLast(HttpRequestDecoder.ID, new HttpRequestDecoder(
-                                NettyHttpServer.this,
-                                environment,
-                                serverConfiguration
-                        ));
-                        pipeline.addLast(HttpResponseEncoder.ID, new HttpResponseEncoder(mediaTypeCodecRegistry, serverConfiguration));
-                        pipeline.addLast(NettyServerWebSocketUpgradeHandler.ID, new NettyServerWebSocketUpgradeHandler(
-                                getWebSocketSessionRepository(),
-                                router,
-                                requestArgumentSatisfier.getBinderRegistry(),
-                                webSocketBeanRegistry,
-                                mediaTypeCodecRegistry,
-                                applicationContext
-                        ));
-                        pipeline.addLast(MICRONAUT_HANDLER, new RoutingInBoundHandler(
-                            beanLocator,
-                            router,
-                            mediaTypeCodecRegistry,
-                            customizableResponseTypeHandlerRegistry,
-                            staticResourceResolver,
-                            serverConfiguration,
-                            requestArgumentSatisfier,
-                            executorSelector,
-                            ioExecutor
-                        ));
-                        registerMicronautChannelHandlers(pipeline);
+                        if (serverConfiguration.getHttp2().isEnabled()) {
+                            if (sslContext != null) {
+                                pipeline.addLast(new ApplicationProtocolNegotiationHandler(ApplicationProtocolNames.HTTP_1_1) {
+                                    @Override
+                                    protected void configurePipeline(ChannelHandlerContext ctx, String protocol) {
+                                        if (ApplicationProtocolNames.HTTP_2.equals(protocol)) {
+                                            ctx.pipeline().addLast(HTTP2_CODEC, newHttp2Codec());
+                                        } else if (ApplicationProtocolNames.HTTP_1_1.equals(protocol)) {
+                                            addHttp1Handlers(ctx.pipeline(), false);
+                                        } else {
+                                            throw new IllegalStateException("Unsupported application protocol: " + protocol);
+                                        }
+                                    }
+                                });
+                            } else {
+                                addHttp1Handlers(pipeline, true);
+                            }
+                        } else {
+                            addHttp1Handlers(pipeline, false);
+                        }
                     }
                 });
 
@@ -365,7 +394,7 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
      * @return The parent event loop group
      */
     @SuppressWarnings("WeakerAccess")
-    protected NioEventLoopGroup createParentEventLoopGroup() {
+    protected EventLoopGroup createParentEventLoopGroup() {
         return newEventLoopGroup(serverConfiguration.getParent());
     }
 
@@ -373,7 +402,7 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
      * @return The worker event loop group
      */
     @SuppressWarnings("WeakerAccess")
-    protected NioEventLoopGroup createWorkerEventLoopGroup() {
+    protected EventLoopGroup createWorkerEventLoopGroup() {
         return newEventLoopGroup(serverConfiguration.getWorker());
     }
 
@@ -399,11 +428,13 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
             }
         }
 
+        // with SO_REUSEPORT each parent event loop can accept connections on its own listening socket
+        int acceptors = transport == NettyTransport.EPOLL && serverConfiguration.isReusePort() ? parentGroupSize() : 1;
+        List<Channel> boundChannels = new ArrayList<>(acceptors);
         try {
-            if (host != null) {
-                serverBootstrap.bind(host, serverPort).sync();
-            } else {
-                serverBootstrap.bind(serverPort).sync();
+            for (int i = 0; i < acceptors; i++) {
+                ChannelFuture bindFuture = host != null ? serverBootstrap.bind(host, serverPort) : serverBootstrap.bind(serverPort);
+                boundChannels.add(bindFuture.sync().channel());
             }
 
             applicationContext.publishEvent(new ServerStartupEvent(this));
@@ -413,6 +444,10 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
             });
 
         } catch (Throwable e) {
+            // release the listening sockets that were bound before the failure
+            for (Channel boundChannel : boundChannels) {
+                boundChannel.close().awaitUninterruptibly();
+            }
             final boolean isBindError = e instanceof BindException;
             if (LOG.isErrorEnabled()) {
                 if (isBindError) {
@@ -463,30 +498,160 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
         }
     }
 
-    private NioEventLoopGroup newEventLoopGroup(NettyHttpServerConfiguration.EventLoopConfig config) {
+    private EventLoopGroup newEventLoopGroup(NettyHttpServerConfiguration.EventLoopConfig config) {
         if (config != null) {
             Optional<ExecutorService> executorService = config.getExecutorName().flatMap(name -> beanLocator.findBean(ExecutorService.class, Qualifiers.byName(name)));
-            NioEventLoopGroup group = executorService.map(service ->
-                new NioEventLoopGroup(config.getNumOfThreads(), service)
-            ).orElseGet(() -> {
-                if (threadFactory != null) {
-                    return new NioEventLoopGroup(config.getNumOfThreads(), threadFactory);
-                } else {
-                    return new NioEventLoopGroup(config.getNumOfThreads());
-                }
-            });
-            config.getIoRatio().ifPresent(group::setIoRatio);
+            EventLoopGroup group = executorService.map(service ->
+                transport.newEventLoopGroup(config.getNumOfThreads(), service)
+            ).orElseGet(() ->
+                transport.newEventLoopGroup(config.getNumOfThreads(), threadFactory)
+            );
+            config.getIoRatio().ifPresent(ioRatio -> NettyTransport.setIoRatio(group, ioRatio));
             return group;
         } else {
-            if (threadFactory != null) {
-                return new NioEventLoopGroup(NettyThreadFactory.DEFAULT_EVENT_LOOP_THREADS, threadFactory);
-            } else {
-                return new NioEventLoopGroup();
+            return transport.newEventLoopGroup(threadFactory != null ? NettyThreadFactory.DEFAULT_EVENT_LOOP_THREADS : 0, threadFactory);
+        }
+    }
+
+    private int parentGroupSize() {
+        int size = 0;
+        for (EventExecutor ignored : parentGroup) {
+            size++;
+        }
+        return Math.max(1, size);
+    }
+
+    /**
+     * Adds the HTTP/1.x codec followed by the request handlers.
+     *
+     * @param pipeline The pipeline
+     * @param h2cUpgrade Whether cleartext HTTP/2 should be supported, either with prior knowledge or by upgrade
+     */
+    private void addHttp1Handlers(ChannelPipeline pipeline, boolean h2cUpgrade) {
+        HttpServerCodec sourceCodec = new HttpServerCodec(
+                serverConfiguration.getMaxInitialLineLength(),
+                serverConfiguration.getMaxHeaderSize(),
+                serverConfiguration.getMaxChunkSize(),
+                serverConfiguration.isValidateHeaders(),
+                serverConfiguration.getInitialBufferSize()
+        );
+        if (h2cUpgrade) {
+            pipeline.addLast(HTTP2_PRIOR_KNOWLEDGE_HANDLER, new Http2PriorKnowledgeHandler());
+        }
+        pipeline.addLast(HTTP_CODEC, sourceCodec);
+        String anchor = HTTP_CODEC;
+        if (h2cUpgrade) {
+            pipeline.addLast(HTTP2_UPGRADE_HANDLER, new HttpServerUpgradeHandler(
+                    sourceCodec,
+                    this::newUpgradeCodec,
+                    (int) Math.min(serverConfiguration.getMaxRequestSize(), Integer.MAX_VALUE)
+            ));
+            anchor = HTTP2_UPGRADE_HANDLER;
+        }
+        addRequestHandlers(pipeline, true);
+        registerMicronautChannelHandlers(pipeline, anchor);
+    }
+
+    /**
+     * Adds the handlers that translate HTTP messages into Micronaut requests and route them. The same handlers serve
+     * HTTP/1.x connections and individual HTTP/2 streams.
+     *
+     * @param pipeline The pipeline
+     * @param http1 Whether the pipeline belongs to an HTTP/1.x connection
+     */
+    private void addRequestHandlers(ChannelPipeline pipeline, boolean http1) {
+        pipeline.addLast(new FlowControlHandler());
+        if (http1) {
+            pipeline.addLast(HTTP_KEEP_ALIVE_HANDLER, new HttpServerKeepAliveHandler());
+        }
+        pipeline.addLast(HTTP_COMPRESSOR, new SmartHttpContentCompressor(serverConfiguration.getCompressionThreshold()));
+        pipeline.addLast(HTTP_STREAMS_CODEC, new HttpStreamsServerHandler());
+        pipeline.addLast(HTTP_CHUNKED_HANDLER, new ChunkedWriteHandler());
+        pipeline.addLast(HttpRequestDecoder.ID, new HttpRequestDecoder(
+                NettyHttpServer.this,
+                environment,
+                serverConfiguration
+        ));
+        pipeline.addLast(HttpResponseEncoder.ID, new HttpResponseEncoder(mediaTypeCodecRegistry, serverConfiguration));
+        if (http1) {
+            pipeline.addLast(NettyServerWebSocketUpgradeHandler.ID, new NettyServerWebSocketUpgradeHandler(
+                    getWebSocketSessionRepository(),
+                    router,
+                    requestArgumentSatisfier.getBinderRegistry(),
+                    webSocketBeanRegistry,
+                    mediaTypeCodecRegistry,
+                    applicationContext
+            ));
+        }
+        pipeline.addLast(MICRONAUT_HANDLER, new RoutingInBoundHandler(
+            beanLocator,
+            router,
+            mediaTypeCodecRegistry,
+            customizableResponseTypeHandlerRegistry,
+            staticResourceResolver,
+            serverConfiguration,
+            requestArgumentSatisfier,
+            executorSelector,
+            ioExecutor,
+            requestTimers
+        ));
+    }
+
+    /**
+     * Creates the HTTP/2 connection codec. Every stream is served by a child channel that converts the stream frames
+     * to HTTP/1.x messages and then uses the same request handlers as an HTTP/1.x connection.
+     *
+     * @return The codec
+     */
+    private Http2MultiplexCodec newHttp2Codec() {
+        NettyHttpServerConfiguration.Http2Configuration http2 = serverConfiguration.getHttp2();
+        Http2Settings settings = Http2Settings.defaultSettings();
+        http2.getMaxConcurrentStreams().ifPresent(settings::maxConcurrentStreams);
+        http2.getInitialWindowSize().ifPresent(settings::initialWindowSize);
+        http2.getHeaderTableSize().ifPresent(settings::headerTableSize);
+        http2.getMaxFrameSize().ifPresent(settings::maxFrameSize);
+        http2.getMaxHeaderListSize().ifPresent(settings::maxHeaderListSize);
+
+        ChannelInitializer<Channel> streamInitializer = new ChannelInitializer<Channel>() {
+            @Override
+            protected void initChannel(Channel ch) {
+                ChannelPipeline pipeline = ch.pipeline();
+                pipeline.addLast(HTTP_CODEC, new Http2StreamFrameToHttpObjectCodec(true, serverConfiguration.isValidateHeaders()));
+                addRequestHandlers(pipeline, false);
+                registerMicronautChannelHandlers(pipeline, HTTP_CODEC);
             }
+        };
+        return Http2MultiplexCodecBuilder.forServer(streamInitializer)
+                .initialSettings(settings)
+                .withUpgradeStreamHandler(streamInitializer)
+                .build();
+    }
+
+    private HttpServerUpgradeHandler.UpgradeCodec newUpgradeCodec(CharSequence protocol) {
+        if (!AsciiString.contentEquals(Http2CodecUtil.HTTP_UPGRADE_PROTOCOL_NAME, protocol)) {
+            return null;
         }
+        return new Http2ServerUpgradeCodec(newHttp2Codec()) {
+            @Override
+            public void upgradeTo(ChannelHandlerContext ctx, FullHttpRequest upgradeRequest) {
+                // the HTTP/1.x handlers are replaced by the child channels of the HTTP/2 codec
+                removeHandlersAfter(ctx);
+                super.upgradeTo(ctx, upgradeRequest);
+            }
+        };
     }
 
-    private void registerMicronautChannelHandlers(ChannelPipeline pipeline) {
+    private static void removeHandlersAfter(ChannelHandlerContext ctx) {
+        ChannelPipeline pipeline = ctx.pipeline();
+        List<String> names = pipeline.names();
+        for (int i = names.indexOf(ctx.name()) + 1; i < names.size(); i++) {
+            if (pipeline.get(names.get(i)) != null) {
+                pipeline.remove(names.get(i));
+            }
+        }
+    }
+
+    private void registerMicronautChannelHandlers(ChannelPipeline pipeline, String anchorName) {
         int i = 0;
         for (ChannelHandler outboundHandlerAdapter : outboundHandlers) {
             String name;
@@ -495,7 +660,7 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
             } else {
                 name = NettyHttpServer.MICRONAUT_HANDLER + NettyHttpServer.OUTBOUND_KEY + ++i;
             }
-            pipeline.addAfter(NettyHttpServer.HTTP_CODEC, name, outboundHandlerAdapter);
+            pipeline.addAfter(anchorName, name, outboundHandlerAdapter);
         }
     }
 
@@ -528,6 +693,7 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
     @Override
     public void removeChannel(Channel channel) {
         this.webSocketSessions.remove(channel);
+        this.webSocketSessionGroups.remove(channel);
     }
 
     @Override
@@ -535,6 +701,11 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
         return this.webSocketSessions;
     }
 
+    @Override
+    public Optional<WebSocketSessionGroups> getSessionGroups() {
+        return Optional.of(this.webSocketSessionGroups);
+    }
+
     /**
      *
      * @return {@link io.micronaut.http.server.netty.NettyHttpServer} which implements {@link WebSocketSessionRepository}
@@ -542,4 +713,23 @@ public class NettyHttpServer implements EmbeddedServer, WebSocketSessionReposito
     public WebSocketSessionRepository getWebSocketSessionRepository() {
         return this;
     }
+
+    /**
+     * Detects a cleartext HTTP/2 connection that starts with the connection preface instead of an upgrade request and
+     * replaces the HTTP/1.x handlers with the HTTP/2 codec.
+     */
+    private final class Http2PriorKnowledgeHandler extends ByteToMessageDecoder {
+        @Override
+        protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+            int prefaceLength = HTTP2_CONNECTION_PREFACE.readableBytes();
+            int length = Math.min(in.readableBytes(), prefaceLength);
+            if (!ByteBufUtil.equals(HTTP2_CONNECTION_PREFACE, HTTP2_CONNECTION_PREFACE.readerIndex(), in, in.readerIndex(), length)) {
+                ctx.pipeline().remove(this);
+            } else if (length == prefaceLength) {
+                removeHandlersAfter(ctx);
+                ctx.pipeline().addAfter(ctx.name(), HTTP2_CODEC, newHttp2Codec());
+                ctx.pipeline().remove(this);
+            }
+        }
+    }
 }
@@ -28,7 +28,6 @@ import io.micronaut.core.io.buffer.ByteBuffer;
 import io.micronaut.core.reflect.ClassUtils;
 import io.micronaut.core.type.Argument;
 import io.micronaut.core.type.ReturnType;
-import io.micronaut.core.util.StreamUtils;
 import io.micronaut.http.HttpAttributes;
 import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpMethod;
@@ -69,6 +68,8 @@ import io.micronaut.http.server.types.files.FileCustomizableResponseType;
 import io.micronaut.inject.BeanType;
 import io.micronaut.inject.MethodExecutionHandle;
 import io.micronaut.inject.qualifiers.Qualifiers;
+import io.micronaut.metrics.MetricFamily;
+import io.micronaut.metrics.Timer;
 import io.micronaut.runtime.http.codec.TextPlainCodec;
 import io.micronaut.scheduling.executor.ExecutorSelector;
 import io.micronaut.web.router.*;
@@ -93,6 +94,7 @@ import io.netty.handler.codec.http.multipart.FileUpload;
 import io.netty.handler.codec.http.multipart.HttpData;
 import io.netty.handler.timeout.IdleState;
 import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.util.concurrent.FastThreadLocal;
 import io.reactivex.BackpressureStrategy;
 import io.reactivex.Flowable;
 import io.reactivex.schedulers.Schedulers;
@@ -103,6 +105,7 @@ import org.reactivestreams.Subscription;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
@@ -114,6 +117,7 @@ import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -121,7 +125,6 @@ import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 /**
  * Internal implementation of the {@link io.netty.channel.ChannelInboundHandler} for Micronaut.
@@ -133,6 +136,14 @@ import java.util.stream.Collectors;
 class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.http.HttpRequest<?>> {
 
     private static final Logger LOG = LoggerFactory.getLogger(RoutingInBoundHandler.class);
+    private static final FastThreadLocal<UriRouteMatchResult<Object, Object>> MATCH_RESULT = new FastThreadLocal<UriRouteMatchResult<Object, Object>>() {
+        @Override
+        protected UriRouteMatchResult<Object, Object> initialValue() {
+            return new UriRouteMatchResult<>();
+        }
+    };
+    private static final String UNMATCHED_URI_TEMPLATE = "UNMATCHED";
+    private static final int WRITABLE_CHUNK_SIZE = 8192;
     private static final Pattern IGNORABLE_ERROR_MESSAGE = Pattern.compile(
             "^.*(?:connection.*(?:reset|closed|abort|broken)|broken.*pipe).*$", Pattern.CASE_INSENSITIVE);
 
@@ -145,6 +156,9 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
     private final RequestArgumentSatisfier requestArgumentSatisfier;
     private final MediaTypeCodecRegistry mediaTypeCodecRegistry;
     private final NettyCustomizableResponseTypeHandlerRegistry customizableResponseTypeHandlerRegistry;
+    private final MetricFamily<Timer> requestTimers;
+    private long requestStart;
+    private String requestUriTemplate;
 
     /**
      * @param beanLocator                             The bean locator
@@ -156,6 +170,7 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
      * @param requestArgumentSatisfier                The Request argument satisfier
      * @param executorSelector                        The executor selector
      * @param ioExecutor                              The IO executor
+     * @param requestTimers                           The request timers by URI template or null if metrics are disabled
      */
     RoutingInBoundHandler(
         BeanLocator beanLocator,
@@ -166,7 +181,8 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
         NettyHttpServerConfiguration serverConfiguration,
         RequestArgumentSatisfier requestArgumentSatisfier,
         ExecutorSelector executorSelector,
-        ExecutorService ioExecutor) {
+        ExecutorService ioExecutor,
+        @Nullable MetricFamily<Timer> requestTimers) {
 
         this.mediaTypeCodecRegistry = mediaTypeCodecRegistry;
         this.customizableResponseTypeHandlerRegistry = customizableResponseTypeHandlerRegistry;
@@ -177,6 +193,7 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
         this.router = router;
         this.requestArgumentSatisfier = requestArgumentSatisfier;
         this.serverConfiguration = serverConfiguration;
+        this.requestTimers = requestTimers;
     }
 
     @Override
@@ -370,6 +387,10 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, io.micronaut.http.HttpRequest<?> request) {
         ctx.channel().config().setAutoRead(false);
+        if (requestTimers != null) {
+            requestStart = System.nanoTime();
+            requestUriTemplate = UNMATCHED_URI_TEMPLATE;
+        }
         io.micronaut.http.HttpMethod httpMethod = request.getMethod();
         String requestPath = request.getPath();
 
@@ -393,38 +414,32 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
             );
             return;
         }
-        Optional<UriRouteMatch<Object, Object>> routeMatch = Optional.empty();
+        UriRouteMatchResult<Object, Object> matchResult = router.route(request, MATCH_RESULT.get());
+        UriRouteMatch<Object, Object> establishedRoute = matchResult.getMatch();
 
-        List<UriRouteMatch<Object, Object>> uriRoutes = router
-            .find(httpMethod, requestPath)
-            .filter((match) -> match.test(request))
-            .collect(StreamUtils.minAll(
-                Comparator.comparingInt((match) -> match.getVariableValues().size()),
-                Collectors.toList()));
-
-        if (uriRoutes.size() > 1) {
+        if (matchResult.isDuplicate()) {
+            List<UriRouteMatch<Object, Object>> uriRoutes = new ArrayList<>(matchResult.getDuplicates());
+            matchResult.reset();
             throw new DuplicateRouteException(requestPath, uriRoutes);
-        } else if (uriRoutes.size() == 1) {
-            UriRouteMatch<Object, Object> establishedRoute = uriRoutes.get(0);
+        } else if (establishedRoute != null) {
             request.setAttribute(HttpAttributes.ROUTE, establishedRoute.getRoute());
             request.setAttribute(HttpAttributes.ROUTE_MATCH, establishedRoute);
-            request.setAttribute(HttpAttributes.URI_TEMPLATE, establishedRoute.getRoute().getUriMatchTemplate().toString());
-            routeMatch = Optional.of(establishedRoute);
+            String uriTemplate = establishedRoute.getRoute().getUriMatchTemplate().toString();
+            request.setAttribute(HttpAttributes.URI_TEMPLATE, uriTemplate);
+            requestUriTemplate = uriTemplate;
         }
 
         RouteMatch<?> route;
 
-        if (!routeMatch.isPresent()) {
+        if (establishedRoute == null) {
             if (LOG.isDebugEnabled()) {
                 LOG.debug("No matching route found for URI {} and method {}", request.getUri(), httpMethod);
             }
 
             // if there is no route present try to locate a route that matches a different content type
-            Set<MediaType> existingRouteConsumes = router
-                    .find(httpMethod, requestPath)
-                    .map(UriRouteMatch::getRoute)
-                    .flatMap(r -> r.getConsumes().stream())
-                    .collect(Collectors.toSet());
+            Set<MediaType> existingRouteConsumes = matchResult.getConsumes();
+            Set<io.micronaut.http.HttpMethod> existingRouteMethods = matchResult.getAllowedMethods();
+            matchResult.reset();
 
             if (!existingRouteConsumes.isEmpty() && !existingRouteConsumes.contains(MediaType.ALL_TYPE)) {
                 MediaType contentType = request.getContentType().orElse(null);
@@ -446,11 +461,6 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
             }
 
             // if there is no route present try to locate a route that matches a different HTTP method
-            Set<io.micronaut.http.HttpMethod> existingRouteMethods = router
-                    .findAny(request.getUri().toString())
-                    .map(UriRouteMatch::getHttpMethod)
-                    .collect(Collectors.toSet());
-
             if (!existingRouteMethods.isEmpty()) {
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Method not allowed for URI {} and method {}", request.getUri(), httpMethod);
@@ -480,7 +490,8 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
             }
 
         } else {
-            route = routeMatch.get();
+            matchResult.reset();
+            route = establishedRoute;
         }
 
         if (LOG.isDebugEnabled()) {
@@ -1107,6 +1118,14 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
 
                 Object body = responseBody.get();
 
+                if (body instanceof Writable && isChunked(response)) {
+                    // written chunk by chunk as it is produced once the response is complete
+                    if (!specifiedMediaType.isPresent()) {
+                        response.contentType(responseMediaType);
+                    }
+                    return response;
+                }
+
                 Optional<NettyCustomizableResponseTypeHandler> typeHandler = customizableResponseTypeHandlerRegistry
                         .findTypeHandler(body.getClass());
                 if (typeHandler.isPresent()) {
@@ -1141,7 +1160,12 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
         finalPublisher.subscribe(new ContextCompletionAwareSubscriber<MutableHttpResponse<?>>(context) {
             @Override
             protected void onComplete(MutableHttpResponse<?> message) {
-                writeFinalNettyResponse(message, requestReference, context);
+                Object body = message.body();
+                if (body instanceof Writable) {
+                    streamWritable(message, (Writable) body, requestReference, context);
+                } else {
+                    writeFinalNettyResponse(message, requestReference, context);
+                }
             }
 
             @Override
@@ -1174,6 +1198,7 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
             nettyHeaders.add(HttpHeaderNames.TRANSFER_ENCODING, HttpHeaderValues.CHUNKED);
         }
 
+        recordRequest();
         final Object body = message.body();
         if (body instanceof NettyCustomizableResponseTypeHandlerInvoker) {
             NettyCustomizableResponseTypeHandlerInvoker handler = (NettyCustomizableResponseTypeHandlerInvoker) body;
@@ -1185,6 +1210,53 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
         }
     }
 
+    private boolean isChunked(MutableHttpResponse<?> response) {
+        return response.getHeaders().get(HttpHeaders.TRANSFER_ENCODING, String.class)
+                .map(io.micronaut.http.HttpHeaderValues.TRANSFER_ENCODING_CHUNKED::equalsIgnoreCase)
+                .orElse(false);
+    }
+
+    private void streamWritable(MutableHttpResponse<?> message,
+                                Writable writable,
+                                AtomicReference<HttpRequest<?>> requestReference,
+                                ChannelHandlerContext context) {
+        NettyMutableHttpResponse nettyHttpResponse = (NettyMutableHttpResponse) message;
+        FullHttpResponse nettyResponse = nettyHttpResponse.getNativeResponse();
+        MediaType mediaType = message.getContentType().orElse(MediaType.TEXT_HTML_TYPE);
+        // both headers are set again when streaming
+        nettyResponse.headers().remove(HttpHeaderNames.TRANSFER_ENCODING);
+        nettyResponse.headers().remove(HttpHeaderNames.CONTENT_TYPE);
+
+        HttpRequest<?> httpRequest = requestReference.get();
+        // render on the I/O executor and emit the output as it is requested instead of buffering the whole body
+        Flowable<Object> chunks = Flowable.<ByteBuf>fromPublisher(subscriber -> {
+            ChunkedByteBufOutputStream outputStream = new ChunkedByteBufOutputStream(context.alloc(), subscriber, WRITABLE_CHUNK_SIZE);
+            subscriber.onSubscribe(outputStream);
+            try {
+                ioExecutor.execute(() -> {
+                    try {
+                        writable.writeTo(outputStream, httpRequest.getCharacterEncoding());
+                        outputStream.close();
+                    } catch (Throwable e) {
+                        outputStream.fail(e);
+                        return;
+                    }
+                    outputStream.complete();
+                });
+            } catch (RejectedExecutionException e) {
+                outputStream.fail(e);
+            }
+        }).cast(Object.class);
+
+        streamHttpContentChunkByChunk(
+                context,
+                httpRequest instanceof NettyHttpRequest ? (NettyHttpRequest<?>) httpRequest : null,
+                nettyResponse,
+                mediaType,
+                false,
+                chunks);
+    }
+
     private MutableHttpResponse<?> encodeBodyWithCodec(MutableHttpResponse<?> response,
                                                        Object body,
                                                        MediaTypeCodec codec,
@@ -1488,10 +1560,22 @@ class RoutingInBoundHandler extends SimpleChannelInboundHandler<io.micronaut.htt
         io.netty.handler.codec.http.HttpHeaders headers = streamedResponse.headers();
         headers.add(HttpHeaderNames.TRANSFER_ENCODING, HttpHeaderValues.CHUNKED);
         headers.add(HttpHeaderNames.CONTENT_TYPE, mediaType);
+        recordRequest();
         context.writeAndFlush(streamedResponse);
         context.read();
     }
 
+    /**
+     * Records the time taken to produce the response for the current request against its URI template. Streamed
+     * responses are recorded once the response headers are written.
+     */
+    private void recordRequest() {
+        if (requestTimers != null && requestStart != 0) {
+            requestTimers.get(requestUriTemplate).recordSince(requestStart);
+            requestStart = 0;
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private void writeDefaultErrorResponse(ChannelHandlerContext ctx, NettyHttpRequest nettyHttpRequest, Throwable cause) {
         logException(cause);
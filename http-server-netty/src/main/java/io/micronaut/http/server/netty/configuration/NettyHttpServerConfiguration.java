@@ -18,11 +18,14 @@ package io.micronaut.http.server.netty.configuration;
 
 import io.micronaut.context.annotation.ConfigurationProperties;
 import io.micronaut.core.convert.format.ReadableBytes;
+import io.micronaut.core.util.Toggleable;
+import io.micronaut.http.netty.channel.NettyTransport;
 import io.micronaut.http.server.HttpServerConfiguration;
 import io.micronaut.runtime.ApplicationConfiguration;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.logging.LogLevel;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import java.util.Collections;
 import java.util.Map;
@@ -80,6 +83,30 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
     @SuppressWarnings("WeakerAccess")
     public static final int DEFAULT_COMPRESSIONTHRESHOLD = 1024;
 
+    /**
+     * The default transport.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final NettyTransport DEFAULT_TRANSPORT = NettyTransport.NIO;
+
+    /**
+     * The default reuse port value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_REUSEPORT = false;
+
+    /**
+     * The default TCP fast open queue length.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_TCPFASTOPEN = 0;
+
+    /**
+     * The default edge triggered value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_EDGETRIGGERED = true;
+
     private Map<ChannelOption, Object> childOptions = Collections.emptyMap();
     private Map<ChannelOption, Object> options = Collections.emptyMap();
     private Worker worker;
@@ -92,6 +119,11 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
     private int initialBufferSize = DEFAULT_INITIALBUFFERSIZE;
     private LogLevel logLevel;
     private int compressionThreshold = DEFAULT_COMPRESSIONTHRESHOLD;
+    private NettyTransport transport = DEFAULT_TRANSPORT;
+    private boolean reusePort = DEFAULT_REUSEPORT;
+    private int tcpFastOpen = DEFAULT_TCPFASTOPEN;
+    private boolean edgeTriggered = DEFAULT_EDGETRIGGERED;
+    private Http2Configuration http2 = new Http2Configuration();
 
     /**
      * Default empty constructor.
@@ -179,6 +211,50 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
         return compressionThreshold;
     }
 
+    /**
+     * The transport to use. Defaults to {@link NettyTransport#NIO}.
+     *
+     * @return The transport
+     */
+    public NettyTransport getTransport() {
+        return transport;
+    }
+
+    /**
+     * Whether {@code SO_REUSEPORT} is enabled. Only applies to the epoll transport. Defaults to false.
+     *
+     * @return Whether {@code SO_REUSEPORT} is enabled
+     */
+    public boolean isReusePort() {
+        return reusePort;
+    }
+
+    /**
+     * The {@code TCP_FASTOPEN} queue length, 0 if disabled. Only applies to the epoll transport. Defaults to 0.
+     *
+     * @return The {@code TCP_FASTOPEN} queue length
+     */
+    public int getTcpFastOpen() {
+        return tcpFastOpen;
+    }
+
+    /**
+     * Whether epoll is used in edge-triggered rather than level-triggered mode. Only applies to the epoll transport.
+     * Defaults to true.
+     *
+     * @return Whether edge-triggered mode is used
+     */
+    public boolean isEdgeTriggered() {
+        return edgeTriggered;
+    }
+
+    /**
+     * @return The HTTP/2 configuration
+     */
+    public Http2Configuration getHttp2() {
+        return http2;
+    }
+
     /**
      * @return The Netty child channel options.
      * @see io.netty.bootstrap.ServerBootstrap#childOptions()
@@ -306,6 +382,165 @@ public class NettyHttpServerConfiguration extends HttpServerConfiguration {
         this.compressionThreshold = compressionThreshold;
     }
 
+    /**
+     * Sets the transport to use. When a native transport is not available NIO is used instead.
+     * Default value ({@link NettyTransport#NIO}).
+     * @param transport The transport
+     */
+    public void setTransport(NettyTransport transport) {
+        if (transport != null) {
+            this.transport = transport;
+        }
+    }
+
+    /**
+     * Sets whether {@code SO_REUSEPORT} is enabled. When enabled with the epoll transport the server binds one
+     * listening socket per parent event loop thread so that connections are accepted in parallel.
+     * Default value ({@value #DEFAULT_REUSEPORT}).
+     * @param reusePort True if {@code SO_REUSEPORT} should be enabled
+     */
+    public void setReusePort(boolean reusePort) {
+        this.reusePort = reusePort;
+    }
+
+    /**
+     * Sets the {@code TCP_FASTOPEN} queue length for the epoll transport. Default value ({@value #DEFAULT_TCPFASTOPEN}).
+     * @param tcpFastOpen The queue length, 0 to disable
+     */
+    public void setTcpFastOpen(int tcpFastOpen) {
+        this.tcpFastOpen = tcpFastOpen;
+    }
+
+    /**
+     * Sets whether epoll is used in edge-triggered mode. Default value ({@value #DEFAULT_EDGETRIGGERED}).
+     * @param edgeTriggered True for edge-triggered mode, false for level-triggered mode
+     */
+    public void setEdgeTriggered(boolean edgeTriggered) {
+        this.edgeTriggered = edgeTriggered;
+    }
+
+    /**
+     * Sets the HTTP/2 configuration.
+     * @param http2 The HTTP/2 configuration
+     */
+    public void setHttp2(Http2Configuration http2) {
+        if (http2 != null) {
+            this.http2 = http2;
+        }
+    }
+
+    /**
+     * Configuration for HTTP/2 support. When enabled HTTP/2 is negotiated with ALPN if SSL is enabled, otherwise
+     * clients can upgrade a cleartext HTTP/1.1 connection to h2c.
+     */
+    @ConfigurationProperties("http2")
+    public static class Http2Configuration implements Toggleable {
+
+        /**
+         * The default enable value.
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static final boolean DEFAULT_ENABLED = false;
+
+        private boolean enabled = DEFAULT_ENABLED;
+        private Long maxConcurrentStreams;
+        private Integer initialWindowSize;
+        private Long headerTableSize;
+        private Integer maxFrameSize;
+        private Long maxHeaderListSize;
+
+        /**
+         * @return Whether HTTP/2 is enabled. Defaults to false.
+         */
+        @Override
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * @return The maximum number of concurrent streams per connection, if configured
+         */
+        public Optional<Long> getMaxConcurrentStreams() {
+            return Optional.ofNullable(maxConcurrentStreams);
+        }
+
+        /**
+         * @return The initial flow control window size in bytes, if configured
+         */
+        public Optional<Integer> getInitialWindowSize() {
+            return Optional.ofNullable(initialWindowSize);
+        }
+
+        /**
+         * @return The HPACK header table size in bytes, if configured
+         */
+        public Optional<Long> getHeaderTableSize() {
+            return Optional.ofNullable(headerTableSize);
+        }
+
+        /**
+         * @return The maximum frame size in bytes, if configured
+         */
+        public Optional<Integer> getMaxFrameSize() {
+            return Optional.ofNullable(maxFrameSize);
+        }
+
+        /**
+         * @return The maximum size of the header list in bytes, if configured
+         */
+        public Optional<Long> getMaxHeaderListSize() {
+            return Optional.ofNullable(maxHeaderListSize);
+        }
+
+        /**
+         * Sets whether HTTP/2 is enabled. Default value ({@value #DEFAULT_ENABLED}).
+         * @param enabled True if HTTP/2 is enabled
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Sets the maximum number of concurrent streams per connection.
+         * @param maxConcurrentStreams The maximum number of concurrent streams
+         */
+        public void setMaxConcurrentStreams(@Nullable Long maxConcurrentStreams) {
+            this.maxConcurrentStreams = maxConcurrentStreams;
+        }
+
+        /**
+         * Sets the initial flow control window size.
+         * @param initialWindowSize The initial window size
+         */
+        public void setInitialWindowSize(@Nullable Integer initialWindowSize) {
+            this.initialWindowSize = initialWindowSize;
+        }
+
+        /**
+         * Sets the HPACK header table size.
+         * @param headerTableSize The header table size
+         */
+        public void setHeaderTableSize(@Nullable Long headerTableSize) {
+            this.headerTableSize = headerTableSize;
+        }
+
+        /**
+         * Sets the maximum frame size.
+         * @param maxFrameSize The maximum frame size
+         */
+        public void setMaxFrameSize(@Nullable Integer maxFrameSize) {
+            this.maxFrameSize = maxFrameSize;
+        }
+
+        /**
+         * Sets the maximum size of the header list.
+         * @param maxHeaderListSize The maximum size of the header list
+         */
+        public void setMaxHeaderListSize(@Nullable Long maxHeaderListSize) {
+            this.maxHeaderListSize = maxHeaderListSize;
+        }
+    }
+
     /**
      * Configuration for Netty worker.
      */
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.http.server.netty.jackson;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.http.server.HttpServerConfiguration;
+import io.micronaut.http.server.netty.AbstractHttpContentProcessor;
+import io.micronaut.http.server.netty.NettyHttpRequest;
+import io.micronaut.jackson.parser.JacksonObjectParser;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.ReferenceCountUtil;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * <p>Binds a JSON request body directly to the type of the body argument of the matched route, without building an
+ * intermediate {@link com.fasterxml.jackson.databind.JsonNode} tree.</p>
+ *
+ * <p>A body that arrives in a single chunk is deserialized straight from the {@link ByteBuf}. Otherwise the chunks are
+ * fed to a {@link JacksonObjectParser} as they arrive and the object is deserialized once the last chunk has been
+ * received. If the JSON cannot be mapped to the target type the parsed tree is emitted instead, so that the
+ * conversion error is reported in the same way as for other bodies.</p>
+ *
+ * @author Graeme Rocher
+ * @since 1.0
+ */
+@Internal
+public class JsonBodyContentProcessor extends AbstractHttpContentProcessor<Object> {
+
+    private final ObjectMapper objectMapper;
+    private final JavaType type;
+    private JacksonObjectParser parser;
+    private Object body;
+    private boolean bodyRead;
+    private byte[] buffer;
+
+    /**
+     * @param nettyHttpRequest The Netty Http request
+     * @param configuration    The Http server configuration
+     * @param objectMapper     The object mapper
+     * @param type             The type of the body argument
+     */
+    public JsonBodyContentProcessor(NettyHttpRequest<?> nettyHttpRequest,
+                                    HttpServerConfiguration configuration,
+                                    ObjectMapper objectMapper,
+                                    Class<?> type) {
+        super(nettyHttpRequest, configuration);
+        this.objectMapper = objectMapper;
+        this.type = objectMapper.getTypeFactory().constructType(type);
+    }
+
+    @Override
+    protected void doOnSubscribe(Subscription subscription, Subscriber<? super Object> subscriber) {
+        if (parentSubscription == null) {
+            return;
+        }
+        // the body is emitted once all chunks have been received, so chunks are demanded regardless of downstream demand
+        subscriber.onSubscribe(new Subscription() {
+            @Override
+            public void request(long n) {
+                // no-op
+            }
+
+            @Override
+            public void cancel() {
+                parentSubscription.cancel();
+            }
+        });
+        parentSubscription.request(1);
+    }
+
+    @Override
+    protected void onData(ByteBufHolder message) {
+        ByteBuf content = message.content();
+        try {
+            // once the body has been read in one go only the empty last chunk remains
+            if (!bodyRead) {
+                if (parser == null && isWholeBody(message, content)) {
+                    body = readWholeBody(content);
+                    bodyRead = true;
+                } else if (content.isReadable()) {
+                    feed(content);
+                }
+            }
+        } catch (IOException e) {
+            onError(e);
+            return;
+        } finally {
+            ReferenceCountUtil.release(content);
+        }
+        parentSubscription.request(1);
+    }
+
+    @Override
+    protected void doOnComplete() {
+        if (parser != null) {
+            try {
+                parser.complete();
+                try {
+                    body = parser.readValue();
+                } catch (JsonMappingException e) {
+                    body = parser.readTree();
+                }
+            } catch (IOException e) {
+                doOnError(e);
+                return;
+            }
+        }
+        if (body != null) {
+            getSubscriber().onNext(body);
+        }
+        super.doOnComplete();
+    }
+
+    private boolean isWholeBody(ByteBufHolder message, ByteBuf content) {
+        return message instanceof LastHttpContent || (advertisedLength > 0 && content.readableBytes() == advertisedLength);
+    }
+
+    private Object readWholeBody(ByteBuf content) throws IOException {
+        if (!content.isReadable()) {
+            return null;
+        }
+        int readerIndex = content.readerIndex();
+        try {
+            return objectMapper.readValue((InputStream) new ByteBufInputStream(content), type);
+        } catch (JsonMappingException e) {
+            content.readerIndex(readerIndex);
+            return objectMapper.readTree((InputStream) new ByteBufInputStream(content));
+        }
+    }
+
+    private void feed(ByteBuf content) throws IOException {
+        if (parser == null) {
+            parser = new JacksonObjectParser(objectMapper, type);
+        }
+        int length = content.readableBytes();
+        if (content.hasArray()) {
+            parser.feed(content.array(), content.arrayOffset() + content.readerIndex(), length);
+        } else {
+            // the parser has consumed the input once feed returns, so a single buffer is reused for every chunk
+            if (buffer == null || buffer.length < length) {
+                buffer = new byte[length];
+            }
+            content.getBytes(content.readerIndex(), buffer, 0, length);
+            parser.feed(buffer, 0, length);
+        }
+    }
+}
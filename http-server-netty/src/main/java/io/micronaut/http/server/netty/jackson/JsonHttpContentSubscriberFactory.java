@@ -17,15 +17,25 @@
 package io.micronaut.http.server.netty.jackson;
 
 import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.core.type.Argument;
 import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Body;
 import io.micronaut.http.annotation.Consumes;
 import io.micronaut.http.server.HttpServerConfiguration;
 import io.micronaut.http.server.netty.HttpContentProcessor;
 import io.micronaut.http.server.netty.HttpContentSubscriberFactory;
 import io.micronaut.http.server.netty.NettyHttpRequest;
+import io.micronaut.web.router.MethodBasedRouteMatch;
+import io.micronaut.web.router.RouteMatch;
 
+import javax.annotation.Nullable;
+import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.lang.reflect.Modifier;
 import java.util.Optional;
 
 /**
@@ -41,18 +51,83 @@ public class JsonHttpContentSubscriberFactory implements HttpContentSubscriberFa
 
     private final HttpServerConfiguration httpServerConfiguration;
     private final Optional<JsonFactory> jsonFactory;
+    private final ObjectMapper objectMapper;
 
     /**
      * @param httpServerConfiguration The Http server configuration
      * @param jsonFactory             The json factory
      */
     public JsonHttpContentSubscriberFactory(HttpServerConfiguration httpServerConfiguration, Optional<JsonFactory> jsonFactory) {
+        this(httpServerConfiguration, jsonFactory, null);
+    }
+
+    /**
+     * @param httpServerConfiguration The Http server configuration
+     * @param jsonFactory             The json factory
+     * @param objectMapper            The object mapper used to bind bodies directly to the body argument
+     */
+    @Inject
+    public JsonHttpContentSubscriberFactory(HttpServerConfiguration httpServerConfiguration,
+                                            Optional<JsonFactory> jsonFactory,
+                                            @Nullable ObjectMapper objectMapper) {
         this.httpServerConfiguration = httpServerConfiguration;
         this.jsonFactory = jsonFactory;
+        this.objectMapper = objectMapper;
     }
 
     @Override
     public HttpContentProcessor build(NettyHttpRequest request) {
+        if (objectMapper != null) {
+            Optional<Class<?>> bodyType = resolveBindableBodyType(request);
+            if (bodyType.isPresent()) {
+                return new JsonBodyContentProcessor(request, httpServerConfiguration, objectMapper, bodyType.get());
+            }
+        }
         return new JsonContentProcessor(request, httpServerConfiguration, jsonFactory);
     }
+
+    /**
+     * The body can be bound directly when the whole JSON document is bound to a single {@link Body} argument of a
+     * concrete, non-generic type and every other argument of the route is already satisfied, so that nothing else
+     * needs the parsed tree. Generic types are left to the conversion of the tree, which resolves their type
+     * arguments.
+     *
+     * @param request The request
+     * @return The type of the body argument, if the body can be bound directly
+     */
+    private Optional<Class<?>> resolveBindableBodyType(NettyHttpRequest<?> request) {
+        RouteMatch<?> route = request.getMatchedRoute();
+        if (!(route instanceof MethodBasedRouteMatch) || !request.getContentType().map(MediaType.APPLICATION_JSON_TYPE::equals).orElse(false)) {
+            return Optional.empty();
+        }
+        Optional<Argument<?>> bodyArgument = route.getBodyArgument();
+        if (!bodyArgument.isPresent()) {
+            return Optional.empty();
+        }
+        Argument<?> body = bodyArgument.get();
+        if (!body.getAnnotationMetadata().hasAnnotation(Body.class)
+                || body.getAnnotationMetadata().getValue(Body.class, String.class).isPresent()
+                || body.getTypeParameters().length > 0
+                || !isBindableType(body.getType())) {
+            return Optional.empty();
+        }
+        for (Argument argument : ((MethodBasedRouteMatch<?, ?>) route).getArguments()) {
+            String name = argument.getName();
+            if (!name.equals(body.getName()) && !route.isSatisfied(name)) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(body.getType());
+    }
+
+    private boolean isBindableType(Class<?> type) {
+        return !type.isPrimitive()
+                && !type.isArray()
+                && type.getTypeParameters().length == 0
+                && !type.isInterface()
+                && !Modifier.isAbstract(type.getModifiers())
+                && !type.getName().startsWith("java.")
+                && !TreeNode.class.isAssignableFrom(type)
+                && !Publishers.isConvertibleToPublisher(type);
+    }
 }
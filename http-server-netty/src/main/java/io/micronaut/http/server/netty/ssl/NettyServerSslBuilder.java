@@ -19,9 +19,13 @@ package io.micronaut.http.server.netty.ssl;
 import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.io.ResourceResolver;
 import io.micronaut.http.ssl.*;
+import io.netty.handler.codec.http2.Http2SecurityUtil;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SupportedCipherSuiteFilter;
 import io.netty.handler.ssl.util.SelfSignedCertificate;
 
 import javax.inject.Singleton;
@@ -56,16 +60,32 @@ public class NettyServerSslBuilder extends SslBuilder<SslContext> {
         return (ServerSslConfiguration) ssl;
     }
 
-    @SuppressWarnings("Duplicates")
     @Override
     public Optional<SslContext> build() {
+        return build(false);
+    }
+
+    /**
+     * Builds the SSL context, optionally advertising HTTP/2 with ALPN.
+     *
+     * @param http2 Whether HTTP/2 should be negotiated with ALPN
+     * @return The SSL context if SSL is enabled
+     */
+    @SuppressWarnings("Duplicates")
+    public Optional<SslContext> build(boolean http2) {
         if (!ssl.isEnabled()) {
             return Optional.empty();
         }
+        ApplicationProtocolConfig protocolConfig = http2 ? newHttp2ProtocolConfig() : null;
         if (ssl.buildSelfSigned()) {
             try {
                 SelfSignedCertificate ssc = new SelfSignedCertificate();
-                return Optional.of(SslContextBuilder.forServer(ssc.certificate(), ssc.privateKey()).build());
+                SslContextBuilder selfSignedBuilder = SslContextBuilder.forServer(ssc.certificate(), ssc.privateKey());
+                if (protocolConfig != null) {
+                    selfSignedBuilder.ciphers(Http2SecurityUtil.CIPHERS, SupportedCipherSuiteFilter.INSTANCE)
+                            .applicationProtocolConfig(protocolConfig);
+                }
+                return Optional.of(selfSignedBuilder.build());
             } catch (CertificateException | SSLException e) {
                 throw new SslConfigurationException("Encountered an error while building a self signed certificate", e);
             }
@@ -79,6 +99,11 @@ public class NettyServerSslBuilder extends SslBuilder<SslContext> {
         }
         if (ssl.getCiphers().isPresent()) {
             sslBuilder = sslBuilder.ciphers(Arrays.asList(ssl.getCiphers().get()));
+        } else if (protocolConfig != null) {
+            sslBuilder = sslBuilder.ciphers(Http2SecurityUtil.CIPHERS, SupportedCipherSuiteFilter.INSTANCE);
+        }
+        if (protocolConfig != null) {
+            sslBuilder = sslBuilder.applicationProtocolConfig(protocolConfig);
         }
         if (ssl.getClientAuthentication().isPresent()) {
             ClientAuthentication clientAuth = ssl.getClientAuthentication().get();
@@ -95,4 +120,14 @@ public class NettyServerSslBuilder extends SslBuilder<SslContext> {
             throw new SslConfigurationException("An error occurred while setting up SSL", ex);
         }
     }
+
+    private ApplicationProtocolConfig newHttp2ProtocolConfig() {
+        return new ApplicationProtocolConfig(
+                ApplicationProtocolConfig.Protocol.ALPN,
+                ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                ApplicationProtocolNames.HTTP_2,
+                ApplicationProtocolNames.HTTP_1_1
+        );
+    }
 }
@@ -21,6 +21,7 @@ import io.micronaut.core.annotation.Internal;
 import io.micronaut.core.async.publisher.Publishers;
 import io.micronaut.core.bind.BoundExecutable;
 import io.micronaut.core.convert.value.ConvertibleValues;
+import io.micronaut.core.convert.value.MutableConvertibleValues;
 import io.micronaut.http.HttpAttributes;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.http.bind.RequestBinderRegistry;
@@ -50,6 +51,7 @@ import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 
+import javax.annotation.Nullable;
 import java.security.Principal;
 import java.util.Optional;
 import java.util.Set;
@@ -185,9 +187,30 @@ public class NettyServerWebSocketHandler extends AbstractNettyWebSocketHandler {
                 return uriVars;
             }
 
+            @Override
+            public MutableConvertibleValues<Object> put(CharSequence key, @Nullable Object value) {
+                MutableConvertibleValues<Object> result = super.put(key, value);
+                webSocketSessionRepository.getSessionGroups().ifPresent(groups -> groups.attributeChanged(channel, key, value));
+                return result;
+            }
+
+            @Override
+            public MutableConvertibleValues<Object> remove(CharSequence key) {
+                MutableConvertibleValues<Object> result = super.remove(key);
+                webSocketSessionRepository.getSessionGroups().ifPresent(groups -> groups.attributeChanged(channel, key, null));
+                return result;
+            }
+
+            @Override
+            public MutableConvertibleValues<Object> clear() {
+                MutableConvertibleValues<Object> result = super.clear();
+                webSocketSessionRepository.getSessionGroups().ifPresent(groups -> groups.attributesCleared(channel));
+                return result;
+            }
         };
 
         webSocketSessionRepository.addChannel(channel);
+        webSocketSessionRepository.getSessionGroups().ifPresent(groups -> groups.add(channel, session));
 
         return session;
     }
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty
+
+import io.netty.buffer.ByteBuf
+import io.netty.buffer.ByteBufAllocator
+import io.netty.buffer.Unpooled
+import io.reactivex.subscribers.TestSubscriber
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.CompletableFuture
+
+class ChunkedByteBufOutputStreamSpec extends Specification {
+
+    List<ByteBuf> buffers = []
+    ByteBufAllocator allocator = Stub(ByteBufAllocator) {
+        ioBuffer(_) >> { int capacity ->
+            ByteBuf buffer = Unpooled.buffer(capacity)
+            buffers << buffer
+            buffer
+        }
+    }
+
+    void "test chunks are only emitted once they are requested"() {
+        given:
+        TestSubscriber<ByteBuf> subscriber = new TestSubscriber<>(0)
+        ChunkedByteBufOutputStream outputStream = new ChunkedByteBufOutputStream(allocator, subscriber, 4)
+        subscriber.onSubscribe(outputStream)
+        PollingConditions conditions = new PollingConditions(timeout: 5)
+
+        when:
+        CompletableFuture.runAsync {
+            outputStream.write('abcdefghij'.bytes)
+            outputStream.close()
+            outputStream.complete()
+        }
+        sleep(100)
+
+        then:
+        subscriber.valueCount() == 0
+
+        when:
+        subscriber.request(1)
+
+        then:
+        conditions.eventually {
+            assert subscriber.valueCount() == 1
+        }
+
+        when:
+        subscriber.request(2)
+
+        then:
+        conditions.eventually {
+            assert subscriber.valueCount() == 3
+            subscriber.assertComplete()
+        }
+    }
+
+    void "test the pending chunk is released when the subscription is cancelled"() {
+        given:
+        TestSubscriber<ByteBuf> subscriber = new TestSubscriber<>(0)
+        ChunkedByteBufOutputStream outputStream = new ChunkedByteBufOutputStream(allocator, subscriber, 4)
+        subscriber.onSubscribe(outputStream)
+        CompletableFuture<Void> writing = CompletableFuture.runAsync {
+            outputStream.write('abcd'.bytes)
+        }
+        sleep(100)
+
+        when:
+        subscriber.cancel()
+        writing.join()
+
+        then:
+        def e = thrown(Exception)
+        e.cause instanceof IOException
+        buffers.size() == 1
+        buffers[0].refCnt() == 0
+        subscriber.valueCount() == 0
+    }
+}
@@ -155,6 +155,65 @@ class JsonBodyBindingSpec extends AbstractMicronautSpec {
         response.body() == json
     }
 
+    void "test POGO body parsing with a body that spans many chunks"() {
+        when:
+        def name = 'x' * 200_000
+        def json = '{"name":"' + name + '","age":10}'
+        def response = rxClient.exchange(
+                HttpRequest.POST('/json/object', json), String
+        ).blockingFirst()
+
+        then:
+        response.body() == "Body: Foo($name, 10)"
+    }
+
+    void "test POGO body parsing with other arguments bound from the URI"() {
+        when:
+        def json = '{"name":"Fred","age":10}'
+        def response = rxClient.exchange(
+                HttpRequest.POST('/json/object/5', json), String
+        ).blockingFirst()
+
+        then:
+        response.body() == "Body: 5 Foo(Fred, 10)"
+    }
+
+    void "test POGO body parsing with JSON that does not match the type"() {
+        when:
+        def json = '{"name":"Fred","age":"ten"}'
+        rxClient.exchange(
+                HttpRequest.POST('/json/object', json), String
+        ).blockingFirst()
+
+        then:
+        def e = thrown(HttpClientResponseException)
+        e.response.status == HttpStatus.BAD_REQUEST
+    }
+
+    void "test POGO body parsing with invalid JSON"() {
+        when:
+        def json = '{"name":Fred}'
+        rxClient.exchange(
+                HttpRequest.POST('/json/object', json), String
+        ).blockingFirst()
+
+        then:
+        def e = thrown(HttpClientResponseException)
+        e.response.status == HttpStatus.BAD_REQUEST
+        e.message.startsWith('Invalid JSON')
+    }
+
+    void "test generic POGO body parsing"() {
+        when:
+        def json = '{"value":{"name":"Fred","age":10}}'
+        def response = rxClient.exchange(
+                HttpRequest.POST('/json/wrapper', json), String
+        ).blockingFirst()
+
+        then:
+        response.body() == "Body: Foo Foo(Fred, 10)"
+    }
+
     void "test array POGO body parsing"() {
         when:
         def json = '[{"name":"Fred", "age":10},{"name":"Barney", "age":11}]'
@@ -255,6 +314,16 @@ class JsonBodyBindingSpec extends AbstractMicronautSpec {
             "Body: $foo"
         }
 
+        @Post("/object/{id}")
+        String objectWithId(Long id, @Body Foo foo) {
+            "Body: $id $foo"
+        }
+
+        @Post("/wrapper")
+        String wrapper(@Body Wrapper<Foo> wrapper) {
+            "Body: ${wrapper.value.getClass().simpleName} $wrapper.value"
+        }
+
         @Post("/object-to-object")
         Foo objectToObject(@Body Foo foo) {
             return foo
@@ -318,6 +387,10 @@ class JsonBodyBindingSpec extends AbstractMicronautSpec {
         }
     }
 
+    static class Wrapper<T> {
+        T value
+    }
+
     static class Foo {
         String name
         Integer age
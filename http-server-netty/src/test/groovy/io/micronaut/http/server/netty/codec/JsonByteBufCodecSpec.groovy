@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.codec
+
+import io.micronaut.buffer.netty.NettyByteBufferFactory
+import io.micronaut.context.ApplicationContext
+import io.micronaut.core.io.buffer.ByteBuffer
+import io.micronaut.core.type.Argument
+import io.micronaut.jackson.codec.JsonMediaTypeCodec
+import io.netty.buffer.ByteBuf
+import io.netty.buffer.PooledByteBufAllocator
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class JsonByteBufCodecSpec extends Specification {
+
+    @Shared @AutoCleanup ApplicationContext context = ApplicationContext.run()
+    @Shared JsonMediaTypeCodec codec = context.getBean(JsonMediaTypeCodec)
+
+    void "test objects are encoded directly into a buffer from the allocator"() {
+        given:
+        NettyByteBufferFactory factory = new NettyByteBufferFactory(PooledByteBufAllocator.DEFAULT)
+        Map<String, Object> body = [items: (1..10000).collect { [id: it, name: "item $it".toString()] }]
+
+        when:
+        ByteBuffer buffer = codec.encode(body, factory)
+        ByteBuf byteBuf = (ByteBuf) buffer.asNativeBuffer()
+
+        then:
+        byteBuf.alloc() == PooledByteBufAllocator.DEFAULT
+        byteBuf.readableBytes() == codec.encode(body).length
+
+        when:
+        Map decoded = codec.decode(Argument.of(Map), buffer)
+
+        then:
+        decoded.items.size() == 10000
+        decoded.items[9999] == [id: 10000, name: 'item 10000']
+        byteBuf.readerIndex() == 0
+
+        cleanup:
+        byteBuf.release()
+    }
+
+    void "test byte arrays are wrapped without copying"() {
+        given:
+        byte[] bytes = '{"foo":"bar"}'.bytes
+
+        when:
+        ByteBuffer buffer = codec.encode(bytes, new NettyByteBufferFactory(PooledByteBufAllocator.DEFAULT))
+
+        then:
+        ((ByteBuf) buffer.asNativeBuffer()).array().is(bytes)
+    }
+}
@@ -16,6 +16,7 @@
 package io.micronaut.http.server.netty.configuration
 
 import io.micronaut.http.client.HttpClientConfiguration
+import io.micronaut.http.netty.channel.NettyTransport
 import io.micronaut.http.server.HttpServerConfiguration
 import io.netty.channel.ChannelOption
 import io.micronaut.context.ApplicationContext
@@ -139,4 +140,57 @@ class NettyHttpServerConfigurationSpec extends Specification {
         cleanup:
         beanContext.close()
     }
+
+    void "test netty server transport configuration"() {
+        given:
+        ApplicationContext beanContext = ApplicationContext.run(
+                'micronaut.server.netty.transport'     : 'auto',
+                'micronaut.server.netty.reuse-port'    : true,
+                'micronaut.server.netty.tcp-fast-open' : 256,
+                'micronaut.server.netty.edge-triggered': false,
+                'micronaut.http.client.transport'      : 'epoll'
+        )
+
+        when:
+        NettyHttpServerConfiguration config = beanContext.getBean(NettyHttpServerConfiguration)
+        NettyHttpServer server = beanContext.getBean(NettyHttpServer)
+        server.start()
+
+        then:
+        config.transport == NettyTransport.AUTO
+        config.reusePort
+        config.tcpFastOpen == 256
+        !config.edgeTriggered
+        beanContext.getBean(HttpClientConfiguration).transport == NettyTransport.EPOLL
+        server.isRunning()
+
+        cleanup:
+        beanContext.close()
+    }
+
+    void "test netty server http2 configuration"() {
+        given:
+        ApplicationContext beanContext = ApplicationContext.run(
+                'micronaut.server.netty.http2.enabled'               : true,
+                'micronaut.server.netty.http2.max-concurrent-streams': 50,
+                'micronaut.server.netty.http2.initial-window-size'   : 131072,
+                'micronaut.server.netty.http2.header-table-size'     : 8192
+        )
+
+        when:
+        NettyHttpServerConfiguration config = beanContext.getBean(NettyHttpServerConfiguration)
+        NettyHttpServer server = beanContext.getBean(NettyHttpServer)
+        server.start()
+
+        then:
+        config.http2.enabled
+        config.http2.maxConcurrentStreams.get() == 50L
+        config.http2.initialWindowSize.get() == 131072
+        config.http2.headerTableSize.get() == 8192L
+        !config.http2.maxFrameSize.isPresent()
+        server.isRunning()
+
+        cleanup:
+        beanContext.close()
+    }
 }
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.http.server.netty.websocket
+
+import io.micronaut.core.convert.value.ConvertibleValues
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.MediaType
+import io.micronaut.http.codec.MediaTypeCodecRegistry
+import io.micronaut.http.netty.websocket.NettyRxWebSocketSession
+import io.micronaut.http.netty.websocket.NettyServerWebSocketBroadcaster
+import io.micronaut.http.netty.websocket.WebSocketMessageEncoder
+import io.micronaut.http.netty.websocket.WebSocketSessionGroups
+import io.micronaut.http.netty.websocket.WebSocketSessionRepository
+import io.micronaut.websocket.WebSocketSession
+import io.micronaut.websocket.WebSocketSessionFilter
+import io.netty.channel.Channel
+import io.netty.channel.embedded.EmbeddedChannel
+import io.netty.channel.group.ChannelGroup
+import io.netty.channel.group.DefaultChannelGroup
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame
+import io.netty.util.concurrent.GlobalEventExecutor
+import spock.lang.Requires
+import spock.lang.Specification
+
+import java.util.function.Predicate
+
+class WebSocketSessionGroupsSpec extends Specification {
+
+    ChannelGroup channelGroup = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE)
+    WebSocketSessionGroups groups = new WebSocketSessionGroups()
+    WebSocketSessionRepository repository = new WebSocketSessionRepository() {
+        @Override
+        void addChannel(Channel channel) {
+            channelGroup.add(channel)
+        }
+
+        @Override
+        void removeChannel(Channel channel) {
+            channelGroup.remove(channel)
+            groups.remove(channel)
+        }
+
+        @Override
+        ChannelGroup getChannelGroup() {
+            channelGroup
+        }
+
+        @Override
+        Optional<WebSocketSessionGroups> getSessionGroups() {
+            Optional.of(groups)
+        }
+    }
+    NettyServerWebSocketBroadcaster broadcaster = new NettyServerWebSocketBroadcaster(
+            new WebSocketMessageEncoder(MediaTypeCodecRegistry.of()),
+            repository
+    )
+
+    void "test a broadcast with a session filter only reaches the sessions of the group"() {
+        given:
+        EmbeddedChannel fred = openSession(topic: 'stuff')
+        EmbeddedChannel bob = openSession(topic: 'stuff')
+        EmbeddedChannel alice = openSession(topic: 'other')
+
+        when:
+        broadcast('hello', WebSocketSessionFilter.uriVariable('topic', 'stuff'))
+
+        then:
+        readText(fred) == 'hello'
+        readText(bob) == 'hello'
+        readText(alice) == null
+
+        when: "the filter is narrowed with an additional condition"
+        NettyRxWebSocketSession fredSession = fred.attr(NettyRxWebSocketSession.WEB_SOCKET_SESSION_KEY).get()
+        broadcast('hi', WebSocketSessionFilter.uriVariable('topic', 'stuff').and({ it != fredSession }))
+
+        then:
+        readText(fred) == null
+        readText(bob) == 'hi'
+
+        when: "a session is closed"
+        bob.close()
+        repository.removeChannel(bob)
+        broadcast('bye', WebSocketSessionFilter.uriVariable('topic', 'stuff'))
+
+        then:
+        readText(fred) == 'bye'
+        groups.getChannels(WebSocketSessionFilter.uriVariable('topic', 'stuff')) == [fred] as Set
+    }
+
+    void "test attribute groups follow attribute changes"() {
+        given:
+        EmbeddedChannel fred = openSession(topic: 'stuff')
+
+        when:
+        groups.attributeChanged(fred, 'room', 'a')
+
+        then:
+        groups.getChannels(WebSocketSessionFilter.attribute('room', 'a')) == [fred] as Set
+
+        when:
+        groups.attributeChanged(fred, 'room', 'b')
+
+        then:
+        groups.getChannels(WebSocketSessionFilter.attribute('room', 'a')).isEmpty()
+        groups.getChannels(WebSocketSessionFilter.attribute('room', 'b')) == [fred] as Set
+
+        when:
+        groups.attributesCleared(fred)
+
+        then:
+        groups.getChannels(WebSocketSessionFilter.attribute('room', 'b')).isEmpty()
+        groups.getChannels(WebSocketSessionFilter.uriVariable('topic', 'stuff')) == [fred] as Set
+    }
+
+    void "test a broadcast with a predicate tests every session"() {
+        given:
+        EmbeddedChannel fred = openSession(topic: 'stuff')
+        EmbeddedChannel alice = openSession(topic: 'other')
+
+        when:
+        broadcast('hello', { it.uriVariables.get('topic', String).orElse(null) == 'other' })
+
+        then:
+        readText(fred) == null
+        readText(alice) == 'hello'
+    }
+
+    @Requires({ sys['benchmark'] })
+    void "benchmark indexed broadcasts against predicate broadcasts with 100k sessions"() {
+        given:
+        int sessions = 100_000
+        List<EmbeddedChannel> channels = (0..<sessions).collect { openSession(topic: "room-${it % 1000}".toString()) }
+        int rounds = 100
+
+        when:
+        long predicateStart = System.nanoTime()
+        for (int i = 0; i < rounds; i++) {
+            String topic = "room-$i".toString()
+            broadcaster.broadcast('message', MediaType.TEXT_PLAIN_TYPE, { it.uriVariables.get('topic', String).orElse(null) == topic }).subscribe()
+            drain(channels)
+        }
+        long predicateTime = System.nanoTime() - predicateStart
+
+        long indexedStart = System.nanoTime()
+        for (int i = 0; i < rounds; i++) {
+            broadcaster.broadcast('message', MediaType.TEXT_PLAIN_TYPE, WebSocketSessionFilter.uriVariable('topic', "room-$i")).subscribe()
+            drain(channels)
+        }
+        long indexedTime = System.nanoTime() - indexedStart
+        println "Predicate broadcast: ${predicateTime / rounds / 1_000_000}ms per message, indexed broadcast: ${indexedTime / rounds / 1_000_000}ms per message"
+
+        then:
+        indexedTime < predicateTime
+    }
+
+    private void broadcast(String message, Predicate<WebSocketSession> filter) {
+        broadcaster.broadcast(message, MediaType.TEXT_PLAIN_TYPE, filter).subscribe()
+    }
+
+    private EmbeddedChannel openSession(Map<String, Object> uriVariables) {
+        EmbeddedChannel channel = new EmbeddedChannel()
+        ConvertibleValues<Object> values = ConvertibleValues.of(uriVariables)
+        NettyRxWebSocketSession session = new NettyRxWebSocketSession(
+                UUID.randomUUID().toString(),
+                channel,
+                HttpRequest.GET('/chat'),
+                MediaTypeCodecRegistry.of(),
+                '13',
+                false
+        ) {
+            @Override
+            ConvertibleValues<Object> getUriVariables() {
+                values
+            }
+        }
+        repository.addChannel(channel)
+        groups.add(channel, session)
+        channel
+    }
+
+    private static String readText(EmbeddedChannel channel) {
+        channel.runPendingTasks()
+        TextWebSocketFrame frame = channel.readOutbound()
+        try {
+            return frame?.text()
+        } finally {
+            frame?.release()
+        }
+    }
+
+    private static void drain(List<EmbeddedChannel> channels) {
+        for (EmbeddedChannel channel : channels) {
+            channel.runPendingTasks()
+            channel.releaseOutbound()
+        }
+    }
+}
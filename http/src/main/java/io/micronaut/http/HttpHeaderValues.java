@@ -33,4 +33,9 @@ public interface HttpHeaderValues {
      * {@code "Basic "}.
      */
     String AUTHORIZATION_PREFIX_BASIC = "Basic";
+
+    /**
+     * {@code "chunked"}.
+     */
+    String TRANSFER_ENCODING_CHUNKED = "chunked";
 }
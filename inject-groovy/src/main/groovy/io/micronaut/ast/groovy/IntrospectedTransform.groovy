@@ -0,0 +1,145 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.ast.groovy
+
+import groovy.transform.CompileStatic
+import io.micronaut.ast.groovy.utils.AstAnnotationUtils
+import io.micronaut.ast.groovy.utils.AstGenericUtils
+import io.micronaut.ast.groovy.utils.AstMessageUtils
+import io.micronaut.core.annotation.Introspected
+import io.micronaut.core.naming.NameUtils
+import io.micronaut.inject.writer.BeanIntrospectionWriter
+import io.micronaut.inject.writer.DirectoryClassWriterOutputVisitor
+import org.codehaus.groovy.ast.ASTNode
+import org.codehaus.groovy.ast.ClassHelper
+import org.codehaus.groovy.ast.ClassNode
+import org.codehaus.groovy.ast.InnerClassNode
+import org.codehaus.groovy.ast.MethodNode
+import org.codehaus.groovy.ast.PropertyNode
+import org.codehaus.groovy.control.CompilePhase
+import org.codehaus.groovy.control.SourceUnit
+import org.codehaus.groovy.transform.ASTTransformation
+import org.codehaus.groovy.transform.GroovyASTTransformation
+
+import java.lang.reflect.Modifier
+
+import static org.codehaus.groovy.ast.tools.GeneralUtils.getGetterName
+import static org.codehaus.groovy.ast.tools.GeneralUtils.getSetterName
+
+/**
+ * An AST transformation that produces a {@link io.micronaut.core.beans.BeanIntrospection} for each class annotated
+ * with {@link Introspected}.
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+@CompileStatic
+@GroovyASTTransformation(phase = CompilePhase.CANONICALIZATION)
+class IntrospectedTransform implements ASTTransformation {
+
+    @Override
+    void visit(ASTNode[] nodes, SourceUnit source) {
+        File classesDir = source.configuration.targetDirectory
+        if (classesDir == null) {
+            return
+        }
+        DirectoryClassWriterOutputVisitor outputVisitor = new DirectoryClassWriterOutputVisitor(classesDir)
+        for (ClassNode classNode in source.getAST().getClasses()) {
+            if (!AstAnnotationUtils.hasStereotype(source, classNode, Introspected)) {
+                continue
+            }
+            if (Modifier.isPrivate(classNode.modifiers)) {
+                AstMessageUtils.error(source, classNode, "@Introspected cannot be applied to private types")
+                continue
+            }
+            try {
+                BeanIntrospectionWriter writer = new BeanIntrospectionWriter(classNode.name, classNode.isInterface())
+                if (isInstantiable(classNode)) {
+                    writer.visitDefaultConstructor()
+                }
+                visitProperties(classNode, writer)
+                writer.accept(outputVisitor)
+            } catch (Throwable e) {
+                AstMessageUtils.error(source, classNode, "Error generating bean introspection for class [${classNode.name}]: $e.message")
+            }
+        }
+    }
+
+    private static boolean isInstantiable(ClassNode classNode) {
+        if (classNode.isInterface() || Modifier.isAbstract(classNode.modifiers)) {
+            return false
+        }
+        if (classNode instanceof InnerClassNode && !Modifier.isStatic(classNode.modifiers)) {
+            return false
+        }
+        if (classNode.declaredConstructors.isEmpty()) {
+            return true
+        }
+        return classNode.declaredConstructors.any { it.parameters.length == 0 && Modifier.isPublic(it.modifiers) }
+    }
+
+    private static void visitProperties(ClassNode classNode, BeanIntrospectionWriter writer) {
+        Map<String, ClassNode> types = new LinkedHashMap<>()
+        Map<String, String> getters = [:]
+        Map<String, String> setters = [:]
+
+        ClassNode current = classNode
+        while (current != null && current != ClassHelper.OBJECT_TYPE && current.name != Object.name) {
+            for (PropertyNode propertyNode in current.properties) {
+                if (propertyNode.isStatic() || !propertyNode.isPublic() || types.containsKey(propertyNode.name)) {
+                    continue
+                }
+                String name = propertyNode.name
+                types.put(name, propertyNode.type)
+                getters.put(name, getGetterName(propertyNode))
+                if (!Modifier.isFinal(propertyNode.modifiers)) {
+                    setters.put(name, getSetterName(name))
+                }
+            }
+            for (MethodNode methodNode in current.methods) {
+                if (methodNode.isStatic() || !methodNode.isPublic() || methodNode.isSynthetic()) {
+                    continue
+                }
+                String methodName = methodNode.name
+                int parameterCount = methodNode.parameters.length
+                if (parameterCount == 0 && NameUtils.isGetterName(methodName) && methodNode.returnType != ClassHelper.VOID_TYPE) {
+                    String name = NameUtils.getPropertyNameForGetter(methodName)
+                    if (!getters.containsKey(name) && name != 'metaClass') {
+                        types.putIfAbsent(name, methodNode.returnType)
+                        getters.put(name, methodName)
+                    }
+                } else if (parameterCount == 1 && NameUtils.isSetterName(methodName) && methodNode.returnType == ClassHelper.VOID_TYPE) {
+                    String name = NameUtils.getPropertyNameForSetter(methodName)
+                    if (!setters.containsKey(name) && name != 'metaClass') {
+                        types.putIfAbsent(name, methodNode.parameters[0].type)
+                        setters.put(name, methodName)
+                    }
+                }
+            }
+            current = current.superClass
+        }
+
+        for (Map.Entry<String, ClassNode> entry in types) {
+            String name = entry.key
+            writer.visitProperty(
+                    name,
+                    AstGenericUtils.resolveTypeReference(entry.value),
+                    getters.get(name),
+                    setters.get(name)
+            )
+        }
+    }
+}
@@ -19,6 +19,8 @@ import io.micronaut.context.BeanContext
 import spock.lang.Specification
 
 import javax.inject.Singleton
+import java.util.concurrent.Future
+import java.util.concurrent.TimeUnit
 
 /**
  * @author Graeme Rocher
@@ -50,6 +52,41 @@ class EventListenerSpec extends Specification {
 
     }
 
+    void "test receive event published asynchronously"() {
+        given:
+        BeanContext context = BeanContext.run()
+        MyListener listener = context.getBean(MyListener)
+
+        when:
+        List<Future<Void>> futures = (1..100).collect { context.publishEventAsync(new FooEvent()) }
+        futures*.get(5, TimeUnit.SECONDS)
+
+        then:
+        listener.count == 100
+
+        cleanup:
+        context.close()
+    }
+
+    void "test listeners registered after an event is published receive events"() {
+        given:
+        BeanContext context = BeanContext.run()
+        context.publishEvent(new BarEvent())
+        SecondListener second = context.getBean(SecondListener)
+        SecondListener registered = new SecondListener()
+
+        when:
+        context.registerSingleton(registered)
+        context.publishEvent(new BarEvent())
+
+        then:
+        second.count == 2
+        registered.count == 1
+
+        cleanup:
+        context.close()
+    }
+
 }
 
 class FooEvent {}
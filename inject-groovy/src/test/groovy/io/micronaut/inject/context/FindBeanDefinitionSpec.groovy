@@ -48,9 +48,39 @@ class FindBeanDefinitionSpec extends Specification {
         beanContext.getBean(B) instanceof B
     }
 
+    void 'test bean definitions registered after a lookup are found by their super types'() {
+        given:
+        BeanContext beanContext = BeanContext.run()
+
+        expect:
+        beanContext.getBeansOfType(IC).isEmpty()
+        beanContext.getBeanDefinitions(Ab).size() == 2
+
+        when:
+        C c = new C()
+        beanContext.registerSingleton(c, false)
+
+        then:
+        beanContext.getBeansOfType(IC).toList() == [c]
+        beanContext.getBean(Ac).is(c)
+        beanContext.getBean(C).is(c)
+        beanContext.getBeanDefinitions(Ab).size() == 2
+
+        cleanup:
+        beanContext.close()
+    }
+
 
     static abstract class Ab {}
 
+    static abstract class Ac implements IC {}
+
+    static class C extends Ac {}
+
+    static interface IC {
+
+    }
+
     @Singleton
     @Named("A")
     static class A extends Ab implements IA{
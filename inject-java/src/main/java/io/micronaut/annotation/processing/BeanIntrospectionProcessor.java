@@ -0,0 +1,171 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.annotation.processing;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.naming.NameUtils;
+import io.micronaut.inject.processing.JavaModelUtils;
+import io.micronaut.inject.writer.BeanIntrospectionWriter;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An annotation processor that generates {@link io.micronaut.core.beans.BeanIntrospection} implementations for
+ * types annotated with {@link io.micronaut.core.annotation.Introspected}.
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+@SupportedAnnotationTypes({
+    "io.micronaut.core.annotation.Introspected"
+})
+@Internal
+public class BeanIntrospectionProcessor extends AbstractInjectAnnotationProcessor {
+
+    private static final String INTROSPECTED = "io.micronaut.core.annotation.Introspected";
+
+    @Override
+    public final synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+    }
+
+    @Override
+    public final boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (annotations.isEmpty()) {
+            return false;
+        }
+        TypeElement introspected = elementUtils.getTypeElement(INTROSPECTED);
+        if (introspected == null) {
+            return false;
+        }
+        for (TypeElement typeElement : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(introspected))) {
+            ElementKind kind = typeElement.getKind();
+            if (kind != ElementKind.CLASS && kind != ElementKind.INTERFACE) {
+                error(typeElement, "@Introspected can only be applied to classes and interfaces");
+                continue;
+            }
+            if (typeElement.getModifiers().contains(Modifier.PRIVATE)) {
+                error(typeElement, "@Introspected cannot be applied to private types");
+                continue;
+            }
+            BeanIntrospectionWriter writer = new BeanIntrospectionWriter(
+                    JavaModelUtils.getClassName(typeElement),
+                    kind == ElementKind.INTERFACE
+            );
+            if (isInstantiable(typeElement)) {
+                writer.visitDefaultConstructor();
+            }
+            visitProperties(typeElement, writer);
+            try {
+                writer.accept(classWriterOutputVisitor);
+            } catch (IOException e) {
+                error(typeElement, "I/O error occurred writing bean introspection for type [%s]: %s", typeElement, e);
+            }
+        }
+        return false;
+    }
+
+    private boolean isInstantiable(TypeElement typeElement) {
+        Set<Modifier> modifiers = typeElement.getModifiers();
+        if (modifiers.contains(Modifier.ABSTRACT) || typeElement.getKind() != ElementKind.CLASS) {
+            return false;
+        }
+        if (typeElement.getNestingKind() != NestingKind.TOP_LEVEL && !modifiers.contains(Modifier.STATIC)) {
+            return false;
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(typeElement.getEnclosedElements())) {
+            if (constructor.getModifiers().contains(Modifier.PUBLIC) && constructor.getParameters().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void visitProperties(TypeElement typeElement, BeanIntrospectionWriter writer) {
+        Map<String, ExecutableElement> getters = new LinkedHashMap<>();
+        Map<String, ExecutableElement> setters = new LinkedHashMap<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(elementUtils.getAllMembers(typeElement))) {
+            Set<Modifier> modifiers = method.getModifiers();
+            Element owner = method.getEnclosingElement();
+            if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC)
+                    || (owner instanceof TypeElement && ((TypeElement) owner).getQualifiedName().contentEquals(Object.class.getName()))) {
+                continue;
+            }
+            String name = method.getSimpleName().toString();
+            TypeMirror returnType = method.getReturnType();
+            int parameters = method.getParameters().size();
+            if (parameters == 0 && name.length() > 3 && name.startsWith("get") && returnType.getKind() != TypeKind.VOID) {
+                getters.putIfAbsent(NameUtils.decapitalize(name.substring(3)), method);
+            } else if (parameters == 0 && name.length() > 2 && name.startsWith("is") && returnType.getKind() == TypeKind.BOOLEAN) {
+                getters.putIfAbsent(NameUtils.decapitalize(name.substring(2)), method);
+            } else if (parameters == 1 && name.length() > 3 && name.startsWith("set") && returnType.getKind() == TypeKind.VOID) {
+                setters.putIfAbsent(NameUtils.decapitalize(name.substring(3)), method);
+            }
+        }
+
+        Map<String, Object> types = new LinkedHashMap<>();
+        for (Map.Entry<String, ExecutableElement> entry : getters.entrySet()) {
+            types.put(entry.getKey(), modelUtils.resolveTypeReference(entry.getValue().getReturnType()));
+        }
+        Iterator<Map.Entry<String, ExecutableElement>> i = setters.entrySet().iterator();
+        while (i.hasNext()) {
+            Map.Entry<String, ExecutableElement> entry = i.next();
+            Object type = modelUtils.resolveTypeReference(entry.getValue().getParameters().get(0).asType());
+            Object existing = types.putIfAbsent(entry.getKey(), type);
+            if (existing != null && !existing.equals(type)) {
+                // a setter that does not accept the type of the getter does not belong to the property
+                i.remove();
+            }
+        }
+
+        for (Map.Entry<String, Object> entry : types.entrySet()) {
+            String property = entry.getKey();
+            Object type = entry.getValue();
+            if (type == Void.TYPE) {
+                // the type could not be resolved to a class, for example a multi-dimensional array
+                continue;
+            }
+            ExecutableElement getter = getters.get(property);
+            ExecutableElement setter = setters.get(property);
+            if (getter == null && setter == null) {
+                continue;
+            }
+            writer.visitProperty(
+                    property,
+                    type,
+                    getter != null ? getter.getSimpleName().toString() : null,
+                    setter != null ? setter.getSimpleName().toString() : null
+            );
+        }
+    }
+}
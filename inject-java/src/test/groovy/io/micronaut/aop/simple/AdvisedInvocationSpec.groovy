@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.aop.simple
+
+import io.micronaut.context.ApplicationContext
+import spock.lang.AutoCleanup
+import spock.lang.Requires
+import spock.lang.Shared
+import spock.lang.Specification
+
+class AdvisedInvocationSpec extends Specification {
+
+    @Shared @AutoCleanup ApplicationContext context = ApplicationContext.run()
+    @Shared CountedClass counted = context.getBean(CountedClass)
+    @Shared CountingInterceptor interceptor = context.getBean(CountingInterceptor)
+
+    void "test arguments reach the target when no interceptor reads them"() {
+        given:
+        long count = interceptor.count
+
+        expect:
+        counted.add(1, 2) == 3
+        counted.name() == 'counted'
+        interceptor.count == count + 2
+    }
+
+    @Requires({ sys['benchmark'] })
+    void "benchmark advised and unadvised invocation"() {
+        given:
+        int iterations = 10_000_000
+        CountedClass counted = this.counted
+
+        when:
+        long direct = time(iterations) { int i -> counted.addDirect(i, 1) }
+        long advised = time(iterations) { int i -> counted.add(i, 1) }
+        println "Unadvised: ${direct / iterations}ns/call, advised: ${advised / iterations}ns/call"
+
+        then:
+        advised > 0
+    }
+
+    private static long time(int iterations, Closure<Integer> call) {
+        // warm up
+        for (int i = 0; i < iterations; i++) {
+            call.call(i)
+        }
+        long start = System.nanoTime()
+        for (int i = 0; i < iterations; i++) {
+            call.call(i)
+        }
+        System.nanoTime() - start
+    }
+}
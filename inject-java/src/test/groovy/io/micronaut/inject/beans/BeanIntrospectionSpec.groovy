@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.inject.beans
+
+import io.micronaut.core.beans.BeanIntrospection
+import io.micronaut.core.beans.BeanIntrospector
+import io.micronaut.core.beans.BeanMap
+import io.micronaut.core.reflect.exception.InstantiationException
+import io.micronaut.inject.AbstractTypeElementSpec
+
+class BeanIntrospectionSpec extends AbstractTypeElementSpec {
+
+    void "test bean introspection reads and writes properties"() {
+        given:
+        ClassLoader classLoader = buildClassLoader('test.Book', '''
+package test;
+
+import io.micronaut.core.annotation.*;
+
+@Introspected
+public class Book {
+    private String title;
+    private int pages;
+    private boolean available;
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public int getPages() {
+        return pages;
+    }
+
+    public void setPages(int pages) {
+        this.pages = pages;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public String getSummary() {
+        return title + " (" + pages + ")";
+    }
+}
+''')
+        Class beanType = classLoader.loadClass('test.Book')
+
+        when:
+        BeanIntrospection introspection = BeanIntrospector.findIntrospection(beanType).get()
+        def book = introspection.instantiate()
+        introspection.getProperty('title').get().set(book, 'The Stand')
+        introspection.getProperty('pages').get().set(book, 1000)
+
+        then:
+        introspection.beanType == beanType
+        introspection.isInstantiable()
+        introspection.beanProperties*.name as Set == ['title', 'pages', 'available', 'summary'] as Set
+        introspection.getProperty('pages').get().type == int
+        introspection.getProperty('title').get().get(book) == 'The Stand'
+        introspection.getProperty('summary').get().get(book) == 'The Stand (1000)'
+        introspection.getProperty('available').get().isReadable()
+        !introspection.getProperty('available').get().isWritable()
+        !introspection.getProperty('summary').get().isWritable()
+        !introspection.getProperty('missing').isPresent()
+
+        when:
+        BeanMap beanMap = BeanMap.of(book)
+
+        then:
+        beanMap.get('title') == 'The Stand'
+        beanMap.get('pages') == 1000
+
+        when:
+        introspection.getProperty('summary').get().set(book, 'foo')
+
+        then:
+        thrown(UnsupportedOperationException)
+    }
+
+    void "test bean introspection of an abstract type is not instantiable"() {
+        given:
+        ClassLoader classLoader = buildClassLoader('test.Named', '''
+package test;
+
+import io.micronaut.core.annotation.*;
+
+@Introspected
+public abstract class Named {
+    public abstract String getName();
+}
+''')
+
+        when:
+        BeanIntrospection introspection = BeanIntrospector.findIntrospection(classLoader.loadClass('test.Named')).get()
+
+        then:
+        !introspection.isInstantiable()
+        introspection.beanProperties*.name == ['name']
+
+        when:
+        introspection.instantiate()
+
+        then:
+        thrown(InstantiationException)
+    }
+
+    void "test types that are not introspected"() {
+        expect:
+        !BeanIntrospector.findIntrospection(String).isPresent()
+    }
+}
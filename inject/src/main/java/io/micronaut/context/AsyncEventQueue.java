@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.context;
+
+import io.micronaut.core.annotation.Internal;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * <p>Queues events that are published asynchronously and publishes them on an {@link Executor}.</p>
+ *
+ * <p>At most one task is submitted to the executor at a time. The task publishes every event that is queued by the
+ * time it runs, so a burst of events is handed to the executor as a single batch and the events are published in the
+ * order they were queued.</p>
+ *
+ * @author Graeme Rocher
+ * @since 1.0
+ */
+@Internal
+final class AsyncEventQueue {
+
+    private final Queue<PendingEvent> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private final Consumer<Object> publisher;
+
+    /**
+     * @param publisher The consumer that publishes an event synchronously
+     */
+    AsyncEventQueue(Consumer<Object> publisher) {
+        this.publisher = publisher;
+    }
+
+    /**
+     * Queues an event for publishing.
+     *
+     * @param event    The event
+     * @param executor The executor to publish the queued events on
+     * @return A future that completes once the listeners have consumed the event
+     */
+    CompletableFuture<Void> publish(Object event, Executor executor) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        pending.add(new PendingEvent(event, future));
+        if (draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                PendingEvent rejected = pending.poll();
+                while (rejected != null) {
+                    rejected.future.completeExceptionally(e);
+                    rejected = pending.poll();
+                }
+            }
+        }
+        return future;
+    }
+
+    private void drain() {
+        do {
+            PendingEvent next = pending.poll();
+            while (next != null) {
+                try {
+                    publisher.accept(next.event);
+                    next.future.complete(null);
+                } catch (Throwable e) {
+                    next.future.completeExceptionally(e);
+                }
+                next = pending.poll();
+            }
+            draining.set(false);
+            // an event queued after the last poll but before the flag was reset would otherwise never be published
+        } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+    }
+
+    /**
+     * An event waiting to be published.
+     */
+    private static final class PendingEvent {
+        private final Object event;
+        private final CompletableFuture<Void> future;
+
+        private PendingEvent(Object event, CompletableFuture<Void> future) {
+            this.event = event;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.context;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.reflect.ReflectionUtils;
+import io.micronaut.inject.BeanDefinitionReference;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
+
+/**
+ * <p>Indexes {@link BeanDefinitionReference} instances by their bean type, each of its super classes and every
+ * interface it implements, so that the candidates for a type can be looked up without scanning every reference.</p>
+ *
+ * <p>The index is built the first time it is queried and is kept up to date as references are added or removed
+ * through it. The references within a type are kept in the order they were added to the backing collection.</p>
+ *
+ * @author Graeme Rocher
+ * @since 1.0
+ */
+@Internal
+final class BeanDefinitionReferenceIndex {
+
+    private final Collection<BeanDefinitionReference> references;
+    private volatile Map<Class, Collection<BeanDefinitionReference>> index;
+
+    /**
+     * @param references The backing collection of references
+     */
+    BeanDefinitionReferenceIndex(Collection<BeanDefinitionReference> references) {
+        this.references = references;
+    }
+
+    /**
+     * Finds the references whose bean type is the same as or a sub type of the given type.
+     *
+     * @param type The type
+     * @return The references, which may include references that are not enabled
+     */
+    Collection<BeanDefinitionReference> findReferences(Class<?> type) {
+        Collection<BeanDefinitionReference> found = getIndex().get(type);
+        return found != null ? found : Collections.emptyList();
+    }
+
+    /**
+     * Adds a reference to the backing collection and the index.
+     *
+     * @param reference The reference
+     */
+    synchronized void add(BeanDefinitionReference reference) {
+        references.add(reference);
+        Map<Class, Collection<BeanDefinitionReference>> index = this.index;
+        if (index != null) {
+            addToIndex(index, reference);
+        }
+    }
+
+    /**
+     * Adds the references to the backing collection and the index.
+     *
+     * @param toAdd The references
+     */
+    synchronized void addAll(Collection<BeanDefinitionReference> toAdd) {
+        for (BeanDefinitionReference reference : toAdd) {
+            add(reference);
+        }
+    }
+
+    /**
+     * Removes the references that match the given predicate from the backing collection and the index. The predicate
+     * is evaluated without holding the lock of the index since evaluating whether a bean is enabled may resolve other
+     * beans.
+     *
+     * @param predicate The predicate
+     */
+    void removeIf(Predicate<BeanDefinitionReference> predicate) {
+        List<BeanDefinitionReference> removed = new ArrayList<>();
+        references.removeIf(reference -> {
+            if (predicate.test(reference)) {
+                removed.add(reference);
+                return true;
+            }
+            return false;
+        });
+        if (!removed.isEmpty()) {
+            synchronized (this) {
+                Map<Class, Collection<BeanDefinitionReference>> index = this.index;
+                if (index != null) {
+                    for (Collection<BeanDefinitionReference> indexed : index.values()) {
+                        indexed.removeAll(removed);
+                    }
+                }
+            }
+        }
+    }
+
+    private Map<Class, Collection<BeanDefinitionReference>> getIndex() {
+        Map<Class, Collection<BeanDefinitionReference>> index = this.index;
+        if (index == null) {
+            synchronized (this) {
+                index = this.index;
+                if (index == null) {
+                    index = new ConcurrentHashMap<>(references.size());
+                    for (BeanDefinitionReference reference : references) {
+                        addToIndex(index, reference);
+                    }
+                    this.index = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    private static void addToIndex(Map<Class, Collection<BeanDefinitionReference>> index, BeanDefinitionReference reference) {
+        if (!reference.isPresent()) {
+            return;
+        }
+        Class<?> beanType = reference.getBeanType();
+        if (beanType == null) {
+            return;
+        }
+        Set<Class> types = ReflectionUtils.getAllInterfaces(beanType);
+        types.add(beanType);
+        types.add(Object.class);
+        Class<?> superclass = beanType.getSuperclass();
+        while (superclass != null) {
+            types.add(superclass);
+            superclass = superclass.getSuperclass();
+        }
+        for (Class type : types) {
+            index.computeIfAbsent(type, t -> new ConcurrentLinkedQueue<>()).add(reference);
+        }
+    }
+}
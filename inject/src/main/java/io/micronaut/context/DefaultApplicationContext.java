@@ -48,6 +48,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
 /**
@@ -58,6 +60,8 @@ import java.util.stream.Collectors;
  */
 public class DefaultApplicationContext extends DefaultBeanContext implements ApplicationContext {
 
+    private static final String DEFAULT_EVENTS_EXECUTOR = "scheduled";
+
     private final ConversionService conversionService;
     private final ClassPathResourceLoader resourceLoader;
     private Environment environment;
@@ -132,6 +136,20 @@ public class DefaultApplicationContext extends DefaultBeanContext implements App
         return conversionService;
     }
 
+    /**
+     * Resolves the {@link ExecutorService} named by {@link Environment#EVENTS_EXECUTOR_PROPERTY}, which defaults to
+     * the {@code scheduled} executor, falling back to the common pool when no such executor is configured.
+     *
+     * @return The executor
+     */
+    @Override
+    protected Executor resolveEventExecutor() {
+        String executorName = getProperty(Environment.EVENTS_EXECUTOR_PROPERTY, String.class).orElse(DEFAULT_EVENTS_EXECUTOR);
+        return findBean(ExecutorService.class, Qualifiers.byName(executorName))
+                .map(Executor.class::cast)
+                .orElseGet(super::resolveEventExecutor);
+    }
+
     @Override
     public Environment getEnvironment() {
         return environment;
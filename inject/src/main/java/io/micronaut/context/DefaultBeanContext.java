@@ -16,8 +16,6 @@
 
 package io.micronaut.context;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import io.micronaut.context.annotation.*;
 import io.micronaut.context.event.*;
 import io.micronaut.context.exceptions.*;
@@ -61,9 +59,12 @@ import java.io.Closeable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -95,12 +96,17 @@ public class DefaultBeanContext implements BeanContext {
     Collection<BeanRegistration<BeanInitializedEventListener>> beanInitializedEventListeners;
 
     private final Collection<BeanDefinitionReference> beanDefinitionsClasses = new ConcurrentLinkedQueue<>();
+    private final BeanDefinitionReferenceIndex beanDefinitionReferenceIndex = new BeanDefinitionReferenceIndex(beanDefinitionsClasses);
     private final Map<String, BeanConfiguration> beanConfigurations = new ConcurrentHashMap<>(4);
     private final Map<BeanKey, Boolean> containsBeanCache = new ConcurrentHashMap<>(30);
 
-    private final Cache<BeanKey, Collection<Object>> initializedObjectsByType = Caffeine.newBuilder().maximumSize(30).build();
-    private final Cache<BeanKey, Optional<BeanDefinition>> beanConcreteCandidateCache = Caffeine.newBuilder().maximumSize(30).build();
-    private final Cache<Class, Collection<BeanDefinition>> beanCandidateCache = Caffeine.newBuilder().maximumSize(30).build();
+    private final Map<BeanKey, Collection<Object>> initializedObjectsByType = new ConcurrentHashMap<>(30);
+    private final Map<BeanKey, Optional<BeanDefinition>> beanConcreteCandidateCache = new ConcurrentHashMap<>(30);
+    private final Map<Class, Collection<BeanDefinition>> beanCandidateCache = new ConcurrentHashMap<>(30);
+    private final Map<Class, Collection<BeanDefinition>> beanInstanceCandidateCache = new ConcurrentHashMap<>(30);
+    private final Map<Class, ApplicationEventListener[]> eventListenersByType = new ConcurrentHashMap<>(30);
+    private final AsyncEventQueue asyncEventQueue = new AsyncEventQueue(this::publishEvent);
+    private volatile Executor eventExecutor;
 
     private final ClassLoader classLoader;
     private final Set<Class> thisInterfaces = ReflectionUtils.getAllInterfaces(getClass());
@@ -230,6 +236,7 @@ public class DefaultBeanContext implements BeanContext {
 
             terminating.set(false);
             running.set(false);
+            eventExecutor = null;
             ClassLoadingReporter.finish();
         }
         return this;
@@ -404,7 +411,8 @@ public class DefaultBeanContext implements BeanContext {
         }
         BeanKey<T> beanKey = new BeanKey<>(type, qualifier);
         synchronized (singletonObjects) {
-            initializedObjectsByType.invalidateAll();
+            initializedObjectsByType.clear();
+            eventListenersByType.clear();
 
             BeanDefinition<T> beanDefinition = inject ? findBeanCandidatesForInstance(singleton).stream().findFirst().orElse(null) : null;
             if (beanDefinition != null && beanDefinition.getBeanType().isInstance(singleton)) {
@@ -412,7 +420,10 @@ public class DefaultBeanContext implements BeanContext {
                 singletonObjects.put(beanKey, new BeanRegistration<>(beanKey, beanDefinition, singleton));
             } else {
                 NoInjectionBeanDefinition<T> dynamicRegistration = new NoInjectionBeanDefinition<>(type);
-                beanDefinitionsClasses.add(dynamicRegistration);
+                beanDefinitionReferenceIndex.add(dynamicRegistration);
+                // the candidates of the type and its super types now include the dynamic registration
+                beanCandidateCache.clear();
+                beanConcreteCandidateCache.clear();
                 singletonObjects.put(beanKey, new BeanRegistration<>(beanKey, dynamicRegistration, singleton));
             }
         }
@@ -788,16 +799,20 @@ public class DefaultBeanContext implements BeanContext {
         Qualifier<T> proxyQualifier = qualifier != null ? Qualifiers.byQualifiers(qualifier, PROXY_TARGET_QUALIFIER) : PROXY_TARGET_QUALIFIER;
         BeanKey key = new BeanKey(beanType, proxyQualifier);
 
-        return (Optional) beanConcreteCandidateCache.get(key, beanKey -> {
-            BeanRegistration<T> beanRegistration = singletonObjects.get(beanKey);
+        Optional<BeanDefinition> candidate = beanConcreteCandidateCache.get(key);
+        if (candidate == null) {
+            BeanRegistration<T> beanRegistration = singletonObjects.get(key);
             if (beanRegistration != null) {
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Resolved existing bean [{}] for type [{}] and qualifier [{}]", beanRegistration.bean, beanType, qualifier);
                 }
-                return Optional.of(beanRegistration.beanDefinition);
+                candidate = Optional.of(beanRegistration.beanDefinition);
+            } else {
+                candidate = (Optional) findConcreteCandidateNoCache((Class) beanType, qualifier, true, false, false);
             }
-            return findConcreteCandidateNoCache((Class) beanType, qualifier, true, false, false);
-        });
+            beanConcreteCandidateCache.put(key, candidate);
+        }
+        return (Optional) candidate;
     }
 
     @SuppressWarnings("unchecked")
@@ -917,45 +932,68 @@ public class DefaultBeanContext implements BeanContext {
             if (EVENT_LOGGER.isDebugEnabled()) {
                 EVENT_LOGGER.debug("Publishing event: {}", event);
             }
-            Collection<ApplicationEventListener> eventListeners = getBeansOfType(ApplicationEventListener.class, Qualifiers.byTypeArguments(event.getClass()));
+            ApplicationEventListener[] eventListeners = findEventListeners(event.getClass());
 
-            eventListeners = eventListeners.stream().sorted(OrderUtil.COMPARATOR).collect(Collectors.toList());
-
-            if (!eventListeners.isEmpty()) {
+            if (eventListeners.length > 0) {
                 if (EVENT_LOGGER.isTraceEnabled()) {
-                    EVENT_LOGGER.trace("Established event listeners {} for event: {}", eventListeners, event);
+                    EVENT_LOGGER.trace("Established event listeners {} for event: {}", Arrays.asList(eventListeners), event);
                 }
-                eventListeners
-                        .forEach(listener -> {
-                                    if (listener.supports(event)) {
-                                        try {
-                                            if (EVENT_LOGGER.isTraceEnabled()) {
-                                                EVENT_LOGGER.trace("Invoking event listener [{}] for event: {}", listener, event);
-                                            }
-                                            listener.onApplicationEvent(event);
-                                        } catch (ClassCastException ex) {
-                                            String msg = ex.getMessage();
-                                            if (msg == null || msg.startsWith(event.getClass().getName())) {
-                                                if (EVENT_LOGGER.isDebugEnabled()) {
-                                                    EVENT_LOGGER.debug("Incompatible listener for event: " + listener, ex);
-                                                }
-                                            } else {
-                                                throw ex;
-                                            }
-                                        }
-                                    }
+                for (ApplicationEventListener listener : eventListeners) {
+                    if (listener.supports(event)) {
+                        try {
+                            if (EVENT_LOGGER.isTraceEnabled()) {
+                                EVENT_LOGGER.trace("Invoking event listener [{}] for event: {}", listener, event);
+                            }
+                            listener.onApplicationEvent(event);
+                        } catch (ClassCastException ex) {
+                            String msg = ex.getMessage();
+                            if (msg == null || msg.startsWith(event.getClass().getName())) {
+                                if (EVENT_LOGGER.isDebugEnabled()) {
+                                    EVENT_LOGGER.debug("Incompatible listener for event: " + listener, ex);
                                 }
-                        );
+                            } else {
+                                throw ex;
+                            }
+                        }
+                    }
+                }
             }
         }
     }
 
+    @Override
+    public Future<Void> publishEventAsync(Object event) {
+        if (event == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (EVENT_LOGGER.isDebugEnabled()) {
+            EVENT_LOGGER.debug("Publishing event asynchronously: {}", event);
+        }
+        Executor executor = this.eventExecutor;
+        if (executor == null) {
+            executor = resolveEventExecutor();
+            this.eventExecutor = executor;
+        }
+        return asyncEventQueue.publish(event, executor);
+    }
+
+    /**
+     * Resolves the executor that events published with {@link #publishEventAsync(Object)} are published on.
+     *
+     * @return The executor
+     */
+    protected Executor resolveEventExecutor() {
+        return ForkJoinPool.commonPool();
+    }
+
     /**
      * Invalidates the bean caches.
      */
     protected void invalidateCaches() {
-        beanCandidateCache.invalidateAll();
-        initializedObjectsByType.invalidateAll();
+        beanCandidateCache.clear();
+        beanInstanceCandidateCache.clear();
+        initializedObjectsByType.clear();
+        eventListenersByType.clear();
     }
 
     /**
@@ -1121,7 +1159,7 @@ public class DefaultBeanContext implements BeanContext {
         }
 
         final Runnable runnable = () ->
-                beanDefinitionsClasses.removeIf((BeanDefinitionReference beanDefinitionReference) ->
+                beanDefinitionReferenceIndex.removeIf((BeanDefinitionReference beanDefinitionReference) ->
                         !beanDefinitionReference.isEnabled(this));
         if (ClassLoadingReporter.isReportingEnabled()) {
             // do this in a blocking manner so that reporting is immediately aware of missing classes
@@ -1146,20 +1184,14 @@ public class DefaultBeanContext implements BeanContext {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Finding candidate beans for type: {}", beanType);
         }
-        // first traverse component definition classes and load candidates
+        // first look up the component definition classes indexed by the type and load candidates
 
-        Collection<BeanDefinitionReference> beanDefinitionsClasses = this.beanDefinitionsClasses;
-        if (!beanDefinitionsClasses.isEmpty()) {
+        Collection<BeanDefinitionReference> references = beanDefinitionReferenceIndex.findReferences(beanType);
+        if (!references.isEmpty()) {
 
-            Stream<BeanDefinition<T>> candidateStream = beanDefinitionsClasses
+            Stream<BeanDefinition<T>> candidateStream = references
                     .stream()
-                    .filter(reference -> {
-                        if (reference.isEnabled(this)) {
-                            Class<?> candidateType = reference.getBeanType();
-                            return candidateType != null && (beanType.isAssignableFrom(candidateType) || beanType == candidateType);
-                        }
-                        return false;
-                    })
+                    .filter(reference -> reference.isEnabled(this))
                     .map(ref -> {
                         BeanDefinition<T> loadedBean;
                         try {
@@ -1204,50 +1236,56 @@ public class DefaultBeanContext implements BeanContext {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Finding candidate beans for instance: {}", instance);
         }
+        Class<?> instanceType = instance.getClass();
+        Collection<BeanDefinition> candidates = beanInstanceCandidateCache.get(instanceType);
+        if (candidates == null) {
+            candidates = findBeanCandidatesForInstanceNoCache(instance);
+            beanInstanceCandidateCache.put(instanceType, candidates);
+        }
+        return candidates;
+    }
+
+    private <T> Collection<BeanDefinition> findBeanCandidatesForInstanceNoCache(T instance) {
+        // first traverse component definition classes and load candidates
         Collection<BeanDefinitionReference> beanDefinitionsClasses = this.beanDefinitionsClasses;
-        return beanCandidateCache.get(instance.getClass(), aClass -> {
-            // first traverse component definition classes and load candidates
+        if (!beanDefinitionsClasses.isEmpty()) {
+
+            List<BeanDefinition> candidates = beanDefinitionsClasses
+                    .stream()
+                    .filter(reference -> {
+                        if (reference.isEnabled(this)) {
+                            Class<?> candidateType = reference.getBeanType();
 
-            if (!beanDefinitionsClasses.isEmpty()) {
+                            return candidateType != null && candidateType.isInstance(instance);
+                        } else {
+                            return false;
+                        }
+                    })
+                    .map(ref -> ref.load(this))
+                    .filter(candidate -> candidate.isEnabled(this))
+                    .collect(Collectors.toList());
 
-                List<BeanDefinition> candidates = beanDefinitionsClasses
+            if (candidates.size() > 1) {
+                // try narrow to exact type
+                candidates = candidates
                         .stream()
-                        .filter(reference -> {
-                            if (reference.isEnabled(this)) {
-                                Class<?> candidateType = reference.getBeanType();
-
-                                return candidateType != null && candidateType.isInstance(instance);
-                            } else {
-                                return false;
-                            }
-                        })
-                        .map(ref -> ref.load(this))
-                        .filter(candidate -> candidate.isEnabled(this))
+                        .filter(candidate ->
+                                !(candidate instanceof NoInjectionBeanDefinition) &&
+                                        candidate.getBeanType() == instance.getClass()
+                        )
                         .collect(Collectors.toList());
-
-                if (candidates.size() > 1) {
-                    // try narrow to exact type
-                    candidates = candidates
-                            .stream()
-                            .filter(candidate ->
-                                    !(candidate instanceof NoInjectionBeanDefinition) &&
-                                            candidate.getBeanType() == instance.getClass()
-                            )
-                            .collect(Collectors.toList());
-                    return candidates;
-                }
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("Resolved bean candidates {} for instance: {}", candidates, instance);
-                }
                 return candidates;
-            } else {
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("No bean candidates found for instance: {}", instance);
-                }
-                return Collections.emptySet();
             }
-        });
-
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Resolved bean candidates {} for instance: {}", candidates, instance);
+            }
+            return candidates;
+        } else {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("No bean candidates found for instance: {}", instance);
+            }
+            return Collections.emptySet();
+        }
     }
 
     /**
@@ -1781,9 +1819,13 @@ public class DefaultBeanContext implements BeanContext {
             Qualifier<T> qualifier,
             boolean throwNonUnique,
             boolean includeProvided) {
-        return (Optional) beanConcreteCandidateCache.get(new BeanKey(beanType, qualifier), beanKey ->
-                (Optional) findConcreteCandidateNoCache(beanType, qualifier, throwNonUnique, includeProvided, true)
-        );
+        BeanKey key = new BeanKey(beanType, qualifier);
+        Optional candidate = beanConcreteCandidateCache.get(key);
+        if (candidate == null) {
+            candidate = findConcreteCandidateNoCache(beanType, qualifier, throwNonUnique, includeProvided, true);
+            beanConcreteCandidateCache.put(key, candidate);
+        }
+        return candidate;
     }
 
     private <T> Optional<BeanDefinition<T>> findConcreteCandidateNoCache(Class<T> beanType, Qualifier<T> qualifier, boolean throwNonUnique, boolean includeProvided, boolean filterProxied) {
@@ -2009,8 +2051,8 @@ public class DefaultBeanContext implements BeanContext {
         }
 
         //noinspection unchecked
-        this.beanDefinitionsClasses.addAll(allReferences);
-        this.beanDefinitionsClasses.removeIf(beanDefinitionReference -> {
+        this.beanDefinitionReferenceIndex.addAll(allReferences);
+        this.beanDefinitionReferenceIndex.removeIf(beanDefinitionReference -> {
             Optional<BeanConfiguration> beanConfiguration = beanConfigurations.values().stream().filter(c -> c.isWithin(beanDefinitionReference)).findFirst();
             if (beanConfiguration.isPresent() && !beanConfiguration.get().isEnabled(this)) {
                 if (AbstractBeanContextConditional.LOG.isDebugEnabled()) {
@@ -2036,9 +2078,38 @@ public class DefaultBeanContext implements BeanContext {
         initializeContext(contextScopeBeans, processedBeans);
     }
 
+    /**
+     * Finds the ordered listeners for the given event type. The listeners are cached until a bean is registered, unless
+     * one of them is not a singleton, in which case they are resolved for every event as before.
+     *
+     * @param eventType The event type
+     * @return The listeners
+     */
+    @SuppressWarnings("unchecked")
+    private ApplicationEventListener[] findEventListeners(Class<?> eventType) {
+        ApplicationEventListener[] eventListeners = eventListenersByType.get(eventType);
+        if (eventListeners == null) {
+            Qualifier<ApplicationEventListener> qualifier = Qualifiers.byTypeArguments(eventType);
+            eventListeners = getBeansOfType(ApplicationEventListener.class, qualifier)
+                    .stream()
+                    .sorted(OrderUtil.COMPARATOR)
+                    .toArray(ApplicationEventListener[]::new);
+            // the beans of a type are only retained when all of them are singletons
+            if (initializedObjectsByType.containsKey(new BeanKey(ApplicationEventListener.class, qualifier))) {
+                eventListenersByType.put(eventType, eventListeners);
+            }
+        }
+        return eventListeners;
+    }
+
     @SuppressWarnings("unchecked")
     private <T> Collection<BeanDefinition<T>> findBeanCandidatesInternal(Class<T> beanType) {
-        return (Collection) beanCandidateCache.get(beanType, aClass -> (Collection) findBeanCandidates(beanType, null));
+        Collection candidates = beanCandidateCache.get(beanType);
+        if (candidates == null) {
+            candidates = findBeanCandidates(beanType, null);
+            beanCandidateCache.put(beanType, candidates);
+        }
+        return candidates;
     }
 
     @SuppressWarnings("unchecked")
@@ -2056,7 +2127,7 @@ public class DefaultBeanContext implements BeanContext {
         if (LOG.isTraceEnabled()) {
             LOG.trace("Looking up existing beans for key: {}", key);
         }
-        @SuppressWarnings("unchecked") Collection<T> existing = (Collection<T>) initializedObjectsByType.getIfPresent(key);
+        @SuppressWarnings("unchecked") Collection<T> existing = (Collection<T>) initializedObjectsByType.get(key);
         if (existing != null) {
             logResolvedExisting(beanType, qualifier, hasQualifier, existing);
             return existing;
@@ -2067,7 +2138,7 @@ public class DefaultBeanContext implements BeanContext {
         }
 
         synchronized (singletonObjects) {
-            existing = (Collection<T>) initializedObjectsByType.getIfPresent(key);
+            existing = (Collection<T>) initializedObjectsByType.get(key);
             if (existing != null) {
                 logResolvedExisting(beanType, qualifier, hasQualifier, existing);
                 return existing;
@@ -44,12 +44,21 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -73,12 +82,18 @@ public class DefaultEnvironment extends PropertySourcePropertyResolver implement
     private static final String K8S_ENV = "KUBERNETES_SERVICE_HOST";
     private static final String PCF_ENV = "VCAP_SERVICES";
     private static final String HEROKU_DYNO = "DYNO";
+    private static final String COMPUTE_PLATFORM_CACHE_DIRECTORY = ".micronaut";
+    private static final String COMPUTE_PLATFORM_CACHE_FILE = "compute-platform.properties";
+    private static final String COMPUTE_PLATFORM_CACHE_HOST = "host";
+    private static final String COMPUTE_PLATFORM_CACHE_PLATFORM = "platform";
+    private static final String BOOT_ID_FILE = "/proc/sys/kernel/random/boot_id";
 
     protected final ClassPathResourceLoader resourceLoader;
 
     private EnvironmentsAndPackage environmentsAndPackage;
 
-    private final Set<String> names;
+    private final List<String> specifiedNames;
+    private volatile Set<String> names;
     private final ClassLoader classLoader;
     private final Collection<String> packages = new ConcurrentLinkedQueue<>();
     private final ClassPathAnnotationScanner annotationScanner;
@@ -122,24 +137,19 @@ public class DefaultEnvironment extends PropertySourcePropertyResolver implement
     @SuppressWarnings("MagicNumber")
     public DefaultEnvironment(ClassPathResourceLoader resourceLoader, ConversionService conversionService, String... names) {
         super(conversionService);
-        Set<String> environments = new LinkedHashSet<>(3);
         List<String> specifiedNames = Arrays.asList(names);
 
         if (shouldDeduceEnvironments()) {
+            // the compute platform is deduced in the background and only awaited once the active names are required
             EnvironmentsAndPackage environmentsAndPackage = getEnvironmentsAndPackage(specifiedNames);
-            environments.addAll(environmentsAndPackage.enviroments);
             String aPackage = environmentsAndPackage.aPackage;
             if (aPackage != null) {
                 packages.add(aPackage);
             }
         }
-        environments.addAll(specifiedNames);
 
         this.classLoader = resourceLoader.getClassLoader();
-        this.names = environments;
-        if (LOG.isInfoEnabled() && !environments.isEmpty()) {
-            LOG.info("Established active environments: {}", environments);
-        }
+        this.specifiedNames = specifiedNames;
         conversionService.addConverter(
             CharSequence.class, Class.class, new StringToClassConverter(classLoader)
         );
@@ -227,7 +237,17 @@ public class DefaultEnvironment extends PropertySourcePropertyResolver implement
 
     @Override
     public Set<String> getActiveNames() {
-        return this.names;
+        Set<String> names = this.names;
+        if (names == null) {
+            synchronized (this) { // double check
+                names = this.names;
+                if (names == null) {
+                    names = resolveActiveNames();
+                    this.names = names;
+                }
+            }
+        }
+        return names;
     }
 
     @Override
@@ -532,6 +552,24 @@ public class DefaultEnvironment extends PropertySourcePropertyResolver implement
         return environmentsAndPackage;
     }
 
+    private Set<String> resolveActiveNames() {
+        Set<String> environments = new LinkedHashSet<>(3);
+        EnvironmentsAndPackage environmentsAndPackage = this.environmentsAndPackage;
+        if (environmentsAndPackage != null) {
+            environments.addAll(environmentsAndPackage.enviroments);
+            CompletableFuture<ComputePlatform> computePlatform = environmentsAndPackage.computePlatform;
+            if (computePlatform != null) {
+                addComputePlatformEnvironments(awaitComputePlatform(computePlatform), environments);
+            }
+            environments.addAll(environmentsAndPackage.requestedEnvironments);
+        }
+        environments.addAll(specifiedNames);
+        if (LOG.isInfoEnabled() && !environments.isEmpty()) {
+            LOG.info("Established active environments: {}", environments);
+        }
+        return environments;
+    }
+
     private static EnvironmentsAndPackage deduceEnvironments(
             boolean deduceComputePlatform,
             boolean inspectTrace) {
@@ -591,36 +629,7 @@ public class DefaultEnvironment extends PropertySourcePropertyResolver implement
             }
 
             if (deduceComputePlatform) {
-                ComputePlatform computePlatform = determineCloudProvider();
-                if (computePlatform != null) {
-                    switch (computePlatform) {
-                        case GOOGLE_COMPUTE:
-                            //instantiate bean for GC metadata discovery
-                            environments.add(GOOGLE_COMPUTE);
-                            environments.add(Environment.CLOUD);
-                            break;
-                        case AMAZON_EC2:
-                            //instantiate bean for ec2 metadata discovery
-                            environments.add(AMAZON_EC2);
-                            environments.add(Environment.CLOUD);
-                            break;
-                        case AZURE:
-                            // not yet implemented
-                            environments.add(AZURE);
-                            environments.add(Environment.CLOUD);
-                            break;
-                        case IBM:
-                            // not yet implemented
-                            environments.add(IBM);
-                            environments.add(Environment.CLOUD);
-                            break;
-                        case OTHER:
-                            // do nothing here
-                            break;
-                        default:
-                            // no-op
-                    }
-                }
+                environmentsAndPackage.computePlatform = deduceComputePlatform();
             }
         }
 
@@ -629,11 +638,230 @@ public class DefaultEnvironment extends PropertySourcePropertyResolver implement
             .filter(StringUtils::isNotEmpty)
             .flatMap(s -> Arrays.stream(s.split(",")))
             .map(String::trim)
-            .forEach(environments::add);
+            .forEach(environmentsAndPackage.requestedEnvironments::add);
 
         return environmentsAndPackage;
     }
 
+    private static void addComputePlatformEnvironments(ComputePlatform computePlatform, Set<String> environments) {
+        if (computePlatform != null) {
+            switch (computePlatform) {
+                case GOOGLE_COMPUTE:
+                    //instantiate bean for GC metadata discovery
+                    environments.add(GOOGLE_COMPUTE);
+                    environments.add(Environment.CLOUD);
+                    break;
+                case AMAZON_EC2:
+                    //instantiate bean for ec2 metadata discovery
+                    environments.add(AMAZON_EC2);
+                    environments.add(Environment.CLOUD);
+                    break;
+                case AZURE:
+                    // not yet implemented
+                    environments.add(AZURE);
+                    environments.add(Environment.CLOUD);
+                    break;
+                case IBM:
+                    // not yet implemented
+                    environments.add(IBM);
+                    environments.add(Environment.CLOUD);
+                    break;
+                case OTHER:
+                    // do nothing here
+                    break;
+                default:
+                    // no-op
+            }
+        }
+    }
+
+    /**
+     * Deduces the compute platform. A platform that is specified or, if the cache is enabled, was deduced by a previous
+     * run on the same host is resolved immediately, otherwise the platform is probed for on a background thread so that probing, which may block on
+     * the network, does not delay the rest of the startup.
+     *
+     * @return A future that completes with the compute platform
+     */
+    private static CompletableFuture<ComputePlatform> deduceComputePlatform() {
+        ComputePlatform knownPlatform = resolveKnownComputePlatform();
+        if (knownPlatform != null) {
+            return CompletableFuture.completedFuture(knownPlatform);
+        }
+        boolean probeNetwork = isCloudDeductionEnabled();
+        CompletableFuture<ComputePlatform> future = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                ComputePlatform computePlatform = determineCloudProvider(probeNetwork);
+                if (probeNetwork) {
+                    // platforms deduced without the network probe may be incomplete so are not remembered
+                    writeCachedComputePlatform(computePlatform);
+                }
+                future.complete(computePlatform);
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }, "micronaut-cloud-deduction");
+        thread.setDaemon(true);
+        thread.start();
+        return future;
+    }
+
+    private static ComputePlatform awaitComputePlatform(CompletableFuture<ComputePlatform> computePlatform) {
+        try {
+            return computePlatform.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static ComputePlatform resolveKnownComputePlatform() {
+        if (System.getenv("TRAVIS") != null) {
+            return ComputePlatform.OTHER;
+        }
+
+        String computePlatform = System.getProperty(CLOUD_PLATFORM_PROPERTY);
+        if (computePlatform != null) {
+
+            try {
+                return ComputePlatform.valueOf(computePlatform);
+            } catch (IllegalArgumentException e) {
+                throw new ConfigurationException("Illegal value specified for [" + CLOUD_PLATFORM_PROPERTY + "]: " + computePlatform);
+            }
+
+        }
+        return readCachedComputePlatform();
+    }
+
+    private static boolean isCloudDeductionEnabled() {
+        String cloudDeduction = System.getProperty(CLOUD_DEDUCTION_PROPERTY);
+        if (cloudDeduction == null) {
+            cloudDeduction = System.getenv(CLOUD_DEDUCTION_ENV);
+        }
+        return !StringUtils.FALSE.equalsIgnoreCase(cloudDeduction);
+    }
+
+    private static boolean isComputePlatformCacheEnabled() {
+        String cache = System.getProperty(CLOUD_PLATFORM_CACHE_PROPERTY);
+        if (cache == null) {
+            cache = System.getenv(CLOUD_PLATFORM_CACHE_ENV);
+        }
+        return StringUtils.TRUE.equalsIgnoreCase(cache);
+    }
+
+    private static Path computePlatformCacheFile() {
+        return Paths.get(System.getProperty("user.home"), COMPUTE_PLATFORM_CACHE_DIRECTORY, COMPUTE_PLATFORM_CACHE_FILE);
+    }
+
+    /**
+     * Identifies the host, so that a platform cached before the host was rebooted or by another host sharing the home
+     * directory is not used.
+     *
+     * @return The boot id or the host name, or null if neither is known
+     */
+    private static String resolveHostIdentity() {
+        String bootId = readFile(BOOT_ID_FILE);
+        if (StringUtils.isNotEmpty(bootId)) {
+            return bootId;
+        }
+        String hostname = System.getenv("HOSTNAME");
+        if (hostname == null) {
+            hostname = System.getenv("COMPUTERNAME");
+        }
+        return hostname;
+    }
+
+    private static ComputePlatform readCachedComputePlatform() {
+        if (!isComputePlatformCacheEnabled()) {
+            return null;
+        }
+        String host = resolveHostIdentity();
+        Path file = computePlatformCacheFile();
+        if (host == null || !Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            if (!isWritableOnlyByOwner(file)) {
+                if (LOG.isWarnEnabled()) {
+                    LOG.warn("Ignoring the cached compute platform in [{}] since other users can write to it", file);
+                }
+                return null;
+            }
+            Properties cached = new Properties();
+            try (InputStream inputStream = Files.newInputStream(file)) {
+                cached.load(inputStream);
+            }
+            String platform = cached.getProperty(COMPUTE_PLATFORM_CACHE_PLATFORM);
+            if (host.equals(cached.getProperty(COMPUTE_PLATFORM_CACHE_HOST)) && platform != null) {
+                return ComputePlatform.valueOf(platform);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // ignore an unreadable or corrupt cache file and deduce the platform again
+        }
+        return null;
+    }
+
+    private static void writeCachedComputePlatform(ComputePlatform computePlatform) {
+        if (!isComputePlatformCacheEnabled()) {
+            return;
+        }
+        String host = resolveHostIdentity();
+        if (host == null) {
+            return;
+        }
+        Path file = computePlatformCacheFile();
+        Path tempFile = null;
+        try {
+            Path directory = file.getParent();
+            if (!Files.isDirectory(directory)) {
+                if (isPosix()) {
+                    Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+                } else {
+                    Files.createDirectories(directory);
+                }
+            }
+            Properties cached = new Properties();
+            cached.setProperty(COMPUTE_PLATFORM_CACHE_HOST, host);
+            cached.setProperty(COMPUTE_PLATFORM_CACHE_PLATFORM, computePlatform.name());
+            // temporary files are only accessible by the owner, and moving one into place replaces the cache atomically
+            tempFile = Files.createTempFile(directory, COMPUTE_PLATFORM_CACHE_FILE, null);
+            try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                cached.store(outputStream, null);
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Unable to cache the deduced compute platform: " + e.getMessage(), e);
+            }
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ignored) {
+                    // nothing more can be done
+                }
+            }
+        }
+    }
+
+    private static boolean isWritableOnlyByOwner(Path file) throws IOException {
+        if (!isPosix()) {
+            // the file is in the home directory of the user
+            return true;
+        }
+        PosixFileAttributes attributes = Files.readAttributes(file, PosixFileAttributes.class);
+        Set<PosixFilePermission> permissions = attributes.permissions();
+        return attributes.owner().getName().equals(System.getProperty("user.name")) &&
+                !permissions.contains(PosixFilePermission.GROUP_WRITE) &&
+                !permissions.contains(PosixFilePermission.OTHERS_WRITE);
+    }
+
+    private static boolean isPosix() {
+        return FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+    }
+
     private Map<String, Object> diffCatalog(Map<String, Object>[] original, Map<String, Object>[] newCatalog) {
         Map<String, Object> changes = new LinkedHashMap<>();
         for (int i = 0; i < original.length; i++) {
@@ -686,32 +914,14 @@ public class DefaultEnvironment extends PropertySourcePropertyResolver implement
         return newCatalog;
     }
 
-    private static ComputePlatform determineCloudProvider() {
-        if (System.getenv("TRAVIS") != null) {
-            return ComputePlatform.OTHER;
-        }
-        
-        String computePlatform = System.getProperty(CLOUD_PLATFORM_PROPERTY);
-        if (computePlatform != null) {
-
-            try {
-                return ComputePlatform.valueOf(computePlatform);
-            } catch (IllegalArgumentException e) {
-                throw new ConfigurationException("Illegal value specified for [" + CLOUD_PLATFORM_PROPERTY + "]: " + computePlatform);
-            }
-
-        }
+    private static ComputePlatform determineCloudProvider(boolean probeNetwork) {
         boolean isWindows = System.getProperty("os.name")
             .toLowerCase().startsWith("windows");
 
         if (isWindows) {
-            if (isEC2Windows()) {
+            if (probeNetwork && isEC2Windows()) {
                 return ComputePlatform.AMAZON_EC2;
             }
-            if (isGoogleCompute()) {
-                return ComputePlatform.GOOGLE_COMPUTE;
-            }
-
         } else {
             // can just read from the file
             if (isEC2Linux()) {
@@ -719,7 +929,7 @@ public class DefaultEnvironment extends PropertySourcePropertyResolver implement
             }
         }
         // let's try google
-        if (isGoogleCompute()) {
+        if (probeNetwork && isGoogleCompute()) {
             return ComputePlatform.GOOGLE_COMPUTE;
         }
         //TODO check for azure and IBM
@@ -817,5 +1027,7 @@ public class DefaultEnvironment extends PropertySourcePropertyResolver implement
     private static class EnvironmentsAndPackage {
         String aPackage;
         Set<String> enviroments = new LinkedHashSet<>(1);
+        CompletableFuture<ComputePlatform> computePlatform;
+        Set<String> requestedEnvironments = new LinkedHashSet<>(1);
     }
 }
@@ -104,6 +104,36 @@ public interface Environment extends PropertyResolver, LifeCycle<Environment>, C
      */
     String CLOUD_PLATFORM_PROPERTY = "micronaut.cloud.platform";
 
+    /**
+     * The system property that, when set to {@code false}, deduces the cloud platform without probing the network
+     * or spawning processes.
+     */
+    String CLOUD_DEDUCTION_PROPERTY = "micronaut.env.cloud-deduction";
+
+    /**
+     * The environment variable that, when set to {@code false}, deduces the cloud platform without probing the
+     * network or spawning processes.
+     */
+    String CLOUD_DEDUCTION_ENV = "MICRONAUT_ENV_CLOUD_DEDUCTION";
+
+    /**
+     * The system property that, when set to {@code true}, remembers the deduced cloud platform in the home directory
+     * of the user so that later runs on the same host do not probe the network again.
+     */
+    String CLOUD_PLATFORM_CACHE_PROPERTY = "micronaut.env.cloud-platform-cache";
+
+    /**
+     * The environment variable that, when set to {@code true}, remembers the deduced cloud platform in the home
+     * directory of the user so that later runs on the same host do not probe the network again.
+     */
+    String CLOUD_PLATFORM_CACHE_ENV = "MICRONAUT_ENV_CLOUD_PLATFORM_CACHE";
+
+    /**
+     * The name of the {@link java.util.concurrent.ExecutorService} that asynchronously published events are
+     * published on.
+     */
+    String EVENTS_EXECUTOR_PROPERTY = "micronaut.events.executor";
+
     /**
      * The property that stores additional environments.
      */
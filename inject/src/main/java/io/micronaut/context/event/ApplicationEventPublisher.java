@@ -16,6 +16,9 @@
 
 package io.micronaut.context.event;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
 /**
  * <p>Interface for classes that publish events received by {@link ApplicationEventListener} instances.</p>
  * <p>
@@ -33,4 +36,15 @@ public interface ApplicationEventPublisher {
      * @param event The event to publish
      */
     void publishEvent(Object event);
+
+    /**
+     * Publish the given event asynchronously. The listeners consume the event on a separate thread and the returned
+     * future completes once all listeners have consumed the event.
+     *
+     * @param event The event to publish
+     * @return A future that completes once the event has been published
+     */
+    default Future<Void> publishEventAsync(Object event) {
+        return CompletableFuture.runAsync(() -> publishEvent(event));
+    }
 }
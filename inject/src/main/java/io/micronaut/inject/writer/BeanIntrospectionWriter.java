@@ -0,0 +1,294 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.inject.writer;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.beans.AbstractBeanIntrospection;
+import io.micronaut.core.beans.BeanIntrospector;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.commons.GeneratorAdapter;
+import org.objectweb.asm.commons.Method;
+import org.objectweb.asm.commons.TableSwitchGenerator;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes {@link io.micronaut.core.beans.BeanIntrospection} implementations for types annotated with
+ * {@link io.micronaut.core.annotation.Introspected} using ASM. The generated class invokes the getters, setters and
+ * default constructor of the bean directly.
+ *
+ * @author graemerocher
+ * @see AbstractBeanIntrospection
+ * @since 1.0
+ */
+@Internal
+public class BeanIntrospectionWriter extends AbstractClassFileWriter {
+
+    private static final Type TYPE_ABSTRACT_BEAN_INTROSPECTION = Type.getType(AbstractBeanIntrospection.class);
+    private static final Method METHOD_READ_INTERNAL = new Method("readInternal", TYPE_OBJECT, new Type[]{TYPE_OBJECT, Type.INT_TYPE});
+    private static final Method METHOD_WRITE_INTERNAL = new Method("writeInternal", Type.VOID_TYPE, new Type[]{TYPE_OBJECT, Type.INT_TYPE, TYPE_OBJECT});
+    private static final Method METHOD_INSTANTIATE_INTERNAL = new Method("instantiateInternal", TYPE_OBJECT, new Type[0]);
+
+    private final String introspectionClassName;
+    private final Type introspectionType;
+    private final Type beanType;
+    private final boolean isInterface;
+    private final List<PropertyInfo> properties = new ArrayList<>();
+    private boolean instantiable;
+
+    /**
+     * @param beanClassName The binary name of the bean class
+     * @param isInterface   Whether the bean type is an interface
+     */
+    public BeanIntrospectionWriter(String beanClassName, boolean isInterface) {
+        this.introspectionClassName = BeanIntrospector.getIntrospectionClassName(beanClassName);
+        this.introspectionType = getTypeReference(introspectionClassName);
+        this.beanType = getTypeReference(beanClassName);
+        this.isInterface = isInterface;
+    }
+
+    /**
+     * @return The name of the generated introspection class
+     */
+    public String getIntrospectionName() {
+        return introspectionClassName;
+    }
+
+    /**
+     * Indicates that the bean has a public no-argument constructor.
+     */
+    public void visitDefaultConstructor() {
+        this.instantiable = !isInterface;
+    }
+
+    /**
+     * Visits a bean property. At least one of the read and write methods must be present.
+     *
+     * @param name            The property name
+     * @param type            The property type, either a {@link Class} or the name of the class
+     * @param readMethodName  The name of the public getter or null if the property is write-only
+     * @param writeMethodName The name of the public setter or null if the property is read-only
+     */
+    public void visitProperty(String name, Object type, @Nullable String readMethodName, @Nullable String writeMethodName) {
+        properties.add(new PropertyInfo(name, type, readMethodName, writeMethodName));
+    }
+
+    @Override
+    public void accept(ClassWriterOutputVisitor classWriterOutputVisitor) throws IOException {
+        try (OutputStream outputStream = classWriterOutputVisitor.visitClass(introspectionClassName)) {
+            outputStream.write(generateClassBytes().toByteArray());
+        }
+    }
+
+    private ClassWriter generateClassBytes() {
+        ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES);
+        startClass(classWriter, introspectionType.getInternalName(), TYPE_ABSTRACT_BEAN_INTROSPECTION);
+        writeConstructor(classWriter);
+        writeReadInternal(classWriter);
+        writeWriteInternal(classWriter);
+        writeInstantiateInternal(classWriter);
+        classWriter.visitEnd();
+        return classWriter;
+    }
+
+    private void writeConstructor(ClassWriter classWriter) {
+        GeneratorAdapter constructor = startConstructor(classWriter);
+        int size = properties.size();
+        constructor.loadThis();
+
+        // 1st argument: the bean type
+        constructor.push(beanType);
+
+        // 2nd argument: the property names
+        pushNewArray(constructor, String.class, size);
+        for (int i = 0; i < size; i++) {
+            pushStoreStringInArray(constructor, i, size, properties.get(i).name);
+        }
+
+        // 3rd argument: the property types
+        pushNewArray(constructor, Class.class, size);
+        for (int i = 0; i < size; i++) {
+            pushStoreTypeInArray(constructor, i, size, properties.get(i).type);
+        }
+
+        // 4th and 5th arguments: whether each property is readable and writable
+        pushBooleanArray(constructor, true);
+        pushBooleanArray(constructor, false);
+
+        // 6th argument: whether the bean can be instantiated
+        constructor.push(instantiable);
+
+        invokeConstructor(
+                constructor,
+                AbstractBeanIntrospection.class,
+                Class.class,
+                String[].class,
+                Class[].class,
+                boolean[].class,
+                boolean[].class,
+                boolean.class);
+        constructor.visitInsn(RETURN);
+        constructor.visitMaxs(DEFAULT_MAX_STACK, 1);
+        constructor.visitEnd();
+    }
+
+    private void pushBooleanArray(GeneratorAdapter generator, boolean readable) {
+        int size = properties.size();
+        generator.push(size);
+        generator.newArray(Type.BOOLEAN_TYPE);
+        for (int i = 0; i < size; i++) {
+            PropertyInfo property = properties.get(i);
+            boolean value = readable ? property.readMethodName != null : property.writeMethodName != null;
+            if (value) {
+                generator.dup();
+                generator.push(i);
+                generator.push(true);
+                generator.arrayStore(Type.BOOLEAN_TYPE);
+            }
+        }
+    }
+
+    private void writeReadInternal(ClassWriter classWriter) {
+        GeneratorAdapter readMethod = startMethod(classWriter, METHOD_READ_INTERNAL);
+        List<Integer> readable = new ArrayList<>();
+        for (int i = 0; i < properties.size(); i++) {
+            if (properties.get(i).readMethodName != null) {
+                readable.add(i);
+            }
+        }
+        writeSwitch(readMethod, readable, index -> {
+            PropertyInfo property = properties.get(index);
+            Type propertyType = getTypeReference(property.type);
+            readMethod.loadArg(0);
+            readMethod.checkCast(beanType);
+            invokeBeanMethod(readMethod, new Method(property.readMethodName, propertyType, new Type[0]));
+            readMethod.box(propertyType);
+            readMethod.returnValue();
+        }, () -> {
+            readMethod.visitInsn(ACONST_NULL);
+            readMethod.returnValue();
+        });
+        readMethod.visitMaxs(DEFAULT_MAX_STACK, 3);
+        readMethod.visitEnd();
+    }
+
+    private void writeWriteInternal(ClassWriter classWriter) {
+        GeneratorAdapter writeMethod = startMethod(classWriter, METHOD_WRITE_INTERNAL);
+        List<Integer> writable = new ArrayList<>();
+        for (int i = 0; i < properties.size(); i++) {
+            if (properties.get(i).writeMethodName != null) {
+                writable.add(i);
+            }
+        }
+        writeSwitch(writeMethod, writable, index -> {
+            PropertyInfo property = properties.get(index);
+            Type propertyType = getTypeReference(property.type);
+            writeMethod.loadArg(0);
+            writeMethod.checkCast(beanType);
+            writeMethod.loadArg(2);
+            writeMethod.unbox(propertyType);
+            invokeBeanMethod(writeMethod, new Method(property.writeMethodName, Type.VOID_TYPE, new Type[]{propertyType}));
+            writeMethod.returnValue();
+        }, writeMethod::returnValue);
+        writeMethod.visitMaxs(DEFAULT_MAX_STACK, 4);
+        writeMethod.visitEnd();
+    }
+
+    private void writeInstantiateInternal(ClassWriter classWriter) {
+        GeneratorAdapter instantiateMethod = startMethod(classWriter, METHOD_INSTANTIATE_INTERNAL);
+        if (instantiable) {
+            instantiateMethod.newInstance(beanType);
+            instantiateMethod.dup();
+            instantiateMethod.invokeConstructor(beanType, METHOD_DEFAULT_CONSTRUCTOR);
+        } else {
+            instantiateMethod.visitInsn(ACONST_NULL);
+        }
+        instantiateMethod.returnValue();
+        instantiateMethod.visitMaxs(DEFAULT_MAX_STACK, 1);
+        instantiateMethod.visitEnd();
+    }
+
+    private GeneratorAdapter startMethod(ClassWriter classWriter, Method method) {
+        return new GeneratorAdapter(
+                classWriter.visitMethod(ACC_PROTECTED, method.getName(), method.getDescriptor(), null, null),
+                ACC_PROTECTED,
+                method.getName(),
+                method.getDescriptor());
+    }
+
+    private void invokeBeanMethod(GeneratorAdapter generator, Method method) {
+        if (isInterface) {
+            generator.invokeInterface(beanType, method);
+        } else {
+            generator.invokeVirtual(beanType, method);
+        }
+    }
+
+    private void writeSwitch(GeneratorAdapter generator, List<Integer> indices, CaseWriter caseWriter, Runnable defaultWriter) {
+        if (indices.isEmpty()) {
+            defaultWriter.run();
+            return;
+        }
+        int[] keys = new int[indices.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = indices.get(i);
+        }
+        generator.loadArg(1);
+        generator.tableSwitch(keys, new TableSwitchGenerator() {
+            @Override
+            public void generateCase(int key, Label end) {
+                caseWriter.writeCase(key);
+            }
+
+            @Override
+            public void generateDefault() {
+                defaultWriter.run();
+            }
+        });
+    }
+
+    /**
+     * Writes the code for a single case of a switch over the property index.
+     */
+    @FunctionalInterface
+    private interface CaseWriter {
+        void writeCase(int index);
+    }
+
+    /**
+     * A visited bean property.
+     */
+    private static final class PropertyInfo {
+        private final String name;
+        private final Object type;
+        private final String readMethodName;
+        private final String writeMethodName;
+
+        private PropertyInfo(String name, Object type, String readMethodName, String writeMethodName) {
+            this.name = name;
+            this.type = type;
+            this.readMethodName = readMethodName;
+            this.writeMethodName = writeMethodName;
+        }
+    }
+}
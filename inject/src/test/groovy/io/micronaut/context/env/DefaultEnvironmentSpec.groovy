@@ -17,6 +17,7 @@ package io.micronaut.context.env
 
 import io.micronaut.context.exceptions.ConfigurationException
 import io.micronaut.core.naming.NameUtils
+import spock.lang.IgnoreIf
 import spock.lang.Specification
 import spock.util.environment.RestoreSystemProperties
 
@@ -327,6 +328,20 @@ class DefaultEnvironmentSpec extends Specification {
         env.activeNames[3] == "explicit"
     }
 
+    @IgnoreIf({ env['TRAVIS'] })
+    @RestoreSystemProperties
+    void "test the specified cloud platform is active before the requested environments"() {
+        given:
+        System.setProperty(Environment.CLOUD_PLATFORM_PROPERTY, "GOOGLE_COMPUTE")
+        System.setProperty(Environment.ENVIRONMENTS_PROPERTY, "system")
+
+        when:
+        def env = new DefaultEnvironment("explicit")
+
+        then:
+        env.activeNames.toList() == ["test", "gcp", "cloud", "system", "explicit"]
+    }
+
     private static Environment startEnv(String files) {
         new DefaultEnvironment("test") {
             protected String readPropertySourceListKeyFromEnvironment() {
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.management.endpoint.caches;
+
+import io.micronaut.cache.CacheManager;
+import io.micronaut.cache.CacheStatistics;
+import io.micronaut.cache.SyncCache;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.management.endpoint.EndpointConfiguration;
+import io.micronaut.management.endpoint.annotation.Delete;
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+import io.micronaut.management.endpoint.annotation.Selector;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+
+import javax.validation.constraints.NotBlank;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * <p>Exposes an {@link Endpoint} to inspect and invalidate the caches of the {@link CacheManager}.</p>
+ *
+ * <p>Reading the endpoint lists every cache together with its statistics, for caches that record them. Deleting the
+ * endpoint, or a single cache, invalidates all entries. Load times are reported in milliseconds.</p>
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+@Endpoint(id = CachesEndpoint.NAME,
+        defaultEnabled = CachesEndpoint.DEFAULT_ENABLED,
+        defaultSensitive = CachesEndpoint.DEFAULT_SENSITIVE)
+@Requires(beans = CacheManager.class)
+public class CachesEndpoint {
+
+    /**
+     * Endpoint name.
+     */
+    public static final String NAME = "caches";
+
+    /**
+     * Endpoint configuration prefix.
+     */
+    public static final String PREFIX = EndpointConfiguration.PREFIX + "." + NAME;
+
+    /**
+     * Endpoint default enabled.
+     */
+    public static final boolean DEFAULT_ENABLED = true;
+
+    /**
+     * Endpoint default sensitivity.
+     */
+    public static final boolean DEFAULT_SENSITIVE = true;
+
+    private final CacheManager<?> cacheManager;
+
+    /**
+     * @param cacheManager The {@link CacheManager}
+     */
+    public CachesEndpoint(CacheManager<?> cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * @return The caches and their statistics
+     */
+    @Read
+    public Single<Map<String, Object>> getCaches() {
+        Map<String, Object> caches = new LinkedHashMap<>();
+        for (String name : new TreeSet<>(cacheManager.getCacheNames())) {
+            caches.put(name, describe(cacheManager.getCache(name)));
+        }
+        return Single.just(Collections.singletonMap(NAME, caches));
+    }
+
+    /**
+     * @param name The name of the cache
+     * @return The cache and its statistics
+     */
+    @Read
+    public Maybe<Map<String, Object>> getCache(@NotBlank @Selector String name) {
+        if (!cacheManager.getCacheNames().contains(name)) {
+            return Maybe.empty();
+        }
+        Map<String, Object> result = new LinkedHashMap<>(2);
+        result.put("name", name);
+        result.putAll(describe(cacheManager.getCache(name)));
+        return Maybe.just(result);
+    }
+
+    /**
+     * Invalidates all entries of every cache.
+     *
+     * @return The names of the invalidated caches
+     */
+    @Delete
+    public Single<Map<String, Object>> invalidateCaches() {
+        TreeSet<String> names = new TreeSet<>(cacheManager.getCacheNames());
+        for (String name : names) {
+            cacheManager.getCache(name).invalidateAll();
+        }
+        return Single.just(Collections.singletonMap("invalidated", names));
+    }
+
+    /**
+     * Invalidates all entries of a cache.
+     *
+     * @param name The name of the cache
+     * @return The name of the invalidated cache
+     */
+    @Delete
+    public Maybe<Map<String, Object>> invalidateCache(@NotBlank @Selector String name) {
+        if (!cacheManager.getCacheNames().contains(name)) {
+            return Maybe.empty();
+        }
+        cacheManager.getCache(name).invalidateAll();
+        return Maybe.just(Collections.singletonMap("invalidated", Collections.singleton(name)));
+    }
+
+    private Map<String, Object> describe(SyncCache<?> cache) {
+        Map<String, Object> description = new LinkedHashMap<>(2);
+        description.put("implementation", cache.getClass().getName());
+        cache.getStatistics().ifPresent(statistics -> description.put("statistics", statistics(statistics)));
+        return description;
+    }
+
+    private Map<String, Object> statistics(CacheStatistics statistics) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("hitCount", statistics.getHitCount());
+        result.put("missCount", statistics.getMissCount());
+        result.put("hitRate", statistics.getHitRate());
+        result.put("loadSuccessCount", statistics.getLoadSuccessCount());
+        result.put("loadFailureCount", statistics.getLoadFailureCount());
+        result.put("totalLoadTime", statistics.getTotalLoadTime().toMillis());
+        result.put("averageLoadPenalty", statistics.getAverageLoadPenalty().toMillis());
+        result.put("evictionCount", statistics.getEvictionCount());
+        result.put("evictionWeight", statistics.getEvictionWeight());
+        result.put("estimatedSize", statistics.getEstimatedSize());
+        statistics.getEstimatedWeight().ifPresent(weight -> result.put("estimatedWeight", weight));
+        return result;
+    }
+}
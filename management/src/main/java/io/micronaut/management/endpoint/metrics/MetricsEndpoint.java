@@ -0,0 +1,150 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.management.endpoint.metrics;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.management.endpoint.EndpointConfiguration;
+import io.micronaut.management.endpoint.annotation.Endpoint;
+import io.micronaut.management.endpoint.annotation.Read;
+import io.micronaut.management.endpoint.annotation.Selector;
+import io.micronaut.metrics.Counter;
+import io.micronaut.metrics.Gauge;
+import io.micronaut.metrics.Histogram;
+import io.micronaut.metrics.Metric;
+import io.micronaut.metrics.MetricRegistry;
+import io.micronaut.metrics.Timer;
+import io.reactivex.Maybe;
+import io.reactivex.Single;
+
+import javax.validation.constraints.NotBlank;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Exposes an {@link Endpoint} to display the metrics of the {@link MetricRegistry}.</p>
+ *
+ * <p>Reading the endpoint lists the names of the registered metrics. Reading a single metric returns one set of
+ * measurements for every combination of tags the metric has been recorded with. Timers are reported in
+ * milliseconds.</p>
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+@Endpoint(id = MetricsEndpoint.NAME,
+        defaultEnabled = MetricsEndpoint.DEFAULT_ENABLED,
+        defaultSensitive = MetricsEndpoint.DEFAULT_SENSITIVE)
+@Requires(beans = MetricRegistry.class)
+public class MetricsEndpoint {
+
+    /**
+     * Endpoint name.
+     */
+    public static final String NAME = "metrics";
+
+    /**
+     * Endpoint configuration prefix.
+     */
+    public static final String PREFIX = EndpointConfiguration.PREFIX + "." + NAME;
+
+    /**
+     * Endpoint default enabled.
+     */
+    public static final boolean DEFAULT_ENABLED = true;
+
+    /**
+     * Endpoint default sensitivity.
+     */
+    public static final boolean DEFAULT_SENSITIVE = true;
+
+    private final MetricRegistry metricRegistry;
+
+    /**
+     * @param metricRegistry The {@link MetricRegistry}
+     */
+    public MetricsEndpoint(MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+    }
+
+    /**
+     * @return The names of the registered metrics
+     */
+    @Read
+    public Single<Map<String, Object>> getMetrics() {
+        Set<String> names = new TreeSet<>();
+        for (Metric metric : metricRegistry.getMetrics()) {
+            names.add(metric.getId().getName());
+        }
+        return Single.just(Collections.singletonMap("names", names));
+    }
+
+    /**
+     * @param name The name of the metric
+     * @return The measurements of the metric for each combination of tags
+     */
+    @Read
+    public Maybe<Map<String, Object>> getMetric(@NotBlank @Selector String name) {
+        List<Map<String, Object>> measurements = new ArrayList<>();
+        for (Metric metric : metricRegistry.getMetrics()) {
+            if (metric.getId().getName().equals(name)) {
+                measurements.add(measure(metric));
+            }
+        }
+        if (measurements.isEmpty()) {
+            return Maybe.empty();
+        }
+        Map<String, Object> result = new LinkedHashMap<>(2);
+        result.put("name", name);
+        result.put("measurements", measurements);
+        return Maybe.just(result);
+    }
+
+    private Map<String, Object> measure(Metric metric) {
+        Map<String, Object> measurement = new LinkedHashMap<>();
+        measurement.put("tags", metric.getId().getTags());
+        if (metric instanceof Counter) {
+            measurement.put("count", ((Counter) metric).count());
+        } else if (metric instanceof Gauge) {
+            measurement.put("value", ((Gauge) metric).value());
+        } else if (metric instanceof Timer) {
+            Timer timer = (Timer) metric;
+            TimeUnit unit = TimeUnit.MILLISECONDS;
+            measurement.put("count", timer.count());
+            measurement.put("total", timer.totalTime(unit));
+            measurement.put("max", timer.max(unit));
+            measurement.put("mean", timer.mean(unit));
+            measurement.put("p50", timer.percentile(0.5, unit));
+            measurement.put("p95", timer.percentile(0.95, unit));
+            measurement.put("p99", timer.percentile(0.99, unit));
+        } else if (metric instanceof Histogram) {
+            Histogram histogram = (Histogram) metric;
+            measurement.put("count", histogram.count());
+            measurement.put("total", histogram.total());
+            measurement.put("max", histogram.max());
+            measurement.put("mean", histogram.mean());
+            measurement.put("p50", histogram.percentile(0.5));
+            measurement.put("p95", histogram.percentile(0.95));
+            measurement.put("p99", histogram.percentile(0.99));
+        }
+        return measurement;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.management.endpoint.caches
+
+import io.micronaut.cache.CacheManager
+import io.micronaut.cache.SyncCache
+import io.micronaut.context.ApplicationContext
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.client.RxHttpClient
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class CachesEndpointSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedServer server = ApplicationContext.run(EmbeddedServer, [
+            'endpoints.caches.sensitive'                : false,
+            'micronaut.caches.stats-cache.record-stats' : true,
+            'micronaut.caches.stats-cache.maximum-size' : 10,
+            'micronaut.caches.plain-cache.maximum-size' : 10
+    ])
+    @Shared @AutoCleanup RxHttpClient client = server.applicationContext.createBean(RxHttpClient, server.URL)
+    @Shared CacheManager cacheManager = server.applicationContext.getBean(CacheManager)
+
+    void "test the caches and their statistics are listed"() {
+        given:
+        SyncCache cache = cacheManager.getCache('stats-cache')
+        cache.invalidateAll()
+        cache.put('one', 1)
+        cache.get('one', Integer)
+        cache.get('two', Integer)
+        cache.get('three', Integer, { -> 3 })
+
+        when:
+        Map result = client.retrieve('/caches', Map).blockingFirst()
+        Map statistics = result.caches['stats-cache'].statistics
+
+        then:
+        result.caches.keySet() == ['plain-cache', 'stats-cache'] as Set
+        result.caches['plain-cache'].statistics == null
+        statistics.hitCount >= 1
+        statistics.missCount >= 2
+        statistics.loadSuccessCount >= 1
+        statistics.estimatedSize == 2
+    }
+
+    void "test a single cache is returned"() {
+        when:
+        Map result = client.retrieve('/caches/stats-cache', Map).blockingFirst()
+
+        then:
+        result.name == 'stats-cache'
+        result.statistics.hitRate != null
+    }
+
+    void "test an unknown cache returns 404"() {
+        when:
+        client.retrieve('/caches/missing-cache', Map).blockingFirst()
+
+        then:
+        HttpClientResponseException e = thrown()
+        e.status == HttpStatus.NOT_FOUND
+    }
+
+    void "test a cache is invalidated"() {
+        given:
+        SyncCache cache = cacheManager.getCache('plain-cache')
+        cache.put('one', 1)
+
+        when:
+        Map result = client.retrieve(HttpRequest.DELETE('/caches/plain-cache'), Map).blockingFirst()
+
+        then:
+        result.invalidated == ['plain-cache']
+        !cache.get('one', Integer).isPresent()
+    }
+
+    void "test all caches are invalidated"() {
+        given:
+        cacheManager.getCache('plain-cache').put('one', 1)
+        cacheManager.getCache('stats-cache').put('one', 1)
+
+        when:
+        Map result = client.retrieve(HttpRequest.DELETE('/caches'), Map).blockingFirst()
+
+        then:
+        result.invalidated == ['plain-cache', 'stats-cache']
+        !cacheManager.getCache('plain-cache').get('one', Integer).isPresent()
+        !cacheManager.getCache('stats-cache').get('one', Integer).isPresent()
+    }
+}
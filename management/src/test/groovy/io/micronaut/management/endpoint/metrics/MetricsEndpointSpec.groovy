@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.management.endpoint.metrics
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.client.RxHttpClient
+import io.micronaut.http.client.exceptions.HttpClientResponseException
+import io.micronaut.metrics.MetricRegistry
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class MetricsEndpointSpec extends Specification {
+
+    @Shared @AutoCleanup EmbeddedServer server = ApplicationContext.run(EmbeddedServer, ['endpoints.metrics.sensitive': false, 'micronaut.metrics.enabled': true])
+    @Shared @AutoCleanup RxHttpClient client = server.applicationContext.createBean(RxHttpClient, server.URL)
+
+    void "test the metric names are listed"() {
+        given:
+        server.applicationContext.getBean(MetricRegistry).counter('test.listed').increment()
+
+        when:
+        Map result = client.retrieve('/metrics', Map).blockingFirst()
+
+        then:
+        result.names.contains('test.listed')
+    }
+
+    void "test requests are timed by route template"() {
+        when:
+        client.retrieve('/metrics-test/1').blockingFirst()
+        client.retrieve('/metrics-test/2').blockingFirst()
+        Map result = client.retrieve('/metrics/http.server.requests', Map).blockingFirst()
+        Map measurement = result.measurements.find { it.tags.uri == '/metrics-test/{id}' }
+
+        then:
+        result.name == 'http.server.requests'
+        measurement.count == 2
+        measurement.max >= measurement.p50
+    }
+
+    void "test a counter is reported"() {
+        given:
+        server.applicationContext.getBean(MetricRegistry).counter('test.counter', 'type', 'a').increment(3)
+
+        when:
+        Map result = client.retrieve('/metrics/test.counter', Map).blockingFirst()
+
+        then:
+        result.measurements == [[tags: [type: 'a'], count: 3]]
+    }
+
+    void "test an unknown metric returns 404"() {
+        when:
+        client.retrieve('/metrics/test.missing', Map).blockingFirst()
+
+        then:
+        HttpClientResponseException e = thrown()
+        e.status == HttpStatus.NOT_FOUND
+    }
+
+    void "test the endpoint is not available unless metrics are enabled"() {
+        given:
+        ApplicationContext context = ApplicationContext.run()
+
+        expect:
+        !context.containsBean(MetricRegistry)
+        !context.containsBean(MetricsEndpoint)
+
+        cleanup:
+        context.close()
+    }
+
+    @Controller('/metrics-test')
+    static class MetricsTestController {
+
+        @Get('/{id}')
+        String show(String id) {
+            id
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonically increasing count. Increments are striped across cells so that concurrent updates do not contend.
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+public final class Counter implements Metric {
+
+    private final MetricId id;
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * @param id The metric identifier
+     */
+    public Counter(MetricId id) {
+        this.id = id;
+    }
+
+    @Override
+    public MetricId getId() {
+        return id;
+    }
+
+    /**
+     * Increment the counter by one.
+     */
+    public void increment() {
+        count.increment();
+    }
+
+    /**
+     * Increment the counter by the given amount.
+     *
+     * @param amount The amount, which must not be negative
+     */
+    public void increment(long amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Counters cannot be decremented: " + amount);
+        }
+        count.add(amount);
+    }
+
+    /**
+     * @return The current count
+     */
+    public long count() {
+        return count.sum();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.metrics;
+
+import io.micronaut.context.annotation.Requires;
+
+import javax.inject.Singleton;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * The default {@link MetricRegistry} implementation, which keeps all metrics in memory.
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+@Singleton
+@Requires(property = MetricRegistry.ENABLED, value = "true")
+public class DefaultMetricRegistry implements MetricRegistry {
+
+    private final Map<MetricId, Metric> metrics = new ConcurrentHashMap<>();
+
+    @Override
+    public Counter counter(String name, String... tags) {
+        return register(new MetricId(name, tags), Counter.class, Counter::new);
+    }
+
+    @Override
+    public Gauge gauge(String name, String... tags) {
+        return register(new MetricId(name, tags), Gauge.class, Gauge::new);
+    }
+
+    @Override
+    public Histogram histogram(String name, String... tags) {
+        return register(new MetricId(name, tags), Histogram.class, Histogram::new);
+    }
+
+    @Override
+    public Timer timer(String name, String... tags) {
+        return register(new MetricId(name, tags), Timer.class, Timer::new);
+    }
+
+    @Override
+    public Collection<Metric> getMetrics() {
+        return Collections.unmodifiableCollection(metrics.values());
+    }
+
+    private <M extends Metric> M register(MetricId id, Class<M> type, Function<MetricId, M> factory) {
+        Metric metric = metrics.get(id);
+        if (metric == null) {
+            metric = metrics.computeIfAbsent(id, factory);
+        }
+        if (!type.isInstance(metric)) {
+            throw new IllegalStateException("Metric [" + id + "] is already registered as a " + metric.getClass().getSimpleName());
+        }
+        return type.cast(metric);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * A value that can go up and down, such as the number of open connections or queued tasks. Updates are striped
+ * across cells so that concurrent updates do not contend. Alternatively the gauge can be bound to a source that
+ * the value is read from, which is preferable when the value is already tracked elsewhere.
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+public final class Gauge implements Metric {
+
+    private final MetricId id;
+    private final LongAdder value = new LongAdder();
+    private volatile LongSupplier source;
+
+    /**
+     * @param id The metric identifier
+     */
+    public Gauge(MetricId id) {
+        this.id = id;
+    }
+
+    @Override
+    public MetricId getId() {
+        return id;
+    }
+
+    /**
+     * Increment the value by one.
+     */
+    public void increment() {
+        value.increment();
+    }
+
+    /**
+     * Decrement the value by one.
+     */
+    public void decrement() {
+        value.decrement();
+    }
+
+    /**
+     * Add the given amount, which may be negative, to the value.
+     *
+     * @param amount The amount
+     */
+    public void add(long amount) {
+        value.add(amount);
+    }
+
+    /**
+     * Bind the gauge to a source, such as the size of a queue, that the value is read from instead of the
+     * increments and decrements.
+     *
+     * @param source The source of the value
+     */
+    public void bind(LongSupplier source) {
+        this.source = source;
+    }
+
+    /**
+     * @return The current value
+     */
+    public long value() {
+        LongSupplier source = this.source;
+        return source != null ? source.getAsLong() : value.sum();
+    }
+}
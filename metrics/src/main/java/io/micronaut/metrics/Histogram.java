@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Records the distribution of non-negative values such as latencies or payload sizes.</p>
+ *
+ * <p>Values are counted in log-linear buckets in the style of an HDR histogram: every power of two is divided into
+ * 16 sub-buckets, so any value can be reported with a relative error of about 6% using a fixed array of counts.
+ * Recording a value only updates that array and a few striped adders and does not allocate.</p>
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+public final class Histogram implements Metric {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_HALF_COUNT = 1 << (SUB_BUCKET_BITS - 1);
+    private static final int BUCKET_COUNT = bucketIndex(Long.MAX_VALUE) + 1;
+
+    private final MetricId id;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param id The metric identifier
+     */
+    public Histogram(MetricId id) {
+        this.id = id;
+    }
+
+    @Override
+    public MetricId getId() {
+        return id;
+    }
+
+    /**
+     * Record a value. Negative values are recorded as zero.
+     *
+     * @param value The value
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        buckets.incrementAndGet(bucketIndex(value));
+        count.increment();
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * @return The number of recorded values
+     */
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * @return The sum of all recorded values
+     */
+    public long total() {
+        return total.sum();
+    }
+
+    /**
+     * @return The largest recorded value
+     */
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * @return The mean of the recorded values or zero if no value has been recorded
+     */
+    public double mean() {
+        long n = count();
+        return n == 0 ? 0 : (double) total() / n;
+    }
+
+    /**
+     * Estimates the value at the given percentile.
+     *
+     * @param percentile The percentile, between 0 and 1
+     * @return The highest value that is equivalent to the value at the percentile or zero if no value has been recorded
+     */
+    public long percentile(double percentile) {
+        if (percentile < 0 || percentile > 1) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 1: " + percentile);
+        }
+        long[] counts = new long[BUCKET_COUNT];
+        long n = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            n += counts[i];
+        }
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                long upper = i + 1 < BUCKET_COUNT ? lowestValue(i + 1) - 1 : Long.MAX_VALUE;
+                return Math.min(upper, max());
+            }
+        }
+        return max();
+    }
+
+    /**
+     * @param value A non-negative value
+     * @return The index of the bucket the value is counted in
+     */
+    static int bucketIndex(long value) {
+        int shift = Math.max(0, 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        return shift * SUB_BUCKET_HALF_COUNT + (int) (value >>> shift);
+    }
+
+    /**
+     * @param index The index of a bucket
+     * @return The lowest value counted in the bucket
+     */
+    static long lowestValue(int index) {
+        int shift = Math.max(0, index / SUB_BUCKET_HALF_COUNT - 1);
+        return (long) (index - shift * SUB_BUCKET_HALF_COUNT) << shift;
+    }
+}
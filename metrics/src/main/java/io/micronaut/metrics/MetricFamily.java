@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * <p>A group of metrics with the same name that differ by the value of a single tag, such as request timers per route
+ * template.</p>
+ *
+ * <p>Looking up the metric for a tag value that has been seen before does not allocate, which makes families suitable
+ * for use on hot paths where building a {@link MetricId} per call would not be.</p>
+ *
+ * @param <M> The metric type
+ * @author graemerocher
+ * @since 1.0
+ */
+public final class MetricFamily<M extends Metric> {
+
+    private final Map<String, M> metrics = new ConcurrentHashMap<>();
+    private final Function<String, M> metricFactory;
+
+    /**
+     * @param metricFactory Creates the metric for a tag value
+     */
+    MetricFamily(Function<String, M> metricFactory) {
+        this.metricFactory = metricFactory;
+    }
+
+    /**
+     * @param tagValue The tag value
+     * @return The metric for the tag value
+     */
+    public M get(String tagValue) {
+        M metric = metrics.get(tagValue);
+        if (metric == null) {
+            metric = metrics.computeIfAbsent(tagValue, metricFactory);
+        }
+        return metric;
+    }
+}
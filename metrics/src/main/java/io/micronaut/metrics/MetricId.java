@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Identifies a metric by name and tags.
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+public final class MetricId {
+
+    private final String name;
+    private final Map<String, String> tags;
+
+    /**
+     * @param name The name of the metric
+     * @param tags The tags, as alternating keys and values
+     */
+    public MetricId(String name, String... tags) {
+        Objects.requireNonNull(name, "Argument [name] cannot be null");
+        if (tags.length % 2 != 0) {
+            throw new IllegalArgumentException("Tags must be specified as key value pairs: " + String.join(",", tags));
+        }
+        this.name = name;
+        if (tags.length == 0) {
+            this.tags = Collections.emptyMap();
+        } else {
+            Map<String, String> map = new LinkedHashMap<>(tags.length);
+            for (int i = 0; i < tags.length; i += 2) {
+                map.put(tags[i], tags[i + 1]);
+            }
+            this.tags = Collections.unmodifiableMap(map);
+        }
+    }
+
+    /**
+     * @return The name of the metric
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The tags of the metric
+     */
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        MetricId metricId = (MetricId) o;
+        return name.equals(metricId.name) && tags.equals(metricId.tags);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, tags);
+    }
+
+    @Override
+    public String toString() {
+        return tags.isEmpty() ? name : name + tags;
+    }
+}
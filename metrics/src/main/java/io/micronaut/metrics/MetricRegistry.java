@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.metrics;
+
+import java.util.Collection;
+
+/**
+ * <p>A registry of named and tagged metrics.</p>
+ *
+ * <p>Metrics are created on first use and then returned for every subsequent lookup with the same name and tags.
+ * Components that record on a hot path should look up their metrics once and keep a reference, or use a
+ * {@link MetricFamily} when a tag value is only known per call.</p>
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+public interface MetricRegistry {
+
+    /**
+     * The prefix for metrics configuration.
+     */
+    String PREFIX = "micronaut.metrics";
+
+    /**
+     * The property that enables or disables metrics.
+     */
+    String ENABLED = PREFIX + ".enabled";
+
+    /**
+     * @param name The metric name
+     * @param tags The tags, as alternating keys and values
+     * @return The counter
+     */
+    Counter counter(String name, String... tags);
+
+    /**
+     * @param name The metric name
+     * @param tags The tags, as alternating keys and values
+     * @return The gauge
+     */
+    Gauge gauge(String name, String... tags);
+
+    /**
+     * @param name The metric name
+     * @param tags The tags, as alternating keys and values
+     * @return The histogram
+     */
+    Histogram histogram(String name, String... tags);
+
+    /**
+     * @param name The metric name
+     * @param tags The tags, as alternating keys and values
+     * @return The timer
+     */
+    Timer timer(String name, String... tags);
+
+    /**
+     * @return All registered metrics
+     */
+    Collection<Metric> getMetrics();
+
+    /**
+     * @param name The metric name
+     * @param tag  The tag that distinguishes the timers
+     * @return A family of timers with the given name
+     */
+    default MetricFamily<Timer> timers(String name, String tag) {
+        return new MetricFamily<>(value -> timer(name, tag, value));
+    }
+
+    /**
+     * @param name The metric name
+     * @param tag  The tag that distinguishes the counters
+     * @return A family of counters with the given name
+     */
+    default MetricFamily<Counter> counters(String name, String tag) {
+        return new MetricFamily<>(value -> counter(name, tag, value));
+    }
+
+    /**
+     * @param name The metric name
+     * @param tag  The tag that distinguishes the gauges
+     * @return A family of gauges with the given name
+     */
+    default MetricFamily<Gauge> gauges(String name, String tag) {
+        return new MetricFamily<>(value -> gauge(name, tag, value));
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the distribution of durations with a {@link Histogram} of nanoseconds.
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+public final class Timer implements Metric {
+
+    private final MetricId id;
+    private final Histogram histogram;
+
+    /**
+     * @param id The metric identifier
+     */
+    public Timer(MetricId id) {
+        this.id = id;
+        this.histogram = new Histogram(id);
+    }
+
+    @Override
+    public MetricId getId() {
+        return id;
+    }
+
+    /**
+     * Records the time elapsed since the given start time.
+     *
+     * @param startNanos A start time obtained from {@link System#nanoTime()}
+     */
+    public void recordSince(long startNanos) {
+        histogram.record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param amount The duration in the given unit
+     * @param unit   The unit
+     */
+    public void record(long amount, TimeUnit unit) {
+        histogram.record(unit.toNanos(amount));
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param duration The duration
+     */
+    public void record(Duration duration) {
+        histogram.record(duration.toNanos());
+    }
+
+    /**
+     * @return The number of recorded durations
+     */
+    public long count() {
+        return histogram.count();
+    }
+
+    /**
+     * @param unit The unit to report in
+     * @return The sum of all recorded durations
+     */
+    public double totalTime(TimeUnit unit) {
+        return convert(histogram.total(), unit);
+    }
+
+    /**
+     * @param unit The unit to report in
+     * @return The longest recorded duration
+     */
+    public double max(TimeUnit unit) {
+        return convert(histogram.max(), unit);
+    }
+
+    /**
+     * @param unit The unit to report in
+     * @return The mean of the recorded durations
+     */
+    public double mean(TimeUnit unit) {
+        return histogram.mean() / unit.toNanos(1);
+    }
+
+    /**
+     * @param percentile The percentile, between 0 and 1
+     * @param unit       The unit to report in
+     * @return The estimated duration at the percentile
+     */
+    public double percentile(double percentile, TimeUnit unit) {
+        return convert(histogram.percentile(percentile), unit);
+    }
+
+    private static double convert(long nanos, TimeUnit unit) {
+        return (double) nanos / unit.toNanos(1);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.metrics
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class HistogramSpec extends Specification {
+
+    @Unroll
+    void "test value #value is counted in a bucket starting at #lowest"() {
+        given:
+        int index = Histogram.bucketIndex(value)
+
+        expect:
+        Histogram.lowestValue(index) == lowest
+        Histogram.lowestValue(index + 1) > value
+
+        where:
+        value          | lowest
+        0              | 0
+        31             | 31
+        32             | 32
+        33             | 32
+        100            | 100
+        101            | 100
+        1000           | 992
+        1L << 40       | 1L << 40
+    }
+
+    void "test bucket indices are increasing"() {
+        expect:
+        (0..5000).every { Histogram.bucketIndex(it + 1) >= Histogram.bucketIndex(it) }
+    }
+
+    void "test statistics"() {
+        given:
+        Histogram histogram = new Histogram(new MetricId('test'))
+
+        when:
+        (1..1000).each { histogram.record(it) }
+
+        then:
+        histogram.count() == 1000
+        histogram.total() == 500500
+        histogram.max() == 1000
+        histogram.mean() == 500.5d
+        Math.abs(histogram.percentile(0.5) - 500) <= 500 * 0.07
+        Math.abs(histogram.percentile(0.99) - 990) <= 990 * 0.07
+        histogram.percentile(1) == 1000
+    }
+
+    void "test an empty histogram"() {
+        given:
+        Histogram histogram = new Histogram(new MetricId('test'))
+
+        expect:
+        histogram.count() == 0
+        histogram.mean() == 0
+        histogram.percentile(0.5) == 0
+    }
+}
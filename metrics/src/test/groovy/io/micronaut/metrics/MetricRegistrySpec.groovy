@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.metrics
+
+import io.micronaut.context.ApplicationContext
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class MetricRegistrySpec extends Specification {
+
+    @Shared @AutoCleanup ApplicationContext context = ApplicationContext.run('micronaut.metrics.enabled': true)
+    @Shared MetricRegistry registry = context.getBean(MetricRegistry)
+
+    void "test metrics are registered once per name and tags"() {
+        expect:
+        registry.counter('registry.test', 'a', '1').is(registry.counter('registry.test', 'a', '1'))
+        !registry.counter('registry.test', 'a', '1').is(registry.counter('registry.test', 'a', '2'))
+        registry.timers('registry.timer', 'uri').get('/a').is(registry.timer('registry.timer', 'uri', '/a'))
+    }
+
+    void "test a name and tags cannot be registered with a different type"() {
+        given:
+        registry.counter('registry.conflict')
+
+        when:
+        registry.gauge('registry.conflict')
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    void "test tags must be pairs"() {
+        when:
+        registry.counter('registry.odd', 'a')
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    void "test timer units"() {
+        given:
+        Timer timer = registry.timer('registry.units')
+
+        when:
+        timer.record(2, TimeUnit.MILLISECONDS)
+
+        then:
+        timer.count() == 1
+        timer.totalTime(TimeUnit.MILLISECONDS) == 2d
+        timer.totalTime(TimeUnit.MICROSECONDS) == 2000d
+    }
+
+    void "test a gauge can be bound to a source"() {
+        given:
+        Gauge gauge = registry.gauge('registry.bound')
+        List<String> queue = ['a', 'b']
+
+        when:
+        gauge.increment()
+        gauge.bind({ -> queue.size() } as java.util.function.LongSupplier)
+
+        then:
+        gauge.value() == 2
+    }
+
+    void "test metrics are disabled by default"() {
+        given:
+        ApplicationContext context = ApplicationContext.run()
+
+        expect:
+        !context.containsBean(MetricRegistry)
+
+        cleanup:
+        context.close()
+    }
+}
@@ -31,8 +31,9 @@ import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
- * <p>The default {@link Router} implementation. This implementation does not perform any additional caching of
- * route discovery.</p>
+ * <p>The default {@link Router} implementation. The {@link UriRoute} instances of each HTTP method are indexed by
+ * the literal segments of their URI templates so that only routes sharing a prefix with the requested URI are
+ * matched against it. This implementation does not perform any additional caching of route discovery.</p>
  *
  * @author Graeme Rocher
  * @since 1.0
@@ -41,6 +42,7 @@ import java.util.stream.Stream;
 public class DefaultRouter implements Router {
 
     private final UriRoute[][] routesByMethod = new UriRoute[HttpMethod.values().length][];
+    private final UriRouteIndex[] indexesByMethod = new UriRouteIndex[HttpMethod.values().length];
     private final Set<StatusRoute> statusRoutes = new HashSet<>();
     private final Collection<FilterRoute> filterRoutes = new ArrayList<>();
     private final Set<ErrorRoute> errorRoutes = new HashSet<>();
@@ -135,6 +137,10 @@ public class DefaultRouter implements Router {
                 default:
                     // no-op
             }
+            UriRoute[] routes = routesByMethod[method.ordinal()];
+            if (routes != null) {
+                indexesByMethod[method.ordinal()] = new UriRouteIndex(routes);
+            }
         }
     }
 
@@ -150,10 +156,12 @@ public class DefaultRouter implements Router {
     @SuppressWarnings("unchecked")
     @Override
     public <T, R> Stream<UriRouteMatch<T, R>> find(HttpMethod httpMethod, CharSequence uri) {
-        UriRoute[] routes = routesByMethod[httpMethod.ordinal()];
+        int ordinal = httpMethod.ordinal();
+        UriRoute[] routes = routesByMethod[ordinal];
+        String uriString = uri.toString();
         return Arrays
-            .stream(routes)
-            .map((route -> route.match(uri.toString())))
+            .stream(indexesByMethod[ordinal].candidates(uriString))
+            .mapToObj(i -> routes[i].match(uriString))
             .filter(Optional::isPresent)
             .map(Optional::get);
     }
@@ -165,18 +173,55 @@ public class DefaultRouter implements Router {
             .flatMap(Arrays::stream);
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public <T, R> Optional<UriRouteMatch<T, R>> route(HttpMethod httpMethod, CharSequence uri) {
-        UriRoute[] routes = routesByMethod[httpMethod.ordinal()];
-        Optional<UriRouteMatch> result = Arrays
-            .stream(routes)
-            .map((route -> route.match(uri.toString())))
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .findFirst();
+        int ordinal = httpMethod.ordinal();
+        UriRoute[] routes = routesByMethod[ordinal];
+        String uriString = uri.toString();
+        for (int i : indexesByMethod[ordinal].candidates(uriString)) {
+            Optional<UriRouteMatch> match = routes[i].match(uriString);
+            if (match.isPresent()) {
+                return (Optional) match;
+            }
+        }
+        return Optional.empty();
+    }
 
-        UriRouteMatch match = result.orElse(null);
-        return Optional.ofNullable(match);
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T, R> UriRouteMatchResult<T, R> route(HttpRequest<?> request, UriRouteMatchResult<T, R> result) {
+        result.reset();
+        HttpMethod httpMethod = request.getMethod();
+        String path = request.getPath();
+        int ordinal = httpMethod.ordinal();
+        UriRoute[] routes = routesByMethod[ordinal];
+        for (int i : indexesByMethod[ordinal].candidates(path)) {
+            Optional<UriRouteMatch> match = routes[i].match(path);
+            if (match.isPresent()) {
+                UriRouteMatch<T, R> uriRouteMatch = match.get();
+                if (uriRouteMatch.test(request)) {
+                    result.offer(uriRouteMatch);
+                } else {
+                    result.reject(routes[i]);
+                }
+            }
+        }
+
+        if (result.getMatch() == null && !result.isDuplicate()) {
+            for (HttpMethod method : HttpMethod.values()) {
+                if (method != httpMethod) {
+                    UriRoute[] methodRoutes = routesByMethod[method.ordinal()];
+                    for (int i : indexesByMethod[method.ordinal()].candidates(path)) {
+                        if (methodRoutes[i].getUriMatchTemplate().match(path).isPresent()) {
+                            result.allow(method);
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        return result;
     }
 
     @Override
@@ -249,12 +294,8 @@ public class DefaultRouter implements Router {
     @Override
     public <T, R> Stream<UriRouteMatch<T, R>> findAny(CharSequence uri) {
         return Arrays
-            .stream(routesByMethod)
-            .filter(Objects::nonNull)
-            .flatMap(Arrays::stream)
-            .map(route -> route.match(uri.toString()))
-            .filter(Optional::isPresent)
-            .map(Optional::get);
+            .stream(HttpMethod.values())
+            .flatMap(method -> find(method, uri));
     }
 
     private UriRoute[] finalizeRoutes(List<UriRoute> routes) {
@@ -74,6 +74,36 @@ public interface Router {
      */
     <T, R> Optional<UriRouteMatch<T, R>> route(HttpMethod httpMethod, CharSequence uri);
 
+    /**
+     * <p>Establishes the route for the given request in a single pass, populating the given result. The route with the
+     * fewest variables whose conditions accept the request is established. When no route can be established the
+     * result describes the media types and HTTP methods that would have been accepted for the requested URI.</p>
+     *
+     * <p>The result is {@link UriRouteMatchResult#reset() reset} before it is populated, allowing callers to reuse
+     * a single instance per thread.</p>
+     *
+     * @param request The request
+     * @param result  The result to populate
+     * @param <T>     The target type
+     * @param <R>     The return type
+     * @return The populated result
+     */
+    default <T, R> UriRouteMatchResult<T, R> route(HttpRequest<?> request, UriRouteMatchResult<T, R> result) {
+        result.reset();
+        String path = request.getPath();
+        this.<T, R>find(request.getMethod(), path).forEach(match -> {
+            if (match.test(request)) {
+                result.offer(match);
+            } else {
+                result.reject(match.getRoute());
+            }
+        });
+        if (result.getMatch() == null && !result.isDuplicate()) {
+            this.<T, R>findAny(path).forEach(match -> result.allow(match.getHttpMethod()));
+        }
+        return result;
+    }
+
     /**
      * Found a {@link RouteMatch} for the given {@link io.micronaut.http.HttpStatus} code.
      *
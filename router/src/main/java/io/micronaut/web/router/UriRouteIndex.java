@@ -0,0 +1,174 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.web.router;
+
+import io.micronaut.core.annotation.Internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>A prefix tree over the literal path segments of a set of {@link UriRoute} instances.</p>
+ *
+ * <p>Each route is stored at the node reached by the literal segments that precede its first variable. Looking up a
+ * URI walks the tree one path segment at a time and collects the routes stored at every visited node, so only the
+ * routes that can possibly match the URI have their {@link io.micronaut.http.uri.UriMatchTemplate} evaluated. The
+ * collected indices preserve the ordering of the array the index was built from.</p>
+ *
+ * @author Graeme Rocher
+ * @since 1.0
+ */
+@Internal
+final class UriRouteIndex {
+
+    private static final int[] NO_ROUTES = new int[0];
+
+    private final Node root = new Node();
+
+    /**
+     * @param routes The routes to index, in precedence order
+     */
+    UriRouteIndex(UriRoute[] routes) {
+        for (int i = 0; i < routes.length; i++) {
+            Node node = root;
+            for (String segment : literalSegments(routes[i].getUriMatchTemplate().toString())) {
+                node = node.child(segment);
+            }
+            node.routes = append(node.routes, i);
+        }
+    }
+
+    /**
+     * Find the indices of the routes that may match the given URI.
+     *
+     * @param uri The URI
+     * @return The candidate indices in ascending order
+     */
+    int[] candidates(String uri) {
+        int[] result = root.routes;
+        int len = uri.length();
+        if (len == 0 || uri.charAt(0) != '/') {
+            return result;
+        }
+        int end = uri.indexOf('?');
+        if (end == -1) {
+            end = len;
+        }
+        Node node = root;
+        int start = 1;
+        while (start < end && node.children != null) {
+            int slash = uri.indexOf('/', start);
+            if (slash == -1 || slash > end) {
+                slash = end;
+            }
+            node = node.children.get(uri.substring(start, slash));
+            if (node == null) {
+                break;
+            }
+            if (node.routes.length > 0) {
+                result = result.length == 0 ? node.routes : merge(result, node.routes);
+            }
+            start = slash + 1;
+        }
+        return result;
+    }
+
+    /**
+     * Computes the leading literal path segments of a URI template. A trailing literal that is directly followed by a
+     * variable is only included when the variable starts a new segment.
+     *
+     * @param template The template
+     * @return The literal segments
+     */
+    static List<String> literalSegments(String template) {
+        if (template.isEmpty() || template.charAt(0) != '/') {
+            return Collections.emptyList();
+        }
+        int end = template.length();
+        boolean lastSegmentComplete = true;
+        for (int i = 0; i < end; i++) {
+            char c = template.charAt(i);
+            if (c == '{') {
+                char operator = i + 1 < end ? template.charAt(i + 1) : '0';
+                lastSegmentComplete = operator == '/' || operator == '?' || operator == '#' || operator == '&';
+                end = i;
+                break;
+            } else if (c == '?' || c == '#') {
+                end = i;
+                break;
+            }
+        }
+
+        List<String> segments = new ArrayList<>();
+        int start = 1;
+        while (start < end) {
+            int slash = template.indexOf('/', start);
+            if (slash > -1 && slash < end) {
+                segments.add(template.substring(start, slash));
+                start = slash + 1;
+            } else {
+                if (lastSegmentComplete) {
+                    segments.add(template.substring(start, end));
+                }
+                break;
+            }
+        }
+        return segments;
+    }
+
+    private static int[] append(int[] array, int value) {
+        int[] result = Arrays.copyOf(array, array.length + 1);
+        result[array.length] = value;
+        return result;
+    }
+
+    private static int[] merge(int[] a, int[] b) {
+        int[] result = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < a.length && j < b.length) {
+            result[k++] = a[i] < b[j] ? a[i++] : b[j++];
+        }
+        while (i < a.length) {
+            result[k++] = a[i++];
+        }
+        while (j < b.length) {
+            result[k++] = b[j++];
+        }
+        return result;
+    }
+
+    /**
+     * A node of the tree, keyed by a literal path segment.
+     */
+    private static final class Node {
+        private Map<String, Node> children;
+        private int[] routes = NO_ROUTES;
+
+        private Node child(String segment) {
+            if (children == null) {
+                children = new HashMap<>();
+            }
+            return children.computeIfAbsent(segment, s -> new Node());
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.web.router;
+
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.MediaType;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <p>A mutable holder for the result of {@link Router#route(io.micronaut.http.HttpRequest, UriRouteMatchResult)}.</p>
+ *
+ * <p>Besides the established {@link UriRouteMatch} the result records the information required to respond with a
+ * 405 or 415 status when no route could be established, so that the router does not need to be queried again.
+ * Instances are not thread safe and are intended to be reused by a single thread via {@link #reset()}.</p>
+ *
+ * @param <T> The target type
+ * @param <R> The return type
+ * @author Graeme Rocher
+ * @since 1.0
+ */
+public final class UriRouteMatchResult<T, R> {
+
+    private UriRouteMatch<T, R> match;
+    private int variableCount;
+    private List<UriRouteMatch<T, R>> duplicates;
+    private List<UriRoute> rejectedRoutes;
+    private int allowedMethods;
+
+    /**
+     * Clears this result so that it can be reused for another request.
+     *
+     * @return This result
+     */
+    public UriRouteMatchResult<T, R> reset() {
+        this.match = null;
+        this.variableCount = 0;
+        this.duplicates = null;
+        this.rejectedRoutes = null;
+        this.allowedMethods = 0;
+        return this;
+    }
+
+    /**
+     * Offers a match for the requested HTTP method that satisfies the conditions of its route. The match with the
+     * fewest variables wins, matches with an equal number of variables are recorded as duplicates.
+     *
+     * @param candidate The candidate match
+     */
+    public void offer(UriRouteMatch<T, R> candidate) {
+        allow(candidate.getHttpMethod());
+        int count = candidate.getVariableValues().size();
+        if (match == null || count < variableCount) {
+            match = candidate;
+            variableCount = count;
+            duplicates = null;
+        } else if (count == variableCount) {
+            if (duplicates == null) {
+                duplicates = new ArrayList<>(2);
+                duplicates.add(match);
+            }
+            duplicates.add(candidate);
+        }
+    }
+
+    /**
+     * Records a route that matched the requested URI and HTTP method but whose conditions rejected the request.
+     *
+     * @param route The rejected route
+     */
+    public void reject(UriRoute route) {
+        allow(route.getHttpMethod());
+        if (rejectedRoutes == null) {
+            rejectedRoutes = new ArrayList<>(2);
+        }
+        rejectedRoutes.add(route);
+    }
+
+    /**
+     * Records that a route exists for the requested URI and the given HTTP method.
+     *
+     * @param httpMethod The HTTP method
+     */
+    public void allow(HttpMethod httpMethod) {
+        allowedMethods |= 1 << httpMethod.ordinal();
+    }
+
+    /**
+     * @return The established match or null if no single route could be established
+     */
+    public @Nullable UriRouteMatch<T, R> getMatch() {
+        return duplicates == null ? match : null;
+    }
+
+    /**
+     * @return Whether more than one route with the same precedence matched the request
+     */
+    public boolean isDuplicate() {
+        return duplicates != null;
+    }
+
+    /**
+     * @return The routes with the same precedence that matched the request
+     */
+    public List<UriRouteMatch<T, R>> getDuplicates() {
+        return duplicates == null ? Collections.emptyList() : Collections.unmodifiableList(duplicates);
+    }
+
+    /**
+     * @return The media types consumed by the routes that matched the URI and HTTP method but rejected the request
+     */
+    public Set<MediaType> getConsumes() {
+        if (rejectedRoutes == null) {
+            return Collections.emptySet();
+        }
+        Set<MediaType> consumes = new LinkedHashSet<>();
+        for (UriRoute route : rejectedRoutes) {
+            consumes.addAll(route.getConsumes());
+        }
+        return consumes;
+    }
+
+    /**
+     * @return The HTTP methods for which a route exists that matches the requested URI
+     */
+    public Set<HttpMethod> getAllowedMethods() {
+        if (allowedMethods == 0) {
+            return Collections.emptySet();
+        }
+        Set<HttpMethod> methods = EnumSet.noneOf(HttpMethod.class);
+        for (HttpMethod method : HttpMethod.values()) {
+            if ((allowedMethods & (1 << method.ordinal())) != 0) {
+                methods.add(method);
+            }
+        }
+        return methods;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.web.router
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.http.HttpMethod
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class UriRouteIndexSpec extends Specification {
+
+    @Shared @AutoCleanup ApplicationContext context = ApplicationContext.run()
+
+    @Unroll
+    void "test literal segments of template #template"() {
+        expect:
+        UriRouteIndex.literalSegments(template) == segments
+
+        where:
+        template                 | segments
+        ''                       | []
+        '/'                      | []
+        '/books'                 | ['books']
+        '/books/'                | ['books']
+        '/books/{id}'            | ['books']
+        '/books{/id}'            | ['books']
+        '/books{?max}'           | ['books']
+        '/books{.format}'        | []
+        '/books/show{id}'        | ['books']
+        '/books/{id}/authors'    | ['books']
+        '/a/b/c'                 | ['a', 'b', 'c']
+        '{/path}'                | []
+        '/{+path}'               | []
+    }
+
+    @Unroll
+    void "test indexed lookup of #method #uri matches a linear scan"() {
+        given:
+        Router router = context.getBean(Router)
+
+        when:
+        List<UriRoute> expected = router.uriRoutes()
+                .filter({ it.httpMethod == method && it.match(uri).isPresent() })
+                .collect()
+        List<UriRoute> found = router.find(method, uri).map({ it.route }).collect()
+
+        then:
+        found.toSet() == expected.toSet()
+        !found.isEmpty() == matches
+
+        where:
+        method         | uri                      | matches
+        HttpMethod.GET | '/index-test'            | true
+        HttpMethod.GET | '/index-test/'           | true
+        HttpMethod.GET | '/index-test?foo=bar'    | true
+        HttpMethod.GET | '/index-test/1'          | true
+        HttpMethod.GET | '/index-test/latest'     | true
+        HttpMethod.GET | '/index-test/1/comments' | true
+        HttpMethod.GET | '/index-test/1/other'    | false
+        HttpMethod.GET | '/index-test/feed.json'  | true
+        HttpMethod.GET | '/index-tes'             | false
+        HttpMethod.GET | '/nothing/here'          | false
+    }
+
+    void "test the route with the fewest variables is still preferred"() {
+        given:
+        Router router = context.getBean(Router)
+
+        when:
+        List<UriRouteMatch> matches = router.find(HttpMethod.GET, '/index-test/latest').collect()
+
+        then:
+        matches.size() == 2
+        matches.min { it.variableValues.size() }.execute() == 'latest'
+    }
+
+    @Controller('/index-test')
+    static class IndexTestController {
+
+        @Get
+        String list() {
+            'list'
+        }
+
+        @Get('/{id}')
+        String show(String id) {
+            id
+        }
+
+        @Get('/latest')
+        String latest() {
+            'latest'
+        }
+
+        @Get('/{id}/comments')
+        String comments(String id) {
+            id
+        }
+
+        @Get('/feed{.format}')
+        String feed(String format) {
+            format
+        }
+    }
+}
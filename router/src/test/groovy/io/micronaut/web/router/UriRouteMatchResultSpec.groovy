@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.web.router
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.http.HttpMethod
+import io.micronaut.http.HttpRequest
+import io.micronaut.http.MediaType
+import io.micronaut.http.annotation.Controller
+import io.micronaut.http.annotation.Get
+import io.micronaut.http.annotation.Post
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class UriRouteMatchResultSpec extends Specification {
+
+    @Shared @AutoCleanup ApplicationContext context = ApplicationContext.run()
+    @Shared Router router = context.getBean(Router)
+
+    void "test the route with the fewest variables is established"() {
+        when:
+        UriRouteMatchResult result = router.route(HttpRequest.GET('/match-result/latest'), new UriRouteMatchResult())
+
+        then:
+        !result.isDuplicate()
+        result.match.execute() == 'latest'
+        result.allowedMethods == [HttpMethod.GET] as Set
+    }
+
+    void "test duplicate routes are reported"() {
+        when:
+        UriRouteMatchResult result = router.route(HttpRequest.GET('/match-result/a/b'), new UriRouteMatchResult())
+
+        then:
+        result.isDuplicate()
+        result.match == null
+        result.duplicates.size() == 2
+    }
+
+    void "test allowed methods are reported when no route matches the method"() {
+        when:
+        UriRouteMatchResult result = router.route(HttpRequest.DELETE('/match-result/1'), new UriRouteMatchResult())
+
+        then:
+        result.match == null
+        result.consumes.isEmpty()
+        result.allowedMethods == [HttpMethod.GET, HttpMethod.POST] as Set
+    }
+
+    void "test consumed media types are reported when the route rejects the request"() {
+        when:
+        UriRouteMatchResult result = router.route(
+                HttpRequest.POST('/match-result/1', 'body').contentType(MediaType.APPLICATION_JSON_TYPE),
+                new UriRouteMatchResult()
+        )
+
+        then:
+        result.match == null
+        result.consumes == [MediaType.TEXT_PLAIN_TYPE] as Set
+        result.allowedMethods.contains(HttpMethod.POST)
+    }
+
+    void "test a result is reset before reuse"() {
+        given:
+        UriRouteMatchResult result = new UriRouteMatchResult()
+
+        when:
+        router.route(HttpRequest.DELETE('/match-result/1'), result)
+        router.route(HttpRequest.GET('/match-result/1'), result)
+
+        then:
+        result.match.execute() == '1'
+        result.consumes.isEmpty()
+        result.allowedMethods == [HttpMethod.GET] as Set
+    }
+
+    void "test no route"() {
+        when:
+        UriRouteMatchResult result = router.route(HttpRequest.GET('/match-result-missing'), new UriRouteMatchResult())
+
+        then:
+        result.match == null
+        !result.isDuplicate()
+        result.allowedMethods.isEmpty()
+    }
+
+    @Controller('/match-result')
+    static class MatchResultController {
+
+        @Get('/{id}')
+        String show(String id) {
+            id
+        }
+
+        @Get('/latest')
+        String latest() {
+            'latest'
+        }
+
+        @Post(value = '/{id}', consumes = MediaType.TEXT_PLAIN)
+        String save(String id) {
+            id
+        }
+
+        @Get('/{a}/b')
+        String first(String a) {
+            a
+        }
+
+        @Get('/a/{b}')
+        String second(String b) {
+            b
+        }
+    }
+}
@@ -44,6 +44,12 @@ public class CacheConfiguration {
     @SuppressWarnings("WeakerAccess")
     public static final boolean DEFAULT_TESTMODE = false;
 
+    /**
+     * The default record stats value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_RECORD_STATS = false;
+
     protected Charset charset;
 
     private Integer initialCapacity;
@@ -51,8 +57,11 @@ public class CacheConfiguration {
     private Long maximumWeight;
     private Duration expireAfterWrite;
     private Duration expireAfterAccess;
+    private Duration refreshAfterWrite;
     private boolean testMode = DEFAULT_TESTMODE;
+    private boolean recordStats = DEFAULT_RECORD_STATS;
     private final String cacheName;
+    private final L2CacheConfiguration l2;
 
     /**
      * Creates a new cache with the given name.
@@ -61,8 +70,20 @@ public class CacheConfiguration {
      * @param applicationConfiguration The common application configuration
      */
     public CacheConfiguration(@Parameter String cacheName, ApplicationConfiguration applicationConfiguration) {
+        this(cacheName, applicationConfiguration, new L2CacheConfiguration());
+    }
+
+    /**
+     * Creates a new cache with the given name and second level cache configuration.
+     *
+     * @param cacheName Name or key of the cache
+     * @param applicationConfiguration The common application configuration
+     * @param l2 The configuration of the second level cache
+     */
+    protected CacheConfiguration(String cacheName, ApplicationConfiguration applicationConfiguration, L2CacheConfiguration l2) {
         this.cacheName = cacheName;
         this.charset = applicationConfiguration.getDefaultCharset();
+        this.l2 = l2;
     }
 
     /**
@@ -111,6 +132,24 @@ public class CacheConfiguration {
         return Optional.ofNullable(expireAfterAccess);
     }
 
+    /**
+     * The age after which an entry that is read is reloaded by the invocation that reads it, whilst concurrent
+     * invocations continue to receive the current value. Refreshing requires an expiry after write, and should be shorter than it so that frequently read
+     * entries are reloaded before they expire.
+     *
+     * @return The {@link Duration}
+     */
+    public Optional<Duration> getRefreshAfterWrite() {
+        return Optional.ofNullable(refreshAfterWrite);
+    }
+
+    /**
+     * @return The configuration of the second level cache
+     */
+    public L2CacheConfiguration getL2() {
+        return l2;
+    }
+
     /**
      * @return The charset used to serialize and deserialize values
      */
@@ -157,6 +196,13 @@ public class CacheConfiguration {
         this.expireAfterAccess = expireAfterAccess;
     }
 
+    /**
+     * @param refreshAfterWrite The age after which an entry that is read is reloaded
+     */
+    public void setRefreshAfterWrite(Duration refreshAfterWrite) {
+        this.refreshAfterWrite = refreshAfterWrite;
+    }
+
     /**
      * @param charset The charset used to serialize and deserialize values
      */
@@ -164,6 +210,23 @@ public class CacheConfiguration {
         this.charset = charset;
     }
 
+    /**
+     * @return Whether statistics are recorded
+     */
+    public boolean isRecordStats() {
+        return recordStats;
+    }
+
+    /**
+     * Set whether hit, miss, load and eviction statistics are recorded, which makes them available from
+     * {@link SyncCache#getStatistics()} and the metrics of the cache. Default value ({@value #DEFAULT_RECORD_STATS}).
+     *
+     * @param recordStats True if statistics should be recorded
+     */
+    public void setRecordStats(boolean recordStats) {
+        this.recordStats = recordStats;
+    }
+
     /**
      * Some caches have a test mode. For example to to enable the eager execution of cleanup operations making it
      * easier to test.
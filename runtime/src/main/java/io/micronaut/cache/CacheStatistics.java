@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.cache;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * <p>A snapshot of the statistics of a cache, recorded since the cache was created.</p>
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+public final class CacheStatistics {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long loadSuccessCount;
+    private final long loadFailureCount;
+    private final long totalLoadTime;
+    private final long evictionCount;
+    private final long evictionWeight;
+    private final long estimatedSize;
+    private final long estimatedWeight;
+
+    /**
+     * @param hitCount         The number of lookups that found a value
+     * @param missCount        The number of lookups that found no value
+     * @param loadSuccessCount The number of values loaded successfully
+     * @param loadFailureCount The number of loads that failed
+     * @param totalLoadTime    The total time spent loading values in nanoseconds
+     * @param evictionCount    The number of evicted entries
+     * @param evictionWeight   The total weight of the evicted entries
+     * @param estimatedSize    The estimated number of entries
+     * @param estimatedWeight  The estimated total weight of the entries, or -1 if the cache is not bounded by weight
+     */
+    public CacheStatistics(
+            long hitCount,
+            long missCount,
+            long loadSuccessCount,
+            long loadFailureCount,
+            long totalLoadTime,
+            long evictionCount,
+            long evictionWeight,
+            long estimatedSize,
+            long estimatedWeight) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.totalLoadTime = totalLoadTime;
+        this.evictionCount = evictionCount;
+        this.evictionWeight = evictionWeight;
+        this.estimatedSize = estimatedSize;
+        this.estimatedWeight = estimatedWeight;
+    }
+
+    /**
+     * @return The number of lookups that found a value
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return The number of lookups that found no value
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return The ratio of lookups that found a value, or 1 if there have been no lookups
+     */
+    public double getHitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * @return The number of values loaded successfully
+     */
+    public long getLoadSuccessCount() {
+        return loadSuccessCount;
+    }
+
+    /**
+     * @return The number of loads that failed
+     */
+    public long getLoadFailureCount() {
+        return loadFailureCount;
+    }
+
+    /**
+     * @return The total time spent loading values
+     */
+    public Duration getTotalLoadTime() {
+        return Duration.ofNanos(totalLoadTime);
+    }
+
+    /**
+     * @return The average time spent loading a value
+     */
+    public Duration getAverageLoadPenalty() {
+        long loadCount = loadSuccessCount + loadFailureCount;
+        return loadCount == 0 ? Duration.ZERO : Duration.ofNanos(totalLoadTime / loadCount);
+    }
+
+    /**
+     * @return The number of evicted entries
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return The total weight of the evicted entries
+     */
+    public long getEvictionWeight() {
+        return evictionWeight;
+    }
+
+    /**
+     * @return The estimated number of entries
+     */
+    public long getEstimatedSize() {
+        return estimatedSize;
+    }
+
+    /**
+     * @return The estimated total weight of the entries, if the cache is bounded by weight
+     */
+    public OptionalLong getEstimatedWeight() {
+        return estimatedWeight < 0 ? OptionalLong.empty() : OptionalLong.of(estimatedWeight);
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics{hitCount=" + hitCount + ", missCount=" + missCount + ", loadSuccessCount=" + loadSuccessCount +
+            ", loadFailureCount=" + loadFailureCount + ", totalLoadTime=" + totalLoadTime + "ns, evictionCount=" + evictionCount +
+            ", evictionWeight=" + evictionWeight + ", estimatedSize=" + estimatedSize + ", estimatedWeight=" + estimatedWeight + "}";
+    }
+}
@@ -16,10 +16,13 @@
 
 package io.micronaut.cache;
 
+import io.micronaut.context.annotation.ConfigurationProperties;
 import io.micronaut.context.annotation.EachProperty;
 import io.micronaut.context.annotation.Parameter;
 import io.micronaut.runtime.ApplicationConfiguration;
 
+import javax.inject.Inject;
+
 /**
  * Default cache configuration implementation used to configure instances of {@link DefaultSyncCache}.
  *
@@ -37,4 +40,26 @@ public class DefaultCacheConfiguration extends CacheConfiguration {
     public DefaultCacheConfiguration(@Parameter String cacheName, ApplicationConfiguration applicationConfiguration) {
         super(cacheName, applicationConfiguration);
     }
+
+    /**
+     * Creates a new cache with the given name and second level cache configuration.
+     *
+     * @param cacheName                Name or key of the cache
+     * @param applicationConfiguration The common application configuration
+     * @param l2                       The configuration of the second level cache
+     */
+    @Inject
+    public DefaultCacheConfiguration(
+            @Parameter String cacheName,
+            ApplicationConfiguration applicationConfiguration,
+            DefaultL2CacheConfiguration l2) {
+        super(cacheName, applicationConfiguration, l2);
+    }
+
+    /**
+     * The default second level cache configuration.
+     */
+    @ConfigurationProperties(L2CacheConfiguration.PREFIX)
+    public static class DefaultL2CacheConfiguration extends L2CacheConfiguration {
+    }
 }
@@ -17,17 +17,34 @@
 package io.micronaut.cache;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Policy;
 import com.github.benmanes.caffeine.cache.Weigher;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
 import io.micronaut.context.ApplicationContext;
+import io.micronaut.cache.exceptions.CacheSystemException;
 import io.micronaut.context.annotation.EachBean;
 import io.micronaut.core.convert.ConversionContext;
 import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.serialize.ObjectSerializer;
 import io.micronaut.core.type.Argument;
 import io.micronaut.inject.qualifiers.Qualifiers;
+import io.micronaut.metrics.Counter;
+import io.micronaut.metrics.MetricRegistry;
+import io.micronaut.metrics.Timer;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -35,17 +52,49 @@ import java.util.function.Supplier;
  * <p>
  * <p>Since Caffeine is a non-blocking in-memory cache the {@link #async()} method will return an implementation that
  * runs operations in the current thread.</p>
+ * <p>
+ * <p>If a second level is enabled with {@link CacheConfiguration#getL2()}, entries are also written to an off-heap
+ * memory mapped file, which is consulted when an entry is not found in memory and is restored when the application
+ * restarts. Keys and values are serialized with the {@link ObjectSerializer} bean named after the cache, or with
+ * {@link ObjectSerializer#JDK} if there is none. An entry restored from the second level keeps its remaining
+ * lifetime. If entries also expire after access, that lifetime cannot be tracked in memory, so entries that were
+ * written before are only served from the second level.</p>
  *
  * @author Graeme Rocher
  * @since 1.0
  */
 @EachBean(DefaultCacheConfiguration.class)
-public class DefaultSyncCache implements SyncCache<com.github.benmanes.caffeine.cache.Cache> {
+public class DefaultSyncCache implements SyncCache<com.github.benmanes.caffeine.cache.Cache>, Closeable {
+
+    /**
+     * The name of the counters that record cache lookups, tagged by cache name and by whether the lookup was a hit or
+     * a miss.
+     */
+    public static final String METRIC_GETS = "cache.gets";
+
+    /**
+     * The name of the timers that record the time taken to load values, tagged by cache name and by whether the load
+     * succeeded. Only recorded if the cache records statistics.
+     */
+    public static final String METRIC_LOADS = "cache.loads";
+
+    /**
+     * The name of the counters that count evicted entries, tagged by cache name. Only recorded if the cache records
+     * statistics.
+     */
+    public static final String METRIC_EVICTIONS = "cache.evictions";
 
     private final CacheConfiguration cacheConfiguration;
     private final com.github.benmanes.caffeine.cache.Cache cache;
     private final ApplicationContext applicationContext;
     private final ConversionService<?> conversionService;
+    private final Counter hits;
+    private final Counter misses;
+    private final Policy.Expiration<Object, Object> writeExpiration;
+    private final Policy.VarExpiration<Object, Object> varExpiration;
+    private final long refreshAfterWrite;
+    private final long expireAfterWrite;
+    private final MappedCacheStore store;
 
     /**
      * Construct a sync cache implementation with given configurations.
@@ -76,6 +125,20 @@ public class DefaultSyncCache implements SyncCache<com.github.benmanes.caffeine.
         this.applicationContext = applicationContext;
         this.conversionService = conversionService;
         this.cache = buildCache(cacheConfiguration);
+        this.refreshAfterWrite = cacheConfiguration.getRefreshAfterWrite().map(Duration::toNanos).orElse(-1L);
+        this.writeExpiration = refreshAfterWrite > -1 ? findWriteExpiration(cache) : null;
+        this.varExpiration = findVarExpiration(cache);
+        this.expireAfterWrite = cacheConfiguration.getExpireAfterWrite().map(Duration::toMillis).orElse(0L);
+        this.store = cacheConfiguration.getL2().isEnabled() ? openStore(cacheConfiguration.getL2()) : null;
+        MetricRegistry metricRegistry = applicationContext.findBean(MetricRegistry.class).orElse(null);
+        if (metricRegistry != null) {
+            String name = cacheConfiguration.getCacheName();
+            this.hits = metricRegistry.counter(METRIC_GETS, "cache", name, "result", "hit");
+            this.misses = metricRegistry.counter(METRIC_GETS, "cache", name, "result", "miss");
+        } else {
+            this.hits = null;
+            this.misses = null;
+        }
     }
 
     @Override
@@ -91,6 +154,14 @@ public class DefaultSyncCache implements SyncCache<com.github.benmanes.caffeine.
     @Override
     public <T> Optional<T> get(Object key, Argument<T> requiredType) {
         Object value = cache.getIfPresent(key);
+        if (value == null && store != null) {
+            Optional<MappedCacheStore.Entry> entry = store.getEntry(key);
+            if (entry.isPresent()) {
+                value = entry.get().getValue();
+                restore(key, entry.get());
+            }
+        }
+        recordGet(value != null);
         if (value != null) {
             return conversionService.convert(value, ConversionContext.of(requiredType));
         }
@@ -99,7 +170,13 @@ public class DefaultSyncCache implements SyncCache<com.github.benmanes.caffeine.
 
     @Override
     public <T> T get(Object key, Argument<T> requiredType, Supplier<T> supplier) {
-        Object value = cache.get(key, o -> supplier.get());
+        // a single lookup, so that a miss is only recorded once
+        Loader<T> loader = new Loader<>(supplier);
+        Object value = cache.get(key, loader);
+        recordGet(!loader.invoked);
+        if (loader.restored != null) {
+            restore(key, loader.restored);
+        }
         if (value != null) {
             Optional<T> converted = conversionService.convert(value, ConversionContext.of(requiredType));
             return converted.orElseThrow(() ->
@@ -109,23 +186,68 @@ public class DefaultSyncCache implements SyncCache<com.github.benmanes.caffeine.
         return (T) value;
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public Optional<CacheStatistics> getStatistics() {
+        if (!cacheConfiguration.isRecordStats()) {
+            return Optional.empty();
+        }
+        CacheStats stats = cache.stats();
+        Optional<Policy.Eviction<Object, Object>> eviction = cache.policy().eviction();
+        long weight = eviction.isPresent() && eviction.get().isWeighted() ? eviction.get().weightedSize().orElse(-1) : -1;
+        return Optional.of(new CacheStatistics(
+                stats.hitCount(),
+                stats.missCount(),
+                stats.loadSuccessCount(),
+                stats.loadFailureCount(),
+                stats.totalLoadTime(),
+                stats.evictionCount(),
+                stats.evictionWeight(),
+                cache.estimatedSize(),
+                weight
+        ));
+    }
+
+    @Override
+    public boolean isRefreshDue(Object key) {
+        if (refreshAfterWrite > -1 && varExpiration != null) {
+            // the age is the part of the lifetime that has passed
+            OptionalLong remaining = varExpiration.getExpiresAfter(key, TimeUnit.NANOSECONDS);
+            return remaining.isPresent() && TimeUnit.MILLISECONDS.toNanos(expireAfterWrite) - remaining.getAsLong() >= refreshAfterWrite;
+        }
+        if (writeExpiration == null) {
+            return false;
+        }
+        OptionalLong age = writeExpiration.ageOf(key, TimeUnit.NANOSECONDS);
+        return age.isPresent() && age.getAsLong() >= refreshAfterWrite;
+    }
+
     @Override
     public void invalidate(Object key) {
         cache.invalidate(key);
+        if (store != null) {
+            store.invalidate(key);
+        }
     }
 
     @Override
     public void invalidateAll() {
         cache.invalidateAll();
+        if (store != null) {
+            store.invalidateAll();
+        }
     }
 
     @Override
     public void put(Object key, Object value) {
         if (value == null) {
             // null is the same as removal
-            cache.invalidate(key);
+            invalidate(key);
         } else {
             cache.put(key, value);
+            if (store != null) {
+                store.put(key, value, expiresAt());
+            }
         }
     }
 
@@ -133,9 +255,31 @@ public class DefaultSyncCache implements SyncCache<com.github.benmanes.caffeine.
     @Override
     public <T> Optional<T> putIfAbsent(Object key, T value) {
         Object previous = cache.asMap().putIfAbsent(key, value);
+        if (previous == null && store != null) {
+            Optional<MappedCacheStore.Entry> entry = store.putIfAbsent(key, value, expiresAt());
+            if (entry.isPresent()) {
+                previous = entry.get().getValue();
+                restore(key, entry.get());
+            }
+        }
         return Optional.ofNullable((T) previous);
     }
 
+    /**
+     * Closes the second level cache, if any, flushing its entries to disk.
+     */
+    @PreDestroy
+    @Override
+    public void close() {
+        if (store != null) {
+            try {
+                store.close();
+            } catch (IOException e) {
+                throw new CacheSystemException("Error closing the second level cache of cache [" + getName() + "]: " + e.getMessage(), e);
+            }
+        }
+    }
+
     /**
      * Build a cache from the given configurations.
      *
@@ -144,8 +288,15 @@ public class DefaultSyncCache implements SyncCache<com.github.benmanes.caffeine.
      */
     protected com.github.benmanes.caffeine.cache.Cache buildCache(CacheConfiguration cacheConfiguration) {
         Caffeine<Object, Object> builder = Caffeine.newBuilder();
-        cacheConfiguration.getExpireAfterAccess().ifPresent(duration -> builder.expireAfterAccess(duration.toMillis(), TimeUnit.MILLISECONDS));
-        cacheConfiguration.getExpireAfterWrite().ifPresent(duration -> builder.expireAfterWrite(duration.toMillis(), TimeUnit.MILLISECONDS));
+        Optional<Duration> expireAfterAccess = cacheConfiguration.getExpireAfterAccess();
+        Optional<Duration> expireAfterWrite = cacheConfiguration.getExpireAfterWrite();
+        if (cacheConfiguration.getL2().isEnabled() && expireAfterWrite.isPresent() && !expireAfterAccess.isPresent()) {
+            // entries restored from the second level cache expire after their remaining lifetime
+            builder.expireAfter(new WriteExpiry(expireAfterWrite.get().toNanos()));
+        } else {
+            expireAfterAccess.ifPresent(duration -> builder.expireAfterAccess(duration.toMillis(), TimeUnit.MILLISECONDS));
+            expireAfterWrite.ifPresent(duration -> builder.expireAfterWrite(duration.toMillis(), TimeUnit.MILLISECONDS));
+        }
         cacheConfiguration.getInitialCapacity().ifPresent(builder::initialCapacity);
         cacheConfiguration.getMaximumSize().ifPresent(builder::maximumSize);
         cacheConfiguration.getMaximumWeight().ifPresent((long weight) -> {
@@ -153,6 +304,16 @@ public class DefaultSyncCache implements SyncCache<com.github.benmanes.caffeine.
             builder.weigher(findWeigher());
         });
 
+        if (cacheConfiguration.isRecordStats()) {
+            MetricRegistry metricRegistry = applicationContext.findBean(MetricRegistry.class).orElse(null);
+            if (metricRegistry != null) {
+                String name = cacheConfiguration.getCacheName();
+                builder.recordStats(() -> new MetricsStatsCounter(metricRegistry, name));
+            } else {
+                builder.recordStats();
+            }
+        }
+
         if (cacheConfiguration.isTestMode()) {
             // run commands on same thread
             builder.executor(Runnable::run);
@@ -160,10 +321,185 @@ public class DefaultSyncCache implements SyncCache<com.github.benmanes.caffeine.
         return builder.build();
     }
 
+    private MappedCacheStore openStore(L2CacheConfiguration l2) {
+        String name = cacheConfiguration.getCacheName();
+        ObjectSerializer serializer = applicationContext.findBean(ObjectSerializer.class, Qualifiers.byName(name))
+                .orElse(ObjectSerializer.JDK);
+        try {
+            return new MappedCacheStore(name, new File(l2.getPath(), name + ".cache"), l2.getCapacity(), serializer);
+        } catch (IOException e) {
+            throw new CacheSystemException("Unable to open the second level cache of cache [" + name + "]: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Puts an entry restored from the second level cache into memory with its remaining lifetime.
+     *
+     * @param key   The key
+     * @param entry The entry
+     */
+    private void restore(Object key, MappedCacheStore.Entry entry) {
+        long remaining = entry.getExpiresAt() > 0 && expireAfterWrite > 0 ?
+                Math.max(1, entry.getExpiresAt() - System.currentTimeMillis()) : Long.MAX_VALUE;
+        if (varExpiration != null) {
+            cache.put(key, entry.getValue());
+            if (remaining != Long.MAX_VALUE) {
+                varExpiration.setExpiresAfter(key, remaining, TimeUnit.MILLISECONDS);
+            }
+        } else if (remaining >= expireAfterWrite) {
+            cache.put(key, entry.getValue());
+        } else {
+            // the entry would outlive its expiry in memory, so it is only served from the second level
+            cache.invalidate(key);
+        }
+    }
+
+    private long expiresAt() {
+        return expireAfterWrite > 0 ? System.currentTimeMillis() + expireAfterWrite : 0;
+    }
+
+    private void recordGet(boolean hit) {
+        if (hits != null) {
+            if (hit) {
+                hits.increment();
+            } else {
+                misses.increment();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Policy.Expiration<Object, Object> findWriteExpiration(com.github.benmanes.caffeine.cache.Cache cache) {
+        // the age of entries is only tracked when they expire after write
+        Optional<Policy.Expiration<Object, Object>> expiration = cache.policy().expireAfterWrite();
+        return expiration.orElse(null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Policy.VarExpiration<Object, Object> findVarExpiration(com.github.benmanes.caffeine.cache.Cache cache) {
+        Optional<Policy.VarExpiration<Object, Object>> expiration = cache.policy().expireVariably();
+        return expiration.orElse(null);
+    }
+
     @SuppressWarnings("unchecked")
     private Weigher<Object, Object> findWeigher() {
         return applicationContext.findBean(Weigher.class, Qualifiers.byName(cacheConfiguration.getCacheName()))
                 .orElseGet(() -> applicationContext.findBean(Weigher.class)
                         .orElse(Weigher.singletonWeigher()));
     }
+
+    /**
+     * Loads a missing value from the second level cache, if any, or from a supplier and records whether it was invoked.
+     *
+     * @param <T> The type of the value
+     */
+    private final class Loader<T> implements Function<Object, Object> {
+        private final Supplier<T> supplier;
+        private boolean invoked;
+        private MappedCacheStore.Entry restored;
+
+        Loader(Supplier<T> supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public Object apply(Object key) {
+            invoked = true;
+            if (store != null) {
+                Optional<MappedCacheStore.Entry> entry = store.getEntry(key);
+                if (entry.isPresent()) {
+                    restored = entry.get();
+                    return restored.getValue();
+                }
+            }
+            Object loaded = supplier.get();
+            if (loaded != null && store != null) {
+                store.put(key, loaded, expiresAt());
+            }
+            return loaded;
+        }
+    }
+
+    /**
+     * Expires entries a fixed time after they are written, like {@link Caffeine#expireAfterWrite(long, TimeUnit)},
+     * whilst allowing the lifetime of entries restored from the second level cache to be shortened.
+     */
+    private static final class WriteExpiry implements Expiry<Object, Object> {
+        private final long expireAfterWrite;
+
+        WriteExpiry(long expireAfterWrite) {
+            this.expireAfterWrite = expireAfterWrite;
+        }
+
+        @Override
+        public long expireAfterCreate(Object key, Object value, long currentTime) {
+            return expireAfterWrite;
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+            return expireAfterWrite;
+        }
+
+        @Override
+        public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * Records the statistics of a cache and reports loads and evictions to the {@link MetricRegistry}.
+     */
+    private static final class MetricsStatsCounter implements StatsCounter {
+        private final StatsCounter delegate = new ConcurrentStatsCounter();
+        private final Timer loadSuccesses;
+        private final Timer loadFailures;
+        private final Counter evictions;
+
+        private MetricsStatsCounter(MetricRegistry metricRegistry, String name) {
+            this.loadSuccesses = metricRegistry.timer(METRIC_LOADS, "cache", name, "result", "success");
+            this.loadFailures = metricRegistry.timer(METRIC_LOADS, "cache", name, "result", "failure");
+            this.evictions = metricRegistry.counter(METRIC_EVICTIONS, "cache", name);
+        }
+
+        @Override
+        public void recordHits(int count) {
+            delegate.recordHits(count);
+        }
+
+        @Override
+        public void recordMisses(int count) {
+            delegate.recordMisses(count);
+        }
+
+        @Override
+        public void recordLoadSuccess(long loadTime) {
+            delegate.recordLoadSuccess(loadTime);
+            loadSuccesses.record(loadTime, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void recordLoadFailure(long loadTime) {
+            delegate.recordLoadFailure(loadTime);
+            loadFailures.record(loadTime, TimeUnit.NANOSECONDS);
+        }
+
+        @SuppressWarnings("deprecation")
+        @Override
+        public void recordEviction() {
+            delegate.recordEviction();
+            evictions.increment();
+        }
+
+        @Override
+        public void recordEviction(int weight) {
+            delegate.recordEviction(weight);
+            evictions.increment();
+        }
+
+        @Override
+        public CacheStats snapshot() {
+            return delegate.snapshot();
+        }
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.cache;
+
+import io.micronaut.core.convert.format.ReadableBytes;
+import io.micronaut.core.util.Toggleable;
+
+import java.io.File;
+
+/**
+ * <p>Configuration of the second level of a cache, which holds serialized entries off the Java heap in a memory
+ * mapped file.</p>
+ *
+ * <p>The entries of a cache with a second level are written through to the mapped file, so that entries evicted
+ * from the in-memory cache can be read back without invoking the cached operation again, and so that the entries
+ * survive a restart of the application.</p>
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+public class L2CacheConfiguration implements Toggleable {
+
+    /**
+     * The prefix for the second level cache configuration, relative to the cache configuration.
+     */
+    public static final String PREFIX = "l2";
+
+    /**
+     * The default capacity of the mapped file in bytes.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_CAPACITY = 256L * 1024 * 1024;
+
+    private boolean enabled;
+    private File path = new File(System.getProperty("java.io.tmpdir"), "micronaut-caches");
+    private long capacity = DEFAULT_CAPACITY;
+
+    /**
+     * @return Whether the second level cache is enabled
+     */
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether the second level cache is enabled. Default value (false).
+     *
+     * @param enabled True if the second level cache is enabled
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return The directory that holds the mapped file
+     */
+    public File getPath() {
+        return path;
+    }
+
+    /**
+     * Sets the directory that holds the mapped file, which is named after the cache. Defaults to a directory within
+     * the temporary directory.
+     *
+     * @param path The directory
+     */
+    public void setPath(File path) {
+        if (path != null) {
+            this.path = path;
+        }
+    }
+
+    /**
+     * @return The capacity of the mapped file in bytes
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Sets the capacity of the mapped file, for example {@code 4GB}. Once the capacity is reached the oldest entries
+     * are evicted. Default value ({@value #DEFAULT_CAPACITY} bytes).
+     *
+     * @param capacity The capacity in bytes
+     */
+    public void setCapacity(@ReadableBytes long capacity) {
+        this.capacity = capacity;
+    }
+}
@@ -0,0 +1,463 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.cache;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.serialize.ObjectSerializer;
+import io.micronaut.core.serialize.exceptions.SerializationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * <p>An off-heap store of serialized cache entries in a memory mapped file, used as the second level of a
+ * {@link DefaultSyncCache}.</p>
+ *
+ * <p>The file is a ring buffer of records. New records are appended at the head, and once the capacity is reached
+ * the oldest records at the tail are evicted, so that the weight of an entry is the size of its serialized form.
+ * Replacing or invalidating an entry appends a new record, and the record it supersedes is reclaimed when the tail
+ * passes it. The file is divided into segments of at most {@value #MAX_SEGMENT_SIZE} bytes which records never
+ * span, so files larger than a single mapping are supported.</p>
+ *
+ * <p>The head and tail are stored in the header of the file, which allows the index of keys to be rebuilt by
+ * replaying the records when a store is reopened.</p>
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+@Internal
+final class MappedCacheStore implements Closeable {
+
+    static final int MAX_SEGMENT_SIZE = 1 << 28;
+
+    private static final Logger LOG = LoggerFactory.getLogger(MappedCacheStore.class);
+    private static final int MAGIC = 0x4D434331;
+    private static final int HEADER_SIZE = 64;
+    private static final int RECORD_HEADER_SIZE = 16;
+    private static final int SKIP = -1;
+    private static final int TOMBSTONE = -1;
+    private static final int OFFSET_SEGMENT_SIZE = 4;
+    private static final int OFFSET_CAPACITY = 8;
+    private static final int OFFSET_HEAD = 16;
+    private static final int OFFSET_TAIL = 24;
+    private static final int OFFSET_USED = 32;
+
+    private final String name;
+    private final ObjectSerializer serializer;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final MappedByteBuffer[] segments;
+    private final int segmentSize;
+    private final long capacity;
+    private final Map<Object, Long> positions = new HashMap<>();
+    private final Map<Long, Object> keys = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long head;
+    private long tail;
+    private long used;
+
+    /**
+     * Opens the store in the given file, replaying the records of an existing file.
+     *
+     * @param name       The name of the cache
+     * @param file       The mapped file
+     * @param capacity   The capacity in bytes
+     * @param serializer The serializer of keys and values
+     * @throws IOException If the file cannot be mapped
+     */
+    MappedCacheStore(String name, File file, long capacity, ObjectSerializer serializer) throws IOException {
+        this.name = name;
+        this.serializer = serializer;
+        this.segmentSize = (int) Math.max(RECORD_HEADER_SIZE, Math.min(capacity, MAX_SEGMENT_SIZE));
+        int segmentCount = (int) Math.max(1, (capacity + segmentSize - 1) / segmentSize);
+        this.capacity = (long) segmentCount * segmentSize;
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Unable to create directory for cache [" + name + "]: " + parent);
+        }
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        this.segments = new MappedByteBuffer[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + (long) i * segmentSize, segmentSize);
+        }
+        if (header.getInt(0) == MAGIC && header.getInt(OFFSET_SEGMENT_SIZE) == segmentSize && header.getLong(OFFSET_CAPACITY) == this.capacity) {
+            replay();
+        } else {
+            reset();
+        }
+    }
+
+    /**
+     * @return The number of entries in the store
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return positions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of bytes occupied by records
+     */
+    long getUsed() {
+        lock.readLock().lock();
+        try {
+            return used;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param key The key
+     * @return The value stored for the key, unless it is absent or has expired
+     */
+    Optional<Object> get(Object key) {
+        return getEntry(key).map(Entry::getValue);
+    }
+
+    /**
+     * @param key The key
+     * @return The value stored for the key and the time at which it expires, unless it is absent or has expired
+     */
+    Optional<Entry> getEntry(Object key) {
+        byte[] bytes;
+        long expiresAt;
+        lock.readLock().lock();
+        try {
+            Long position = positions.get(key);
+            if (position == null) {
+                return Optional.empty();
+            }
+            ByteBuffer record = record(position);
+            int keyLength = record.getInt();
+            int valueLength = record.getInt();
+            expiresAt = record.getLong();
+            if (expiresAt > 0 && expiresAt <= System.currentTimeMillis()) {
+                return Optional.empty();
+            }
+            bytes = new byte[valueLength];
+            record.position(record.position() + keyLength);
+            record.get(bytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+        try {
+            long entryExpiresAt = expiresAt;
+            return serializer.deserialize(bytes).map(value -> new Entry(value, entryExpiresAt));
+        } catch (SerializationException e) {
+            if (LOG.isWarnEnabled()) {
+                LOG.warn("Unable to read value of cache [" + name + "] from the second level cache: " + e.getMessage(), e);
+            }
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores a value, unless the key or value cannot be serialized or is too large for a segment.
+     *
+     * @param key       The key
+     * @param value     The value
+     * @param expiresAt The time in milliseconds since the epoch at which the value expires, or 0 if it never expires
+     */
+    void put(Object key, Object value, long expiresAt) {
+        byte[] keyBytes = serialize(key);
+        byte[] valueBytes = keyBytes != null ? serialize(value) : null;
+        if (valueBytes == null) {
+            // the previous value would be stale
+            invalidate(key);
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            append(key, keyBytes, valueBytes, expiresAt);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stores a value unless a value that has not expired is already stored.
+     *
+     * @param key       The key
+     * @param value     The value
+     * @param expiresAt The time in milliseconds since the epoch at which the value expires, or 0 if it never expires
+     * @return The entry that is already stored
+     */
+    Optional<Entry> putIfAbsent(Object key, Object value, long expiresAt) {
+        lock.writeLock().lock();
+        try {
+            Optional<Entry> existing = getEntry(key);
+            if (!existing.isPresent()) {
+                put(key, value, expiresAt);
+            }
+            return existing;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param key The key to remove
+     */
+    void invalidate(Object key) {
+        lock.writeLock().lock();
+        try {
+            if (positions.containsKey(key)) {
+                byte[] keyBytes = serialize(key);
+                if (keyBytes != null) {
+                    append(key, keyBytes, null, 0);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    void invalidateAll() {
+        lock.writeLock().lock();
+        try {
+            reset();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            header.force();
+            for (MappedByteBuffer segment : segments) {
+                segment.force();
+            }
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private byte[] serialize(Object object) {
+        try {
+            return serializer.serialize(object).orElse(null);
+        } catch (SerializationException e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Not storing entry of cache [" + name + "] in the second level cache: " + e.getMessage(), e);
+            }
+            return null;
+        }
+    }
+
+    private void append(Object key, byte[] keyBytes, byte[] valueBytes, long expiresAt) {
+        int size = RECORD_HEADER_SIZE + keyBytes.length + (valueBytes != null ? valueBytes.length : 0);
+        if (size > segmentSize) {
+            // too large to be stored, but the previous value must not be restored either
+            if (positions.containsKey(key) && RECORD_HEADER_SIZE + keyBytes.length <= segmentSize) {
+                append(key, keyBytes, null, 0);
+            } else {
+                remove(key);
+            }
+            return;
+        }
+        int remaining = segmentSize - offset(head);
+        if (remaining < size) {
+            // records never span segments, so the rest of this one is skipped
+            reserve(remaining);
+            if (remaining >= RECORD_HEADER_SIZE) {
+                segment(head).putInt(offset(head), SKIP);
+            }
+            advanceHead(remaining);
+        }
+        reserve(size);
+        long position = head;
+        ByteBuffer record = record(position);
+        record.putInt(keyBytes.length);
+        record.putInt(valueBytes != null ? valueBytes.length : TOMBSTONE);
+        record.putLong(expiresAt);
+        record.put(keyBytes);
+        remove(key);
+        if (valueBytes != null) {
+            record.put(valueBytes);
+            positions.put(key, position);
+            keys.put(position, key);
+        }
+        advanceHead(size);
+        writeHeader();
+    }
+
+    private void reserve(long size) {
+        while (capacity - used < size) {
+            evict();
+        }
+    }
+
+    private void evict() {
+        int size = recordSize(tail);
+        Object key = keys.remove(tail);
+        if (key != null) {
+            positions.remove(key);
+        }
+        tail = (tail + size) % capacity;
+        used -= size;
+    }
+
+    private int recordSize(long position) {
+        int offset = offset(position);
+        int remaining = segmentSize - offset;
+        if (remaining < RECORD_HEADER_SIZE) {
+            return remaining;
+        }
+        MappedByteBuffer segment = segment(position);
+        int keyLength = segment.getInt(offset);
+        if (keyLength == SKIP) {
+            return remaining;
+        }
+        int valueLength = segment.getInt(offset + 4);
+        return RECORD_HEADER_SIZE + keyLength + Math.max(0, valueLength);
+    }
+
+    private void remove(Object key) {
+        Long previous = positions.remove(key);
+        if (previous != null) {
+            keys.remove(previous);
+        }
+    }
+
+    private void advanceHead(int size) {
+        head = (head + size) % capacity;
+        used += size;
+    }
+
+    private void replay() {
+        head = header.getLong(OFFSET_HEAD);
+        tail = header.getLong(OFFSET_TAIL);
+        used = header.getLong(OFFSET_USED);
+        try {
+            long position = tail;
+            long replayed = 0;
+            while (replayed < used) {
+                int size = recordSize(position);
+                if (size <= 0 || size > segmentSize - offset(position)) {
+                    throw new IllegalStateException("Corrupt record at position " + position);
+                }
+                int offset = offset(position);
+                if (size >= RECORD_HEADER_SIZE && segment(position).getInt(offset) != SKIP) {
+                    ByteBuffer record = record(position);
+                    byte[] keyBytes = new byte[record.getInt()];
+                    int valueLength = record.getInt();
+                    record.getLong();
+                    record.get(keyBytes);
+                    Object key = serializer.deserialize(keyBytes)
+                        .orElseThrow(() -> new IllegalStateException("Empty key"));
+                    remove(key);
+                    if (valueLength != TOMBSTONE) {
+                        positions.put(key, position);
+                        keys.put(position, key);
+                    }
+                }
+                position = (position + size) % capacity;
+                replayed += size;
+            }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Restored " + positions.size() + " entries of cache [" + name + "] from the second level cache");
+            }
+        } catch (RuntimeException e) {
+            if (LOG.isWarnEnabled()) {
+                LOG.warn("Unable to restore the second level cache of cache [" + name + "], clearing it: " + e.getMessage(), e);
+            }
+            reset();
+        }
+    }
+
+    private void reset() {
+        positions.clear();
+        keys.clear();
+        head = 0;
+        tail = 0;
+        used = 0;
+        header.putInt(0, MAGIC);
+        header.putInt(OFFSET_SEGMENT_SIZE, segmentSize);
+        header.putLong(OFFSET_CAPACITY, capacity);
+        writeHeader();
+    }
+
+    private void writeHeader() {
+        header.putLong(OFFSET_HEAD, head);
+        header.putLong(OFFSET_TAIL, tail);
+        header.putLong(OFFSET_USED, used);
+    }
+
+    private MappedByteBuffer segment(long position) {
+        return segments[(int) (position / segmentSize)];
+    }
+
+    private int offset(long position) {
+        return (int) (position % segmentSize);
+    }
+
+    private ByteBuffer record(long position) {
+        ByteBuffer record = segment(position).duplicate();
+        record.position(offset(position));
+        return record;
+    }
+
+    /**
+     * A value read from the store.
+     */
+    static final class Entry {
+        private final Object value;
+        private final long expiresAt;
+
+        private Entry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * @return The value
+         */
+        Object getValue() {
+            return value;
+        }
+
+        /**
+         * @return The time in milliseconds since the epoch at which the value expires, or 0 if it never expires
+         */
+        long getExpiresAt() {
+            return expiresAt;
+        }
+    }
+}
@@ -117,6 +117,26 @@ public interface SyncCache<C> extends Cache<C> {
         return get(key, Argument.of(requiredType));
     }
 
+    /**
+     * Whether the entry for the given key is old enough that it should be reloaded before it
+     * expires. Caches that do not track the age of their entries never request a refresh.
+     *
+     * @param key The key
+     * @return True if the entry should be refreshed
+     */
+    default boolean isRefreshDue(Object key) {
+        return false;
+    }
+
+    /**
+     * Returns the statistics of the cache, if the cache records them.
+     *
+     * @return The statistics
+     */
+    default Optional<CacheStatistics> getStatistics() {
+        return Optional.empty();
+    }
+
     /**
      * <p>This method should return an async API version of this cache interface implementation.</p>
      * <p>
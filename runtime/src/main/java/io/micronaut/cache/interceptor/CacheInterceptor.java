@@ -51,14 +51,21 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 /**
  * <p>An AOP {@link MethodInterceptor} implementation for the Cache annotations {@link Cacheable},
  * {@link CachePut} and {@link CacheInvalidate}.</p>
  *
+ * <p>Concurrent cache misses for the same key share a single invocation of the method, whatever its return type, so
+ * that a cold key does not cause a burst of identical calls. If the cache requests it, entries are refreshed before
+ * they expire: the first invocation that reads an entry due for a refresh invokes the method on its own thread and
+ * returns the reloaded value, while concurrent invocations keep returning the cached value.</p>
+ *
  * @author Graeme Rocher
  * @since 1.0
  */
@@ -80,6 +87,7 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
 
     private final CacheManager cacheManager;
     private final Map<Class<? extends CacheKeyGenerator>, CacheKeyGenerator> keyGenerators = new ConcurrentHashMap<>();
+    private final Map<String, Map<Object, Load>> loads = new ConcurrentHashMap<>();
     private final BeanContext beanContext;
     private final ExecutorService ioExecutor;
     private final CacheErrorHandler errorHandler;
@@ -178,6 +186,20 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
                             }
                             cacheHit = true;
                             wrapper.value = optional.get();
+                            CompletableFuture<Object> refresh = refreshIfDue(syncCache, key, () -> {
+                                ValueWrapper refreshed = new ValueWrapper();
+                                doProceed(context, refreshed);
+                                syncPut(new String[] {cacheName}, key, refreshed.value);
+                                return CompletableFuture.completedFuture(refreshed.value);
+                            });
+                            if (refresh != null) {
+                                // the method was invoked on this thread, so the refresh has already completed
+                                try {
+                                    wrapper.value = refresh.join();
+                                } catch (CompletionException e) {
+                                    logRefreshError(cacheName, e.getCause());
+                                }
+                            }
                             break;
                         }
                     } catch (RuntimeException e) {
@@ -190,8 +212,7 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
                     if (LOG.isDebugEnabled()) {
                         LOG.debug("Value not found in cache for invocation: " + context);
                     }
-                    doProceed(context, wrapper);
-                    syncPut(cacheNames, key, wrapper.value);
+                    loadSharedSync(context, returnType, cacheNames, key, wrapper);
                 }
             }
         } else {
@@ -252,13 +273,38 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
         AnnotationValue<Cacheable> cacheable = cacheOperation.cacheable;
         CompletableFuture<Object> returnFuture;
         if (cacheable != null) {
-            AsyncCache<?> asyncCache = cacheManager.getCache(cacheOperation.cacheableCacheName).async();
+            SyncCache<?> syncCache = cacheManager.getCache(cacheOperation.cacheableCacheName);
+            AsyncCache<?> asyncCache = syncCache.async();
             CacheKeyGenerator keyGenerator = resolveKeyGenerator(cacheOperation.defaultKeyGenerator, cacheable);
             Object[] params = resolveParams(context, cacheable.get(MEMBER_PARAMETERS, String[].class, StringUtils.EMPTY_STRING_ARRAY));
             Object key = keyGenerator.generateKey(context, params);
             CompletableFuture<Object> thisFuture = new CompletableFuture<>();
             Argument<?> firstTypeVariable = returnTypeObject.getFirstTypeVariable().orElse(Argument.of(Object.class));
-            asyncCache.get(key, firstTypeVariable).whenComplete((BiConsumer<Optional<?>, Throwable>) (o, throwable) -> {
+            // decide on a refresh before looking up the value, so that the method is invoked on the calling thread
+            CompletableFuture<Object> refresh = refreshIfDue(syncCache, key, () -> loadFuture(context, asyncCache, key));
+            CompletableFuture<? extends Optional<?>> cached;
+            if (refresh != null) {
+                CompletableFuture<Optional<?>> refreshed = new CompletableFuture<>();
+                refresh.whenComplete((value, throwable) -> {
+                    if (throwable == null) {
+                        refreshed.complete(Optional.ofNullable(value));
+                    } else {
+                        // fall back to the cached value
+                        logRefreshError(asyncCache.getName(), throwable);
+                        asyncCache.get(key, firstTypeVariable).whenComplete((o, t) -> {
+                            if (t != null) {
+                                refreshed.completeExceptionally(t);
+                            } else {
+                                refreshed.complete(o);
+                            }
+                        });
+                    }
+                });
+                cached = refreshed;
+            } else {
+                cached = asyncCache.get(key, firstTypeVariable);
+            }
+            cached.whenComplete((BiConsumer<Optional<?>, Throwable>) (o, throwable) -> {
                 if (throwable == null && o.isPresent()) {
                     // cache hit, return result
                     if (LOG.isDebugEnabled()) {
@@ -266,37 +312,20 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
                     }
                     thisFuture.complete(o.get());
                 } else {
-                    // cache miss proceed with original future
-                    try {
-                        if (throwable != null) {
-                            if (errorHandler.handleLoadError(asyncCache, key, asRuntimeException(throwable))) {
-                                thisFuture.completeExceptionally(throwable);
-                                return;
-                            }
+                    // cache miss proceed with original future, or share the one already loading the value
+                    if (throwable != null) {
+                        if (errorHandler.handleLoadError(asyncCache, key, asRuntimeException(throwable))) {
+                            thisFuture.completeExceptionally(throwable);
+                            return;
                         }
-                        CompletableFuture<?> completableFuture = (CompletableFuture) context.proceed();
-                        if (completableFuture == null) {
-                            thisFuture.complete(null);
+                    }
+                    loadShared(asyncCache.getName(), key, () -> loadFuture(context, asyncCache, key)).whenComplete((o1, t2) -> {
+                        if (t2 != null) {
+                            thisFuture.completeExceptionally(t2);
                         } else {
-                            completableFuture.whenComplete((BiConsumer<Object, Throwable>) (o1, t2) -> {
-                                if (t2 != null) {
-                                    thisFuture.completeExceptionally(t2);
-                                } else {
-                                    // new cacheable result, cache it
-                                    asyncCache.put(key, o1).whenComplete((aBoolean, throwable1) -> {
-                                        if (throwable1 == null) {
-                                            thisFuture.complete(o1);
-                                        } else {
-                                            thisFuture.completeExceptionally(throwable1);
-                                        }
-                                    });
-
-                                }
-                            });
+                            thisFuture.complete(o1);
                         }
-                    } catch (RuntimeException e) {
-                        thisFuture.completeExceptionally(e);
-                    }
+                    });
                 }
             });
             returnFuture = thisFuture;
@@ -512,7 +541,8 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
             ReturnType returnTypeObject,
             CacheOperation cacheOperation,
             AnnotationValue<Cacheable> cacheable) {
-        AsyncCache<?> asyncCache = cacheManager.getCache(cacheOperation.cacheableCacheName).async();
+        SyncCache<?> syncCache = cacheManager.getCache(cacheOperation.cacheableCacheName);
+        AsyncCache<?> asyncCache = syncCache.async();
         CacheKeyGenerator keyGenerator = resolveKeyGenerator(cacheOperation.defaultKeyGenerator, cacheable);
         Object[] params = resolveParams(context, cacheable.get(MEMBER_PARAMETERS, String[].class, StringUtils.EMPTY_STRING_ARRAY));
         Object key = keyGenerator.generateKey(context, params);
@@ -526,8 +556,20 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
                     if (LOG.isDebugEnabled()) {
                         LOG.debug("Value found in cache [" + asyncCache.getName() + "] for invocation: " + context);
                     }
-                    emitter.onNext(o.get());
-                    emitter.onComplete();
+                    CompletableFuture<Object> refresh = refreshIfDue(syncCache, key, () -> loadPublisher(originalFlowable, asyncCache, key));
+                    if (refresh == null) {
+                        emitter.onNext(o.get());
+                        emitter.onComplete();
+                    } else {
+                        // this subscriber won the refresh, so it receives the reloaded elements
+                        emitter.setDisposable(fromLoad(refresh)
+                            .<Object>concatMap(emission -> (Flowable<?>) emission)
+                            .onErrorResumeNext((Throwable e) -> {
+                                logRefreshError(asyncCache.getName(), e);
+                                return Flowable.just(o.get());
+                            })
+                            .subscribe(emitter::onNext, emitter::onError, emitter::onComplete));
+                    }
                 } else {
                     if (throwable != null) {
                         if (errorHandler.handleLoadError(asyncCache, key, asRuntimeException(throwable))) {
@@ -540,22 +582,175 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
                     }
                 }
             });
-        }, BackpressureStrategy.BUFFER).switchIfEmpty(originalFlowable.flatMap((Function<Object, Publisher<?>>) o ->
-                Flowable.create(emitter -> asyncCache.put(key, o).whenComplete((aBoolean, throwable1) -> {
-                    if (throwable1 == null) {
-                        emitter.onNext(o);
-                        emitter.onComplete();
-                    } else {
-                        if (errorHandler.handleLoadError(asyncCache, key, asRuntimeException(throwable1))) {
+        }, BackpressureStrategy.BUFFER).switchIfEmpty(Flowable.defer(() ->
+                // cache miss, subscribe to the original publisher or share the subscription already loading the value
+                fromLoad(loadShared(asyncCache.getName(), key, () -> loadPublisher(originalFlowable, asyncCache, key)))
+                    .concatMap(emission -> (Flowable<?>) emission)));
+    }
 
-                            emitter.onError(throwable1);
-                        } else {
-                            emitter.onNext(o);
-                            emitter.onComplete();
+    private CompletableFuture<Object> loadFuture(MethodInvocationContext<Object, Object> context, AsyncCache<?> asyncCache, Object key) {
+        CompletableFuture<Object> completableFuture = (CompletableFuture<Object>) context.proceed();
+        if (completableFuture == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        // new cacheable result, cache it
+        return completableFuture.thenCompose(value -> asyncCache.put(key, value).thenApply(aBoolean -> value));
+    }
 
-                        }
-                    }
-                }), BackpressureStrategy.ERROR)));
+    /**
+     * Subscribes to the original publisher and caches its first element. The load completes with the emission of the
+     * publisher, which replays every element to the subscribers that share the load.
+     *
+     * @param originalFlowable The original publisher
+     * @param asyncCache       The cache
+     * @param key              The key
+     * @return The emission of the publisher, once its first element is cached
+     */
+    private CompletableFuture<Object> loadPublisher(Flowable<?> originalFlowable, AsyncCache<?> asyncCache, Object key) {
+        CompletableFuture<Object> loaded = new CompletableFuture<>();
+        Flowable<?> emission = originalFlowable.cache();
+        emission.firstElement().subscribe(
+            value -> asyncCache.put(key, value).whenComplete((aBoolean, throwable) -> {
+                if (throwable != null && errorHandler.handleLoadError(asyncCache, key, asRuntimeException(throwable))) {
+                    loaded.completeExceptionally(throwable);
+                } else {
+                    loaded.complete(emission);
+                }
+            }),
+            loaded::completeExceptionally,
+            () -> loaded.complete(emission)
+        );
+        return loaded;
+    }
+
+    private Flowable<Object> fromLoad(CompletableFuture<Object> load) {
+        return Flowable.create(emitter -> load.whenComplete((value, throwable) -> {
+            if (throwable != null) {
+                emitter.onError(throwable);
+            } else {
+                if (value != null) {
+                    emitter.onNext(value);
+                }
+                emitter.onComplete();
+            }
+        }), BackpressureStrategy.BUFFER);
+    }
+
+    /**
+     * Loads a value unless a load of the same key is already in progress, in which case the result of that load is
+     * shared. The value is put into the cache before the load completes, so later misses are served by the cache.
+     *
+     * @param cacheName The name of the cache
+     * @param key       The key
+     * @param loader    Starts the load and puts the loaded value into the cache
+     * @return The loaded value
+     */
+    private CompletableFuture<Object> loadShared(String cacheName, Object key, Supplier<CompletableFuture<Object>> loader) {
+        Map<Object, Load> cacheLoads = loadsFor(cacheName);
+        Load load = new Load();
+        CompletableFuture<Object> existing = cacheLoads.putIfAbsent(key, load);
+        if (existing != null) {
+            return existing;
+        }
+        return load(cacheLoads, key, load, loader);
+    }
+
+    /**
+     * The blocking variant of {@link #loadShared(String, Object, Supplier)}, which invokes the method on the calling
+     * thread unless another thread is already loading the key, in which case it waits for that result. A recursive
+     * invocation for the key that the calling thread is loading invokes the method directly.
+     */
+    private void loadSharedSync(MethodInvocationContext context, Class returnType, String[] cacheNames, Object key, ValueWrapper wrapper) {
+        Map<Object, Load> cacheLoads = loadsFor(cacheNames[0]);
+        Load load = new Load();
+        Load existing = cacheLoads.putIfAbsent(key, load);
+        if (existing != null) {
+            if (existing.owner == Thread.currentThread()) {
+                // waiting would deadlock since the load can only complete once this invocation returns
+                doProceed(context, wrapper);
+                return;
+            }
+            wrapper.optional = Optional.class == returnType;
+            try {
+                wrapper.value = existing.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new CacheSystemException("Cache load failed: " + cause.getMessage(), cause);
+            }
+            return;
+        }
+        try {
+            doProceed(context, wrapper);
+            syncPut(cacheNames, key, wrapper.value);
+            load.complete(wrapper.value);
+        } catch (Throwable e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            load.owner = null;
+            cacheLoads.remove(key, load);
+        }
+    }
+
+    /**
+     * Reloads the value of the given key if the cache requests it and no load of the key is already in progress. The
+     * loader is invoked on the calling thread, and concurrent misses of the key share the reloaded value.
+     *
+     * @param cache  The cache
+     * @param key    The key
+     * @param loader Starts the load and puts the loaded value into the cache
+     * @return The reloaded value, or null if the cached value should be used
+     */
+    private CompletableFuture<Object> refreshIfDue(SyncCache<?> cache, Object key, Supplier<CompletableFuture<Object>> loader) {
+        if (!cache.isRefreshDue(key)) {
+            return null;
+        }
+        String cacheName = cache.getName();
+        Map<Object, Load> cacheLoads = loadsFor(cacheName);
+        Load load = new Load();
+        if (cacheLoads.putIfAbsent(key, load) != null) {
+            return null;
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Refreshing value of cache [" + cacheName + "] for key: " + key);
+        }
+        return load(cacheLoads, key, load, loader);
+    }
+
+    private CompletableFuture<Object> load(Map<Object, Load> cacheLoads, Object key, Load load, Supplier<CompletableFuture<Object>> loader) {
+        CompletableFuture<Object> loaded;
+        try {
+            loaded = loader.get();
+        } catch (RuntimeException e) {
+            loaded = new CompletableFuture<>();
+            loaded.completeExceptionally(e);
+        } finally {
+            load.owner = null;
+        }
+        loaded.whenComplete((value, throwable) -> {
+            cacheLoads.remove(key, load);
+            if (throwable != null) {
+                load.completeExceptionally(throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
+            } else {
+                load.complete(value);
+            }
+        });
+        return load;
+    }
+
+    private void logRefreshError(String cacheName, Throwable throwable) {
+        if (LOG.isErrorEnabled()) {
+            LOG.error("Error refreshing value of cache [" + cacheName + "]: " + throwable.getMessage(), throwable);
+        }
+    }
+
+    private Map<Object, Load> loadsFor(String cacheName) {
+        return loads.computeIfAbsent(cacheName, name -> new ConcurrentHashMap<>());
     }
 
     private CompletableFuture<Object> processFuturePutOperations(MethodInvocationContext<Object, Object> context, CacheOperation cacheOperation, CompletableFuture<Object> returnFuture) {
@@ -928,4 +1123,12 @@ public class CacheInterceptor implements MethodInterceptor<Object, Object> {
         Object value;
         boolean optional;
     }
+
+    /**
+     * A load of a cache key, which records the thread invoking the method so that a recursive invocation for the same
+     * key does not wait for its own result.
+     */
+    private static final class Load extends CompletableFuture<Object> {
+        volatile Thread owner = Thread.currentThread();
+    }
 }
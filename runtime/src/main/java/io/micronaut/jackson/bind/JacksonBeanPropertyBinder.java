@@ -16,33 +16,64 @@
 
 package io.micronaut.jackson.bind;
 
+import com.fasterxml.jackson.annotation.JacksonAnnotation;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.DeserializerFactoryConfig;
+import com.fasterxml.jackson.databind.cfg.MapperConfig;
+import com.fasterxml.jackson.databind.deser.BasicDeserializerFactory;
+import com.fasterxml.jackson.databind.deser.DeserializerFactory;
+import com.fasterxml.jackson.databind.deser.Deserializers;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotatedWithParams;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.micronaut.context.annotation.Primary;
+import io.micronaut.core.beans.BeanIntrospection;
+import io.micronaut.core.beans.BeanIntrospector;
+import io.micronaut.core.beans.BeanProperty;
 import io.micronaut.core.bind.BeanPropertyBinder;
 import io.micronaut.core.convert.ArgumentConversionContext;
+import io.micronaut.core.convert.ConversionService;
 import io.micronaut.core.convert.ConversionError;
 import io.micronaut.core.convert.exceptions.ConversionErrorException;
 import io.micronaut.core.naming.NameUtils;
+import io.micronaut.core.reflect.ClassUtils;
 import io.micronaut.core.type.Argument;
 import io.micronaut.core.util.CollectionUtils;
 import io.micronaut.core.util.StringUtils;
 import io.micronaut.jackson.JacksonConfiguration;
 
 import javax.inject.Singleton;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * An {@link io.micronaut.core.bind.ArgumentBinder} capable of binding from an object from a map.
  *
+ * <p>Types annotated with {@link io.micronaut.core.annotation.Introspected} are bound without Jackson when Jackson
+ * would bind them the same way: the type and its properties carry no Jackson annotations, the mapper uses the default
+ * property naming, no mix-ins, no custom deserializers for the type and the default features, and every entry of the
+ * source is a writable property of a simple {@code java.lang} type whose value can be converted with the
+ * {@link ConversionService}. Nested and indexed property paths always go through Jackson.</p>
+ *
  * @author Graeme Rocher
  * @since 1.0
  */
@@ -50,8 +81,17 @@ import java.util.Set;
 @Primary
 public class JacksonBeanPropertyBinder implements BeanPropertyBinder {
 
+    /**
+     * Features that only concern unknown properties and arrays, which are never bound without Jackson.
+     */
+    private static final int IGNORED_FEATURES = DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES.getMask() |
+            DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY.getMask() |
+            DeserializationFeature.UNWRAP_SINGLE_VALUE_ARRAYS.getMask();
+    private static final int DEFAULT_FEATURES = MapperConfig.collectFeatureDefaults(DeserializationFeature.class) & ~IGNORED_FEATURES;
+
     private final ObjectMapper objectMapper;
     private final int arraySizeThreshhold;
+    private volatile IntrospectedBindings introspectedBindings;
 
     /**
      * @param objectMapper  To read/write JSON
@@ -65,6 +105,10 @@ public class JacksonBeanPropertyBinder implements BeanPropertyBinder {
     @Override
     public BindingResult<Object> bind(ArgumentConversionContext<Object> context, Map<CharSequence, ? super Object> source) {
         try {
+            Optional<Object> introspected = bindIntrospected(context.getArgument().getType(), source.entrySet());
+            if (introspected.isPresent()) {
+                return () -> introspected;
+            }
             ObjectNode objectNode = buildSourceObjectNode(source.entrySet());
             Object result = objectMapper.treeToValue(objectNode, context.getArgument().getType());
             return () -> Optional.of(result);
@@ -77,6 +121,10 @@ public class JacksonBeanPropertyBinder implements BeanPropertyBinder {
     @Override
     public <T2> T2 bind(Class<T2> type, Set<? extends Map.Entry<? extends CharSequence, Object>> source) throws ConversionErrorException {
         try {
+            Optional<T2> introspected = bindIntrospected(type, source);
+            if (introspected.isPresent()) {
+                return introspected.get();
+            }
             ObjectNode objectNode = buildSourceObjectNode(source);
             return objectMapper.treeToValue(objectNode, type);
         } catch (Exception e) {
@@ -87,6 +135,9 @@ public class JacksonBeanPropertyBinder implements BeanPropertyBinder {
     @Override
     public <T2> T2 bind(T2 object, ArgumentConversionContext<T2> context, Set<? extends Map.Entry<? extends CharSequence, Object>> source) {
         try {
+            if (bindIntrospected(object, source)) {
+                return object;
+            }
             ObjectNode objectNode = buildSourceObjectNode(source);
             objectMapper.readerForUpdating(object).readValue(objectNode);
         } catch (Exception e) {
@@ -98,6 +149,9 @@ public class JacksonBeanPropertyBinder implements BeanPropertyBinder {
     @Override
     public <T2> T2 bind(T2 object, Set<? extends Map.Entry<? extends CharSequence, Object>> source) throws ConversionErrorException {
         try {
+            if (bindIntrospected(object, source)) {
+                return object;
+            }
             ObjectNode objectNode = buildSourceObjectNode(source);
             return objectMapper.readerForUpdating(object).readValue(objectNode);
         } catch (Exception e) {
@@ -152,6 +206,124 @@ public class JacksonBeanPropertyBinder implements BeanPropertyBinder {
         }
     }
 
+    private <T2> Optional<T2> bindIntrospected(Class<T2> type, Set<? extends Map.Entry<? extends CharSequence, ? super Object>> source) {
+        Optional<BeanIntrospection<T2>> introspection = BeanIntrospector.findIntrospection(type);
+        if (introspection.isPresent() && introspection.get().isInstantiable()) {
+            BeanIntrospection<T2> beanIntrospection = introspection.get();
+            Set<String> bindable = findBindableProperties(beanIntrospection);
+            if (bindable.isEmpty()) {
+                return Optional.empty();
+            }
+            Object[] values = new Object[source.size()];
+            List<BeanProperty<T2, Object>> properties = resolveProperties(beanIntrospection, bindable, source, values);
+            if (properties != null) {
+                T2 instance = beanIntrospection.instantiate();
+                writeProperties(instance, properties, values);
+                return Optional.of(instance);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T2> boolean bindIntrospected(T2 object, Set<? extends Map.Entry<? extends CharSequence, ? super Object>> source) {
+        if (object == null) {
+            return false;
+        }
+        Optional<BeanIntrospection<T2>> introspection = BeanIntrospector.findIntrospection((Class<T2>) object.getClass());
+        if (introspection.isPresent()) {
+            Set<String> bindable = findBindableProperties(introspection.get());
+            if (bindable.isEmpty()) {
+                return false;
+            }
+            Object[] values = new Object[source.size()];
+            List<BeanProperty<T2, Object>> properties = resolveProperties(introspection.get(), bindable, source, values);
+            if (properties != null) {
+                writeProperties(object, properties, values);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Resolves the writable property and the converted value of every entry of the source.
+     *
+     * @return The properties in the order of the source or null if an entry cannot be bound without Jackson
+     */
+    private <T2> List<BeanProperty<T2, Object>> resolveProperties(
+            BeanIntrospection<T2> introspection,
+            Set<String> bindable,
+            Set<? extends Map.Entry<? extends CharSequence, ? super Object>> source,
+            Object[] values) {
+        List<BeanProperty<T2, Object>> properties = new ArrayList<>(source.size());
+        int i = 0;
+        for (Map.Entry<? extends CharSequence, ? super Object> entry : source) {
+            String name = entry.getKey().toString();
+            if (!bindable.contains(name)) {
+                return null;
+            }
+            Optional<BeanProperty<T2, Object>> property = introspection.getProperty(name);
+            if (!property.isPresent()) {
+                return null;
+            }
+            Class<Object> propertyType = property.get().getType();
+            Object value = entry.getValue();
+            if (value == null) {
+                if (propertyType.isPrimitive()) {
+                    return null;
+                }
+            } else if (!propertyType.isInstance(value)) {
+                if (value instanceof Map || value instanceof Iterable) {
+                    return null;
+                }
+                Optional<Object> converted = ConversionService.SHARED.convert(value, propertyType);
+                if (!converted.isPresent()) {
+                    return null;
+                }
+                value = converted.get();
+            }
+            values[i++] = value;
+            properties.add(property.get());
+        }
+        return properties;
+    }
+
+    /**
+     * Resolves the properties of the introspected type that Jackson would bind exactly like the introspection. The
+     * result is cached until the configuration of the mapper changes.
+     *
+     * @return The names of the properties or an empty set if the type must always be bound with Jackson
+     */
+    private Set<String> findBindableProperties(BeanIntrospection<?> introspection) {
+        if (objectMapper.mixInCount() > 0) {
+            return Collections.emptySet();
+        }
+        DeserializationConfig config = objectMapper.getDeserializationConfig();
+        DeserializationContext context = objectMapper.getDeserializationContext();
+        IntrospectedBindings bindings = introspectedBindings;
+        if (bindings == null || bindings.config != config || bindings.context != context) {
+            bindings = new IntrospectedBindings(config, context);
+            introspectedBindings = bindings;
+        }
+        if (!bindings.defaultConfiguration) {
+            return Collections.emptySet();
+        }
+        Class<?> beanType = introspection.getBeanType();
+        Set<String> bindable = bindings.bindableProperties.get(beanType);
+        if (bindable == null) {
+            bindable = bindings.resolveBindableProperties(introspection);
+            bindings.bindableProperties.put(beanType, bindable);
+        }
+        return bindable;
+    }
+
+    private <T2> void writeProperties(T2 object, List<BeanProperty<T2, Object>> properties, Object[] values) {
+        for (int i = 0; i < values.length; i++) {
+            properties.get(i).set(object, values[i]);
+        }
+    }
+
     private ObjectNode buildSourceObjectNode(Set<? extends Map.Entry<? extends CharSequence, Object>> source) {
         JsonNodeFactory nodeFactory = objectMapper.getNodeFactory();
         ObjectNode rootNode = new ObjectNode(nodeFactory);
@@ -277,4 +449,104 @@ public class JacksonBeanPropertyBinder implements BeanPropertyBinder {
             }
         }
     }
+
+    /**
+     * The properties that can be bound without Jackson for a given configuration of the mapper.
+     */
+    private static final class IntrospectedBindings {
+
+        private final DeserializationConfig config;
+        private final DeserializationContext context;
+        private final DeserializerFactoryConfig factoryConfig;
+        private final boolean defaultConfiguration;
+        private final Map<Class<?>, Set<String>> bindableProperties = new ConcurrentHashMap<>();
+
+        IntrospectedBindings(DeserializationConfig config, DeserializationContext context) {
+            this.config = config;
+            this.context = context;
+            DeserializerFactory factory = context.getFactory();
+            this.factoryConfig = factory instanceof BasicDeserializerFactory ? ((BasicDeserializerFactory) factory).getFactoryConfig() : null;
+            this.defaultConfiguration = factoryConfig != null &&
+                    !factoryConfig.hasDeserializerModifiers() &&
+                    !factoryConfig.hasValueInstantiators() &&
+                    !factoryConfig.hasAbstractTypeResolvers() &&
+                    config.getPropertyNamingStrategy() == null &&
+                    config.getHandlerInstantiator() == null &&
+                    (config.getDeserializationFeatures() & ~IGNORED_FEATURES) == DEFAULT_FEATURES &&
+                    hasDefaultMapperFeatures(config);
+        }
+
+        private Set<String> resolveBindableProperties(BeanIntrospection<?> introspection) {
+            try {
+                JavaType type = config.constructType(introspection.getBeanType());
+                BeanDescription description = config.introspect(type);
+                if (hasCustomDeserializer(type, description) || hasJacksonAnnotation(description.getClassInfo().annotations())) {
+                    return Collections.emptySet();
+                }
+                List<AnnotatedWithParams> creators = new ArrayList<>(description.getConstructors());
+                creators.addAll(description.getFactoryMethods());
+                for (AnnotatedWithParams creator : creators) {
+                    if (hasJacksonAnnotation(creator)) {
+                        return Collections.emptySet();
+                    }
+                    for (int i = 0; i < creator.getParameterCount(); i++) {
+                        if (hasJacksonAnnotation(creator.getParameter(i))) {
+                            return Collections.emptySet();
+                        }
+                    }
+                }
+                for (BeanPropertyDefinition definition : description.findProperties()) {
+                    if (hasJacksonAnnotation(definition.getField()) ||
+                            hasJacksonAnnotation(definition.getGetter()) ||
+                            hasJacksonAnnotation(definition.getSetter())) {
+                        return Collections.emptySet();
+                    }
+                }
+                Set<String> bindable = new HashSet<>();
+                for (BeanProperty<?, Object> property : introspection.getBeanProperties()) {
+                    Class<Object> propertyType = property.getType();
+                    if (property.isWritable() && !propertyType.isArray() && ClassUtils.isJavaLangType(propertyType)) {
+                        JavaType javaType = config.constructType(propertyType);
+                        if (!hasCustomDeserializer(javaType, config.introspectClassAnnotations(javaType))) {
+                            bindable.add(property.getName());
+                        }
+                    }
+                }
+                return bindable;
+            } catch (JsonMappingException | RuntimeException e) {
+                return Collections.emptySet();
+            }
+        }
+
+        private boolean hasCustomDeserializer(JavaType type, BeanDescription description) throws JsonMappingException {
+            for (Deserializers deserializers : factoryConfig.deserializers()) {
+                if (deserializers.findBeanDeserializer(type, config, description) != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean hasJacksonAnnotation(AnnotatedMember member) {
+            return member != null && hasJacksonAnnotation(member.annotations());
+        }
+
+        private static boolean hasJacksonAnnotation(Iterable<Annotation> annotations) {
+            for (Annotation annotation : annotations) {
+                if (annotation.annotationType().isAnnotationPresent(JacksonAnnotation.class)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean hasDefaultMapperFeatures(DeserializationConfig config) {
+            for (MapperFeature feature : MapperFeature.values()) {
+                if (config.isEnabled(feature) != feature.enabledByDefault()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
@@ -16,6 +16,8 @@
 
 package io.micronaut.jackson.bind;
 
+import io.micronaut.core.beans.BeanIntrospection;
+import io.micronaut.core.beans.BeanIntrospector;
 import io.micronaut.core.bind.BeanPropertyBinder;
 import io.micronaut.core.convert.ConversionContext;
 import io.micronaut.core.convert.TypeConverter;
@@ -50,9 +52,14 @@ public class MapToObjectConverter implements TypeConverter<Map, Object> {
         if (targetType.isInstance(map)) {
             return Optional.of(map);
         } else {
-            return InstantiationUtils
-                    .tryInstantiate(targetType)
-
+            Optional<BeanIntrospection<Object>> introspection = BeanIntrospector.findIntrospection(targetType);
+            Optional<Object> instance;
+            if (introspection.isPresent() && introspection.get().isInstantiable()) {
+                instance = Optional.of(introspection.get().instantiate());
+            } else {
+                instance = InstantiationUtils.tryInstantiate(targetType);
+            }
+            return instance
                     .map(object -> {
                                 Map<?, ?> theMap = map;
                                 Map bindMap = new LinkedHashMap(map.size());
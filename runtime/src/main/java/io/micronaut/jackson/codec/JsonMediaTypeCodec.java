@@ -25,6 +25,7 @@ import io.micronaut.context.annotation.BootstrapContextCompatible;
 import io.micronaut.http.codec.CodecConfiguration;
 import io.micronaut.core.io.buffer.ByteBuffer;
 import io.micronaut.core.io.buffer.ByteBufferFactory;
+import io.micronaut.core.io.buffer.ReferenceCounted;
 import io.micronaut.core.type.Argument;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.codec.CodecException;
@@ -126,17 +127,22 @@ public class JsonMediaTypeCodec implements MediaTypeCodec {
 
     @Override
     public <T> T decode(Argument<T> type, ByteBuffer<?> buffer) throws CodecException {
-        try {
-            if (CharSequence.class.isAssignableFrom(type.getType())) {
-                return (T) buffer.toString(applicationConfiguration.getDefaultCharset());
-            } else if (type.hasTypeVariables()) {
+        if (CharSequence.class.isAssignableFrom(type.getType())) {
+            return (T) buffer.toString(applicationConfiguration.getDefaultCharset());
+        }
+        // read the buffer in place rather than copying it to a byte array, leaving it unconsumed for other readers
+        int readerIndex = buffer.readerIndex();
+        try (InputStream inputStream = buffer.toInputStream()) {
+            if (type.hasTypeVariables()) {
                 JavaType javaType = constructJavaType(type);
-                return objectMapper.readValue(buffer.toByteArray(), javaType);
+                return objectMapper.readValue(inputStream, javaType);
             } else {
-                return objectMapper.readValue(buffer.toByteArray(), type.getType());
+                return objectMapper.readValue(inputStream, type.getType());
             }
         } catch (IOException e) {
             throw new CodecException("Error decoding JSON stream for type [" + type.getType() + "]: " + e.getMessage());
+        } finally {
+            buffer.readerIndex(readerIndex);
         }
     }
 
@@ -179,8 +185,27 @@ public class JsonMediaTypeCodec implements MediaTypeCodec {
 
     @Override
     public <T> ByteBuffer encode(T object, ByteBufferFactory allocator) throws CodecException {
-        byte[] bytes = encode(object);
-        return allocator.copiedBuffer(bytes);
+        if (object instanceof byte[]) {
+            return allocator.wrap((byte[]) object);
+        }
+        // write straight into a buffer from the allocator instead of encoding to an intermediate byte array
+        ByteBuffer buffer = allocator.buffer();
+        try (OutputStream outputStream = buffer.toOutputStream()) {
+            objectMapper.writeValue(outputStream, object);
+            return buffer;
+        } catch (IOException e) {
+            release(buffer);
+            throw new CodecException("Error encoding object [" + object + "] to JSON: " + e.getMessage());
+        } catch (RuntimeException | Error e) {
+            release(buffer);
+            throw e;
+        }
+    }
+
+    private void release(ByteBuffer buffer) {
+        if (buffer instanceof ReferenceCounted) {
+            ((ReferenceCounted) buffer).release();
+        }
     }
 
     private <T> JavaType constructJavaType(Argument<T> type) {
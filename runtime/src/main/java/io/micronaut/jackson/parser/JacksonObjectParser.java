@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.jackson.parser;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+
+/**
+ * <p>Parses JSON that is received in chunks into an object of a given type without building an intermediate
+ * {@link JsonNode} tree.</p>
+ *
+ * <p>Chunks are fed to a {@link com.fasterxml.jackson.core.json.async.NonBlockingJsonParser} and the resulting tokens
+ * are recorded in a {@link TokenBuffer}, from which the object is deserialized once the input is complete. The byte
+ * arrays passed to {@link #feed(byte[], int, int)} are fully consumed before the method returns and may be reused or
+ * released by the caller afterwards.</p>
+ *
+ * <p>Instances are not thread safe and parse a single JSON document.</p>
+ *
+ * @author Graeme Rocher
+ * @since 1.0
+ */
+public class JacksonObjectParser {
+
+    private final ObjectMapper objectMapper;
+    private final JavaType type;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final TokenBuffer tokens;
+    private boolean complete;
+
+    /**
+     * @param objectMapper The object mapper used to deserialize the object
+     * @param type         The type to deserialize
+     */
+    public JacksonObjectParser(ObjectMapper objectMapper, JavaType type) {
+        this.objectMapper = objectMapper;
+        this.type = type;
+        try {
+            this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create non-blocking JSON parser: " + e.getMessage(), e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.tokens = new TokenBuffer(parser);
+    }
+
+    /**
+     * Feeds the next chunk of input to the parser.
+     *
+     * @param bytes  The bytes
+     * @param offset The offset of the first byte to feed
+     * @param length The number of bytes to feed
+     * @throws IOException If the input is not valid JSON
+     */
+    public void feed(byte[] bytes, int offset, int length) throws IOException {
+        if (complete) {
+            throw new IllegalStateException("Input has already been completed");
+        }
+        feeder.feedInput(bytes, offset, offset + length);
+        copyAvailableTokens();
+    }
+
+    /**
+     * Signals the end of the input.
+     *
+     * @throws IOException If the input is not a complete JSON document
+     */
+    public void complete() throws IOException {
+        if (!complete) {
+            complete = true;
+            feeder.endOfInput();
+            copyAvailableTokens();
+            if (parser.getParsingContext().inObject() || parser.getParsingContext().inArray()) {
+                throw new JsonEOFException(parser, JsonToken.NOT_AVAILABLE, "Unexpected end-of-input");
+            }
+        }
+    }
+
+    /**
+     * @return True if no JSON token has been parsed
+     */
+    public boolean isEmpty() {
+        return tokens.firstToken() == null;
+    }
+
+    /**
+     * Deserializes the parsed JSON into the target type. Must be called after {@link #complete()}.
+     *
+     * @return The deserialized object or null if the input was empty
+     * @throws IOException If the JSON cannot be deserialized into the target type
+     */
+    public Object readValue() throws IOException {
+        verifyComplete();
+        if (isEmpty()) {
+            return null;
+        }
+        try (JsonParser tokenParser = tokens.asParser(objectMapper)) {
+            return objectMapper.readValue(tokenParser, type);
+        }
+    }
+
+    /**
+     * Reads the parsed JSON as a tree. Must be called after {@link #complete()}.
+     *
+     * @return The tree or null if the input was empty
+     * @throws IOException If the tree cannot be read
+     */
+    public JsonNode readTree() throws IOException {
+        verifyComplete();
+        if (isEmpty()) {
+            return null;
+        }
+        try (JsonParser tokenParser = tokens.asParser(objectMapper)) {
+            return objectMapper.readTree(tokenParser);
+        }
+    }
+
+    private void copyAvailableTokens() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            tokens.copyCurrentEvent(parser);
+        }
+    }
+
+    private void verifyComplete() {
+        if (!complete) {
+            throw new IllegalStateException("Input has not been completed");
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Base class for {@link RateLimiter} implementations that follow the generic cell rate algorithm.</p>
+ *
+ * <p>The state of the limiter is a single theoretical arrival time: the time at which the next permit would be
+ * reserved if calls arrived exactly at the configured rate. A permit is available once the current time is within the
+ * burst tolerance of that time, and each reservation moves it forward by one emission interval. The state is updated
+ * with a compare-and-set, so reserving a permit never locks.</p>
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+public abstract class AbstractRateLimiter implements RateLimiter {
+
+    private final String name;
+    private final long emissionInterval;
+    private final long burstTolerance;
+    private final int capacity;
+    private final AtomicLong theoreticalArrivalTime = new AtomicLong(System.nanoTime());
+    private final LongAdder permittedCalls = new LongAdder();
+    private final LongAdder rejectedCalls = new LongAdder();
+    private final LongAdder totalWaitTime = new LongAdder();
+
+    /**
+     * @param name     The name of the rate limiter
+     * @param limit    The number of permits per period
+     * @param period   The period
+     * @param capacity The number of permits that can be reserved in a burst
+     */
+    protected AbstractRateLimiter(String name, int limit, Duration period, int capacity) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Rate limit must be at least 1");
+        }
+        this.name = name;
+        this.emissionInterval = Math.max(1, period.toNanos() / limit);
+        this.capacity = Math.max(1, capacity);
+        this.burstTolerance = (this.capacity - 1) * emissionInterval;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long reserve(long maxWait) {
+        while (true) {
+            long now = System.nanoTime();
+            long arrival = theoreticalArrivalTime.get();
+            long wait = Math.max(0, arrival - burstTolerance - now);
+            if (wait > maxWait) {
+                rejectedCalls.increment();
+                return -1;
+            }
+            long next = (arrival - now > 0 ? arrival : now) + emissionInterval;
+            if (theoreticalArrivalTime.compareAndSet(arrival, next)) {
+                permittedCalls.increment();
+                if (wait > 0) {
+                    totalWaitTime.add(wait);
+                }
+                return wait;
+            }
+        }
+    }
+
+    @Override
+    public int getAvailablePermits() {
+        long ahead = theoreticalArrivalTime.get() - System.nanoTime();
+        if (ahead <= 0) {
+            return capacity;
+        }
+        return (int) Math.max(0, (burstTolerance + emissionInterval - ahead) / emissionInterval);
+    }
+
+    @Override
+    public Duration getWaitTime() {
+        return Duration.ofNanos(Math.max(0, theoreticalArrivalTime.get() - burstTolerance - System.nanoTime()));
+    }
+
+    @Override
+    public long getPermittedCalls() {
+        return permittedCalls.sum();
+    }
+
+    @Override
+    public long getRejectedCalls() {
+        return rejectedCalls.sum();
+    }
+
+    @Override
+    public Duration getTotalWaitTime() {
+        return Duration.ofNanos(totalWaitTime.sum());
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{name=" + name + ", emissionInterval=" + emissionInterval + "ns, capacity=" + capacity + "}";
+    }
+}
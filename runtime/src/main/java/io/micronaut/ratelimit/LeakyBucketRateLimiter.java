@@ -0,0 +1,38 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * A {@link RateLimiter} that permits calls at evenly spaced intervals. Calls that arrive in a burst are delayed so
+ * that they leave the bucket at the configured rate.
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+public class LeakyBucketRateLimiter extends AbstractRateLimiter {
+
+    /**
+     * @param name   The name of the rate limiter
+     * @param limit  The number of permits per period
+     * @param period The period
+     */
+    public LeakyBucketRateLimiter(String name, int limit, Duration period) {
+        super(name, limit, period, 1);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * <p>Limits the rate at which calls are permitted.</p>
+ *
+ * <p>Callers reserve a permit with {@link #reserve(long)}, which tells them how long to wait before proceeding.
+ * Reserving never blocks, so callers decide how to wait: by sleeping, or by delaying a scheduled task or the
+ * subscription to a publisher.</p>
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+public interface RateLimiter {
+
+    /**
+     * @return The name of the rate limiter
+     */
+    String getName();
+
+    /**
+     * Reserves a permit if one becomes available within the given time.
+     *
+     * @param maxWait The maximum time in nanoseconds the caller is prepared to wait for a permit
+     * @return The time in nanoseconds the caller must wait before proceeding, or -1 if no permit could be reserved
+     */
+    long reserve(long maxWait);
+
+    /**
+     * @return The number of permits that can currently be reserved without waiting
+     */
+    int getAvailablePermits();
+
+    /**
+     * @return The time a call reserving a permit now would have to wait
+     */
+    Duration getWaitTime();
+
+    /**
+     * @return The number of permits that have been reserved
+     */
+    long getPermittedCalls();
+
+    /**
+     * @return The number of calls that were rejected because no permit was available in time
+     */
+    long getRejectedCalls();
+
+    /**
+     * @return The total time permitted calls have waited for their permit
+     */
+    Duration getTotalWaitTime();
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.ratelimit;
+
+import javax.inject.Singleton;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Holds the {@link RateLimiter} instances of the application, so that their state can be monitored.
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+@Singleton
+public class RateLimiterRegistry {
+
+    private final Map<String, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+    /**
+     * @return The registered rate limiters
+     */
+    public Collection<RateLimiter> getRateLimiters() {
+        return Collections.unmodifiableCollection(rateLimiters.values());
+    }
+
+    /**
+     * @param name The name of the rate limiter
+     * @return The rate limiter, if one is registered with the given name
+     */
+    public Optional<RateLimiter> findRateLimiter(String name) {
+        return Optional.ofNullable(rateLimiters.get(name));
+    }
+
+    /**
+     * Returns the rate limiter registered with the given name, creating and registering one if there is none.
+     *
+     * @param name    The name of the rate limiter
+     * @param factory Creates the rate limiter
+     * @return The rate limiter
+     */
+    public RateLimiter rateLimiter(String name, Function<String, RateLimiter> factory) {
+        return rateLimiters.computeIfAbsent(name, factory);
+    }
+}
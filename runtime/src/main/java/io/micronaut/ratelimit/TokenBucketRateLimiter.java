@@ -0,0 +1,39 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * A {@link RateLimiter} that permits a burst of calls up to its capacity. The bucket refills at the configured rate,
+ * so that once it is empty calls are permitted at that rate.
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+public class TokenBucketRateLimiter extends AbstractRateLimiter {
+
+    /**
+     * @param name     The name of the rate limiter
+     * @param limit    The number of permits per period
+     * @param period   The period
+     * @param capacity The capacity of the bucket
+     */
+    public TokenBucketRateLimiter(String name, int limit, Duration period, int capacity) {
+        super(name, limit, period, capacity);
+    }
+}
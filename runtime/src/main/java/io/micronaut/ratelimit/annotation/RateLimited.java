@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.ratelimit.annotation;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import io.micronaut.aop.Around;
+import io.micronaut.context.annotation.Type;
+import io.micronaut.ratelimit.RateLimiterType;
+import io.micronaut.ratelimit.intercept.RateLimitInterceptor;
+
+import javax.validation.constraints.Digits;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * <p>AOP Advice that limits the rate at which a method is called, for example to stay within the quota of a remote
+ * API. Calls wait for a permit for at most {@link #maxWait()}, after which they are rejected with a
+ * {@link io.micronaut.ratelimit.exception.RateLimitExceededException}.</p>
+ *
+ * <p>Blocking methods wait on the calling thread. Methods that return a {@link java.util.concurrent.CompletableFuture}
+ * are invoked on the scheduled executor once their permit is available, and methods that return a reactive type
+ * delay the subscription, so neither blocks the calling thread.</p>
+ *
+ * <p>Each method has its own rate limiter unless a {@link #name()} is given, in which case all methods with the same
+ * name share one limiter, configured by the first method that is called.</p>
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+@Documented
+@Retention(RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE, ElementType.ANNOTATION_TYPE})
+@Around
+@Type(RateLimitInterceptor.class)
+public @interface RateLimited {
+
+    int MAX_INTEGRAL_DIGITS = 6;
+
+    /**
+     * @return The name of a rate limiter shared by all methods with the same name
+     */
+    String name() default "";
+
+    /**
+     * @return The number of calls permitted per period
+     */
+    @Digits(integer = MAX_INTEGRAL_DIGITS, fraction = 0)
+    String limit() default "10";
+
+    /**
+     * @return The period
+     */
+    String period() default "1s";
+
+    /**
+     * @return The algorithm of the rate limiter
+     */
+    RateLimiterType type() default RateLimiterType.TOKEN_BUCKET;
+
+    /**
+     * @return The number of calls a {@link RateLimiterType#TOKEN_BUCKET} permits in a burst, defaults to the limit
+     */
+    @Digits(integer = MAX_INTEGRAL_DIGITS, fraction = 0)
+    String capacity() default "";
+
+    /**
+     * @return The maximum time a call waits for a permit
+     */
+    String maxWait() default "1s";
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.ratelimit.exception;
+
+/**
+ * Exception thrown when a call is rejected because no permit of a {@link io.micronaut.ratelimit.RateLimiter} was
+ * available in time.
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    /**
+     * Constructs a new rate limit exceeded exception with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public RateLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.ratelimit.intercept;
+
+import io.micronaut.aop.InterceptPhase;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.type.ReturnType;
+import io.micronaut.inject.ExecutableMethod;
+import io.micronaut.metrics.Counter;
+import io.micronaut.metrics.MetricRegistry;
+import io.micronaut.metrics.Timer;
+import io.micronaut.ratelimit.LeakyBucketRateLimiter;
+import io.micronaut.ratelimit.RateLimiter;
+import io.micronaut.ratelimit.RateLimiterRegistry;
+import io.micronaut.ratelimit.RateLimiterType;
+import io.micronaut.ratelimit.TokenBucketRateLimiter;
+import io.micronaut.ratelimit.annotation.RateLimited;
+import io.micronaut.ratelimit.exception.RateLimitExceededException;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.TaskScheduler;
+import io.reactivex.Flowable;
+
+import javax.annotation.Nullable;
+import javax.inject.Named;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link MethodInterceptor} that limits the rate of calls to a method according to the {@link RateLimited}
+ * annotation. It runs within the retry phase, so that each retry attempt requires a permit.
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+@Singleton
+public class RateLimitInterceptor implements MethodInterceptor<Object, Object> {
+
+    /**
+     * The position of the interceptor, after {@link InterceptPhase#RETRY}.
+     */
+    public static final int POSITION = InterceptPhase.RETRY.getPosition() + 5;
+
+    /**
+     * The name of the timers that record the time calls wait for a permit.
+     */
+    public static final String METRIC_WAIT = "ratelimit.wait";
+
+    /**
+     * The name of the counters that count the calls rejected for lack of a permit.
+     */
+    public static final String METRIC_REJECTED = "ratelimit.rejected";
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final String TAG_NAME = "name";
+
+    private final RateLimiterRegistry rateLimiterRegistry;
+    private final Provider<TaskScheduler> taskScheduler;
+    private final MetricRegistry metricRegistry;
+    private final Map<ExecutableMethod, MethodRateLimit> methodRateLimits = new ConcurrentHashMap<>();
+
+    /**
+     * @param rateLimiterRegistry The registry of rate limiters
+     * @param taskScheduler       The scheduler that invokes asynchronous methods once a permit is available
+     * @param metricRegistry      The metric registry, if metrics are enabled
+     */
+    public RateLimitInterceptor(
+            RateLimiterRegistry rateLimiterRegistry,
+            @Named(TaskExecutors.SCHEDULED) Provider<TaskScheduler> taskScheduler,
+            @Nullable MetricRegistry metricRegistry) {
+        this.rateLimiterRegistry = rateLimiterRegistry;
+        this.taskScheduler = taskScheduler;
+        this.metricRegistry = metricRegistry;
+    }
+
+    @Override
+    public int getOrder() {
+        return POSITION;
+    }
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        if (!context.hasStereotype(RateLimited.class)) {
+            return context.proceed();
+        }
+        MethodRateLimit rateLimit = methodRateLimits.computeIfAbsent(context.getExecutableMethod(), method -> newRateLimit(context));
+
+        ReturnType<Object> returnType = context.getReturnType();
+        Class<Object> javaReturnType = returnType.getType();
+        if (Publishers.isConvertibleToPublisher(javaReturnType)) {
+            ConversionService<?> conversionService = ConversionService.SHARED;
+            Object result = context.proceed();
+            if (result == null) {
+                return result;
+            }
+            Flowable<?> observable = conversionService
+                .convert(result, Flowable.class)
+                .orElseThrow(() -> new IllegalStateException("Unconvertible Reactive type: " + result));
+            // a permit is reserved for each subscription, which is delayed rather than blocking the subscriber
+            Flowable<?> rateLimitedObservable = Flowable.defer(() -> {
+                long wait = rateLimit.reserve(context);
+                return wait > 0 ? observable.delaySubscription(wait, TimeUnit.NANOSECONDS) : observable;
+            });
+            return conversionService
+                .convert(rateLimitedObservable, returnType.asArgument())
+                .orElseThrow(() -> new IllegalStateException("Unconvertible Reactive type: " + result));
+        }
+
+        if (CompletionStage.class.isAssignableFrom(javaReturnType)) {
+            long wait;
+            try {
+                wait = rateLimit.reserve(context);
+            } catch (RateLimitExceededException e) {
+                CompletableFuture<Object> rejected = new CompletableFuture<>();
+                rejected.completeExceptionally(e);
+                return rejected;
+            }
+            if (wait == 0) {
+                return context.proceed();
+            }
+            CompletableFuture<Object> future = new CompletableFuture<>();
+            taskScheduler.get().schedule(Duration.ofNanos(wait), () -> {
+                try {
+                    CompletionStage<?> result = (CompletionStage<?>) context.proceed();
+                    if (result == null) {
+                        future.complete(null);
+                    } else {
+                        result.whenComplete((value, throwable) -> {
+                            if (throwable != null) {
+                                future.completeExceptionally(throwable);
+                            } else {
+                                future.complete(value);
+                            }
+                        });
+                    }
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+            return future;
+        }
+
+        long wait = rateLimit.reserve(context);
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RateLimitExceededException("Interrupted while waiting for a permit of rate limiter [" +
+                    rateLimit.rateLimiter.getName() + "]");
+            }
+        }
+        return context.proceed();
+    }
+
+    private MethodRateLimit newRateLimit(MethodInvocationContext<Object, Object> context) {
+        String name = context.getValue(RateLimited.class, "name", String.class)
+            .filter(n -> !n.isEmpty())
+            .orElseGet(() -> context.getDeclaringType().getSimpleName() + "." + context.getMethodName());
+        RateLimiter rateLimiter = rateLimiterRegistry.rateLimiter(name, n -> {
+            int limit = context.getValue(RateLimited.class, "limit", Integer.class).orElse(DEFAULT_LIMIT);
+            Duration period = context.getValue(RateLimited.class, "period", Duration.class).orElse(Duration.ofSeconds(1));
+            RateLimiterType type = context.getValue(RateLimited.class, "type", RateLimiterType.class).orElse(RateLimiterType.TOKEN_BUCKET);
+            if (type == RateLimiterType.LEAKY_BUCKET) {
+                return new LeakyBucketRateLimiter(n, limit, period);
+            }
+            int capacity = context.getValue(RateLimited.class, "capacity", Integer.class).orElse(limit);
+            return new TokenBucketRateLimiter(n, limit, period, capacity);
+        });
+        long maxWait = context.getValue(RateLimited.class, "maxWait", Duration.class).orElse(Duration.ofSeconds(1)).toNanos();
+        if (metricRegistry != null) {
+            return new MethodRateLimit(
+                rateLimiter,
+                maxWait,
+                metricRegistry.timer(METRIC_WAIT, TAG_NAME, rateLimiter.getName()),
+                metricRegistry.counter(METRIC_REJECTED, TAG_NAME, rateLimiter.getName()));
+        }
+        return new MethodRateLimit(rateLimiter, maxWait, null, null);
+    }
+
+    /**
+     * The rate limiter of a method and how long calls to the method may wait.
+     */
+    private static final class MethodRateLimit {
+        private final RateLimiter rateLimiter;
+        private final long maxWait;
+        private final Timer waitTimer;
+        private final Counter rejectedCounter;
+
+        private MethodRateLimit(RateLimiter rateLimiter, long maxWait, @Nullable Timer waitTimer, @Nullable Counter rejectedCounter) {
+            this.rateLimiter = rateLimiter;
+            this.maxWait = maxWait;
+            this.waitTimer = waitTimer;
+            this.rejectedCounter = rejectedCounter;
+        }
+
+        private long reserve(MethodInvocationContext<?, ?> context) {
+            long wait = rateLimiter.reserve(maxWait);
+            if (wait < 0) {
+                if (rejectedCounter != null) {
+                    rejectedCounter.increment();
+                }
+                throw new RateLimitExceededException("Rate limit of rate limiter [" + rateLimiter.getName() +
+                    "] exceeded for method [" + context + "]");
+            }
+            if (waitTimer != null) {
+                waitTimer.record(wait, TimeUnit.NANOSECONDS);
+            }
+            return wait;
+        }
+    }
+}
@@ -35,7 +35,7 @@ public enum CircuitState {
     CLOSED,
 
     /**
-     * The circuit has just closed to allow a single downstream call to check if it is backup.
+     * The circuit has just closed to allow a limited number of trial calls to check if the downstream is back up.
      */
     HALF_OPEN
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.retry.annotation;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import io.micronaut.aop.Around;
+import io.micronaut.context.annotation.Type;
+import io.micronaut.retry.intercept.BulkheadInterceptor;
+
+import javax.validation.constraints.Digits;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * <p>AOP Advice that limits the number of concurrent calls to a method, isolating callers from a downstream
+ * dependency that has become slow.</p>
+ *
+ * <p>Calls beyond {@link #maxConcurrentCalls()} are rejected with a
+ * {@link io.micronaut.retry.exception.BulkheadRejectedException}, unless {@link #maxWaitingCalls()} is set, in which
+ * case up to that number of calls wait in a queue for at most {@link #maxWait()}. Calls that return a reactive type
+ * never wait.</p>
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+@Documented
+@Retention(RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE, ElementType.ANNOTATION_TYPE})
+@Around
+@Type(BulkheadInterceptor.class)
+public @interface Bulkhead {
+
+    int MAX_INTEGRAL_DIGITS = 4;
+
+    /**
+     * @return The maximum number of concurrent calls
+     */
+    @Digits(integer = MAX_INTEGRAL_DIGITS, fraction = 0)
+    String maxConcurrentCalls() default "10";
+
+    /**
+     * @return The maximum number of calls waiting for a permit
+     */
+    @Digits(integer = MAX_INTEGRAL_DIGITS, fraction = 0)
+    String maxWaitingCalls() default "0";
+
+    /**
+     * @return The maximum time a call waits for a permit
+     */
+    String maxWait() default "1s";
+}
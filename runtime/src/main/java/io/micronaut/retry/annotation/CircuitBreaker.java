@@ -21,6 +21,7 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 import io.micronaut.aop.Around;
 import io.micronaut.context.annotation.AliasFor;
 import io.micronaut.context.annotation.Type;
+import io.micronaut.retry.SlidingWindowType;
 import io.micronaut.retry.intercept.DefaultRetryInterceptor;
 
 import javax.validation.constraints.Digits;
@@ -30,8 +31,14 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
 
 /**
- * Variation of {@link Retryable} that implements the Circuit Breaker pattern. Has higher overhead than
- * {@link Retryable} as a {@link io.micronaut.retry.CircuitState} has to be maintained for each method call
+ * <p>Variation of {@link Retryable} that implements the Circuit Breaker pattern. Has higher overhead than
+ * {@link Retryable} as a {@link io.micronaut.retry.CircuitState} has to be maintained for each method call</p>
+ *
+ * <p>The outcome of each call, once any retries are exhausted, is recorded in a sliding window over either the last
+ * calls or the calls of the last seconds. The circuit opens once the window holds at least {@link #minimumCalls()}
+ * calls and either the rate of failed calls reaches {@link #failureRateThreshold()} or the rate of calls slower than
+ * {@link #slowCallDuration()} reaches {@link #slowCallRateThreshold()}. The defaults open the circuit on the first
+ * failure.</p>
  *
  * @author graemerocher
  * @since 1.0
@@ -93,4 +100,48 @@ public @interface CircuitBreaker {
      * @return The {@link java.time.Duration} of time before reset
      */
     String reset() default "20s";
+
+    /**
+     * @return Whether the sliding window counts calls or seconds
+     */
+    SlidingWindowType slidingWindowType() default SlidingWindowType.COUNT_BASED;
+
+    /**
+     * @return The number of calls or seconds in the sliding window
+     */
+    @Digits(integer = MAX_RETRY_ATTEMPTS, fraction = 0)
+    String slidingWindowSize() default "1";
+
+    /**
+     * @return The minimum number of calls in the sliding window before the failure and slow call rates are evaluated
+     */
+    @Digits(integer = MAX_RETRY_ATTEMPTS, fraction = 0)
+    String minimumCalls() default "1";
+
+    /**
+     * @return The percentage of failed calls in the sliding window at which the circuit opens
+     */
+    @Digits(integer = 3, fraction = 2)
+    String failureRateThreshold() default "100";
+
+    /**
+     * @return The duration after which a call is considered slow, by default calls are never slow
+     */
+    String slowCallDuration() default "";
+
+    /**
+     * @return The percentage of slow calls in the sliding window at which the circuit opens
+     */
+    @Digits(integer = 3, fraction = 2)
+    String slowCallRateThreshold() default "100";
+
+    /**
+     * The number of trial calls permitted when the circuit is {@link io.micronaut.retry.CircuitState#HALF_OPEN}.
+     * Further calls are rejected until the trial calls complete, after which the circuit closes unless their failure
+     * or slow call rate reaches the threshold.
+     *
+     * @return The number of trial calls
+     */
+    @Digits(integer = MAX_RETRY_ATTEMPTS, fraction = 0)
+    String halfOpenCalls() default "1";
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.retry.intercept;
+
+import io.micronaut.aop.InterceptPhase;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.core.convert.ConversionService;
+import io.micronaut.core.type.ReturnType;
+import io.micronaut.inject.ExecutableMethod;
+import io.micronaut.retry.annotation.Bulkhead;
+import io.micronaut.retry.exception.BulkheadRejectedException;
+import io.reactivex.Flowable;
+
+import javax.inject.Singleton;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link MethodInterceptor} that limits the concurrent calls to a method according to the {@link Bulkhead}
+ * annotation. It runs within the retry phase, so that each retry attempt requires a permit.
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+@Singleton
+public class BulkheadInterceptor implements MethodInterceptor<Object, Object> {
+
+    /**
+     * The position of the interceptor, after {@link InterceptPhase#RETRY}.
+     */
+    public static final int POSITION = InterceptPhase.RETRY.getPosition() + 10;
+
+    private static final int DEFAULT_MAX_CONCURRENT_CALLS = 10;
+
+    private final Map<ExecutableMethod, Compartment> compartments = new ConcurrentHashMap<>();
+
+    @Override
+    public int getOrder() {
+        return POSITION;
+    }
+
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        if (!context.hasStereotype(Bulkhead.class)) {
+            return context.proceed();
+        }
+        Compartment compartment = compartments.computeIfAbsent(context.getExecutableMethod(), method -> new Compartment(
+            context.getValue(Bulkhead.class, "maxConcurrentCalls", Integer.class).orElse(DEFAULT_MAX_CONCURRENT_CALLS),
+            context.getValue(Bulkhead.class, "maxWaitingCalls", Integer.class).orElse(0),
+            context.getValue(Bulkhead.class, "maxWait", Duration.class).orElse(Duration.ZERO)
+        ));
+
+        ReturnType<Object> returnType = context.getReturnType();
+        Class<Object> javaReturnType = returnType.getType();
+        if (Publishers.isConvertibleToPublisher(javaReturnType)) {
+            ConversionService<?> conversionService = ConversionService.SHARED;
+            Object result = context.proceed();
+            if (result == null) {
+                return result;
+            }
+            Flowable<?> observable = conversionService
+                .convert(result, Flowable.class)
+                .orElseThrow(() -> new IllegalStateException("Unconvertible Reactive type: " + result));
+            // a permit is acquired for each subscription and the subscribing thread never waits for one
+            Flowable<?> bulkheadObservable = Flowable.defer(() -> {
+                if (!compartment.semaphore.tryAcquire()) {
+                    return Flowable.error(compartment.rejected(context));
+                }
+                return observable.doFinally(compartment.semaphore::release);
+            });
+            return conversionService
+                .convert(bulkheadObservable, returnType.asArgument())
+                .orElseThrow(() -> new IllegalStateException("Unconvertible Reactive type: " + result));
+        }
+
+        compartment.acquire(context);
+        if (CompletionStage.class.isAssignableFrom(javaReturnType)) {
+            CompletionStage<?> result;
+            try {
+                result = (CompletionStage<?>) context.proceed();
+            } catch (RuntimeException e) {
+                compartment.semaphore.release();
+                throw e;
+            }
+            if (result == null) {
+                compartment.semaphore.release();
+            } else {
+                result.whenComplete((value, throwable) -> compartment.semaphore.release());
+            }
+            return result;
+        }
+        try {
+            return context.proceed();
+        } finally {
+            compartment.semaphore.release();
+        }
+    }
+
+    /**
+     * The permits and waiting calls of a single method.
+     */
+    private static final class Compartment {
+        private final Semaphore semaphore;
+        private final int maxConcurrentCalls;
+        private final int maxWaitingCalls;
+        private final long maxWait;
+        private final AtomicInteger waitingCalls = new AtomicInteger();
+
+        private Compartment(int maxConcurrentCalls, int maxWaitingCalls, Duration maxWait) {
+            this.maxConcurrentCalls = Math.max(1, maxConcurrentCalls);
+            this.semaphore = new Semaphore(this.maxConcurrentCalls, true);
+            this.maxWaitingCalls = maxWaitingCalls;
+            this.maxWait = maxWait.toNanos();
+        }
+
+        private void acquire(MethodInvocationContext<?, ?> context) {
+            if (semaphore.tryAcquire()) {
+                return;
+            }
+            if (maxWaitingCalls <= 0 || maxWait <= 0) {
+                throw rejected(context);
+            }
+            if (waitingCalls.incrementAndGet() > maxWaitingCalls) {
+                waitingCalls.decrementAndGet();
+                throw rejected(context);
+            }
+            try {
+                if (!semaphore.tryAcquire(maxWait, TimeUnit.NANOSECONDS)) {
+                    throw rejected(context);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw rejected(context);
+            } finally {
+                waitingCalls.decrementAndGet();
+            }
+        }
+
+        private BulkheadRejectedException rejected(MethodInvocationContext<?, ?> context) {
+            return new BulkheadRejectedException("Bulkhead full: the maximum of " + maxConcurrentCalls +
+                " concurrent calls to method [" + context + "] has been reached");
+        }
+    }
+}
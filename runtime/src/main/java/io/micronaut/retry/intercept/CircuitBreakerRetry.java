@@ -30,10 +30,12 @@ import javax.annotation.Nullable;
 import java.time.Duration;
 import java.util.Optional;
 import java.util.OptionalDouble;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * A context object for storing the state of the Circuit.
+ * A context object for storing the state of the Circuit. The outcome of calls is recorded in a {@link SlidingWindow}
+ * and the circuit opens once the failure or slow call rate of the window reaches its threshold.
  *
  * @author graemerocher
  * @since 1.0
@@ -41,17 +43,30 @@ import java.util.concurrent.atomic.AtomicReference;
 class CircuitBreakerRetry implements MutableRetryState {
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultRetryInterceptor.class);
+    private static final float PERCENT = 100f;
 
     private final RetryStateBuilder retryStateBuilder;
     private final long openTimeout;
     private final ExecutableMethod<?, ?> method;
     private final ApplicationEventPublisher eventPublisher;
+    private final SlidingWindow window;
+    private final int minimumCalls;
+    private final float failureRateThreshold;
+    private final long slowCallDuration;
+    private final float slowCallRateThreshold;
+    private final int halfOpenCalls;
+    private final SlidingWindow halfOpenWindow;
+    private final AtomicInteger halfOpenPermits = new AtomicInteger();
+    private final AtomicInteger halfOpenCompleted = new AtomicInteger();
+    private final Object halfOpenLock = new Object();
     private AtomicReference<CircuitState> state = new AtomicReference<>(CircuitState.CLOSED);
     private volatile Throwable lastError;
     private volatile long time = System.currentTimeMillis();
     private volatile MutableRetryState childState;
 
     /**
+     * Creates a circuit that opens on the first failure and closes after a single successful trial call.
+     *
      * @param openTimeout       The circuit open timeout in millis
      * @param childStateBuilder The retry state builder
      * @param method            A compile time produced invocation of a method call
@@ -62,40 +77,98 @@ class CircuitBreakerRetry implements MutableRetryState {
         RetryStateBuilder childStateBuilder,
         ExecutableMethod<?, ?> method,
         ApplicationEventPublisher eventPublisher) {
+        this(openTimeout, childStateBuilder, method, eventPublisher, SlidingWindow.countBased(1), 1, PERCENT, -1, PERCENT, 1);
+    }
+
+    /**
+     * @param openTimeout           The circuit open timeout in millis
+     * @param childStateBuilder     The retry state builder
+     * @param method                A compile time produced invocation of a method call
+     * @param eventPublisher        To publish circuit events
+     * @param window                The window that records the outcome of calls
+     * @param minimumCalls          The minimum number of calls in the window before the rates are evaluated
+     * @param failureRateThreshold  The percentage of failed calls at which the circuit opens
+     * @param slowCallDuration      The duration in nanos after which a call is slow or -1 if calls are never slow
+     * @param slowCallRateThreshold The percentage of slow calls at which the circuit opens
+     * @param halfOpenCalls         The number of trial calls permitted when the circuit is half open
+     */
+    CircuitBreakerRetry(
+        long openTimeout,
+        RetryStateBuilder childStateBuilder,
+        ExecutableMethod<?, ?> method,
+        ApplicationEventPublisher eventPublisher,
+        SlidingWindow window,
+        int minimumCalls,
+        float failureRateThreshold,
+        long slowCallDuration,
+        float slowCallRateThreshold,
+        int halfOpenCalls) {
 
         this.retryStateBuilder = childStateBuilder;
         this.openTimeout = openTimeout;
         this.childState = (MutableRetryState) childStateBuilder.build();
         this.eventPublisher = eventPublisher;
         this.method = method;
+        this.window = window;
+        this.minimumCalls = Math.max(1, minimumCalls);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallDuration = slowCallDuration;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.halfOpenWindow = SlidingWindow.countBased(this.halfOpenCalls);
     }
 
     @Override
     public void close(@Nullable Throwable exception) {
-        if (exception == null && currentState() == CircuitState.HALF_OPEN) {
-            closeCircuit();
-        } else if (exception != null) {
-            if (currentState() != CircuitState.OPEN) {
-                openCircuit(exception);
+        close(exception, -1);
+    }
+
+    /**
+     * Records the outcome of a call.
+     *
+     * @param exception The exception the call failed with or null if it succeeded
+     * @param duration  The duration of the call in nanos or -1 if unknown
+     */
+    void close(@Nullable Throwable exception, long duration) {
+        boolean slow = slowCallDuration > -1 && duration >= slowCallDuration;
+        int outcome = (exception == null ? SlidingWindow.SUCCESS : SlidingWindow.FAILURE) | (slow ? SlidingWindow.SLOW : 0);
+        CircuitState current = currentState();
+        if (current == CircuitState.HALF_OPEN) {
+            halfOpenWindow.record(outcome);
+            if (halfOpenCompleted.incrementAndGet() >= halfOpenCalls) {
+                if (isThresholdReached(halfOpenWindow, 1)) {
+                    openCircuit(exception, CircuitState.HALF_OPEN);
+                } else {
+                    closeCircuit();
+                }
+            }
+        } else if (current == CircuitState.CLOSED) {
+            window.record(outcome);
+            if (exception == null) {
+                // reset state for successful operation
+                time = System.currentTimeMillis();
+                this.childState = (MutableRetryState) retryStateBuilder.build();
+            }
+            if (isThresholdReached(window, minimumCalls)) {
+                openCircuit(exception, CircuitState.CLOSED);
             }
-        } else {
-            // reset state for successful operation
-            time = System.currentTimeMillis();
-            lastError = null;
-            this.childState = (MutableRetryState) retryStateBuilder.build();
         }
     }
 
     @Override
     public void open() {
-        if (currentState() == CircuitState.OPEN && lastError != null) {
+        CircuitState current = currentState();
+        if (current == CircuitState.OPEN || current == CircuitState.HALF_OPEN && !acquireHalfOpenPermit()) {
+            Throwable lastError = this.lastError;
             if (LOG.isDebugEnabled()) {
-                LOG.debug("Rethrowing existing exception for Open Circuit [{}]: {}", method, lastError.getMessage());
+                LOG.debug("Rejecting call for {} Circuit [{}]", current, method);
             }
             if (lastError instanceof RuntimeException) {
                 throw (RuntimeException) lastError;
-            } else {
+            } else if (lastError != null) {
                 throw new CircuitOpenException("Circuit Open: " + lastError.getMessage(), lastError);
+            } else {
+                throw new CircuitOpenException("Circuit Open");
             }
         }
     }
@@ -110,13 +183,8 @@ class CircuitBreakerRetry implements MutableRetryState {
         if (exception == null) {
             throw new IllegalArgumentException("Exception cause cannot be null");
         }
-        try {
-            return currentState() != CircuitState.OPEN && childState.canRetry(exception);
-        } finally {
-            if (currentState() == CircuitState.HALF_OPEN) {
-                openCircuit(exception);
-            }
-        }
+        // a trial call of a half open circuit is not retried, so that its failure is recorded straight away
+        return currentState() == CircuitState.CLOSED && childState.canRetry(exception);
     }
 
     @Override
@@ -153,43 +221,55 @@ class CircuitBreakerRetry implements MutableRetryState {
      * @return The current state
      */
     CircuitState currentState() {
-        if (state.get() == CircuitState.OPEN) {
-            long now = System.currentTimeMillis();
-            long timeout = time + openTimeout;
-            if (now > timeout) {
-                return halfOpenCircuit();
+        CircuitState current = state.get();
+        if (current == CircuitState.OPEN && System.currentTimeMillis() > time + openTimeout) {
+            return halfOpenCircuit();
+        }
+        return current;
+    }
+
+    private boolean isThresholdReached(SlidingWindow window, int minimumCalls) {
+        int calls = window.calls();
+        if (calls < minimumCalls) {
+            return false;
+        }
+        return window.failures() * PERCENT / calls >= failureRateThreshold ||
+            slowCallDuration > -1 && window.slowCalls() * PERCENT / calls >= slowCallRateThreshold;
+    }
+
+    private boolean acquireHalfOpenPermit() {
+        while (true) {
+            int permits = halfOpenPermits.get();
+            if (permits <= 0) {
+                return false;
+            }
+            if (halfOpenPermits.compareAndSet(permits, permits - 1)) {
+                return true;
             }
-            return state.get();
-        } else {
-            return state.get();
         }
     }
 
     /**
      * Opens the circuit.
      *
-     * @return The current state
+     * @param exception The exception of the call that opened the circuit or null if the slow call rate was reached
+     * @param expected  The state the circuit is expected to be in
      */
-    private CircuitState openCircuit(Throwable cause) {
-        if (cause == null) {
-            throw new IllegalArgumentException("Exception cause cannot be null");
-        }
+    private void openCircuit(@Nullable Throwable exception, CircuitState expected) {
+        Throwable cause = exception != null ? exception : new CircuitOpenException("Slow call rate threshold reached");
         if (LOG.isDebugEnabled()) {
             LOG.debug("Opening Circuit Breaker [{}] due to error: {}", method, cause.getMessage());
         }
         this.childState = (MutableRetryState) retryStateBuilder.build();
         this.lastError = cause;
         this.time = System.currentTimeMillis();
-        try {
-            return state.getAndSet(CircuitState.OPEN);
-        } finally {
-            if (eventPublisher != null) {
-                try {
-                    eventPublisher.publishEvent(new CircuitOpenEvent(method, childState, cause));
-                } catch (Exception e) {
-                    if (LOG.isErrorEnabled()) {
-                        LOG.error("Error publishing CircuitOpen event: " + e.getMessage(), e);
-                    }
+        halfOpenPermits.set(0);
+        if (state.compareAndSet(expected, CircuitState.OPEN) && eventPublisher != null) {
+            try {
+                eventPublisher.publishEvent(new CircuitOpenEvent(method, childState, cause));
+            } catch (Exception e) {
+                if (LOG.isErrorEnabled()) {
+                    LOG.error("Error publishing CircuitOpen event: " + e.getMessage(), e);
                 }
             }
         }
@@ -197,10 +277,8 @@ class CircuitBreakerRetry implements MutableRetryState {
 
     /**
      * Resets the circuit state to {@link CircuitState#CLOSED}.
-     *
-     * @return The current state
      */
-    private CircuitState closeCircuit() {
+    private void closeCircuit() {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Closing Circuit Breaker [{}]", method);
         }
@@ -208,32 +286,38 @@ class CircuitBreakerRetry implements MutableRetryState {
         time = System.currentTimeMillis();
         lastError = null;
         this.childState = (MutableRetryState) retryStateBuilder.build();
-        try {
-            return state.getAndSet(CircuitState.CLOSED);
-        } finally {
-            if (eventPublisher != null) {
-                try {
-                    eventPublisher.publishEvent(new CircuitClosedEvent(method));
-                } catch (Exception e) {
-                    if (LOG.isErrorEnabled()) {
-                        LOG.error("Error publishing CircuitClosedEvent: " + e.getMessage(), e);
-                    }
+        window.reset();
+        if (state.compareAndSet(CircuitState.HALF_OPEN, CircuitState.CLOSED) && eventPublisher != null) {
+            try {
+                eventPublisher.publishEvent(new CircuitClosedEvent(method));
+            } catch (Exception e) {
+                if (LOG.isErrorEnabled()) {
+                    LOG.error("Error publishing CircuitClosedEvent: " + e.getMessage(), e);
                 }
             }
         }
     }
 
     /**
-     * Resets the circuit state to {@link CircuitState#CLOSED}.
+     * Sets the circuit state to {@link CircuitState#HALF_OPEN}, permitting the configured number of trial calls. The
+     * trial window and permits are reset before the state is published, so a call that sees the circuit half open
+     * always finds the permits and window of the current trial.
      *
      * @return The current state
      */
     private CircuitState halfOpenCircuit() {
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("Half Opening Circuit Breaker [{}]", method);
+        synchronized (halfOpenLock) {
+            if (state.get() == CircuitState.OPEN) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Half Opening Circuit Breaker [{}]", method);
+                }
+                this.childState = (MutableRetryState) retryStateBuilder.build();
+                halfOpenWindow.reset();
+                halfOpenCompleted.set(0);
+                halfOpenPermits.set(halfOpenCalls);
+                state.set(CircuitState.HALF_OPEN);
+            }
         }
-        lastError = null;
-        this.childState = (MutableRetryState) retryStateBuilder.build();
-        return state.getAndSet(CircuitState.HALF_OPEN);
+        return state.get();
     }
 }
@@ -27,6 +27,7 @@ import io.micronaut.core.convert.value.MutableConvertibleValues;
 import io.micronaut.core.type.ReturnType;
 import io.micronaut.inject.ExecutableMethod;
 import io.micronaut.retry.RetryState;
+import io.micronaut.retry.SlidingWindowType;
 import io.micronaut.retry.annotation.CircuitBreaker;
 import io.micronaut.retry.annotation.Retryable;
 import io.micronaut.retry.event.RetryEvent;
@@ -54,6 +55,7 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultRetryInterceptor.class);
     private static final int DEFAULT_CIRCUIT_BREAKER_TIMEOUT_IN_MILLIS = 20;
+    private static final float DEFAULT_RATE_THRESHOLD = 100f;
 
     private final ApplicationEventPublisher eventPublisher;
     private final Map<ExecutableMethod, CircuitBreakerRetry> circuitContexts = new ConcurrentHashMap<>();
@@ -87,18 +89,16 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
         );
 
         if (isCircuitBreaker) {
-            long timeout = context
-                .getValue(CircuitBreaker.class, "reset", Duration.class)
-                .map(Duration::toMillis).orElse(Duration.ofSeconds(DEFAULT_CIRCUIT_BREAKER_TIMEOUT_IN_MILLIS).toMillis());
             retryState = circuitContexts.computeIfAbsent(
                 context.getExecutableMethod(),
-                method -> new CircuitBreakerRetry(timeout, retryStateBuilder, context, eventPublisher)
+                method -> newCircuitBreaker(context, retryStateBuilder)
             );
         } else {
             retryState = (MutableRetryState) retryStateBuilder.build();
         }
 
         retryState.open();
+        long start = System.nanoTime();
 
         MutableConvertibleValues<Object> attrs = context.getAttributes();
         attrs.put(RetryState.class.getName(), retry);
@@ -114,9 +114,9 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
                 Flowable observable = conversionService
                     .convert(result, Flowable.class)
                     .orElseThrow(() -> new IllegalStateException("Unconvertible Reactive type: " + result));
-                Flowable retryObservable = observable.onErrorResumeNext(retryFlowable(context, retryState, observable))
+                Flowable retryObservable = observable.onErrorResumeNext(retryFlowable(context, retryState, observable, start))
                     .map(o -> {
-                        retryState.close(null);
+                        close(retryState, null, start);
                         return o;
                     });
 
@@ -129,14 +129,14 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
             while (true) {
                 try {
                     Object result = context.proceed(this);
-                    retryState.close(null);
+                    close(retryState, null, start);
                     return result;
                 } catch (RuntimeException e) {
                     if (!retryState.canRetry(e)) {
                         if (LOG.isDebugEnabled()) {
                             LOG.debug("Cannot retry anymore. Rethrowing original exception for method: {}", context);
                         }
-                        retryState.close(e);
+                        close(retryState, e, start);
                         throw e;
                     } else {
                         long delayMillis = retryState.nextDelay();
@@ -161,12 +161,45 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
         }
     }
 
+    private CircuitBreakerRetry newCircuitBreaker(MethodInvocationContext<Object, Object> context, AnnotationRetryStateBuilder retryStateBuilder) {
+        long timeout = context
+            .getValue(CircuitBreaker.class, "reset", Duration.class)
+            .map(Duration::toMillis).orElse(Duration.ofSeconds(DEFAULT_CIRCUIT_BREAKER_TIMEOUT_IN_MILLIS).toMillis());
+        SlidingWindowType windowType = context
+            .getValue(CircuitBreaker.class, "slidingWindowType", SlidingWindowType.class)
+            .orElse(SlidingWindowType.COUNT_BASED);
+        int windowSize = context.getValue(CircuitBreaker.class, "slidingWindowSize", Integer.class).orElse(1);
+        long slowCallDuration = context
+            .getValue(CircuitBreaker.class, "slowCallDuration", Duration.class)
+            .map(Duration::toNanos).orElse(-1L);
+        return new CircuitBreakerRetry(
+            timeout,
+            retryStateBuilder,
+            context,
+            eventPublisher,
+            windowType == SlidingWindowType.TIME_BASED ? SlidingWindow.timeBased(windowSize) : SlidingWindow.countBased(windowSize),
+            context.getValue(CircuitBreaker.class, "minimumCalls", Integer.class).orElse(1),
+            context.getValue(CircuitBreaker.class, "failureRateThreshold", Float.class).orElse(DEFAULT_RATE_THRESHOLD),
+            slowCallDuration,
+            context.getValue(CircuitBreaker.class, "slowCallRateThreshold", Float.class).orElse(DEFAULT_RATE_THRESHOLD),
+            context.getValue(CircuitBreaker.class, "halfOpenCalls", Integer.class).orElse(1)
+        );
+    }
+
+    private void close(MutableRetryState retryState, Throwable exception, long start) {
+        if (retryState instanceof CircuitBreakerRetry) {
+            ((CircuitBreakerRetry) retryState).close(exception, System.nanoTime() - start);
+        } else {
+            retryState.close(exception);
+        }
+    }
+
     @SuppressWarnings("unchecked")
-    private Function retryFlowable(MethodInvocationContext<Object, Object> context, MutableRetryState retryState, Flowable observable) {
+    private Function retryFlowable(MethodInvocationContext<Object, Object> context, MutableRetryState retryState, Flowable observable, long start) {
         return throwable -> {
             Throwable exception = (Throwable) throwable;
             if (retryState.canRetry(exception)) {
-                Flowable retryObservable = observable.onErrorResumeNext(retryFlowable(context, retryState, observable));
+                Flowable retryObservable = observable.onErrorResumeNext(retryFlowable(context, retryState, observable, start));
                 long delay = retryState.nextDelay();
                 if (eventPublisher != null) {
                     try {
@@ -186,7 +219,7 @@ public class DefaultRetryInterceptor implements MethodInterceptor<Object, Object
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Cannot retry anymore. Rethrowing original exception for method: {}", context);
                 }
-                retryState.close(exception);
+                close(retryState, exception, start);
                 return Flowable.error(exception);
             }
         };
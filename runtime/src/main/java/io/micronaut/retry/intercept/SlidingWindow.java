@@ -0,0 +1,227 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.retry.intercept;
+
+import io.micronaut.core.annotation.Internal;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A window over the most recent calls of a circuit breaker that aggregates how many calls failed and how many were
+ * slow. Implementations are lock free ring buffers, so the aggregates may briefly lag behind concurrent calls.
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+@Internal
+abstract class SlidingWindow {
+
+    static final int SUCCESS = 1;
+    static final int FAILURE = 2;
+    static final int SLOW = 4;
+
+    /**
+     * Records the outcome of a call.
+     *
+     * @param outcome A combination of {@link #SUCCESS} or {@link #FAILURE} and optionally {@link #SLOW}
+     */
+    abstract void record(int outcome);
+
+    /**
+     * @return The number of calls in the window
+     */
+    abstract int calls();
+
+    /**
+     * @return The number of failed calls in the window
+     */
+    abstract int failures();
+
+    /**
+     * @return The number of slow calls in the window
+     */
+    abstract int slowCalls();
+
+    /**
+     * Discards all calls in the window.
+     */
+    abstract void reset();
+
+    /**
+     * @param size The number of calls in the window
+     * @return A window over the last calls
+     */
+    static SlidingWindow countBased(int size) {
+        return new CountBased(size);
+    }
+
+    /**
+     * @param seconds The number of seconds in the window
+     * @return A window over the calls of the last seconds
+     */
+    static SlidingWindow timeBased(int seconds) {
+        return new TimeBased(seconds);
+    }
+
+    /**
+     * A ring buffer of the outcome of the last N calls, with running totals.
+     */
+    private static final class CountBased extends SlidingWindow {
+        private final AtomicIntegerArray outcomes;
+        private final AtomicInteger cursor = new AtomicInteger();
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger slowCalls = new AtomicInteger();
+
+        private CountBased(int size) {
+            this.outcomes = new AtomicIntegerArray(Math.max(1, size));
+        }
+
+        @Override
+        void record(int outcome) {
+            int slot = (cursor.getAndIncrement() & Integer.MAX_VALUE) % outcomes.length();
+            int evicted = outcomes.getAndSet(slot, outcome);
+            if (evicted == 0) {
+                calls.incrementAndGet();
+            }
+            update(failures, evicted, outcome, FAILURE);
+            update(slowCalls, evicted, outcome, SLOW);
+        }
+
+        @Override
+        int calls() {
+            return calls.get();
+        }
+
+        @Override
+        int failures() {
+            return failures.get();
+        }
+
+        @Override
+        int slowCalls() {
+            return slowCalls.get();
+        }
+
+        @Override
+        void reset() {
+            for (int i = 0; i < outcomes.length(); i++) {
+                int evicted = outcomes.getAndSet(i, 0);
+                if (evicted != 0) {
+                    calls.decrementAndGet();
+                    update(failures, evicted, 0, FAILURE);
+                    update(slowCalls, evicted, 0, SLOW);
+                }
+            }
+        }
+
+        private static void update(AtomicInteger counter, int evicted, int outcome, int flag) {
+            int delta = ((outcome & flag) != 0 ? 1 : 0) - ((evicted & flag) != 0 ? 1 : 0);
+            if (delta != 0) {
+                counter.addAndGet(delta);
+            }
+        }
+    }
+
+    /**
+     * A ring buffer with one bucket per second, each of which is replaced once the second it counts has passed.
+     */
+    private static final class TimeBased extends SlidingWindow {
+        private final AtomicReferenceArray<Bucket> buckets;
+
+        private TimeBased(int seconds) {
+            int size = Math.max(1, seconds);
+            this.buckets = new AtomicReferenceArray<>(size);
+            for (int i = 0; i < size; i++) {
+                buckets.set(i, new Bucket(-1));
+            }
+        }
+
+        @Override
+        void record(int outcome) {
+            long second = System.currentTimeMillis() / 1000;
+            int slot = (int) (second % buckets.length());
+            Bucket bucket = buckets.get(slot);
+            while (bucket.second != second) {
+                Bucket current = new Bucket(second);
+                if (buckets.compareAndSet(slot, bucket, current)) {
+                    bucket = current;
+                } else {
+                    bucket = buckets.get(slot);
+                }
+            }
+            bucket.calls.incrementAndGet();
+            if ((outcome & FAILURE) != 0) {
+                bucket.failures.incrementAndGet();
+            }
+            if ((outcome & SLOW) != 0) {
+                bucket.slowCalls.incrementAndGet();
+            }
+        }
+
+        @Override
+        int calls() {
+            return sum(0);
+        }
+
+        @Override
+        int failures() {
+            return sum(FAILURE);
+        }
+
+        @Override
+        int slowCalls() {
+            return sum(SLOW);
+        }
+
+        @Override
+        void reset() {
+            for (int i = 0; i < buckets.length(); i++) {
+                buckets.set(i, new Bucket(-1));
+            }
+        }
+
+        private int sum(int flag) {
+            long oldest = System.currentTimeMillis() / 1000 - buckets.length();
+            int sum = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                Bucket bucket = buckets.get(i);
+                if (bucket.second > oldest) {
+                    AtomicInteger counter = flag == FAILURE ? bucket.failures : flag == SLOW ? bucket.slowCalls : bucket.calls;
+                    sum += counter.get();
+                }
+            }
+            return sum;
+        }
+
+        /**
+         * The calls made in one second.
+         */
+        private static final class Bucket {
+            private final long second;
+            private final AtomicInteger calls = new AtomicInteger();
+            private final AtomicInteger failures = new AtomicInteger();
+            private final AtomicInteger slowCalls = new AtomicInteger();
+
+            private Bucket(long second) {
+                this.second = second;
+            }
+        }
+    }
+}
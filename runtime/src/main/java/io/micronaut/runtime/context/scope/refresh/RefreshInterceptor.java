@@ -20,11 +20,11 @@ import io.micronaut.aop.MethodInterceptor;
 import io.micronaut.aop.MethodInvocationContext;
 
 import javax.inject.Singleton;
-import java.util.concurrent.locks.Lock;
 
 /**
- * <p>A {@link MethodInterceptor} that will lock the bean preventing it from being destroyed by a
- * {@link RefreshEvent} until the method completes.</p>
+ * <p>A {@link MethodInterceptor} that records the invocation in flight on the bean preventing it from being destroyed
+ * by a {@link RefreshEvent} until the method completes. If the bean is replaced between the proxy resolving it and the
+ * invocation being recorded, the method is invoked on the replacement instead.</p>
  *
  * @author Graeme Rocher
  * @since 1.0
@@ -44,12 +44,27 @@ public class RefreshInterceptor implements MethodInterceptor {
     @Override
     public Object intercept(MethodInvocationContext context) {
         Object target = context.getTarget();
-        Lock lock = refreshScope.getLock(target).readLock();
+        RefreshableInstance instance = refreshScope.findInstance(target);
+        while (instance == null || !instance.enter()) {
+            // the target was replaced after the proxy resolved it, so invoke the current instance instead
+            Object replacement = refreshScope.resolveReplacement(target);
+            if (replacement == null) {
+                // not created by the refresh scope, so there is nothing to track
+                instance = null;
+                break;
+            }
+            target = replacement;
+            instance = refreshScope.findInstance(target);
+        }
         try {
-            lock.lock();
-            return context.proceed();
+            if (target == context.getTarget()) {
+                return context.proceed();
+            }
+            return context.getExecutableMethod().invoke(target, context.getParameterValues());
         } finally {
-            lock.unlock();
+            if (instance != null) {
+                instance.exit();
+            }
         }
     }
 }
@@ -32,25 +32,32 @@ import io.micronaut.inject.DisposableBeanDefinition;
 import io.micronaut.inject.qualifiers.Qualifiers;
 import io.micronaut.runtime.context.scope.Refreshable;
 import io.micronaut.scheduling.TaskExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.inject.Named;
 import javax.inject.Provider;
 import javax.inject.Singleton;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
 
 /**
- * Implementation of {@link Refreshable}.
+ * <p>Implementation of {@link Refreshable}.</p>
+ *
+ * <p>Invocations of a refreshable bean are not guarded by a lock. A refresh removes the current instance so that the
+ * next invocation creates its replacement, and the removed instance is disposed of once the invocations that were
+ * still using it have completed. Replaced beans are remembered weakly, so that an invocation that resolved one just
+ * before the refresh is made against the current instance instead.</p>
  *
  * @author Graeme Rocher
  * @see Refreshable
@@ -60,8 +67,12 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 @Singleton
 public class RefreshScope implements CustomScope<Refreshable>, LifeCycle<RefreshScope>, ApplicationEventListener<RefreshEvent> {
 
+    private static final Logger LOG = LoggerFactory.getLogger(RefreshScope.class);
+
     private final Map<String, BeanRegistration> refreshableBeans = new ConcurrentHashMap<>(10);
-    private final ConcurrentMap<Object, ReadWriteLock> locks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Object, RefreshableInstance> instances = new ConcurrentHashMap<>();
+    private final Map<String, Supplier<Object>> resolvers = new ConcurrentHashMap<>(10);
+    private final Map<Object, String> retiredBeans = Collections.synchronizedMap(new WeakHashMap<>());
     private final BeanContext beanContext;
     private final Executor executorService;
 
@@ -87,19 +98,25 @@ public class RefreshScope implements CustomScope<Refreshable>, LifeCycle<Refresh
     @SuppressWarnings("unchecked")
     @Override
     public <T> T get(BeanResolutionContext resolutionContext, BeanDefinition<T> beanDefinition, BeanIdentifier identifier, Provider<T> provider) {
-        BeanRegistration beanRegistration = refreshableBeans.computeIfAbsent(identifier.toString(), key -> {
-            T bean = provider.get();
-            BeanRegistration registration = new BeanRegistration(identifier, beanDefinition, bean);
-            locks.putIfAbsent(registration.getBean(), new ReentrantReadWriteLock());
-            return registration;
-        });
+        String key = identifier.toString();
+        // look up the current instance first since computeIfAbsent may lock even when the instance is present
+        BeanRegistration beanRegistration = refreshableBeans.get(key);
+        if (beanRegistration == null) {
+            beanRegistration = refreshableBeans.computeIfAbsent(key, k -> {
+                T bean = provider.get();
+                BeanRegistration registration = new BeanRegistration(identifier, beanDefinition, bean);
+                instances.putIfAbsent(bean, new RefreshableInstance(() -> dispose(registration)));
+                resolvers.put(key, () -> get(resolutionContext, beanDefinition, identifier, provider));
+                return registration;
+            });
+        }
         return (T) beanRegistration.getBean();
     }
 
     @Override
     public RefreshScope stop() {
         disposeOfAllBeans();
-        locks.clear();
+        instances.clear();
         return this;
     }
 
@@ -149,15 +166,30 @@ public class RefreshScope implements CustomScope<Refreshable>, LifeCycle<Refresh
     }
 
     /**
+     * Finds the tracker of the invocations in flight on the given bean.
+     *
      * @param object The bean
-     * @return The lock on the object
+     * @return The tracker or null if the bean has already been replaced
      */
-    protected ReadWriteLock getLock(Object object) {
-        ReadWriteLock readWriteLock = locks.get(object);
-        if (readWriteLock == null) {
-            throw new IllegalStateException("No lock present for object: " + object);
+    RefreshableInstance findInstance(Object object) {
+        return instances.get(object);
+    }
+
+    /**
+     * Resolves the current instance of a bean that has been replaced.
+     *
+     * @param object The replaced bean
+     * @return The current instance or null if the bean was never created by this scope
+     */
+    Object resolveReplacement(Object object) {
+        String key = retiredBeans.get(object);
+        if (key != null) {
+            Supplier<Object> resolver = resolvers.get(key);
+            if (resolver != null) {
+                return resolver.get();
+            }
         }
-        return readWriteLock;
+        return null;
     }
 
     private void refreshSubsetOfConfigurationProperties(Set<String> keySet) {
@@ -217,19 +249,28 @@ public class RefreshScope implements CustomScope<Refreshable>, LifeCycle<Refresh
     private void disposeOfBean(String key) {
         BeanRegistration registration = refreshableBeans.remove(key);
         if (registration != null) {
+            // remember the replaced bean before its tracker is removed, so that an invocation that resolved it just
+            // before the refresh can always find the current instance
+            retiredBeans.put(registration.getBean(), key);
+            RefreshableInstance instance = instances.remove(registration.getBean());
+            if (instance != null) {
+                instance.retire();
+            } else {
+                dispose(registration);
+            }
+        }
+    }
 
-            Object bean = registration.getBean();
-            BeanDefinition definition = registration.getBeanDefinition();
-
-            Lock lock = getLock(bean).writeLock();
+    private void dispose(BeanRegistration registration) {
+        Object bean = registration.getBean();
+        BeanDefinition definition = registration.getBeanDefinition();
+        if (definition instanceof DisposableBeanDefinition) {
             try {
-                lock.lock();
-                if (definition instanceof DisposableBeanDefinition) {
-                    ((DisposableBeanDefinition) definition).dispose(beanContext, bean);
-                    locks.remove(bean);
+                ((DisposableBeanDefinition) definition).dispose(beanContext, bean);
+            } catch (Throwable e) {
+                if (LOG.isErrorEnabled()) {
+                    LOG.error("Error disposing of refreshable bean [" + definition.getName() + "]: " + e.getMessage(), e);
                 }
-            } finally {
-                lock.unlock();
             }
         }
     }
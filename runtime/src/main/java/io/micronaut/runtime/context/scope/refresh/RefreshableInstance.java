@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.runtime.context.scope.refresh;
+
+import io.micronaut.core.annotation.Internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Tracks the invocations in flight on an instance of a refreshable bean so that the instance can be disposed of once
+ * it has been replaced and the invocations that were still using it have completed.</p>
+ *
+ * <p>The number of invocations in flight and whether the instance has been retired are held in a single state word that
+ * is only updated with compare and set, so invocations on different threads do not lock and an invocation can never
+ * start on an instance that has been retired. Once the instance is retired the last invocation to complete disposes of
+ * it, or it is disposed of immediately if no invocations are in flight.</p>
+ *
+ * @author Graeme Rocher
+ * @since 1.0
+ */
+@Internal
+final class RefreshableInstance {
+
+    private static final long RETIRED = Long.MIN_VALUE;
+
+    private final AtomicLong state = new AtomicLong();
+    private final Runnable disposer;
+
+    /**
+     * @param disposer Disposes of the instance
+     */
+    RefreshableInstance(Runnable disposer) {
+        this.disposer = disposer;
+    }
+
+    /**
+     * Records the start of an invocation.
+     *
+     * @return False if the instance has been retired, in which case the invocation must use its replacement
+     */
+    boolean enter() {
+        while (true) {
+            long current = state.get();
+            if ((current & RETIRED) != 0) {
+                return false;
+            }
+            if (state.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Records the completion of an invocation, disposing of the instance if it has been retired and this was the
+     * last invocation in flight.
+     */
+    void exit() {
+        if (state.decrementAndGet() == RETIRED) {
+            disposer.run();
+        }
+    }
+
+    /**
+     * Retires the instance after it has been replaced, disposing of it if no invocations are in flight.
+     */
+    void retire() {
+        while (true) {
+            long current = state.get();
+            if ((current & RETIRED) != 0) {
+                return;
+            }
+            if (state.compareAndSet(current, current | RETIRED)) {
+                if (current == 0) {
+                    disposer.run();
+                }
+                return;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.runtime.metrics;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.metrics.Metric;
+import io.micronaut.metrics.MetricExporter;
+import io.micronaut.metrics.MetricRegistry;
+import io.micronaut.scheduling.annotation.Scheduled;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Singleton;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Periodically passes the metrics of the {@link MetricRegistry} to every {@link MetricExporter}. The interval is
+ * configured with {@code micronaut.metrics.export.interval} and defaults to one minute.
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+@Singleton
+@Requires(beans = {MetricRegistry.class, MetricExporter.class})
+public class MetricExportJob {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MetricExportJob.class);
+
+    private final MetricRegistry metricRegistry;
+    private final List<MetricExporter> exporters;
+
+    /**
+     * @param metricRegistry The metric registry
+     * @param exporters      The exporters
+     */
+    public MetricExportJob(MetricRegistry metricRegistry, List<MetricExporter> exporters) {
+        this.metricRegistry = metricRegistry;
+        this.exporters = exporters;
+    }
+
+    /**
+     * Exports the current metrics. A failing exporter does not prevent the remaining exporters from running.
+     */
+    @Scheduled(fixedDelay = "${micronaut.metrics.export.interval:1m}")
+    public void export() {
+        Collection<Metric> metrics = metricRegistry.getMetrics();
+        for (MetricExporter exporter : exporters) {
+            try {
+                exporter.export(metrics);
+            } catch (Exception e) {
+                if (LOG.isErrorEnabled()) {
+                    LOG.error("Error exporting metrics with exporter [" + exporter + "]: " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+}
@@ -29,8 +29,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.inject.Singleton;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.function.BiConsumer;
 
@@ -46,6 +48,7 @@ public class AsyncInterceptor implements MethodInterceptor<Object, Object> {
 
     private static final Logger LOG = LoggerFactory.getLogger(TaskExecutors.class);
     private final BeanLocator beanLocator;
+    private final Map<String, ExecutorService> executorServices = new ConcurrentHashMap<>(2);
 
     /**
      * Default constructor.
@@ -59,9 +62,13 @@ public class AsyncInterceptor implements MethodInterceptor<Object, Object> {
     @Override
     public Object intercept(MethodInvocationContext<Object, Object> context) {
         String executorName = context.getValue(Async.class, String.class).orElse(TaskExecutors.SCHEDULED);
-        ExecutorService executorService = beanLocator.findBean(ExecutorService.class, Qualifiers.byName(executorName)).orElseThrow(() ->
-            new TaskExecutionException("No ExecutorService named [" + executorName + "] configured in application context")
-        );
+        ExecutorService executorService = executorServices.get(executorName);
+        if (executorService == null) {
+            executorService = beanLocator.findBean(ExecutorService.class, Qualifiers.byName(executorName)).orElseThrow(() ->
+                new TaskExecutionException("No ExecutorService named [" + executorName + "] configured in application context")
+            );
+            executorServices.put(executorName, executorService);
+        }
         ReturnType<Object> rt = context.getReturnType();
         Class<?> returnType = rt.getType();
         if (CompletionStage.class.isAssignableFrom(returnType)) {
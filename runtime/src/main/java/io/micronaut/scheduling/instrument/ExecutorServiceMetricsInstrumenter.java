@@ -0,0 +1,170 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.scheduling.instrument;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import io.micronaut.metrics.Gauge;
+import io.micronaut.metrics.MetricRegistry;
+import io.micronaut.metrics.Timer;
+
+import javax.inject.Singleton;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Instruments executor services with metrics. Tasks submitted to an {@link ExecutorService} record the time spent
+ * waiting ({@value #METRIC_WAIT}) and the time spent running ({@value #METRIC_EXECUTION}). The number of tasks waiting
+ * to run ({@value #METRIC_QUEUED}) is read from the queue of {@link ThreadPoolExecutor} and {@link ForkJoinPool}
+ * executors, so that rejected, cancelled and drained tasks are not counted. Tasks of a
+ * {@link ScheduledExecutorService} are delayed by design and may run repeatedly, so only their execution time is
+ * recorded. All metrics are tagged with the name of the executor.
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+@Singleton
+@Requires(beans = MetricRegistry.class)
+public class ExecutorServiceMetricsInstrumenter implements BeanCreatedEventListener<ExecutorService> {
+
+    /**
+     * The name of the gauges that track the tasks waiting to run.
+     */
+    public static final String METRIC_QUEUED = "executor.queued";
+
+    /**
+     * The name of the timers that record the time tasks spend waiting to run.
+     */
+    public static final String METRIC_WAIT = "executor.wait";
+
+    /**
+     * The name of the timers that record the time tasks spend running.
+     */
+    public static final String METRIC_EXECUTION = "executor.execution";
+
+    private static final String TAG_NAME = "name";
+
+    private final MetricRegistry metricRegistry;
+
+    /**
+     * @param metricRegistry The metric registry
+     */
+    public ExecutorServiceMetricsInstrumenter(MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+    }
+
+    @Override
+    public ExecutorService onCreated(BeanCreatedEvent<ExecutorService> event) {
+        ExecutorService executorService = event.getBean();
+        String name = event.getBeanIdentifier().getName();
+        Timer execution = metricRegistry.timer(METRIC_EXECUTION, TAG_NAME, name);
+        if (executorService instanceof ScheduledExecutorService) {
+            return new InstrumentedScheduledExecutorService() {
+                @Override
+                public ScheduledExecutorService getTarget() {
+                    return (ScheduledExecutorService) executorService;
+                }
+
+                @Override
+                public <T> Callable<T> instrument(Callable<T> task) {
+                    return () -> {
+                        long start = System.nanoTime();
+                        try {
+                            return task.call();
+                        } finally {
+                            execution.recordSince(start);
+                        }
+                    };
+                }
+
+                @Override
+                public Runnable instrument(Runnable command) {
+                    return () -> {
+                        long start = System.nanoTime();
+                        try {
+                            command.run();
+                        } finally {
+                            execution.recordSince(start);
+                        }
+                    };
+                }
+            };
+        } else {
+            bindQueued(executorService, name);
+            Timer wait = metricRegistry.timer(METRIC_WAIT, TAG_NAME, name);
+            return new InstrumentedExecutorService() {
+                @Override
+                public ExecutorService getTarget() {
+                    return executorService;
+                }
+
+                @Override
+                public <T> Callable<T> instrument(Callable<T> task) {
+                    long submitted = System.nanoTime();
+                    return () -> {
+                        long start = started(submitted);
+                        try {
+                            return task.call();
+                        } finally {
+                            execution.recordSince(start);
+                        }
+                    };
+                }
+
+                @Override
+                public Runnable instrument(Runnable command) {
+                    long submitted = System.nanoTime();
+                    return () -> {
+                        long start = started(submitted);
+                        try {
+                            command.run();
+                        } finally {
+                            execution.recordSince(start);
+                        }
+                    };
+                }
+
+                private long started(long submitted) {
+                    long start = System.nanoTime();
+                    wait.record(start - submitted, TimeUnit.NANOSECONDS);
+                    return start;
+                }
+            };
+        }
+    }
+
+    private void bindQueued(ExecutorService executorService, String name) {
+        ExecutorService target = executorService;
+        while (target instanceof InstrumentedExecutorService) {
+            target = ((InstrumentedExecutorService) target).getTarget();
+        }
+        if (target instanceof ThreadPoolExecutor) {
+            ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) target;
+            Gauge queued = metricRegistry.gauge(METRIC_QUEUED, TAG_NAME, name);
+            queued.bind(() -> threadPoolExecutor.getQueue().size());
+        } else if (target instanceof ForkJoinPool) {
+            ForkJoinPool forkJoinPool = (ForkJoinPool) target;
+            Gauge queued = metricRegistry.gauge(METRIC_QUEUED, TAG_NAME, name);
+            queued.bind(forkJoinPool::getQueuedSubmissionCount);
+        }
+    }
+}
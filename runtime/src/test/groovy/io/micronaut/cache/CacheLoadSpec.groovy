@@ -0,0 +1,192 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.cache
+
+import io.micronaut.cache.annotation.Cacheable
+import io.micronaut.context.ApplicationContext
+import io.reactivex.Single
+import io.reactivex.schedulers.Schedulers
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import javax.inject.Singleton
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Future
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class CacheLoadSpec extends Specification {
+
+    @Shared @AutoCleanup ApplicationContext context = ApplicationContext.run(
+            'micronaut.caches.shared-loads.maximum-size': 20,
+            'micronaut.caches.shared-loads.test-mode': true,
+            'micronaut.caches.refreshed.expire-after-write': '1m',
+            'micronaut.caches.refreshed.refresh-after-write': '100ms',
+            'micronaut.caches.refreshed.test-mode': true
+    )
+
+    void "test concurrent misses of a blocking method share one invocation"() {
+        given:
+        LoadingService service = context.getBean(LoadingService)
+        service.release = new CountDownLatch(1)
+
+        when:
+        List<CompletableFuture<Integer>> results = (1..5).collect {
+            CompletableFuture.supplyAsync({ -> service.blockingValue('blocking') })
+        }
+        Thread.sleep(200)
+        service.release.countDown()
+
+        then:
+        results*.get(5, TimeUnit.SECONDS) == [1] * 5
+        service.blockingInvocations.get() == 1
+        service.blockingValue('blocking') == 1
+    }
+
+    void "test concurrent misses of a future method share one invocation"() {
+        given:
+        LoadingService service = context.getBean(LoadingService)
+        service.release = new CountDownLatch(1)
+
+        when:
+        List<CompletableFuture<Integer>> results = (1..5).collect { service.futureValue('future') }
+        service.release.countDown()
+
+        then:
+        results*.get(5, TimeUnit.SECONDS) == [1] * 5
+        service.futureInvocations.get() == 1
+    }
+
+    void "test concurrent misses of a reactive method share one subscription"() {
+        given:
+        LoadingService service = context.getBean(LoadingService)
+        service.release = new CountDownLatch(1)
+
+        when:
+        List<Single<Integer>> singles = (1..5).collect { service.singleValue('single') }
+        List<Future<Integer>> results = singles*.toFuture()
+        service.release.countDown()
+
+        then:
+        results*.get(5, TimeUnit.SECONDS) == [1] * 5
+        service.singleInvocations.get() == 1
+    }
+
+    void "test a failed load is shared and not cached"() {
+        given:
+        LoadingService service = context.getBean(LoadingService)
+
+        when:
+        service.failing('failing')
+
+        then:
+        thrown(IllegalStateException)
+
+        when:
+        service.failing('failing')
+
+        then:
+        thrown(IllegalStateException)
+        service.failingInvocations.get() == 2
+    }
+
+    void "test an entry due for a refresh is reloaded by the invocation that reads it"() {
+        given:
+        LoadingService service = context.getBean(LoadingService)
+
+        expect:
+        service.refreshedValue('a') == 1
+
+        when:
+        Thread.sleep(200)
+
+        then:"the method is invoked on the calling thread"
+        service.refreshedValue('a') == 2
+        service.refreshedInvocations.get() == 2
+        service.refreshedThread == Thread.currentThread()
+        service.refreshedValue('a') == 2
+    }
+
+    void "test a recursive invocation for the key being loaded does not wait for itself"() {
+        given:
+        LoadingService service = context.getBean(LoadingService)
+        service.self = service
+
+        when:
+        Integer value = CompletableFuture.supplyAsync({ -> service.recursiveValue('recursive', 1) }).get(5, TimeUnit.SECONDS)
+
+        then:
+        value == 1
+        service.recursiveInvocations.get() == 2
+        service.recursiveValue('recursive', 1) == 1
+        service.recursiveInvocations.get() == 2
+    }
+
+    @Singleton
+    static class LoadingService {
+        CountDownLatch release = new CountDownLatch(0)
+        AtomicInteger blockingInvocations = new AtomicInteger()
+        AtomicInteger futureInvocations = new AtomicInteger()
+        AtomicInteger singleInvocations = new AtomicInteger()
+        AtomicInteger failingInvocations = new AtomicInteger()
+        AtomicInteger refreshedInvocations = new AtomicInteger()
+        AtomicInteger recursiveInvocations = new AtomicInteger()
+        volatile Thread refreshedThread
+        LoadingService self
+
+        @Cacheable('shared-loads')
+        Integer blockingValue(String name) {
+            release.await(5, TimeUnit.SECONDS)
+            blockingInvocations.incrementAndGet()
+        }
+
+        @Cacheable('shared-loads')
+        CompletableFuture<Integer> futureValue(String name) {
+            CompletableFuture.supplyAsync({ ->
+                release.await(5, TimeUnit.SECONDS)
+                futureInvocations.incrementAndGet()
+            })
+        }
+
+        @Cacheable('shared-loads')
+        Single<Integer> singleValue(String name) {
+            Single.fromCallable({ ->
+                release.await(5, TimeUnit.SECONDS)
+                singleInvocations.incrementAndGet()
+            }).subscribeOn(Schedulers.io())
+        }
+
+        @Cacheable('shared-loads')
+        Integer failing(String name) {
+            failingInvocations.incrementAndGet()
+            throw new IllegalStateException("Bad things happened")
+        }
+
+        @Cacheable('refreshed')
+        Integer refreshedValue(String name) {
+            refreshedThread = Thread.currentThread()
+            refreshedInvocations.incrementAndGet()
+        }
+
+        @Cacheable(value = 'shared-loads', parameters = 'name')
+        Integer recursiveValue(String name, int depth) {
+            recursiveInvocations.incrementAndGet()
+            depth > 0 ? self.recursiveValue(name, depth - 1) + 1 : 0
+        }
+    }
+}
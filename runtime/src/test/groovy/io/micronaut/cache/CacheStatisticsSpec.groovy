@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.cache
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.inject.qualifiers.Qualifiers
+import io.micronaut.metrics.Counter
+import io.micronaut.metrics.MetricRegistry
+import io.micronaut.metrics.Timer
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class CacheStatisticsSpec extends Specification {
+
+    @Shared @AutoCleanup ApplicationContext context = ApplicationContext.run(
+            'micronaut.metrics.enabled': true,
+            'micronaut.caches.recorded.record-stats': true,
+            'micronaut.caches.recorded.maximum-size': 1,
+            'micronaut.caches.recorded.test-mode': true,
+            'micronaut.caches.unrecorded.maximum-size': 1
+    )
+
+    void "test statistics are recorded when enabled"() {
+        given:
+        SyncCache cache = context.getBean(SyncCache, Qualifiers.byName('recorded'))
+        MetricRegistry metricRegistry = context.getBean(MetricRegistry)
+
+        when:
+        cache.get('one', Integer, { -> 1 })
+        cache.get('one', Integer)
+        cache.get('two', Integer, { -> 2 })
+        cache.get('three', Integer, { -> 3 })
+        cache.nativeCache.cleanUp()
+        CacheStatistics statistics = cache.statistics.get()
+
+        then:
+        statistics.hitCount == 1
+        statistics.missCount == 3
+        statistics.loadSuccessCount == 3
+        statistics.evictionCount == 2
+        statistics.estimatedSize == 1
+        !statistics.estimatedWeight.isPresent()
+        statistics.hitRate > 0
+        ((Timer) metricRegistry.getMetrics().find {
+            it.id.name == DefaultSyncCache.METRIC_LOADS && it.id.tags.cache == 'recorded' && it.id.tags.result == 'success'
+        }).count() == 3
+        ((Counter) metricRegistry.getMetrics().find {
+            it.id.name == DefaultSyncCache.METRIC_EVICTIONS && it.id.tags.cache == 'recorded'
+        }).count() == 2
+    }
+
+    void "test statistics are not available unless enabled"() {
+        expect:
+        !context.getBean(SyncCache, Qualifiers.byName('unrecorded')).statistics.isPresent()
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.cache
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.core.serialize.ObjectSerializer
+import io.micronaut.inject.qualifiers.Qualifiers
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class L2CacheSpec extends Specification {
+
+    File path = File.createTempDir()
+
+    void cleanup() {
+        path.deleteDir()
+    }
+
+    void "test entries evicted from memory are read from the second level"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'micronaut.caches.tiered.maximum-size': 1,
+                'micronaut.caches.tiered.test-mode': true,
+                'micronaut.caches.tiered.l2.enabled': true,
+                'micronaut.caches.tiered.l2.path': path.absolutePath,
+                'micronaut.caches.tiered.l2.capacity': '1MB'
+        )
+        DefaultSyncCache cache = context.getBean(SyncCache, Qualifiers.byName('tiered'))
+
+        when:
+        (1..10).each { cache.put("key$it".toString(), "value$it".toString()) }
+        cache.nativeCache.cleanUp()
+
+        then:
+        cache.nativeCache.estimatedSize() == 1
+        cache.store.size() == 10
+        (1..10).every { cache.get("key$it".toString(), String).get() == "value$it" }
+
+        when:
+        cache.invalidate('key1')
+
+        then:
+        !cache.get('key1', String).isPresent()
+        cache.get('key11', String, { -> 'loaded' }) == 'loaded'
+        cache.store.get('key11').get() == 'loaded'
+        cache.putIfAbsent('key2', 'other').get() == 'value2'
+
+        cleanup:
+        context.close()
+    }
+
+    void "test entries are restored when the application restarts"() {
+        given:
+        Map<String, Object> config = [
+                'micronaut.caches.tiered.l2.enabled': true,
+                'micronaut.caches.tiered.l2.path'   : path.absolutePath
+        ]
+        ApplicationContext context = ApplicationContext.run(config)
+        SyncCache cache = context.getBean(SyncCache, Qualifiers.byName('tiered'))
+        cache.put('one', 1)
+        cache.put('two', 2)
+        cache.put('two', 22)
+        cache.put('three', 3)
+        cache.invalidate('three')
+        context.close()
+
+        when:
+        context = ApplicationContext.run(config)
+        cache = context.getBean(SyncCache, Qualifiers.byName('tiered'))
+
+        then:
+        cache.get('one', Integer).get() == 1
+        cache.get('two', Integer).get() == 22
+        !cache.get('three', Integer).isPresent()
+
+        cleanup:
+        context.close()
+    }
+
+    void "test entries restored from the second level keep their remaining lifetime"() {
+        given:
+        ApplicationContext context = ApplicationContext.run(
+                'micronaut.caches.tiered.expire-after-write': '1h',
+                'micronaut.caches.tiered.test-mode': true,
+                'micronaut.caches.tiered.l2.enabled': true,
+                'micronaut.caches.tiered.l2.path': path.absolutePath
+        )
+        DefaultSyncCache cache = context.getBean(SyncCache, Qualifiers.byName('tiered'))
+        cache.store.put('restored', 'value', System.currentTimeMillis() + 60000)
+
+        when:
+        cache.get('restored', String)
+
+        then:
+        cache.nativeCache.policy().expireVariably().get().getExpiresAfter('restored', TimeUnit.SECONDS).asLong <= 60
+
+        cleanup:
+        context.close()
+    }
+
+    void "test the oldest entries are evicted once the capacity is reached"() {
+        given:
+        File file = new File(path, 'evicting.cache')
+        MappedCacheStore store = new MappedCacheStore('evicting', file, 4096, ObjectSerializer.JDK)
+        byte[] value = new byte[200]
+
+        when:
+        (1..100).each { store.put(it, value, 0) }
+
+        then:
+        store.used <= 4096
+        store.size() < 100
+        !store.get(1).isPresent()
+        store.get(100).isPresent()
+
+        when:
+        int size = store.size()
+        store.close()
+        store = new MappedCacheStore('evicting', file, 4096, ObjectSerializer.JDK)
+
+        then:
+        store.size() == size
+        Arrays.equals((byte[]) store.get(100).get(), value)
+
+        cleanup:
+        store.close()
+    }
+
+    void "test expired entries are not returned"() {
+        given:
+        MappedCacheStore store = new MappedCacheStore('expiring', new File(path, 'expiring.cache'), 4096, ObjectSerializer.JDK)
+
+        when:
+        store.put('expired', 'value', System.currentTimeMillis() - 1)
+        store.put('current', 'value', System.currentTimeMillis() + 60000)
+
+        then:
+        !store.get('expired').isPresent()
+        store.get('current').get() == 'value'
+
+        cleanup:
+        store.close()
+    }
+}
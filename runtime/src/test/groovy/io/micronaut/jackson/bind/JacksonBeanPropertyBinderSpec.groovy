@@ -15,9 +15,11 @@
  */
 package io.micronaut.jackson.bind
 
+import com.fasterxml.jackson.annotation.JsonProperty
 import groovy.transform.EqualsAndHashCode
 import groovy.transform.ToString
 import io.micronaut.context.ApplicationContext
+import io.micronaut.core.annotation.Introspected
 import spock.lang.Specification
 import spock.lang.Unroll
 
@@ -51,6 +53,33 @@ class JacksonBeanPropertyBinderSpec extends Specification {
 
     }
 
+    void "test introspected types with Jackson annotations are bound by Jackson"() {
+        given:
+        ApplicationContext context = ApplicationContext.run()
+        JacksonBeanPropertyBinder binder = context.getBean(JacksonBeanPropertyBinder)
+
+        expect:
+        binder.bind(new Magazine(), ['name': 'Wired', 'issue': '5']) == new Magazine(name: 'Wired', issue: 5)
+        binder.bind(new RenamedMagazine(), ['magazine_name': 'Wired']) == new RenamedMagazine(name: 'Wired')
+
+        cleanup:
+        context.close()
+    }
+
+    @Introspected
+    @EqualsAndHashCode
+    static class Magazine {
+        String name
+        int issue
+    }
+
+    @Introspected
+    @EqualsAndHashCode
+    static class RenamedMagazine {
+        @JsonProperty('magazine_name')
+        String name
+    }
+
     @EqualsAndHashCode
     @ToString
     static class Book {
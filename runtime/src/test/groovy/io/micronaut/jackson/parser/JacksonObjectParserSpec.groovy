@@ -0,0 +1,258 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.jackson.parser
+
+import com.fasterxml.jackson.core.JsonParseException
+import com.fasterxml.jackson.core.io.JsonEOFException
+import com.fasterxml.jackson.databind.JavaType
+import com.fasterxml.jackson.databind.JsonMappingException
+import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.databind.ObjectMapper
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.DefaultApplicationContext
+import org.reactivestreams.Subscriber
+import org.reactivestreams.Subscription
+import spock.lang.AutoCleanup
+import spock.lang.Requires
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.lang.management.ManagementFactory
+
+class JacksonObjectParserSpec extends Specification {
+
+    @Shared @AutoCleanup
+    ApplicationContext applicationContext = new DefaultApplicationContext("test").start()
+
+    @Shared
+    ObjectMapper objectMapper = applicationContext.getBean(ObjectMapper)
+
+    @Unroll
+    void "test parse an object fed in chunks of #chunkSize bytes"() {
+        given:
+        byte[] bytes = '{"name":"Fred","age":10}'.bytes
+        JacksonObjectParser parser = new JacksonObjectParser(objectMapper, objectMapper.constructType(Foo))
+
+        when:
+        feed(parser, bytes, chunkSize)
+        parser.complete()
+        Foo foo = (Foo) parser.readValue()
+
+        then:
+        foo.name == "Fred"
+        foo.age == 10
+
+        where:
+        chunkSize << [1, 2, 3, 7, 100]
+    }
+
+    void "test the fed arrays can be reused once feed returns"() {
+        given:
+        byte[] bytes = '{"name":"Fred","age":10}'.bytes
+        byte[] buffer = new byte[4]
+        JacksonObjectParser parser = new JacksonObjectParser(objectMapper, objectMapper.constructType(Foo))
+
+        when:
+        for (int i = 0; i < bytes.length; i += buffer.length) {
+            int length = Math.min(buffer.length, bytes.length - i)
+            System.arraycopy(bytes, i, buffer, 0, length)
+            parser.feed(buffer, 0, length)
+            Arrays.fill(buffer, (byte) 'x')
+        }
+        parser.complete()
+
+        then:
+        ((Foo) parser.readValue()).name == "Fred"
+    }
+
+    void "test parse a root scalar that is only complete at the end of the input"() {
+        given:
+        JacksonObjectParser parser = new JacksonObjectParser(objectMapper, objectMapper.constructType(Integer))
+
+        when:
+        parser.feed('12'.bytes, 0, 2)
+        parser.feed('34'.bytes, 0, 2)
+        parser.complete()
+
+        then:
+        parser.readValue() == 1234
+    }
+
+    void "test empty input"() {
+        given:
+        JacksonObjectParser parser = new JacksonObjectParser(objectMapper, objectMapper.constructType(Foo))
+
+        when:
+        parser.feed('  '.bytes, 0, 2)
+        parser.complete()
+
+        then:
+        parser.isEmpty()
+        parser.readValue() == null
+        parser.readTree() == null
+    }
+
+    void "test incomplete input"() {
+        given:
+        JacksonObjectParser parser = new JacksonObjectParser(objectMapper, objectMapper.constructType(Foo))
+        byte[] bytes = '{"name":"Fred"'.bytes
+
+        when:
+        parser.feed(bytes, 0, bytes.length)
+        parser.complete()
+
+        then:
+        thrown(JsonEOFException)
+    }
+
+    void "test invalid input"() {
+        given:
+        JacksonObjectParser parser = new JacksonObjectParser(objectMapper, objectMapper.constructType(Foo))
+        byte[] bytes = '{"name":Fred}'.bytes
+
+        when:
+        parser.feed(bytes, 0, bytes.length)
+
+        then:
+        thrown(JsonParseException)
+    }
+
+    void "test the tree can be read when the JSON does not match the type"() {
+        given:
+        JacksonObjectParser parser = new JacksonObjectParser(objectMapper, objectMapper.constructType(Foo))
+        byte[] bytes = '{"name":"Fred","age":"ten"}'.bytes
+
+        when:
+        parser.feed(bytes, 0, bytes.length)
+        parser.complete()
+        parser.readValue()
+
+        then:
+        thrown(JsonMappingException)
+
+        when:
+        JsonNode node = parser.readTree()
+
+        then:
+        node.get("name").asText() == "Fred"
+        node.get("age").asText() == "ten"
+    }
+
+    @Requires({ sys['benchmark'] })
+    @Unroll
+    void "benchmark binding a #description body through a tree and directly"() {
+        given:
+        FooBatch batch = new FooBatch(foos: (0..<count).collect { new Foo(name: "name-$it".toString(), age: it) })
+        byte[] bytes = objectMapper.writeValueAsBytes(batch)
+        JavaType type = objectMapper.constructType(FooBatch)
+        int chunkSize = 8192
+        int rounds = Math.max(5, (int) (50_000_000 / bytes.length))
+
+        when:
+        Closure<FooBatch> viaTree = {
+            JsonNode node = parseTree(bytes, chunkSize)
+            objectMapper.treeToValue(node, FooBatch)
+        }
+        Closure<FooBatch> direct = {
+            JacksonObjectParser parser = new JacksonObjectParser(objectMapper, type)
+            feed(parser, bytes, chunkSize)
+            parser.complete()
+            (FooBatch) parser.readValue()
+        }
+        Closure<FooBatch> singleChunk = {
+            objectMapper.readValue(bytes, FooBatch)
+        }
+        List<long[]> results = [viaTree, direct, singleChunk].collect { measure(it, rounds) }
+        println "${bytes.length} byte body, per request: " +
+                "tree ${results[0][0] / 1000}us / ${results[0][1]}B, " +
+                "direct ${results[1][0] / 1000}us / ${results[1][1]}B, " +
+                "single chunk ${results[2][0] / 1000}us / ${results[2][1]}B"
+
+        then:
+        viaTree().foos.size() == count
+        direct().foos.size() == count
+        results[1][1] < results[0][1]
+
+        where:
+        description | count
+        "1 KB"      | 30
+        "100 KB"    | 3_000
+        "5 MB"      | 150_000
+    }
+
+    private static void feed(JacksonObjectParser parser, byte[] bytes, int chunkSize) {
+        for (int i = 0; i < bytes.length; i += chunkSize) {
+            parser.feed(bytes, i, Math.min(chunkSize, bytes.length - i))
+        }
+    }
+
+    private static JsonNode parseTree(byte[] bytes, int chunkSize) {
+        JacksonProcessor processor = new JacksonProcessor()
+        JsonNode result = null
+        processor.subscribe(new Subscriber<JsonNode>() {
+            @Override
+            void onSubscribe(Subscription s) {
+                s.request(Long.MAX_VALUE)
+            }
+
+            @Override
+            void onNext(JsonNode jsonNode) {
+                result = jsonNode
+            }
+
+            @Override
+            void onError(Throwable t) {
+                throw t
+            }
+
+            @Override
+            void onComplete() {
+            }
+        })
+        processor.onSubscribe(new Subscription() {
+            @Override
+            void request(long n) {
+            }
+
+            @Override
+            void cancel() {
+            }
+        })
+        for (int i = 0; i < bytes.length; i += chunkSize) {
+            // the chunks are copied out of the ByteBuf before being fed to the processor
+            processor.onNext(Arrays.copyOfRange(bytes, i, Math.min(i + chunkSize, bytes.length)))
+        }
+        processor.onComplete()
+        return result
+    }
+
+    private static long[] measure(Closure<?> binding, int rounds) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()
+        long threadId = Thread.currentThread().id
+        rounds.times { binding() }
+        long allocatedStart = threads.getThreadAllocatedBytes(threadId)
+        long start = System.nanoTime()
+        rounds.times { binding() }
+        long time = System.nanoTime() - start
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedStart
+        return [time / rounds, allocated / rounds] as long[]
+    }
+}
+
+class FooBatch {
+    List<Foo> foos
+}
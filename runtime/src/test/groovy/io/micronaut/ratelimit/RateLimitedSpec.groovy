@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.ratelimit
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.ratelimit.annotation.RateLimited
+import io.micronaut.ratelimit.exception.RateLimitExceededException
+import io.reactivex.Flowable
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import javax.inject.Singleton
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+
+class RateLimitedSpec extends Specification {
+
+    @Shared @AutoCleanup ApplicationContext context = ApplicationContext.run()
+
+    void "test blocking calls wait for a permit"() {
+        given:
+        RateLimitedService service = context.getBean(RateLimitedService)
+
+        when:
+        long start = System.nanoTime()
+        3.times { service.blocking() }
+        long elapsed = System.nanoTime() - start
+
+        then:"the third call waits for the burst of two to refill"
+        service.blockingCalls == 3
+        elapsed >= TimeUnit.MILLISECONDS.toNanos(50)
+        context.getBean(RateLimiterRegistry).findRateLimiter("RateLimitedService.blocking").get().permittedCalls == 3
+    }
+
+    void "test calls that would wait longer than the maximum wait are rejected"() {
+        given:
+        RateLimitedService service = context.getBean(RateLimitedService)
+
+        when:
+        service.rejecting()
+        service.rejecting()
+
+        then:
+        thrown(RateLimitExceededException)
+        service.rejectingCalls == 1
+    }
+
+    void "test future calls are delayed without blocking the caller"() {
+        given:
+        RateLimitedService service = context.getBean(RateLimitedService)
+
+        when:
+        CompletableFuture<String> first = service.future()
+        CompletableFuture<String> second = service.future()
+
+        then:
+        first.get(5, TimeUnit.SECONDS) == 'done'
+        !second.isDone()
+        second.get(5, TimeUnit.SECONDS) == 'done'
+
+        when:
+        service.future()
+        service.future()
+        service.future().get(5, TimeUnit.SECONDS)
+
+        then:
+        ExecutionException e = thrown()
+        e.cause instanceof RateLimitExceededException
+    }
+
+    void "test reactive calls delay the subscription"() {
+        given:
+        RateLimitedService service = context.getBean(RateLimitedService)
+        Flowable<String> flowable = service.flowable()
+
+        when:
+        long start = System.nanoTime()
+        List<String> results = Flowable.merge(flowable, flowable).toList().blockingGet()
+        long elapsed = System.nanoTime() - start
+
+        then:
+        results == ['done', 'done']
+        elapsed >= TimeUnit.MILLISECONDS.toNanos(100)
+    }
+
+    void "test named rate limiters are shared between methods"() {
+        given:
+        RateLimitedService service = context.getBean(RateLimitedService)
+
+        when:
+        service.sharedOne()
+        service.sharedTwo()
+
+        then:
+        thrown(RateLimitExceededException)
+        context.getBean(RateLimiterRegistry).findRateLimiter("shared").get().rejectedCalls == 1
+    }
+
+    @Singleton
+    static class RateLimitedService {
+        int blockingCalls
+        int rejectingCalls
+
+        @RateLimited(limit = "20", period = "1s", capacity = "2")
+        void blocking() {
+            blockingCalls++
+        }
+
+        @RateLimited(limit = "1", period = "1m", maxWait = "0s")
+        void rejecting() {
+            rejectingCalls++
+        }
+
+        @RateLimited(type = RateLimiterType.LEAKY_BUCKET, limit = "5", period = "1s", maxWait = "500ms")
+        CompletableFuture<String> future() {
+            CompletableFuture.completedFuture('done')
+        }
+
+        @RateLimited(type = RateLimiterType.LEAKY_BUCKET, limit = "5", period = "1s")
+        Flowable<String> flowable() {
+            Flowable.just('done')
+        }
+
+        @RateLimited(name = "shared", limit = "1", period = "1m", maxWait = "0s")
+        String sharedOne() {
+            'one'
+        }
+
+        @RateLimited(name = "shared", limit = "1", period = "1m", maxWait = "0s")
+        String sharedTwo() {
+            'two'
+        }
+    }
+}
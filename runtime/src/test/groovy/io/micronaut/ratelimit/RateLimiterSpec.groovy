@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.ratelimit
+
+import spock.lang.Specification
+
+import java.time.Duration
+
+class RateLimiterSpec extends Specification {
+
+    void "test a token bucket permits a burst up to its capacity"() {
+        given:
+        RateLimiter limiter = new TokenBucketRateLimiter("test", 5, Duration.ofSeconds(10), 3)
+
+        expect:
+        limiter.availablePermits == 3
+        limiter.reserve(0) == 0
+        limiter.reserve(0) == 0
+        limiter.reserve(0) == 0
+        limiter.reserve(0) == -1
+        limiter.availablePermits == 0
+        limiter.waitTime > Duration.ZERO
+        limiter.permittedCalls == 3
+        limiter.rejectedCalls == 1
+    }
+
+    void "test a token bucket reserves future permits within the maximum wait"() {
+        given:
+        RateLimiter limiter = new TokenBucketRateLimiter("test", 1, Duration.ofSeconds(1), 1)
+
+        when:
+        limiter.reserve(0)
+        long wait = limiter.reserve(Duration.ofSeconds(5).toNanos())
+
+        then:
+        wait > Duration.ofMillis(500).toNanos()
+        wait <= Duration.ofSeconds(1).toNanos()
+        limiter.totalWaitTime.toNanos() == wait
+
+        when:
+        long next = limiter.reserve(Duration.ofSeconds(5).toNanos())
+
+        then:"reserved permits are spaced by the emission interval"
+        next > wait
+        next <= Duration.ofSeconds(2).toNanos()
+    }
+
+    void "test a leaky bucket spaces calls evenly"() {
+        given:
+        RateLimiter limiter = new LeakyBucketRateLimiter("test", 10, Duration.ofSeconds(1))
+
+        expect:
+        limiter.reserve(0) == 0
+        limiter.reserve(0) == -1
+        limiter.reserve(Duration.ofMillis(200).toNanos()) > Duration.ofMillis(50).toNanos()
+    }
+
+    void "test the registry shares rate limiters by name"() {
+        given:
+        RateLimiterRegistry registry = new RateLimiterRegistry()
+
+        when:
+        RateLimiter first = registry.rateLimiter("shared", { n -> new LeakyBucketRateLimiter(n, 1, Duration.ofSeconds(1)) })
+        RateLimiter second = registry.rateLimiter("shared", { n -> new LeakyBucketRateLimiter(n, 5, Duration.ofSeconds(1)) })
+
+        then:
+        first.is(second)
+        registry.findRateLimiter("shared").get().is(first)
+        !registry.findRateLimiter("other").isPresent()
+        registry.rateLimiters.size() == 1
+    }
+}
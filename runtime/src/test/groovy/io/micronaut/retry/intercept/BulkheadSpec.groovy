@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.retry.intercept
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.retry.annotation.Bulkhead
+import io.micronaut.retry.exception.BulkheadRejectedException
+import io.reactivex.Flowable
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+import javax.inject.Singleton
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class BulkheadSpec extends Specification {
+
+    @Shared @AutoCleanup ApplicationContext context = ApplicationContext.run()
+
+    void "test calls beyond the maximum concurrent calls are rejected"() {
+        given:
+        BulkheadService service = context.getBean(BulkheadService)
+        service.started = new CountDownLatch(1)
+        CountDownLatch release = new CountDownLatch(1)
+        CompletableFuture<String> first = CompletableFuture.supplyAsync({ -> service.rejecting(release) })
+        service.started.await(5, TimeUnit.SECONDS)
+
+        when:
+        service.rejecting(new CountDownLatch(0))
+
+        then:
+        thrown(BulkheadRejectedException)
+
+        when:
+        release.countDown()
+
+        then:
+        first.get(5, TimeUnit.SECONDS) == 'done'
+        service.rejecting(new CountDownLatch(0)) == 'done'
+    }
+
+    void "test calls beyond the maximum concurrent calls wait for a permit"() {
+        given:
+        BulkheadService service = context.getBean(BulkheadService)
+        service.started = new CountDownLatch(1)
+        CountDownLatch release = new CountDownLatch(1)
+        CompletableFuture<String> first = CompletableFuture.supplyAsync({ -> service.waiting(release) })
+        service.started.await(5, TimeUnit.SECONDS)
+
+        when:
+        CompletableFuture<String> second = CompletableFuture.supplyAsync({ -> service.waiting(new CountDownLatch(0)) })
+        Thread.sleep(100)
+
+        then:
+        !second.isDone()
+
+        when:
+        release.countDown()
+
+        then:
+        first.get(5, TimeUnit.SECONDS) == 'done'
+        second.get(5, TimeUnit.SECONDS) == 'done'
+    }
+
+    void "test reactive calls acquire a permit on subscription"() {
+        given:
+        BulkheadService service = context.getBean(BulkheadService)
+        Flowable<String> flowable = service.reactive()
+
+        expect:
+        flowable.blockingFirst() == 'done'
+        flowable.blockingFirst() == 'done'
+    }
+
+    @Singleton
+    static class BulkheadService {
+        volatile CountDownLatch started = new CountDownLatch(1)
+
+        @Bulkhead(maxConcurrentCalls = '1')
+        String rejecting(CountDownLatch release) {
+            started.countDown()
+            release.await(5, TimeUnit.SECONDS)
+            return 'done'
+        }
+
+        @Bulkhead(maxConcurrentCalls = '1', maxWaitingCalls = '1', maxWait = '5s')
+        String waiting(CountDownLatch release) {
+            started.countDown()
+            release.await(5, TimeUnit.SECONDS)
+            return 'done'
+        }
+
+        @Bulkhead(maxConcurrentCalls = '1')
+        Flowable<String> reactive() {
+            Flowable.just('done')
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package io.micronaut.retry.intercept
 
 import io.micronaut.retry.CircuitState
+import io.micronaut.retry.exception.CircuitOpenException
 import spock.lang.Specification
 import spock.util.concurrent.PollingConditions
 
@@ -105,4 +106,127 @@ class CircuitBreakerRetrySpec extends Specification {
         retry.canRetry(new RuntimeException("bad"))
 
     }
+
+    void "test the circuit opens once the failure rate of the sliding window reaches the threshold"() {
+        given:
+        CircuitBreakerRetry retry = newCircuitBreaker(1000, SlidingWindow.countBased(4), 4, 50, -1, 1)
+
+        when:"fewer than the minimum number of calls were made"
+        retry.close(null)
+        retry.close(null)
+        retry.close(new RuntimeException("bad"))
+
+        then:
+        retry.currentState() == CircuitState.CLOSED
+
+        when:"half of the calls in the window failed"
+        retry.close(new RuntimeException("bad"))
+
+        then:
+        retry.currentState() == CircuitState.OPEN
+    }
+
+    void "test failed calls are evicted from the sliding window"() {
+        given:
+        CircuitBreakerRetry retry = newCircuitBreaker(1000, SlidingWindow.countBased(2), 2, 100, -1, 1)
+
+        when:
+        retry.close(new RuntimeException("bad"))
+        retry.close(null)
+        retry.close(new RuntimeException("bad"))
+
+        then:
+        retry.currentState() == CircuitState.CLOSED
+    }
+
+    void "test the circuit opens once the slow call rate reaches the threshold"() {
+        given:
+        CircuitBreakerRetry retry = newCircuitBreaker(1000, SlidingWindow.countBased(2), 2, 100, Duration.ofMillis(10).toNanos(), 1)
+
+        when:
+        retry.close(null, Duration.ofMillis(1).toNanos())
+        retry.close(null, Duration.ofMillis(20).toNanos())
+
+        then:
+        retry.currentState() == CircuitState.OPEN
+
+        when:
+        retry.open()
+
+        then:
+        thrown(CircuitOpenException)
+    }
+
+    void "test a half open circuit permits the configured number of trial calls"() {
+        given:
+        CircuitBreakerRetry retry = newCircuitBreaker(10, SlidingWindow.countBased(1), 1, 100, -1, 2)
+        retry.close(new RuntimeException("bad"))
+
+        expect:
+        new PollingConditions(timeout: 3).eventually {
+            assert retry.currentState() == CircuitState.HALF_OPEN
+        }
+
+        when:
+        retry.open()
+        retry.open()
+        retry.open()
+
+        then:"calls beyond the trial calls are rejected"
+        def e = thrown(RuntimeException)
+        e.message == "bad"
+
+        when:"the first trial call completes"
+        retry.close(null)
+
+        then:
+        retry.currentState() == CircuitState.HALF_OPEN
+
+        when:"the second trial call completes"
+        retry.close(null)
+
+        then:
+        retry.currentState() == CircuitState.CLOSED
+    }
+
+    void "test a half open circuit opens again if the trial calls fail"() {
+        given:
+        CircuitBreakerRetry retry = newCircuitBreaker(10, SlidingWindow.countBased(1), 1, 50, -1, 2)
+        retry.close(new RuntimeException("bad"))
+
+        expect:
+        new PollingConditions(timeout: 3).eventually {
+            assert retry.currentState() == CircuitState.HALF_OPEN
+        }
+
+        when:
+        retry.open()
+        retry.open()
+        retry.close(null)
+        retry.close(new RuntimeException("still bad"))
+
+        then:
+        retry.state.get() == CircuitState.OPEN
+        retry.lastError.message == "still bad"
+    }
+
+    private static CircuitBreakerRetry newCircuitBreaker(long openTimeout,
+                                                         SlidingWindow window,
+                                                         int minimumCalls,
+                                                         float failureRateThreshold,
+                                                         long slowCallDuration,
+                                                         int halfOpenCalls) {
+        new CircuitBreakerRetry(
+                openTimeout,
+                { -> new SimpleRetry(3, 2.0d, Duration.ofMillis(500)) },
+                null,
+                null,
+                window,
+                minimumCalls,
+                failureRateThreshold,
+                slowCallDuration,
+                50,
+                halfOpenCalls
+        )
+    }
 }
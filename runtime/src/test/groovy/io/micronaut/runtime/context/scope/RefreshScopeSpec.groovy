@@ -15,16 +15,22 @@
  */
 package io.micronaut.runtime.context.scope
 
+import io.micronaut.aop.InterceptedProxy
 import io.micronaut.context.ApplicationContext
 import io.micronaut.context.annotation.ConfigurationProperties
 import io.micronaut.context.annotation.Value
 import io.micronaut.context.env.Environment
 import io.micronaut.inject.qualifiers.Qualifiers
 import io.micronaut.runtime.context.scope.refresh.RefreshEvent
+import io.micronaut.runtime.context.scope.refresh.RefreshScope
+import io.micronaut.runtime.context.scope.refresh.RefreshableInstance
 import io.micronaut.scheduling.TaskExecutors
 import spock.lang.Specification
 
+import javax.annotation.PreDestroy
+import java.util.concurrent.CountDownLatch
 import java.util.concurrent.Executor
+import java.util.concurrent.atomic.AtomicInteger
 
 /**
  * @author Graeme Rocher
@@ -103,6 +109,109 @@ class RefreshScopeSpec extends Specification {
         beanContext?.stop()
     }
 
+    void "test a refreshed bean is disposed of once the invocations in flight complete"() {
+        given:
+        ApplicationContext beanContext = ApplicationContext.build().start()
+
+        // override IO executor with synchronous impl
+        beanContext.registerSingleton(Executor.class, new Executor() {
+            @Override
+            void execute(Runnable command) {
+                command.run()
+            }
+        }, Qualifiers.byName(TaskExecutors.IO))
+        DisposableRefreshBean bean = beanContext.getBean(DisposableRefreshBean)
+        CountDownLatch started = new CountDownLatch(1)
+        CountDownLatch release = new CountDownLatch(1)
+        DisposableRefreshBean.DISPOSED.set(0)
+
+        when:
+        Thread thread = Thread.start { bean.await(started, release) }
+        started.await()
+        beanContext.publishEvent(new RefreshEvent())
+
+        then:
+        DisposableRefreshBean.DISPOSED.get() == 0
+
+        when:
+        release.countDown()
+        thread.join()
+
+        then:
+        DisposableRefreshBean.DISPOSED.get() == 1
+
+        cleanup:
+        beanContext?.stop()
+    }
+
+    void "test an invocation cannot start on a retired instance"() {
+        given:
+        AtomicInteger disposed = new AtomicInteger()
+        RefreshableInstance instance = new RefreshableInstance({ -> disposed.incrementAndGet() })
+
+        when:
+        boolean entered = instance.enter()
+        instance.retire()
+
+        then:
+        entered
+        disposed.get() == 0
+        !instance.enter()
+
+        when:
+        instance.exit()
+        instance.retire()
+
+        then:
+        disposed.get() == 1
+    }
+
+    void "test a replaced bean resolves to the current instance"() {
+        given:
+        ApplicationContext beanContext = ApplicationContext.build().start()
+
+        // override IO executor with synchronous impl
+        beanContext.registerSingleton(Executor.class, new Executor() {
+            @Override
+            void execute(Runnable command) {
+                command.run()
+            }
+        }, Qualifiers.byName(TaskExecutors.IO))
+        RefreshScope refreshScope = beanContext.getBean(RefreshScope)
+        DisposableRefreshBean bean = beanContext.getBean(DisposableRefreshBean)
+        Object previous = ((InterceptedProxy) bean).interceptedTarget()
+
+        when:
+        beanContext.publishEvent(new RefreshEvent())
+        Object replacement = refreshScope.resolveReplacement(previous)
+
+        then:
+        refreshScope.findInstance(previous) == null
+        replacement != null
+        !replacement.is(previous)
+        replacement.is(((InterceptedProxy) bean).interceptedTarget())
+        refreshScope.findInstance(replacement) != null
+
+        cleanup:
+        beanContext?.stop()
+    }
+
+    @Refreshable
+    static class DisposableRefreshBean {
+
+        static final AtomicInteger DISPOSED = new AtomicInteger()
+
+        void await(CountDownLatch started, CountDownLatch release) {
+            started.countDown()
+            release.await()
+        }
+
+        @PreDestroy
+        void close() {
+            DISPOSED.incrementAndGet()
+        }
+    }
+
     @Refreshable
     static class RefreshBean {
 
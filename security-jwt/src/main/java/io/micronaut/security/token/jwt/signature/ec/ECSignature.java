@@ -41,6 +41,7 @@ public class ECSignature extends AbstractSignatureConfiguration {
     private static final Logger LOG = LoggerFactory.getLogger(ECSignature.class);
 
     private ECPublicKey publicKey;
+    private volatile JWSVerifier verifier;
 
     /**
      *
@@ -74,7 +75,12 @@ public class ECSignature extends AbstractSignatureConfiguration {
     }
 
     private boolean verify(final SignedJWT jwt, @NotNull ECPublicKey publicKey) throws JOSEException {
-        final JWSVerifier verifier = new ECDSAVerifier(this.publicKey);
+        // the verifier only holds the public key, so it is created once and shared by all verifications
+        JWSVerifier verifier = this.verifier;
+        if (verifier == null) {
+            verifier = new ECDSAVerifier(publicKey);
+            this.verifier = verifier;
+        }
         return jwt.verify(verifier);
     }
 }
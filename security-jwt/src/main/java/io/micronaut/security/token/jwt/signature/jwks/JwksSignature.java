@@ -0,0 +1,219 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.security.token.jwt.signature.jwks;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.SignedJWT;
+import io.micronaut.context.exceptions.ConfigurationException;
+import io.micronaut.scheduling.TaskScheduler;
+import io.micronaut.security.token.jwt.signature.SignatureConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URL;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>A {@link SignatureConfiguration} that verifies signatures with the RSA and EC keys of a remote JSON Web Key Set.</p>
+ *
+ * <p>The keys are loaded in the background as soon as the signature is created and reloaded at the configured
+ * refresh interval. A verifier is built once for every key and indexed by key id, so verifying a token never fetches or
+ * parses keys. A token signed with an unknown key id fails verification and triggers an early reload, at most once
+ * every {@value #MINIMUM_REFRESH_INTERVAL} seconds, to pick up rotated keys.</p>
+ *
+ * @author Sergio del Amo
+ * @since 1.0
+ */
+public class JwksSignature implements SignatureConfiguration, Closeable {
+
+    /**
+     * The minimum time in seconds between two reloads of the keys.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long MINIMUM_REFRESH_INTERVAL = 30;
+
+    private static final Logger LOG = LoggerFactory.getLogger(JwksSignature.class);
+    private static final int SIZE_LIMIT = 51200;
+
+    private final JwksSignatureConfiguration configuration;
+    private final TaskScheduler taskScheduler;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final ScheduledFuture<?> refreshTask;
+    private volatile Keys keys = new Keys(Collections.emptyMap(), Collections.emptyList());
+    private volatile long lastRefresh;
+
+    /**
+     * @param configuration The JWKS signature configuration
+     * @param taskScheduler The scheduler used to reload the keys in the background
+     */
+    public JwksSignature(JwksSignatureConfiguration configuration, TaskScheduler taskScheduler) {
+        if (configuration.getUrl() == null) {
+            throw new ConfigurationException("The url of JWKS signature [" + configuration.getName() + "] is not configured");
+        }
+        this.configuration = configuration;
+        this.taskScheduler = taskScheduler;
+        this.lastRefresh = System.nanoTime();
+        this.refreshTask = taskScheduler.scheduleWithFixedDelay(Duration.ZERO, configuration.getRefreshInterval(), this::refresh);
+    }
+
+    /**
+     *
+     * @return message explaining the supported algorithms
+     */
+    @Override
+    public String supportedAlgorithmsMessage() {
+        return "Only the RS256, RS384, RS512, PS256, PS384, PS512, ES256, ES384 and ES512 algorithms are supported for JWKS signature";
+    }
+
+    @Override
+    public boolean supports(final JWSAlgorithm algorithm) {
+        return algorithm != null && (RSASSAVerifier.SUPPORTED_ALGORITHMS.contains(algorithm) ||
+                ECDSAVerifier.SUPPORTED_ALGORITHMS.contains(algorithm));
+    }
+
+    @Override
+    public boolean verify(final SignedJWT jwt) throws JOSEException {
+        Keys keys = this.keys;
+        String keyId = jwt.getHeader().getKeyID();
+        List<JWSVerifier> verifiers = keyId != null ? keys.byKeyId.get(keyId) : keys.all;
+        if (verifiers == null) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("No key with id {} in JWKS {}", keyId, configuration.getUrl());
+            }
+            refreshEarly();
+            return false;
+        }
+        JWSAlgorithm algorithm = jwt.getHeader().getAlgorithm();
+        for (JWSVerifier verifier : verifiers) {
+            if (verifier.supportedJWSAlgorithms().contains(algorithm) && jwt.verify(verifier)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stops reloading the keys.
+     */
+    @Override
+    public void close() {
+        refreshTask.cancel(false);
+    }
+
+    /**
+     * Loads the JSON Web Key Set.
+     *
+     * @return The JSON Web Key Set
+     * @throws IOException If the keys could not be retrieved
+     * @throws ParseException If the keys could not be parsed
+     */
+    protected JWKSet load() throws IOException, ParseException {
+        return JWKSet.load(
+                new URL(configuration.getUrl()),
+                (int) configuration.getConnectTimeout().toMillis(),
+                (int) configuration.getReadTimeout().toMillis(),
+                SIZE_LIMIT);
+    }
+
+    private void refreshEarly() {
+        if (System.nanoTime() - lastRefresh >= Duration.ofSeconds(MINIMUM_REFRESH_INTERVAL).toNanos() && refreshing.compareAndSet(false, true)) {
+            taskScheduler.schedule(Duration.ZERO, () -> {
+                try {
+                    refresh();
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        }
+    }
+
+    private void refresh() {
+        lastRefresh = System.nanoTime();
+        try {
+            Map<String, List<JWSVerifier>> byKeyId = new HashMap<>();
+            List<JWSVerifier> all = new ArrayList<>();
+            for (JWK jwk : load().getKeys()) {
+                JWSVerifier verifier = verifier(jwk);
+                if (verifier != null) {
+                    all.add(verifier);
+                    if (jwk.getKeyID() != null) {
+                        byKeyId.computeIfAbsent(jwk.getKeyID(), id -> new ArrayList<>(1)).add(verifier);
+                    }
+                }
+            }
+            this.keys = new Keys(byKeyId, all);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Loaded {} keys from JWKS {}", all.size(), configuration.getUrl());
+            }
+        } catch (IOException | ParseException | RuntimeException e) {
+            // keep verifying with the previous keys, a failed reload must not cancel the scheduled refresh either
+            if (LOG.isErrorEnabled()) {
+                LOG.error("Error loading JWKS " + configuration.getUrl() + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private JWSVerifier verifier(JWK jwk) {
+        if (jwk.getKeyUse() != null && !KeyUse.SIGNATURE.equals(jwk.getKeyUse())) {
+            return null;
+        }
+        try {
+            if (jwk instanceof RSAKey) {
+                return new RSASSAVerifier(((RSAKey) jwk).toRSAPublicKey());
+            } else if (jwk instanceof ECKey) {
+                return new ECDSAVerifier(((ECKey) jwk).toECPublicKey());
+            }
+        } catch (JOSEException e) {
+            if (LOG.isWarnEnabled()) {
+                LOG.warn("Ignoring invalid key {} of JWKS {}: {}", jwk.getKeyID(), configuration.getUrl(), e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The verifiers of a version of the key set.
+     */
+    private static final class Keys {
+        private final Map<String, List<JWSVerifier>> byKeyId;
+        private final List<JWSVerifier> all;
+
+        private Keys(Map<String, List<JWSVerifier>> byKeyId, List<JWSVerifier> all) {
+            this.byKeyId = byKeyId;
+            this.all = all;
+        }
+    }
+}
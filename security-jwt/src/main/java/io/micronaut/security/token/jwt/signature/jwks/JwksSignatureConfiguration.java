@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.security.token.jwt.signature.jwks;
+
+import io.micronaut.context.annotation.EachProperty;
+import io.micronaut.context.annotation.Parameter;
+import io.micronaut.security.token.jwt.config.JwtConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Create a {@link io.micronaut.context.annotation.ConfigurationProperties} bean for each sub-property of micronaut.security.token.jwt.signatures.jwks.*.
+ *
+ * @author Sergio del Amo
+ * @since 1.0
+ */
+@EachProperty(JwtConfigurationProperties.PREFIX + ".signatures.jwks")
+public class JwksSignatureConfiguration {
+
+    /**
+     * The default refresh interval in minutes.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_REFRESH_INTERVAL = 5;
+
+    /**
+     * The default connect and read timeout in seconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_TIMEOUT = 5;
+
+    private final String name;
+    private String url;
+    private Duration refreshInterval = Duration.ofMinutes(DEFAULT_REFRESH_INTERVAL);
+    private Duration connectTimeout = Duration.ofSeconds(DEFAULT_TIMEOUT);
+    private Duration readTimeout = Duration.ofSeconds(DEFAULT_TIMEOUT);
+
+    /**
+     * @param name Bean's qualifier name
+     */
+    public JwksSignatureConfiguration(@Parameter String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return Bean's qualifier name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The URL of the JSON Web Key Set
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * The URL the JSON Web Key Set is loaded from, for example https://example.com/.well-known/jwks.json.
+     *
+     * @param url The URL of the JSON Web Key Set
+     */
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    /**
+     * @return The interval at which the keys are reloaded
+     */
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    /**
+     * The interval at which the keys are reloaded in the background. Default value ({@value #DEFAULT_REFRESH_INTERVAL} minutes).
+     *
+     * @param refreshInterval The refresh interval
+     */
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     * @return The connect timeout when loading the keys
+     */
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * The connect timeout when loading the keys. Default value ({@value #DEFAULT_TIMEOUT} seconds).
+     *
+     * @param connectTimeout The connect timeout
+     */
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    /**
+     * @return The read timeout when loading the keys
+     */
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    /**
+     * The read timeout when loading the keys. Default value ({@value #DEFAULT_TIMEOUT} seconds).
+     *
+     * @param readTimeout The read timeout
+     */
+    public void setReadTimeout(Duration readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+}
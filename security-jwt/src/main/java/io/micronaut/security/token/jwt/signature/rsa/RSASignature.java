@@ -36,6 +36,7 @@ import java.security.interfaces.RSAPublicKey;
 public class RSASignature extends AbstractSignatureConfiguration {
 
     private RSAPublicKey publicKey;
+    private volatile JWSVerifier verifier;
 
     /**
      *
@@ -65,7 +66,12 @@ public class RSASignature extends AbstractSignatureConfiguration {
     }
 
     private boolean verifyWithPublicKey(final SignedJWT jwt, @NotNull RSAPublicKey publicKey) throws JOSEException {
-        final JWSVerifier verifier = new RSASSAVerifier(publicKey);
+        // the verifier only holds the public key, so it is created once and shared by all verifications
+        JWSVerifier verifier = this.verifier;
+        if (verifier == null) {
+            verifier = new RSASSAVerifier(publicKey);
+            this.verifier = verifier;
+        }
         return jwt.verify(verifier);
     }
 }
@@ -36,6 +36,8 @@ import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.text.ParseException;
 import java.util.ArrayList;
@@ -44,6 +46,10 @@ import java.util.Date;
 import java.util.List;
 
 /**
+ * Validates JSON Web Tokens against the signature and encryption configurations. Tokens that pass validation are
+ * cached, keyed by the hash of the token, until they expire so that the same token is only parsed and verified
+ * once. See {@link JwtValidationCacheConfiguration}.
+ *
  * @see <a href="https://connect2id.com/products/nimbus-jose-jwt/examples/validating-jwt-access-tokens">Validating JWT Access Tokens</a>
  *
  * @author Sergio del Amo
@@ -57,6 +63,8 @@ public class JwtTokenValidator implements TokenValidator {
     protected final List<SignatureConfiguration> signatureConfigurations = new ArrayList<>();
     protected final List<EncryptionConfiguration> encryptionConfigurations = new ArrayList<>();
 
+    private final ValidatedTokenCache validatedTokens;
+
     /**
      *
      * @param signatureConfigurations List of Signature configurations which are used to attempt validation.
@@ -64,8 +72,23 @@ public class JwtTokenValidator implements TokenValidator {
      */
     public JwtTokenValidator(Collection<SignatureConfiguration> signatureConfigurations,
                              Collection<EncryptionConfiguration> encryptionConfigurations) {
+        this(signatureConfigurations, encryptionConfigurations, null);
+    }
+
+    /**
+     *
+     * @param signatureConfigurations List of Signature configurations which are used to attempt validation.
+     * @param encryptionConfigurations List of Encryption configurations which are used to attempt validation.
+     * @param validationCacheConfiguration The configuration of the cache of validated tokens, or null to disable it.
+     */
+    @Inject
+    public JwtTokenValidator(Collection<SignatureConfiguration> signatureConfigurations,
+                             Collection<EncryptionConfiguration> encryptionConfigurations,
+                             @Nullable JwtValidationCacheConfiguration validationCacheConfiguration) {
         this.signatureConfigurations.addAll(signatureConfigurations);
         this.encryptionConfigurations.addAll(encryptionConfigurations);
+        this.validatedTokens = validationCacheConfiguration != null && validationCacheConfiguration.isEnabled() ?
+                new ValidatedTokenCache(validationCacheConfiguration) : null;
     }
 
     private boolean validateExpirationTime(JWTClaimsSet claimSet) {
@@ -168,6 +191,21 @@ public class JwtTokenValidator implements TokenValidator {
 
     @Override
     public Publisher<Authentication> validateToken(String token) {
+        if (validatedTokens == null) {
+            return parseAndValidate(token);
+        }
+        Authentication authentication = validatedTokens.get(token);
+        if (authentication != null) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("JWT already validated");
+            }
+            return Flowable.just(authentication);
+        }
+        return Flowable.fromPublisher(parseAndValidate(token))
+                .doOnNext(validated -> validatedTokens.put(token, validated));
+    }
+
+    private Publisher<Authentication> parseAndValidate(String token) {
         try {
             // Parse the token
             JWT jwt = JWTParser.parse(token);
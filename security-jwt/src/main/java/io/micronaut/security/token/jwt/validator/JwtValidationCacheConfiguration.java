@@ -0,0 +1,40 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.security.token.jwt.validator;
+
+import io.micronaut.core.util.Toggleable;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the cache of JSON Web Tokens that passed validation.
+ *
+ * @author Sergio del Amo
+ * @since 1.0
+ */
+public interface JwtValidationCacheConfiguration extends Toggleable {
+
+    /**
+     * @return The maximum number of validated tokens to keep
+     */
+    int getMaximumSize();
+
+    /**
+     * @return The maximum time a validated token is kept, regardless of its expiration time
+     */
+    Duration getMaximumAge();
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.security.token.jwt.validator;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.security.token.jwt.config.JwtConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Default implementation of {@link JwtValidationCacheConfiguration}.
+ *
+ * @author Sergio del Amo
+ * @since 1.0
+ */
+@ConfigurationProperties(JwtValidationCacheConfigurationProperties.PREFIX)
+public class JwtValidationCacheConfigurationProperties implements JwtValidationCacheConfiguration {
+
+    public static final String PREFIX = JwtConfigurationProperties.PREFIX + ".validation-cache";
+
+    /**
+     * The default enable value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_ENABLED = false;
+
+    /**
+     * The default maximum size.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_MAXIMUM_SIZE = 10000;
+
+    /**
+     * The default maximum age in minutes.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_MAXIMUM_AGE = 5;
+
+    private boolean enabled = DEFAULT_ENABLED;
+    private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+    private Duration maximumAge = Duration.ofMinutes(DEFAULT_MAXIMUM_AGE);
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether tokens that passed validation are cached, so that the authentication created from a token is reused
+     * by later requests that send the same token. Default value ({@value #DEFAULT_ENABLED}).
+     *
+     * @param enabled True if validated tokens should be cached
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Sets the maximum number of validated tokens to keep. Default value ({@value #DEFAULT_MAXIMUM_SIZE}).
+     *
+     * @param maximumSize The maximum number of tokens
+     */
+    public void setMaximumSize(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    @Override
+    public Duration getMaximumAge() {
+        return maximumAge;
+    }
+
+    /**
+     * Sets the maximum time a validated token is kept. Tokens are evicted at their expiration time or once they
+     * reach this age, whichever comes first, so that changes to the signature keys eventually apply to tokens
+     * without an expiration time. Default value ({@value #DEFAULT_MAXIMUM_AGE} minutes).
+     *
+     * @param maximumAge The maximum age
+     */
+    public void setMaximumAge(Duration maximumAge) {
+        this.maximumAge = maximumAge;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.security.token.jwt.validator;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.security.authentication.Authentication;
+import io.micronaut.security.token.jwt.generator.claims.JwtClaims;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded cache of the authentications of tokens that passed validation. Tokens are keyed by their SHA-256 hash,
+ * so the cache never holds the tokens themselves, and each entry expires at the expiration time of its token or once
+ * it reaches the maximum age, whichever comes first.
+ *
+ * @author Sergio del Amo
+ * @since 1.0
+ */
+@Internal
+final class ValidatedTokenCache {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final Cache<ByteBuffer, Entry> entries;
+    private final long maximumAgeMillis;
+
+    /**
+     * @param configuration The cache configuration
+     */
+    ValidatedTokenCache(JwtValidationCacheConfiguration configuration) {
+        this.maximumAgeMillis = configuration.getMaximumAge().toMillis();
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(Math.max(configuration.getMaximumSize(), 0))
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
+    /**
+     * @param token The token
+     * @return The authentication of the token if it passed validation and has not expired since, otherwise null
+     */
+    Authentication get(String token) {
+        Entry entry = entries.getIfPresent(hash(token));
+        if (entry == null || entry.expiresAt <= System.currentTimeMillis()) {
+            return null;
+        }
+        return entry.authentication;
+    }
+
+    /**
+     * @param token          The token that passed validation
+     * @param authentication The authentication created from the token
+     */
+    void put(String token, Authentication authentication) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + maximumAgeMillis;
+        Object exp = authentication.getAttributes().get(JwtClaims.EXPIRATION_TIME);
+        if (exp instanceof Date) {
+            expiresAt = Math.min(expiresAt, ((Date) exp).getTime());
+        }
+        if (expiresAt > now) {
+            entries.put(hash(token), new Entry(authentication, expiresAt));
+        }
+    }
+
+    /**
+     * @return The number of cached tokens
+     */
+    long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    private static ByteBuffer hash(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance(DIGEST_ALGORITHM).digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(DIGEST_ALGORITHM + " is not available", e);
+        }
+    }
+
+    /**
+     * A validated token.
+     */
+    private static final class Entry {
+        private final Authentication authentication;
+        private final long expiresAt;
+
+        private Entry(Authentication authentication, long expiresAt) {
+            this.authentication = authentication;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Expires each entry at the time it was given when it was cached, however it is accessed afterwards.
+     */
+    private static final class TokenExpiry implements Expiry<ByteBuffer, Entry> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Entry entry, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(entry.expiresAt - System.currentTimeMillis(), 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.security.token.jwt.signature.jwks
+
+import com.nimbusds.jose.JWSAlgorithm
+import com.nimbusds.jose.JWSHeader
+import com.nimbusds.jose.crypto.RSASSASigner
+import com.nimbusds.jose.jwk.JWKSet
+import com.nimbusds.jose.jwk.KeyUse
+import com.nimbusds.jose.jwk.RSAKey
+import com.nimbusds.jwt.JWTClaimsSet
+import com.nimbusds.jwt.SignedJWT
+import io.micronaut.scheduling.ScheduledExecutorTaskScheduler
+import spock.lang.AutoCleanup
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.security.KeyPairGenerator
+import java.security.interfaces.RSAPrivateKey
+import java.security.interfaces.RSAPublicKey
+import java.time.Duration
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+
+class JwksSignatureSpec extends Specification {
+
+    static volatile JWKSet keySet
+
+    @AutoCleanup('shutdownNow')
+    ScheduledExecutorService executor = Executors.newScheduledThreadPool(1)
+
+    PollingConditions conditions = new PollingConditions(timeout: 5)
+
+    void "tokens are verified with the key matching their key id"() {
+        given:
+        RSAKey first = generate('first', KeyUse.SIGNATURE)
+        RSAKey second = generate('second', KeyUse.SIGNATURE)
+        keySet = new JWKSet([first, second])
+        JwksSignature signature = jwks(Duration.ofMinutes(5))
+
+        expect:
+        conditions.eventually {
+            assert signature.verify(sign(first, 'first'))
+        }
+        signature.verify(sign(second, 'second'))
+        !signature.verify(sign(second, 'first'))
+        !signature.verify(sign(first, 'unknown'))
+        signature.verify(sign(first, null))
+
+        cleanup:
+        signature?.close()
+    }
+
+    void "keys reserved for encryption are ignored"() {
+        given:
+        RSAKey encryption = generate('enc', KeyUse.ENCRYPTION)
+        RSAKey key = generate('sig', KeyUse.SIGNATURE)
+        keySet = new JWKSet([encryption, key])
+        JwksSignature signature = jwks(Duration.ofMinutes(5))
+
+        expect:
+        conditions.eventually {
+            assert signature.verify(sign(key, 'sig'))
+        }
+        !signature.verify(sign(encryption, 'enc'))
+
+        cleanup:
+        signature?.close()
+    }
+
+    void "keys are reloaded in the background"() {
+        given:
+        RSAKey old = generate('old', KeyUse.SIGNATURE)
+        RSAKey rotated = generate('rotated', KeyUse.SIGNATURE)
+        keySet = new JWKSet([old])
+        JwksSignature signature = jwks(Duration.ofMillis(100))
+
+        expect:
+        conditions.eventually {
+            assert signature.verify(sign(old, 'old'))
+        }
+
+        when:
+        keySet = new JWKSet([rotated])
+
+        then:
+        conditions.eventually {
+            assert signature.verify(sign(rotated, 'rotated'))
+            assert !signature.verify(sign(old, 'old'))
+        }
+
+        cleanup:
+        signature?.close()
+    }
+
+    private JwksSignature jwks(Duration refreshInterval) {
+        JwksSignatureConfiguration configuration = new JwksSignatureConfiguration('test')
+        configuration.url = 'https://example.com/.well-known/jwks.json'
+        configuration.refreshInterval = refreshInterval
+        new JwksSignature(configuration, new ScheduledExecutorTaskScheduler(executor)) {
+            @Override
+            protected JWKSet load() {
+                JwksSignatureSpec.keySet.toPublicJWKSet()
+            }
+        }
+    }
+
+    private static RSAKey generate(String keyId, KeyUse use) {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance('RSA')
+        generator.initialize(2048)
+        def keyPair = generator.generateKeyPair()
+        new RSAKey.Builder((RSAPublicKey) keyPair.public)
+                .privateKey((RSAPrivateKey) keyPair.private)
+                .keyID(keyId)
+                .keyUse(use)
+                .build()
+    }
+
+    private static SignedJWT sign(RSAKey key, String keyId) {
+        JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(keyId).build()
+        SignedJWT jwt = new SignedJWT(header, new JWTClaimsSet.Builder().subject('sherlock').build())
+        jwt.sign(new RSASSASigner(key))
+        SignedJWT.parse(jwt.serialize())
+    }
+}
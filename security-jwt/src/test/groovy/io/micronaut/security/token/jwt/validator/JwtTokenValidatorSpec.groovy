@@ -0,0 +1,131 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.security.token.jwt.validator
+
+import com.nimbusds.jose.JWSAlgorithm
+import com.nimbusds.jose.JWSHeader
+import com.nimbusds.jose.crypto.MACSigner
+import com.nimbusds.jwt.JWTClaimsSet
+import com.nimbusds.jwt.SignedJWT
+import io.micronaut.security.authentication.Authentication
+import io.micronaut.security.token.jwt.signature.SignatureConfiguration
+import io.reactivex.Flowable
+import spock.lang.Specification
+
+import java.time.Duration
+
+class JwtTokenValidatorSpec extends Specification {
+
+    static final String SECRET = 'pleaseChangeThisSecretForANewOne'
+
+    SignatureConfiguration signature = Mock(SignatureConfiguration) {
+        supports(_) >> true
+    }
+
+    void "a validated token is verified only once"() {
+        given:
+        JwtTokenValidator validator = new JwtTokenValidator([signature], [], enabledCache())
+        String token = sign(new Date(System.currentTimeMillis() + 60000))
+
+        when:
+        Authentication first = Flowable.fromPublisher(validator.validateToken(token)).blockingFirst()
+        Authentication second = Flowable.fromPublisher(validator.validateToken(token)).blockingFirst()
+
+        then:
+        1 * signature.verify(_) >> true
+        first.name == 'sherlock'
+        second.is(first)
+    }
+
+    void "tokens that fail validation are not cached"() {
+        given:
+        JwtTokenValidator validator = new JwtTokenValidator([signature], [], enabledCache())
+        String token = sign(new Date(System.currentTimeMillis() + 60000))
+
+        when:
+        boolean first = Flowable.fromPublisher(validator.validateToken(token)).isEmpty().blockingGet()
+        boolean second = Flowable.fromPublisher(validator.validateToken(token)).isEmpty().blockingGet()
+
+        then:
+        2 * signature.verify(_) >> false
+        first
+        second
+    }
+
+    void "a cached token expires at its expiration time"() {
+        given:
+        JwtTokenValidator validator = new JwtTokenValidator([signature], [], enabledCache())
+        String token = sign(new Date(System.currentTimeMillis() + 1500))
+
+        when:
+        Flowable.fromPublisher(validator.validateToken(token)).blockingFirst()
+        sleep(2000)
+        boolean expired = Flowable.fromPublisher(validator.validateToken(token)).isEmpty().blockingGet()
+
+        then:
+        2 * signature.verify(_) >> true
+        expired
+    }
+
+    void "the cache is bounded"() {
+        given:
+        JwtValidationCacheConfigurationProperties configuration = new JwtValidationCacheConfigurationProperties()
+        configuration.maximumSize = 10
+        configuration.maximumAge = Duration.ofMinutes(1)
+        ValidatedTokenCache cache = new ValidatedTokenCache(configuration)
+        Authentication authentication = Stub(Authentication) {
+            getAttributes() >> [:]
+        }
+
+        when:
+        100.times { cache.put("token-$it", authentication) }
+
+        then:
+        cache.size() <= 10
+    }
+
+    void "the cache is disabled by default"() {
+        expect:
+        !new JwtValidationCacheConfigurationProperties().enabled
+    }
+
+    void "tokens are verified every time when the cache is disabled"() {
+        given:
+        JwtValidationCacheConfigurationProperties configuration = new JwtValidationCacheConfigurationProperties()
+        configuration.enabled = false
+        JwtTokenValidator validator = new JwtTokenValidator([signature], [], configuration)
+        String token = sign(new Date(System.currentTimeMillis() + 60000))
+
+        when:
+        2.times { Flowable.fromPublisher(validator.validateToken(token)).blockingFirst() }
+
+        then:
+        2 * signature.verify(_) >> true
+    }
+
+    private static JwtValidationCacheConfigurationProperties enabledCache() {
+        JwtValidationCacheConfigurationProperties configuration = new JwtValidationCacheConfigurationProperties()
+        configuration.enabled = true
+        configuration
+    }
+
+    private static String sign(Date expiration) {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder().subject('sherlock').expirationTime(expiration).build()
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims)
+        jwt.sign(new MACSigner(SECRET))
+        jwt.serialize()
+    }
+}
@@ -16,8 +16,6 @@
 
 package io.micronaut.security.rules;
 
-import io.micronaut.core.util.AntPathMatcher;
-import io.micronaut.core.util.PathMatcher;
 import io.micronaut.http.HttpMethod;
 import io.micronaut.http.HttpRequest;
 import io.micronaut.security.config.InterceptUrlMapPattern;
@@ -40,7 +38,7 @@ abstract class InterceptUrlMapRule extends AbstractSecurityRule {
      */
     public static final Integer ORDER = 0;
 
-    private final AntPathMatcher pathMatcher;
+    private volatile InterceptUrlPatternTrie trie;
 
     /**
      *
@@ -48,7 +46,6 @@ abstract class InterceptUrlMapRule extends AbstractSecurityRule {
      */
     InterceptUrlMapRule(TokenConfiguration tokenConfiguration) {
         super(tokenConfiguration);
-        this.pathMatcher = PathMatcher.ANT;
     }
 
     /**
@@ -60,6 +57,8 @@ abstract class InterceptUrlMapRule extends AbstractSecurityRule {
     /**
      * If no configured pattern matches the request, return {@link SecurityRuleResult#UNKNOWN}.
      * Reads the rules in order. The first matched rule will be used for determining authorization.
+     * The pattern list is compiled into a trie which is reused for as long as {@link #getPatternList()}
+     * returns the same list.
      *
      * @param request The current request
      * @param routeMatch The matched route
@@ -71,14 +70,19 @@ abstract class InterceptUrlMapRule extends AbstractSecurityRule {
         final String path = request.getUri().getPath();
         final HttpMethod httpMethod = request.getMethod();
 
-        Optional<InterceptUrlMapPattern> matchedPattern = getPatternList()
-                .stream()
-                .filter(p -> p.getHttpMethod().map(method -> method.equals(httpMethod)).orElse(true))
-                .filter(p -> pathMatcher.matches(p.getPattern(), path))
-                .findFirst();
+        Optional<InterceptUrlMapPattern> matchedPattern = compile(getPatternList()).findFirst(httpMethod, path);
 
         return matchedPattern
                 .map(pattern -> compareRoles(pattern.getAccess(), getRoles(claims)))
                 .orElse(SecurityRuleResult.UNKNOWN);
     }
+
+    private InterceptUrlPatternTrie compile(List<InterceptUrlMapPattern> patterns) {
+        InterceptUrlPatternTrie trie = this.trie;
+        if (trie == null || trie.getPatterns() != patterns) {
+            trie = new InterceptUrlPatternTrie(patterns);
+            this.trie = trie;
+        }
+        return trie;
+    }
 }
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.security.rules;
+
+import io.micronaut.core.annotation.Internal;
+import io.micronaut.core.util.PathMatcher;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.security.config.InterceptUrlMapPattern;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * <p>A list of {@link InterceptUrlMapPattern} compiled into one segment trie per {@link HttpMethod}.</p>
+ *
+ * <p>Literal path segments are looked up by hash, segments containing {@code *} or {@code ?} are matched as
+ * wildcard nodes and {@code **} nodes match any number of segments. A lookup walks the trie of the request method
+ * once and collects the indices of the patterns the path may match. The candidates are then confirmed against
+ * {@link PathMatcher#ANT} in the order of the original list, so the first matching pattern wins exactly as it would
+ * when testing every pattern in turn.</p>
+ *
+ * @author James Kleeh
+ * @since 1.0
+ */
+@Internal
+final class InterceptUrlPatternTrie {
+
+    private static final String SEPARATOR = "/";
+    private static final String DOUBLE_WILDCARD = "**";
+    private static final String WILDCARD = "*";
+
+    private final List<InterceptUrlMapPattern> patterns;
+    private final Map<HttpMethod, Node> roots = new EnumMap<>(HttpMethod.class);
+
+    /**
+     * @param patterns The patterns in order of precedence
+     */
+    InterceptUrlPatternTrie(List<InterceptUrlMapPattern> patterns) {
+        this.patterns = patterns;
+        for (HttpMethod method : HttpMethod.values()) {
+            roots.put(method, new Node());
+        }
+        for (int i = 0; i < patterns.size(); i++) {
+            InterceptUrlMapPattern pattern = patterns.get(i);
+            String[] segments = StringUtils.tokenizeToStringArray(pattern.getPattern(), SEPARATOR);
+            Optional<HttpMethod> httpMethod = pattern.getHttpMethod();
+            if (httpMethod.isPresent()) {
+                roots.get(httpMethod.get()).insert(segments, i);
+            } else {
+                for (Node root : roots.values()) {
+                    root.insert(segments, i);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The patterns the trie was compiled from
+     */
+    List<InterceptUrlMapPattern> getPatterns() {
+        return patterns;
+    }
+
+    /**
+     * Finds the first pattern, in order of precedence, that matches the given method and path.
+     *
+     * @param method The request method
+     * @param path   The request path
+     * @return The first matching pattern
+     */
+    Optional<InterceptUrlMapPattern> findFirst(HttpMethod method, String path) {
+        Node root = roots.get(method);
+        if (root == null || patterns.isEmpty()) {
+            return Optional.empty();
+        }
+        BitSet candidates = new BitSet(patterns.size());
+        root.collect(StringUtils.tokenizeToStringArray(path, SEPARATOR), 0, candidates);
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            InterceptUrlMapPattern pattern = patterns.get(i);
+            // the trie only compares segments, leading and trailing separators are checked by the matcher
+            if (PathMatcher.ANT.matches(pattern.getPattern(), path)) {
+                return Optional.of(pattern);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * A node of the trie. A node is reached once the segments leading to it have been matched.
+     */
+    private static final class Node {
+        private Map<String, Node> literals = Collections.emptyMap();
+        private List<String> wildcards = Collections.emptyList();
+        private List<Node> wildcardNodes = Collections.emptyList();
+        private Node doubleWildcard;
+        private BitSet terminals;
+
+        private void insert(String[] segments, int index) {
+            Node node = this;
+            for (String segment : segments) {
+                node = node.child(segment);
+            }
+            if (node.terminals == null) {
+                node.terminals = new BitSet();
+            }
+            node.terminals.set(index);
+        }
+
+        private Node child(String segment) {
+            if (DOUBLE_WILDCARD.equals(segment)) {
+                if (doubleWildcard == null) {
+                    doubleWildcard = new Node();
+                }
+                return doubleWildcard;
+            }
+            if (segment.indexOf('*') > -1 || segment.indexOf('?') > -1) {
+                int i = wildcards.indexOf(segment);
+                if (i > -1) {
+                    return wildcardNodes.get(i);
+                }
+                if (wildcards.isEmpty()) {
+                    wildcards = new ArrayList<>(2);
+                    wildcardNodes = new ArrayList<>(2);
+                }
+                Node node = new Node();
+                wildcards.add(segment);
+                wildcardNodes.add(node);
+                return node;
+            }
+            if (literals.isEmpty()) {
+                literals = new HashMap<>(4);
+            }
+            return literals.computeIfAbsent(segment, s -> new Node());
+        }
+
+        private void collect(String[] segments, int index, BitSet candidates) {
+            if (index == segments.length) {
+                if (terminals != null) {
+                    candidates.or(terminals);
+                }
+                // a trailing "*" also matches a path ending with a separator
+                int i = wildcards.indexOf(WILDCARD);
+                if (i > -1 && wildcardNodes.get(i).terminals != null) {
+                    candidates.or(wildcardNodes.get(i).terminals);
+                }
+            } else {
+                Node literal = literals.get(segments[index]);
+                if (literal != null) {
+                    literal.collect(segments, index + 1, candidates);
+                }
+                for (int i = 0; i < wildcards.size(); i++) {
+                    if (PathMatcher.ANT.matches(wildcards.get(i), segments[index])) {
+                        wildcardNodes.get(i).collect(segments, index + 1, candidates);
+                    }
+                }
+            }
+            if (doubleWildcard != null) {
+                for (int i = index; i <= segments.length; i++) {
+                    doubleWildcard.collect(segments, i, candidates);
+                }
+            }
+        }
+    }
+}
@@ -23,14 +23,19 @@ import io.micronaut.security.token.config.TokenConfiguration;
 import io.micronaut.web.router.RouteMatch;
 import javax.annotation.Nullable;
 import javax.inject.Singleton;
+import java.net.InetAddress;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 /**
  * A security rule implementation backed by the {@link SecurityConfigurationProperties#getIpPatterns()} ()}.
  *
+ * <p>Patterns that are IPv4 addresses or ranges in CIDR notation, such as {@code 192.168.1.0/24}, are compiled into
+ * a binary prefix tree that is matched against the raw bytes of the remote address. Any other pattern is a regular
+ * expression matched against the textual form of the remote address.</p>
+ *
  * @author Sergio del Amo
  * @since 1.0
  */
@@ -42,7 +47,9 @@ public class IpPatternsRule extends AbstractSecurityRule {
      */
     public static final Integer ORDER = SecuredAnnotationRule.ORDER - 100;
 
-    private final List<Pattern> patternList;
+    private final boolean anywhere;
+    private final IpPrefixTree prefixTree = new IpPrefixTree();
+    private final List<Pattern> patternList = new ArrayList<>();
 
     /**
      *
@@ -52,10 +59,13 @@ public class IpPatternsRule extends AbstractSecurityRule {
     public IpPatternsRule(TokenConfiguration tokenConfiguration,
                           SecurityConfiguration securityConfiguration) {
         super(tokenConfiguration);
-        this.patternList = securityConfiguration.getIpPatterns()
-                        .stream()
-                        .map(Pattern::compile)
-                        .collect(Collectors.toList());
+        List<String> ipPatterns = securityConfiguration.getIpPatterns();
+        this.anywhere = ipPatterns.isEmpty() || ipPatterns.contains(SecurityConfigurationProperties.ANYWHERE);
+        for (String ipPattern : ipPatterns) {
+            if (!prefixTree.add(ipPattern)) {
+                patternList.add(Pattern.compile(ipPattern));
+            }
+        }
     }
 
     @Override
@@ -66,16 +76,21 @@ public class IpPatternsRule extends AbstractSecurityRule {
     @Override
     public SecurityRuleResult check(HttpRequest request, @Nullable RouteMatch routeMatch, @Nullable Map<String, Object> claims) {
 
-        if (patternList.isEmpty()) {
+        if (anywhere) {
             return SecurityRuleResult.UNKNOWN;
-        } else {
-            if (patternList.stream().anyMatch(pattern ->
-                    pattern.pattern().equals(SecurityConfigurationProperties.ANYWHERE) ||
-                    pattern.matcher(request.getRemoteAddress().getAddress().getHostAddress()).matches())) {
-                return SecurityRuleResult.UNKNOWN;
-            } else {
-                return SecurityRuleResult.REJECTED;
+        }
+        InetAddress address = request.getRemoteAddress().getAddress();
+        if (!prefixTree.isEmpty() && prefixTree.contains(address)) {
+            return SecurityRuleResult.UNKNOWN;
+        }
+        if (!patternList.isEmpty()) {
+            String hostAddress = address.getHostAddress();
+            for (Pattern pattern : patternList) {
+                if (pattern.matcher(hostAddress).matches()) {
+                    return SecurityRuleResult.UNKNOWN;
+                }
             }
         }
+        return SecurityRuleResult.REJECTED;
     }
 }
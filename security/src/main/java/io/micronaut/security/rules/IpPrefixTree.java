@@ -0,0 +1,179 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.security.rules;
+
+import io.micronaut.core.annotation.Internal;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * <p>A binary prefix tree of IP address ranges. Each range is stored as the path of its prefix bits, one bit per
+ * level, over the raw bytes of the address, so testing an address costs at most one step per bit regardless of the
+ * number of ranges. IPv4 and IPv6 ranges are kept in separate trees.</p>
+ *
+ * <p>Ranges are added either as IPv4 addresses, such as {@code 10.10.0.48}, or in CIDR notation, such as
+ * {@code 192.168.1.0/24} or {@code fd00::/8}.</p>
+ *
+ * @author Sergio del Amo
+ * @since 1.0
+ */
+@Internal
+final class IpPrefixTree {
+
+    private static final int IPV4_BYTES = 4;
+    private static final int IPV6_BYTES = 16;
+
+    private final Node ipv4 = new Node();
+    private final Node ipv6 = new Node();
+    private boolean empty = true;
+
+    /**
+     * Adds the given pattern to the tree if it is an IPv4 address or a range in CIDR notation.
+     *
+     * @param pattern The pattern
+     * @return Whether the pattern was added, false if it is not an address or a range
+     */
+    boolean add(String pattern) {
+        int slash = pattern.indexOf('/');
+        byte[] address;
+        int prefixLength;
+        if (slash == -1) {
+            address = parseIpv4(pattern);
+            prefixLength = IPV4_BYTES * Byte.SIZE;
+        } else {
+            address = parseAddress(pattern.substring(0, slash));
+            prefixLength = parsePrefixLength(pattern.substring(slash + 1));
+        }
+        if (address == null || prefixLength < 0 || prefixLength > address.length * Byte.SIZE) {
+            return false;
+        }
+        Node node = address.length == IPV4_BYTES ? ipv4 : ipv6;
+        for (int bit = 0; bit < prefixLength && !node.terminal; bit++) {
+            int b = bitAt(address, bit);
+            if (node.children[b] == null) {
+                node.children[b] = new Node();
+            }
+            node = node.children[b];
+        }
+        node.terminal = true;
+        empty = false;
+        return true;
+    }
+
+    /**
+     * @return Whether no range has been added
+     */
+    boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * @param address The address
+     * @return Whether the address is within one of the ranges
+     */
+    boolean contains(InetAddress address) {
+        byte[] bytes = address.getAddress();
+        Node node = bytes.length == IPV4_BYTES ? ipv4 : ipv6;
+        int bits = bytes.length * Byte.SIZE;
+        for (int bit = 0; bit < bits; bit++) {
+            if (node.terminal) {
+                return true;
+            }
+            node = node.children[bitAt(bytes, bit)];
+            if (node == null) {
+                return false;
+            }
+        }
+        return node.terminal;
+    }
+
+    private static int bitAt(byte[] bytes, int bit) {
+        return (bytes[bit / Byte.SIZE] >> (Byte.SIZE - 1 - bit % Byte.SIZE)) & 1;
+    }
+
+    private static int parsePrefixLength(String value) {
+        if (value.isEmpty() || value.length() > 3) {
+            return -1;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isDigit(value.charAt(i))) {
+                return -1;
+            }
+        }
+        return Integer.parseInt(value);
+    }
+
+    private static byte[] parseAddress(String value) {
+        if (value.indexOf(':') == -1) {
+            return parseIpv4(value);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.digit(c, 16) == -1 && c != ':' && c != '.') {
+                return null;
+            }
+        }
+        try {
+            // only hex digits, colons and dots remain, so this is parsed as a literal without a name lookup
+            byte[] address = InetAddress.getByName(value).getAddress();
+            return address.length == IPV6_BYTES ? address : null;
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses an IPv4 address in the form returned by {@link InetAddress#getHostAddress()}, that is four decimal
+     * octets without leading zeros.
+     */
+    private static byte[] parseIpv4(String value) {
+        byte[] address = new byte[IPV4_BYTES];
+        int octet = 0;
+        int start = 0;
+        for (int i = 0; i <= value.length(); i++) {
+            if (i == value.length() || value.charAt(i) == '.') {
+                int length = i - start;
+                if (octet == IPV4_BYTES || length == 0 || length > 3 || (length > 1 && value.charAt(start) == '0')) {
+                    return null;
+                }
+                int n = 0;
+                for (int j = start; j < i; j++) {
+                    char c = value.charAt(j);
+                    if (c < '0' || c > '9') {
+                        return null;
+                    }
+                    n = n * 10 + (c - '0');
+                }
+                if (n > 255) {
+                    return null;
+                }
+                address[octet++] = (byte) n;
+                start = i + 1;
+            }
+        }
+        return octet == IPV4_BYTES ? address : null;
+    }
+
+    /**
+     * A node of the tree. A terminal node marks the end of a range prefix.
+     */
+    private static final class Node {
+        private final Node[] children = new Node[2];
+        private boolean terminal;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.security.rules
+
+import io.micronaut.core.util.PathMatcher
+import io.micronaut.http.HttpMethod
+import io.micronaut.security.config.InterceptUrlMapPattern
+import spock.lang.Requires
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class InterceptUrlPatternTrieSpec extends Specification {
+
+    static final List<InterceptUrlMapPattern> PATTERNS = [
+            new InterceptUrlMapPattern('/books', ['ROLE_BOOKS'], HttpMethod.GET),
+            new InterceptUrlMapPattern('/books/*', ['ROLE_BOOK'], null),
+            new InterceptUrlMapPattern('/books/**', ['ROLE_ANY_BOOK'], HttpMethod.POST),
+            new InterceptUrlMapPattern('/static/**/*.js', ['isAnonymous()'], null),
+            new InterceptUrlMapPattern('/static/**', ['ROLE_STATIC'], null),
+            new InterceptUrlMapPattern('/user?/profile', ['ROLE_USER'], null),
+            new InterceptUrlMapPattern('/api/**/admin/**', ['ROLE_ADMIN'], null),
+            new InterceptUrlMapPattern('/api/v*/items', ['ROLE_ITEMS'], HttpMethod.GET),
+            new InterceptUrlMapPattern('/trailing/', ['ROLE_SLASH'], null),
+            new InterceptUrlMapPattern('/**', ['isAuthenticated()'], HttpMethod.DELETE),
+    ]
+
+    @Unroll
+    void "#method #path matches #expected as a linear scan would"() {
+        given:
+        InterceptUrlPatternTrie trie = new InterceptUrlPatternTrie(PATTERNS)
+
+        expect:
+        trie.findFirst(method, path).map({ it.pattern }).orElse(null) == expected
+        trie.findFirst(method, path).orElse(null) == linearScan(PATTERNS, method, path)
+
+        where:
+        method            | path                         | expected
+        HttpMethod.GET    | '/books'                     | '/books'
+        HttpMethod.POST   | '/books'                     | '/books/**'
+        HttpMethod.GET    | '/books/1'                   | '/books/*'
+        HttpMethod.GET    | '/books/'                    | '/books/*'
+        HttpMethod.GET    | '/books/1/2'                 | null
+        HttpMethod.POST   | '/books/1/2'                 | '/books/**'
+        HttpMethod.GET    | '/static/js/lib/app.js'      | '/static/**/*.js'
+        HttpMethod.GET    | '/static/app.js'             | '/static/**/*.js'
+        HttpMethod.GET    | '/static/css/app.css'        | '/static/**'
+        HttpMethod.GET    | '/static'                    | '/static/**'
+        HttpMethod.GET    | '/users/profile'             | '/user?/profile'
+        HttpMethod.GET    | '/user/profile'              | null
+        HttpMethod.GET    | '/api/admin'                 | '/api/**/admin/**'
+        HttpMethod.GET    | '/api/v1/x/admin/y/z'        | '/api/**/admin/**'
+        HttpMethod.GET    | '/api/v2/items'              | '/api/v*/items'
+        HttpMethod.PUT    | '/api/v2/items'              | null
+        HttpMethod.GET    | '/trailing/'                 | '/trailing/'
+        HttpMethod.GET    | '/trailing'                  | null
+        HttpMethod.DELETE | '/books/1'                   | '/books/*'
+        HttpMethod.DELETE | '/anything/else'             | '/**'
+        HttpMethod.GET    | 'books'                      | null
+    }
+
+    void "patterns are matched in the order of the list"() {
+        given:
+        List<InterceptUrlMapPattern> patterns = [
+                new InterceptUrlMapPattern('/**', ['first'], null),
+                new InterceptUrlMapPattern('/books/1', ['second'], null),
+        ]
+        InterceptUrlPatternTrie trie = new InterceptUrlPatternTrie(patterns)
+
+        expect:
+        trie.findFirst(HttpMethod.GET, '/books/1').get().access == ['first']
+        new InterceptUrlPatternTrie(patterns.reverse()).findFirst(HttpMethod.GET, '/books/1').get().access == ['second']
+    }
+
+    void "random paths resolve to the same pattern as a linear scan"() {
+        given:
+        Random random = new Random(42)
+        List<String> segments = ['books', 'static', 'api', 'v1', 'admin', 'items', 'users', 'profile', 'app.js', 'trailing', '']
+        InterceptUrlPatternTrie trie = new InterceptUrlPatternTrie(PATTERNS)
+
+        expect:
+        (0..<5000).every {
+            String path = '/' + (0..<random.nextInt(6)).collect { segments[random.nextInt(segments.size())] }.join('/')
+            HttpMethod method = HttpMethod.values()[random.nextInt(HttpMethod.values().length)]
+            trie.findFirst(method, path).orElse(null) == linearScan(PATTERNS, method, path)
+        }
+    }
+
+    @Requires({ sys['benchmark'] })
+    void "benchmark the trie against a linear scan of 500 patterns"() {
+        given:
+        List<InterceptUrlMapPattern> patterns = (0..<500).collect {
+            new InterceptUrlMapPattern("/module-$it/**/resource-${it % 7}/*".toString(), ['ROLE_USER'], it % 2 ? HttpMethod.GET : null)
+        }
+        InterceptUrlPatternTrie trie = new InterceptUrlPatternTrie(patterns)
+        List<String> paths = (0..<1000).collect { "/module-${it % 600}/a/b/resource-${it % 7}/1".toString() }
+        int rounds = 50
+
+        when:
+        long linearStart = System.nanoTime()
+        for (int i = 0; i < rounds; i++) {
+            paths.each { linearScan(patterns, HttpMethod.GET, it) }
+        }
+        long linearTime = System.nanoTime() - linearStart
+
+        long trieStart = System.nanoTime()
+        for (int i = 0; i < rounds; i++) {
+            paths.each { trie.findFirst(HttpMethod.GET, it) }
+        }
+        long trieTime = System.nanoTime() - trieStart
+        println "Linear scan: ${linearTime / (rounds * paths.size())}ns per lookup, trie: ${trieTime / (rounds * paths.size())}ns per lookup"
+
+        then:
+        trieTime < linearTime
+    }
+
+    private static InterceptUrlMapPattern linearScan(List<InterceptUrlMapPattern> patterns, HttpMethod method, String path) {
+        patterns.find {
+            it.httpMethod.map({ it == method }).orElse(true) && PathMatcher.ANT.matches(it.pattern, path)
+        }
+    }
+}
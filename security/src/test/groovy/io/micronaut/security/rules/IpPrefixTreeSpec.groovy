@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.security.rules
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class IpPrefixTreeSpec extends Specification {
+
+    @Unroll
+    void "#address is within #ranges: #expected"() {
+        given:
+        IpPrefixTree tree = new IpPrefixTree()
+        ranges.each { assert tree.add(it) }
+
+        expect:
+        tree.contains(InetAddress.getByName(address)) == expected
+
+        where:
+        ranges                              | address           | expected
+        ['10.10.0.48']                      | '10.10.0.48'      | true
+        ['10.10.0.48']                      | '10.10.0.49'      | false
+        ['192.168.1.0/24']                  | '192.168.1.200'   | true
+        ['192.168.1.0/24']                  | '192.168.2.1'     | false
+        ['192.168.1.77/24']                 | '192.168.1.1'     | true
+        ['10.0.0.0/8', '172.16.0.0/12']     | '172.31.255.255'  | true
+        ['10.0.0.0/8', '172.16.0.0/12']     | '172.32.0.1'      | false
+        ['0.0.0.0/0']                       | '8.8.8.8'         | true
+        ['fd00::/8']                        | 'fd12:3456::1'    | true
+        ['fd00::/8']                        | 'fe80::1'         | false
+    }
+
+    @Unroll
+    void "#pattern is not compiled into the tree"() {
+        expect:
+        !new IpPrefixTree().add(pattern)
+
+        where:
+        pattern << ['192.168.1.*', '127.0.0.1|10.0.0.1', '010.0.0.1', '256.0.0.1', '1.2.3', '1.2.3.4.5',
+                    '10.0.0.0/33', '10.0.0.0/', 'fd00::/129', '::1', 'localhost/8']
+    }
+}
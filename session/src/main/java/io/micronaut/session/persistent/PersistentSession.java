@@ -0,0 +1,169 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.session.persistent;
+
+import io.micronaut.core.convert.ArgumentConversionContext;
+import io.micronaut.core.convert.value.MutableConvertibleValues;
+import io.micronaut.session.InMemorySession;
+import io.micronaut.session.Session;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * <p>A session of the {@link PersistentSessionStore}.</p>
+ *
+ * <p>Attributes read from the session log are kept in their serialized form until they are first accessed, and
+ * attributes that are not modified are written back without being serialized again. Changes made to a mutable
+ * attribute value are only persisted once the value is put into the session again.</p>
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+public class PersistentSession extends InMemorySession {
+
+    private final Map<String, byte[]> serializedAttributes = new LinkedHashMap<>();
+    private final Function<byte[], Object> deserializer;
+    private boolean modified;
+
+    /**
+     * Constructor for new sessions.
+     *
+     * @param id                  The session id
+     * @param maxInactiveInterval The max inactive interval
+     * @param deserializer        Deserializes attribute values
+     */
+    PersistentSession(String id, Duration maxInactiveInterval, Function<byte[], Object> deserializer) {
+        super(id, maxInactiveInterval);
+        this.deserializer = deserializer;
+    }
+
+    /**
+     * Constructor for sessions read from the session log.
+     *
+     * @param id                   The session id
+     * @param creationTime         The creation time
+     * @param lastAccessTime       The last access time
+     * @param maxInactiveInterval  The max inactive interval
+     * @param serializedAttributes The serialized attribute values
+     * @param deserializer         Deserializes attribute values
+     */
+    PersistentSession(
+            String id,
+            Instant creationTime,
+            Instant lastAccessTime,
+            Duration maxInactiveInterval,
+            Map<String, byte[]> serializedAttributes,
+            Function<byte[], Object> deserializer) {
+        super(id, creationTime, maxInactiveInterval);
+        this.lastAccessTime = lastAccessTime;
+        this.serializedAttributes.putAll(serializedAttributes);
+        this.deserializer = deserializer;
+        setNew(false);
+    }
+
+    @Override
+    public boolean isModified() {
+        return super.isModified() || modified;
+    }
+
+    @Override
+    public synchronized Session setMaxInactiveInterval(Duration duration) {
+        modified = true;
+        return super.setMaxInactiveInterval(duration);
+    }
+
+    @Override
+    public synchronized MutableConvertibleValues<Object> put(CharSequence key, Object value) {
+        String name = key.toString();
+        serializedAttributes.remove(name);
+        modified = true;
+        return super.put(name, value);
+    }
+
+    @Override
+    public synchronized MutableConvertibleValues<Object> remove(CharSequence key) {
+        String name = key.toString();
+        serializedAttributes.remove(name);
+        modified = true;
+        return super.remove(name);
+    }
+
+    @Override
+    public synchronized MutableConvertibleValues<Object> clear() {
+        serializedAttributes.clear();
+        modified = true;
+        return super.clear();
+    }
+
+    @Override
+    public synchronized Set<String> names() {
+        Set<String> names = new LinkedHashSet<>(serializedAttributes.keySet());
+        names.addAll(super.names());
+        return names;
+    }
+
+    @Override
+    public synchronized Collection<Object> values() {
+        materializeAll();
+        return super.values();
+    }
+
+    @Override
+    public synchronized <T> Optional<T> get(CharSequence name, ArgumentConversionContext<T> conversionContext) {
+        materialize(name.toString());
+        return super.get(name, conversionContext);
+    }
+
+    /**
+     * Serializes the attributes of the session, reusing the stored form of the attributes that were not modified,
+     * and marks the session as persisted.
+     *
+     * @param serializer Serializes attribute values
+     * @return The serialized attributes
+     */
+    synchronized Map<String, byte[]> serializeAttributes(Function<Object, byte[]> serializer) {
+        for (Map.Entry<CharSequence, Object> entry : attributeMap.entrySet()) {
+            String name = entry.getKey().toString();
+            if (!serializedAttributes.containsKey(name)) {
+                serializedAttributes.put(name, serializer.apply(entry.getValue()));
+            }
+        }
+        modified = false;
+        return new LinkedHashMap<>(serializedAttributes);
+    }
+
+    private void materialize(String name) {
+        byte[] bytes = serializedAttributes.get(name);
+        if (bytes != null && !attributeMap.containsKey(name)) {
+            attributeMap.put(name, deserializer.apply(bytes));
+        }
+    }
+
+    private void materializeAll() {
+        for (String name : serializedAttributes.keySet()) {
+            materialize(name);
+        }
+    }
+}
@@ -0,0 +1,505 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.session.persistent;
+
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.ApplicationEventPublisher;
+import io.micronaut.core.serialize.ObjectSerializer;
+import io.micronaut.core.util.StringUtils;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.TaskScheduler;
+import io.micronaut.session.InMemorySessionStore;
+import io.micronaut.session.Session;
+import io.micronaut.session.SessionConfiguration;
+import io.micronaut.session.SessionIdGenerator;
+import io.micronaut.session.SessionStore;
+import io.micronaut.session.event.SessionCreatedEvent;
+import io.micronaut.session.event.SessionDeletedEvent;
+import io.micronaut.session.event.SessionExpiredEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * <p>A {@link SessionStore} that keeps sessions in a log file on the local disk, so that they survive restarts without
+ * requiring an external service. Enabled by setting {@code micronaut.session.persistent.enabled} to true.</p>
+ *
+ * <p>Only a small index entry per session is held on the heap: the location of the session in the log and the time
+ * it expires. Session attributes remain in the log, and in the operating system's page cache, until a session is
+ * read. Saved sessions are written behind in batches at the configured interval. A session is only rewritten if it
+ * was modified, and attributes that were not modified are written without being serialized again. Sessions that were
+ * merely accessed are recorded with their new last access time only.</p>
+ *
+ * <p>Sessions expire through an index of sessions by the second in which they expire, which is checked at each
+ * write-behind interval.</p>
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+@Singleton
+@Replaces(InMemorySessionStore.class)
+@Requires(property = PersistentSessionStoreConfiguration.PREFIX + ".enabled", value = StringUtils.TRUE)
+public class PersistentSessionStore implements SessionStore<PersistentSession>, Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PersistentSessionStore.class);
+
+    private static final byte TYPE_OBJECT = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_INTEGER = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_BOOLEAN = 4;
+    private static final byte TYPE_DOUBLE = 5;
+
+    private final SessionIdGenerator sessionIdGenerator;
+    private final SessionConfiguration sessionConfiguration;
+    private final PersistentSessionStoreConfiguration configuration;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectSerializer serializer = ObjectSerializer.JDK;
+    private final SessionLog log;
+    private final Map<String, IndexEntry> index = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<Long, Set<String>> expiryIndex = new ConcurrentSkipListMap<>();
+    private final Map<String, PersistentSession> pendingSaves = new ConcurrentHashMap<>();
+    private final Set<String> pendingTouches = ConcurrentHashMap.newKeySet();
+    private final Set<String> pendingDeletes = ConcurrentHashMap.newKeySet();
+    private final ReadWriteLock logLock = new ReentrantReadWriteLock();
+    private final ScheduledFuture<?> writeBehindTask;
+    private long obsoleteBytes;
+    private boolean closed;
+
+    /**
+     * @param sessionIdGenerator   The session id generator
+     * @param sessionConfiguration The sessions configuration
+     * @param configuration        The persistent session store configuration
+     * @param eventPublisher       The application event publisher
+     * @param taskScheduler        The scheduler that runs the write-behind task
+     * @throws IOException If the session log cannot be opened
+     */
+    public PersistentSessionStore(
+            SessionIdGenerator sessionIdGenerator,
+            SessionConfiguration sessionConfiguration,
+            PersistentSessionStoreConfiguration configuration,
+            ApplicationEventPublisher eventPublisher,
+            @Named(TaskExecutors.SCHEDULED) TaskScheduler taskScheduler) throws IOException {
+        this.sessionIdGenerator = sessionIdGenerator;
+        this.sessionConfiguration = sessionConfiguration;
+        this.configuration = configuration;
+        this.eventPublisher = eventPublisher;
+        this.log = new SessionLog(configuration.getPath(), configuration.isSync());
+        recover();
+        Duration interval = configuration.getWriteBehindInterval();
+        this.writeBehindTask = taskScheduler.scheduleWithFixedDelay(interval, interval, this::flush);
+    }
+
+    @Override
+    public PersistentSession newSession() {
+        return new PersistentSession(sessionIdGenerator.generateId(), sessionConfiguration.getMaxInactiveInterval(), this::deserialize);
+    }
+
+    @Override
+    public CompletableFuture<Optional<PersistentSession>> findSession(String id) {
+        IndexEntry entry = index.get(id);
+        long now = System.currentTimeMillis();
+        if (entry == null || entry.isExpired(now)) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        PersistentSession session = pendingSaves.get(id);
+        if (session == null) {
+            session = load(id);
+            if (session == null) {
+                return CompletableFuture.completedFuture(Optional.empty());
+            }
+            pendingTouches.add(id);
+        }
+        session.setLastAccessedTime(Instant.ofEpochMilli(now));
+        touch(id, entry, now);
+        return CompletableFuture.completedFuture(Optional.of(session));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteSession(String id) {
+        PersistentSession session = pendingSaves.containsKey(id) ? pendingSaves.get(id) : load(id);
+        IndexEntry entry = index.remove(id);
+        if (entry != null) {
+            pendingSaves.remove(id);
+            removeFromExpiryIndex(id, entry.expirySecond);
+            pendingDeletes.add(id);
+            if (session != null) {
+                eventPublisher.publishEvent(new SessionDeletedEvent(session));
+            }
+        }
+        return CompletableFuture.completedFuture(true);
+    }
+
+    @Override
+    public CompletableFuture<PersistentSession> save(PersistentSession session) {
+        if (session == null) {
+            throw new IllegalArgumentException("Session cannot be null");
+        }
+        String id = session.getId();
+        boolean created = session.isNew();
+        session.setNew(false);
+        long now = System.currentTimeMillis();
+        IndexEntry entry = index.computeIfAbsent(id, key -> new IndexEntry());
+        if (!created && !session.isModified() && entry.length > 0) {
+            // only the last access time of the session needs to be written
+            pendingTouches.add(id);
+        } else {
+            entry.maxInactiveInterval = maxInactiveMillis(session);
+            pendingSaves.put(id, session);
+            pendingDeletes.remove(id);
+        }
+        session.setLastAccessedTime(Instant.ofEpochMilli(now));
+        touch(id, entry, now);
+        if (created) {
+            eventPublisher.publishEvent(new SessionCreatedEvent(session));
+        }
+        return CompletableFuture.completedFuture(session);
+    }
+
+    /**
+     * Writes the sessions saved, accessed and deleted since the last write to the session log and expires the
+     * sessions that have been inactive for longer than their max inactive interval.
+     */
+    public synchronized void flush() {
+        if (closed) {
+            return;
+        }
+        try {
+            expireSessions(System.currentTimeMillis());
+            writeBehind();
+            if (obsoleteBytes > 0 && obsoleteBytes >= log.size() * configuration.getCompactionThreshold()) {
+                compact();
+            }
+        } catch (Exception e) {
+            if (LOG.isErrorEnabled()) {
+                LOG.error("Error writing sessions to the session log: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Writes pending changes to the session log and closes it.
+     *
+     * @throws IOException If the session log cannot be closed
+     */
+    @PreDestroy
+    @Override
+    public synchronized void close() throws IOException {
+        if (!closed) {
+            writeBehindTask.cancel(false);
+            flush();
+            closed = true;
+            log.close();
+        }
+    }
+
+    private void writeBehind() throws IOException {
+        if (pendingSaves.isEmpty() && pendingTouches.isEmpty() && pendingDeletes.isEmpty()) {
+            return;
+        }
+        ByteArrayOutputStream batch = new ByteArrayOutputStream();
+        List<PersistentSession> saved = new ArrayList<>(pendingSaves.size());
+        List<long[]> locations = new ArrayList<>(pendingSaves.size());
+        for (PersistentSession session : pendingSaves.values()) {
+            byte[] record = encode(session, session.getLastAccessedTime().toEpochMilli());
+            saved.add(session);
+            locations.add(new long[] {batch.size(), record.length});
+            batch.write(record);
+        }
+        for (Iterator<String> i = pendingTouches.iterator(); i.hasNext();) {
+            String id = i.next();
+            i.remove();
+            IndexEntry entry = index.get(id);
+            if (entry != null && !pendingSaves.containsKey(id)) {
+                byte[] record = SessionLog.encodeTouch(id, entry.lastAccessTime);
+                batch.write(record);
+                obsoleteBytes += record.length;
+            }
+        }
+        for (Iterator<String> i = pendingDeletes.iterator(); i.hasNext();) {
+            String id = i.next();
+            i.remove();
+            byte[] record = SessionLog.encodeDelete(id);
+            batch.write(record);
+            obsoleteBytes += record.length;
+        }
+
+        long offset = log.append(batch.toByteArray());
+        for (int i = 0; i < saved.size(); i++) {
+            PersistentSession session = saved.get(i);
+            String id = session.getId();
+            IndexEntry entry = index.get(id);
+            if (entry != null) {
+                if (entry.length > 0) {
+                    obsoleteBytes += entry.length;
+                }
+                entry.offset = offset + locations.get(i)[0];
+                entry.length = (int) locations.get(i)[1];
+            } else {
+                // deleted while being written
+                obsoleteBytes += locations.get(i)[1];
+            }
+            // the session stays pending if it was saved again while being written
+            if (!session.isModified()) {
+                pendingSaves.remove(id, session);
+            }
+        }
+    }
+
+    private void expireSessions(long now) {
+        long second = now / 1000;
+        ConcurrentNavigableMap<Long, Set<String>> expired = expiryIndex.headMap(second, true);
+        Map.Entry<Long, Set<String>> bucket = expired.pollFirstEntry();
+        while (bucket != null) {
+            for (String id : bucket.getValue()) {
+                IndexEntry entry = index.get(id);
+                if (entry != null && entry.isExpired(now)) {
+                    PersistentSession session = pendingSaves.containsKey(id) ? pendingSaves.get(id) : load(id);
+                    if (index.remove(id, entry)) {
+                        pendingSaves.remove(id);
+                        pendingDeletes.add(id);
+                        if (session != null) {
+                            eventPublisher.publishEvent(new SessionExpiredEvent(session));
+                        }
+                    }
+                }
+            }
+            bucket = expired.pollFirstEntry();
+        }
+    }
+
+    private void compact() throws IOException {
+        logLock.writeLock().lock();
+        try {
+            List<IndexEntry> entries = new ArrayList<>(index.size());
+            List<byte[]> records = new ArrayList<>(index.size());
+            for (Map.Entry<String, IndexEntry> e : index.entrySet()) {
+                IndexEntry entry = e.getValue();
+                if (entry.length > 0) {
+                    SessionLog.Record record = log.read(entry.offset, entry.length);
+                    records.add(SessionLog.encodeSave(
+                            record.id,
+                            record.creationTime,
+                            entry.lastAccessTime,
+                            record.maxInactiveInterval,
+                            record.attributes));
+                    entries.add(entry);
+                }
+            }
+            long[] offsets = log.rewrite(records);
+            for (int i = 0; i < offsets.length; i++) {
+                IndexEntry entry = entries.get(i);
+                entry.offset = offsets[i];
+                entry.length = records.get(i).length;
+            }
+            obsoleteBytes = 0;
+        } finally {
+            logLock.writeLock().unlock();
+        }
+    }
+
+    private void recover() throws IOException {
+        long now = System.currentTimeMillis();
+        log.replay((offset, length, record) -> {
+            switch (record.type) {
+                case SessionLog.SAVE:
+                    IndexEntry entry = new IndexEntry();
+                    entry.offset = offset;
+                    entry.length = length;
+                    entry.lastAccessTime = record.lastAccessTime;
+                    entry.maxInactiveInterval = record.maxInactiveInterval;
+                    IndexEntry previous = index.put(record.id, entry);
+                    if (previous != null) {
+                        obsoleteBytes += previous.length;
+                    }
+                    break;
+                case SessionLog.TOUCH:
+                    IndexEntry touched = index.get(record.id);
+                    if (touched != null) {
+                        touched.lastAccessTime = Math.max(touched.lastAccessTime, record.lastAccessTime);
+                    }
+                    obsoleteBytes += length;
+                    break;
+                default:
+                    IndexEntry deleted = index.remove(record.id);
+                    if (deleted != null) {
+                        obsoleteBytes += deleted.length;
+                    }
+                    obsoleteBytes += length;
+            }
+        });
+        for (Map.Entry<String, IndexEntry> e : index.entrySet()) {
+            IndexEntry entry = e.getValue();
+            entry.expirySecond = -1;
+            touch(e.getKey(), entry, entry.lastAccessTime);
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Recovered {} sessions from the session log in {}ms", index.size(), System.currentTimeMillis() - now);
+        }
+    }
+
+    private PersistentSession load(String id) {
+        logLock.readLock().lock();
+        try {
+            IndexEntry entry = index.get(id);
+            if (entry == null || entry.length == 0) {
+                return null;
+            }
+            SessionLog.Record record = log.read(entry.offset, entry.length);
+            return new PersistentSession(
+                    id,
+                    Instant.ofEpochMilli(record.creationTime),
+                    Instant.ofEpochMilli(entry.lastAccessTime),
+                    record.maxInactiveInterval < 0 ? Duration.ofMillis(-1) : Duration.ofMillis(record.maxInactiveInterval),
+                    record.attributes,
+                    this::deserialize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading session [" + id + "] from the session log: " + e.getMessage(), e);
+        } finally {
+            logLock.readLock().unlock();
+        }
+    }
+
+    private void touch(String id, IndexEntry entry, long now) {
+        entry.lastAccessTime = now;
+        long expirySecond = entry.maxInactiveInterval < 0 ? -1 : (now + entry.maxInactiveInterval) / 1000 + 1;
+        if (expirySecond != entry.expirySecond) {
+            removeFromExpiryIndex(id, entry.expirySecond);
+            entry.expirySecond = expirySecond;
+            if (expirySecond > -1) {
+                expiryIndex.computeIfAbsent(expirySecond, second -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+    }
+
+    private void removeFromExpiryIndex(String id, long expirySecond) {
+        if (expirySecond > -1) {
+            expiryIndex.computeIfPresent(expirySecond, (second, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private byte[] encode(PersistentSession session, long lastAccessTime) {
+        return SessionLog.encodeSave(
+                session.getId(),
+                session.getCreationTime().toEpochMilli(),
+                lastAccessTime,
+                maxInactiveMillis(session),
+                session.serializeAttributes(this::serialize));
+    }
+
+    private long maxInactiveMillis(Session session) {
+        Duration maxInactiveInterval = session.getMaxInactiveInterval();
+        return maxInactiveInterval == null || maxInactiveInterval.isNegative() ? -1 : maxInactiveInterval.toMillis();
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(bytes);
+            if (value instanceof String) {
+                output.writeByte(TYPE_STRING);
+                output.write(((String) value).getBytes(StandardCharsets.UTF_8));
+            } else if (value instanceof Integer) {
+                output.writeByte(TYPE_INTEGER);
+                output.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                output.writeByte(TYPE_LONG);
+                output.writeLong((Long) value);
+            } else if (value instanceof Boolean) {
+                output.writeByte(TYPE_BOOLEAN);
+                output.writeBoolean((Boolean) value);
+            } else if (value instanceof Double) {
+                output.writeByte(TYPE_DOUBLE);
+                output.writeDouble((Double) value);
+            } else {
+                output.writeByte(TYPE_OBJECT);
+                serializer.serialize(value, output);
+            }
+            output.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Object deserialize(byte[] bytes) {
+        try {
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes));
+            switch (input.readByte()) {
+                case TYPE_STRING:
+                    return new String(bytes, 1, bytes.length - 1, StandardCharsets.UTF_8);
+                case TYPE_INTEGER:
+                    return input.readInt();
+                case TYPE_LONG:
+                    return input.readLong();
+                case TYPE_BOOLEAN:
+                    return input.readBoolean();
+                case TYPE_DOUBLE:
+                    return input.readDouble();
+                default:
+                    return serializer.deserialize(input, Object.class).orElse(null);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The location of a session in the session log and the time it expires.
+     */
+    private static final class IndexEntry {
+        private volatile long offset;
+        private volatile int length;
+        private volatile long lastAccessTime;
+        private volatile long maxInactiveInterval;
+        private volatile long expirySecond = -1;
+
+        private boolean isExpired(long now) {
+            return maxInactiveInterval >= 0 && now - lastAccessTime >= maxInactiveInterval;
+        }
+    }
+}
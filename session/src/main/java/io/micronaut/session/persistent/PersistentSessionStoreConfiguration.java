@@ -0,0 +1,145 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.session.persistent;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.util.Toggleable;
+import io.micronaut.session.SessionSettings;
+
+import java.io.File;
+import java.time.Duration;
+
+/**
+ * Configuration for the {@link PersistentSessionStore}.
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+@ConfigurationProperties(PersistentSessionStoreConfiguration.PREFIX)
+public class PersistentSessionStoreConfiguration implements Toggleable {
+
+    /**
+     * The prefix to use for the persistent session store configuration.
+     */
+    public static final String PREFIX = SessionSettings.PREFIX + ".persistent";
+
+    /**
+     * The default write-behind interval in seconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final int DEFAULT_WRITE_BEHIND_INTERVAL_SECONDS = 1;
+
+    /**
+     * The default ratio of obsolete bytes in the session log that triggers a compaction.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final double DEFAULT_COMPACTION_THRESHOLD = 0.5;
+
+    private boolean enabled;
+    private File path = new File(System.getProperty("java.io.tmpdir"), "micronaut-sessions");
+    private Duration writeBehindInterval = Duration.ofSeconds(DEFAULT_WRITE_BEHIND_INTERVAL_SECONDS);
+    private boolean sync;
+    private double compactionThreshold = DEFAULT_COMPACTION_THRESHOLD;
+
+    /**
+     * @return Whether sessions are stored in the persistent session store
+     */
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether sessions are stored in the persistent session store. Default value (false).
+     *
+     * @param enabled True if the persistent session store should be used
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return The directory that holds the session log
+     */
+    public File getPath() {
+        return path;
+    }
+
+    /**
+     * Sets the directory that holds the session log. Default value (a micronaut-sessions directory in the temporary
+     * directory).
+     *
+     * @param path The directory
+     */
+    public void setPath(File path) {
+        if (path != null) {
+            this.path = path;
+        }
+    }
+
+    /**
+     * @return The interval at which modified sessions are written to the session log
+     */
+    public Duration getWriteBehindInterval() {
+        return writeBehindInterval;
+    }
+
+    /**
+     * Sets the interval at which modified sessions are written to the session log. Sessions saved within the
+     * interval are written in a single batch. Default value ({@value #DEFAULT_WRITE_BEHIND_INTERVAL_SECONDS} second).
+     *
+     * @param writeBehindInterval The write-behind interval
+     */
+    public void setWriteBehindInterval(Duration writeBehindInterval) {
+        if (writeBehindInterval != null) {
+            this.writeBehindInterval = writeBehindInterval;
+        }
+    }
+
+    /**
+     * @return Whether each batch is forced to the storage device before the write completes
+     */
+    public boolean isSync() {
+        return sync;
+    }
+
+    /**
+     * Sets whether each batch is forced to the storage device before the write completes. Default value (false).
+     *
+     * @param sync True if writes should be synced
+     */
+    public void setSync(boolean sync) {
+        this.sync = sync;
+    }
+
+    /**
+     * @return The ratio of obsolete bytes in the session log that triggers a compaction
+     */
+    public double getCompactionThreshold() {
+        return compactionThreshold;
+    }
+
+    /**
+     * Sets the ratio of obsolete bytes in the session log that triggers a compaction. Default value
+     * ({@value #DEFAULT_COMPACTION_THRESHOLD}).
+     *
+     * @param compactionThreshold The compaction threshold
+     */
+    public void setCompactionThreshold(double compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+    }
+}
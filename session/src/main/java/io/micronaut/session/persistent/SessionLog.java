@@ -0,0 +1,329 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.session.persistent;
+
+import io.micronaut.core.annotation.Internal;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>An append-only log of session records stored in a single file.</p>
+ *
+ * <p>Each record is prefixed with its length. A record either holds the full state of a session, the new last access
+ * time of a session or the deletion of a session. The current state is recovered by replaying the log, and obsolete
+ * records are removed by rewriting the log with the current records only.</p>
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+@Internal
+final class SessionLog implements Closeable {
+
+    static final byte SAVE = 'S';
+    static final byte TOUCH = 'T';
+    static final byte DELETE = 'D';
+
+    private static final String FILE_NAME = "sessions.log";
+    private static final String COMPACTION_FILE_NAME = "sessions.log.compact";
+
+    private final Path file;
+    private final Path compactionFile;
+    private final boolean sync;
+    private FileChannel channel;
+    private long size;
+
+    /**
+     * @param directory The directory of the log
+     * @param sync      Whether appended records are forced to the storage device
+     * @throws IOException If the log cannot be opened
+     */
+    SessionLog(File directory, boolean sync) throws IOException {
+        Path path = directory.toPath();
+        Files.createDirectories(path);
+        this.file = path.resolve(FILE_NAME);
+        this.compactionFile = path.resolve(COMPACTION_FILE_NAME);
+        this.sync = sync;
+        this.channel = open(file);
+        this.size = channel.size();
+    }
+
+    /**
+     * @return The size of the log in bytes
+     */
+    long size() {
+        return size;
+    }
+
+    /**
+     * Replays the records of the log. A trailing record that was only partially written is discarded.
+     *
+     * @param visitor Receives the offset, length and content of each record
+     * @throws IOException If the log cannot be read
+     */
+    void replay(RecordVisitor visitor) throws IOException {
+        long position = 0;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file.toFile())))) {
+            while (position + Integer.BYTES <= size) {
+                int length = input.readInt();
+                if (length <= 0 || position + Integer.BYTES + length > size) {
+                    break;
+                }
+                byte[] record = new byte[length];
+                input.readFully(record);
+                visitor.visit(position, Integer.BYTES + length, decode(record));
+                position += Integer.BYTES + length;
+            }
+        } catch (EOFException e) {
+            // the remainder is discarded below
+        }
+        if (position < size) {
+            channel.truncate(position);
+            size = position;
+        }
+    }
+
+    /**
+     * Appends a batch of records to the log.
+     *
+     * @param batch The encoded records
+     * @return The offset of the first record of the batch
+     * @throws IOException If the batch cannot be written
+     */
+    long append(byte[] batch) throws IOException {
+        long offset = size;
+        write(channel, ByteBuffer.wrap(batch), offset);
+        if (sync) {
+            channel.force(false);
+        }
+        size += batch.length;
+        return offset;
+    }
+
+    /**
+     * Reads a record.
+     *
+     * @param offset The offset of the record
+     * @param length The length of the record
+     * @return The record
+     * @throws IOException If the record cannot be read
+     */
+    Record read(long offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new EOFException("Session record at offset " + offset + " exceeds the session log");
+            }
+        }
+        byte[] bytes = buffer.array();
+        return decode(bytes, Integer.BYTES, length - Integer.BYTES);
+    }
+
+    /**
+     * Replaces the content of the log with the given records.
+     *
+     * @param records The encoded records
+     * @return The offsets of the records in the new log
+     * @throws IOException If the log cannot be rewritten
+     */
+    long[] rewrite(List<byte[]> records) throws IOException {
+        long[] offsets = new long[records.size()];
+        long position = 0;
+        try (FileChannel compacted = FileChannel.open(compactionFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (int i = 0; i < offsets.length; i++) {
+                byte[] record = records.get(i);
+                offsets[i] = position;
+                write(compacted, ByteBuffer.wrap(record), position);
+                position += record.length;
+            }
+            compacted.force(true);
+        }
+        channel.close();
+        Files.move(compactionFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = open(file);
+        size = position;
+        return offsets;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Encodes a record holding the full state of a session.
+     *
+     * @param id                  The session id
+     * @param creationTime        The creation time in milliseconds
+     * @param lastAccessTime      The last access time in milliseconds
+     * @param maxInactiveInterval The max inactive interval in milliseconds
+     * @param attributes          The serialized attributes
+     * @return The encoded record
+     */
+    static byte[] encodeSave(String id, long creationTime, long lastAccessTime, long maxInactiveInterval, Map<String, byte[]> attributes) {
+        return encode(SAVE, id, output -> {
+            output.writeLong(creationTime);
+            output.writeLong(lastAccessTime);
+            output.writeLong(maxInactiveInterval);
+            output.writeInt(attributes.size());
+            for (Map.Entry<String, byte[]> attribute : attributes.entrySet()) {
+                output.writeUTF(attribute.getKey());
+                output.writeInt(attribute.getValue().length);
+                output.write(attribute.getValue());
+            }
+        });
+    }
+
+    /**
+     * Encodes a record holding the last access time of a session.
+     *
+     * @param id             The session id
+     * @param lastAccessTime The last access time in milliseconds
+     * @return The encoded record
+     */
+    static byte[] encodeTouch(String id, long lastAccessTime) {
+        return encode(TOUCH, id, output -> output.writeLong(lastAccessTime));
+    }
+
+    /**
+     * Encodes a record holding the deletion of a session.
+     *
+     * @param id The session id
+     * @return The encoded record
+     */
+    static byte[] encodeDelete(String id) {
+        return encode(DELETE, id, output -> { });
+    }
+
+    private static byte[] encode(byte type, String id, RecordWriter writer) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(bytes);
+            output.writeInt(0);
+            output.writeByte(type);
+            output.writeUTF(id);
+            writer.write(output);
+            output.flush();
+            byte[] record = bytes.toByteArray();
+            ByteBuffer.wrap(record).putInt(0, record.length - Integer.BYTES);
+            return record;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Record decode(byte[] bytes) throws IOException {
+        return decode(bytes, 0, bytes.length);
+    }
+
+    private static Record decode(byte[] bytes, int offset, int length) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes, offset, length));
+        byte type = input.readByte();
+        String id = input.readUTF();
+        switch (type) {
+            case SAVE:
+                long creationTime = input.readLong();
+                long lastAccessTime = input.readLong();
+                long maxInactiveInterval = input.readLong();
+                int count = input.readInt();
+                Map<String, byte[]> attributes = new LinkedHashMap<>(count);
+                for (int i = 0; i < count; i++) {
+                    String name = input.readUTF();
+                    byte[] value = new byte[input.readInt()];
+                    input.readFully(value);
+                    attributes.put(name, value);
+                }
+                return new Record(type, id, creationTime, lastAccessTime, maxInactiveInterval, attributes);
+            case TOUCH:
+                return new Record(type, id, 0, input.readLong(), 0, null);
+            case DELETE:
+                return new Record(type, id, 0, 0, 0, null);
+            default:
+                throw new IOException("Unknown session record type: " + type);
+        }
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    /**
+     * A decoded record.
+     */
+    static final class Record {
+        final byte type;
+        final String id;
+        final long creationTime;
+        final long lastAccessTime;
+        final long maxInactiveInterval;
+        final Map<String, byte[]> attributes;
+
+        private Record(byte type, String id, long creationTime, long lastAccessTime, long maxInactiveInterval, Map<String, byte[]> attributes) {
+            this.type = type;
+            this.id = id;
+            this.creationTime = creationTime;
+            this.lastAccessTime = lastAccessTime;
+            this.maxInactiveInterval = maxInactiveInterval;
+            this.attributes = attributes;
+        }
+    }
+
+    /**
+     * Receives the records of the log during a replay.
+     */
+    @FunctionalInterface
+    interface RecordVisitor {
+        /**
+         * @param offset The offset of the record
+         * @param length The length of the record including its length prefix
+         * @param record The record
+         */
+        void visit(long offset, int length, Record record);
+    }
+
+    /**
+     * Writes the content of a record.
+     */
+    @FunctionalInterface
+    private interface RecordWriter {
+        void write(DataOutputStream output) throws IOException;
+    }
+}
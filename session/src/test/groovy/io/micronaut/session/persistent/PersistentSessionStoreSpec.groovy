@@ -0,0 +1,248 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.micronaut.session.persistent
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.context.event.ApplicationEventListener
+import io.micronaut.session.Session
+import io.micronaut.session.SessionStore
+import io.micronaut.session.event.AbstractSessionEvent
+import io.micronaut.session.event.SessionCreatedEvent
+import io.micronaut.session.event.SessionDeletedEvent
+import io.micronaut.session.event.SessionExpiredEvent
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import javax.inject.Singleton
+import java.nio.file.Files
+import java.time.Duration
+
+class PersistentSessionStoreSpec extends Specification {
+
+    File directory = Files.createTempDirectory('sessions').toFile()
+
+    void cleanup() {
+        directory.deleteDir()
+    }
+
+    void "test the persistent session store replaces the in-memory session store"() {
+        given:
+        ApplicationContext context = run()
+
+        expect:
+        context.getBean(SessionStore) instanceof PersistentSessionStore
+
+        cleanup:
+        context.close()
+    }
+
+    void "test sessions are saved and found"() {
+        given:
+        ApplicationContext context = run()
+        PersistentSessionStore store = context.getBean(PersistentSessionStore)
+        TestListener listener = context.getBean(TestListener)
+        PersistentSession session = store.newSession()
+        session.put('username', 'fred')
+
+        when:
+        store.save(session).get()
+
+        then:
+        listener.events.size() == 1
+        listener.events[0] instanceof SessionCreatedEvent
+        store.findSession(session.id).get().get().get('username', String).get() == 'fred'
+
+        when:
+        store.flush()
+        Session found = store.findSession(session.id).get().get()
+
+        then:
+        found.get('username', String).get() == 'fred'
+
+        cleanup:
+        context.close()
+    }
+
+    void "test sessions survive a restart"() {
+        given:
+        ApplicationContext context = run()
+        PersistentSessionStore store = context.getBean(PersistentSessionStore)
+        PersistentSession session = store.newSession()
+        session.put('string', 'fred')
+        session.put('integer', 10)
+        session.put('long', 20L)
+        session.put('boolean', true)
+        session.put('double', 1.5d)
+        session.put('list', ['a', 'b'])
+        store.save(session).get()
+        context.close()
+
+        when:
+        context = run()
+        store = context.getBean(PersistentSessionStore)
+        Session found = store.findSession(session.id).get().get()
+
+        then:
+        !found.isNew()
+        found.creationTime.toEpochMilli() == session.creationTime.toEpochMilli()
+        found.maxInactiveInterval == session.maxInactiveInterval
+        found.get('string').get() == 'fred'
+        found.get('integer').get() == 10
+        found.get('long').get() == 20L
+        found.get('boolean').get() == true
+        found.get('double').get() == 1.5d
+        found.get('list').get() == ['a', 'b']
+
+        cleanup:
+        context.close()
+    }
+
+    void "test only modified sessions are written again"() {
+        given:
+        ApplicationContext context = run()
+        PersistentSessionStore store = context.getBean(PersistentSessionStore)
+        PersistentSession session = store.newSession()
+        session.put('username', 'fred')
+        store.save(session).get()
+        store.flush()
+        File log = new File(directory, 'sessions.log')
+        long saved = log.length()
+
+        when:
+        Session found = store.findSession(session.id).get().get()
+        store.save(found).get()
+        store.flush()
+
+        then:
+        !found.isModified()
+        log.length() > saved
+        log.length() - saved < saved
+
+        when:
+        found.put('username', 'bob')
+
+        then:
+        found.isModified()
+
+        when:
+        store.save(found).get()
+        store.flush()
+        context.close()
+        context = run()
+
+        then:
+        context.getBean(PersistentSessionStore).findSession(session.id).get().get().get('username', String).get() == 'bob'
+
+        cleanup:
+        context.close()
+    }
+
+    void "test deleted sessions are removed from the log"() {
+        given:
+        ApplicationContext context = run()
+        PersistentSessionStore store = context.getBean(PersistentSessionStore)
+        TestListener listener = context.getBean(TestListener)
+        PersistentSession session = store.newSession()
+        store.save(session).get()
+        store.flush()
+        listener.events.clear()
+
+        when:
+        store.deleteSession(session.id).get()
+
+        then:
+        listener.events.size() == 1
+        listener.events[0] instanceof SessionDeletedEvent
+        !store.findSession(session.id).get().isPresent()
+
+        when:
+        context.close()
+        context = run()
+
+        then:
+        !context.getBean(PersistentSessionStore).findSession(session.id).get().isPresent()
+
+        cleanup:
+        context.close()
+    }
+
+    void "test sessions expire"() {
+        given:
+        ApplicationContext context = run()
+        PersistentSessionStore store = context.getBean(PersistentSessionStore)
+        TestListener listener = context.getBean(TestListener)
+        PersistentSession session = store.newSession()
+        session.setMaxInactiveInterval(Duration.ofMillis(500))
+        store.save(session).get()
+        listener.events.clear()
+
+        expect:
+        new PollingConditions(timeout: 10).eventually {
+            assert listener.events.size() == 1
+            assert listener.events[0] instanceof SessionExpiredEvent
+            assert !store.findSession(session.id).get().isPresent()
+        }
+
+        cleanup:
+        context.close()
+    }
+
+    void "test the log is compacted"() {
+        given:
+        ApplicationContext context = run()
+        PersistentSessionStore store = context.getBean(PersistentSessionStore)
+        PersistentSession session = store.newSession()
+        File log = new File(directory, 'sessions.log')
+
+        when:
+        for (int i = 0; i < 10; i++) {
+            session.put('count', i)
+            store.save(session).get()
+            store.flush()
+        }
+
+        then:
+        log.length() < 3 * SessionLog.encodeSave(session.id, 0, 0, 0, session.serializeAttributes({ [0] as byte[] })).length
+
+        when:
+        context.close()
+        context = run()
+
+        then:
+        context.getBean(PersistentSessionStore).findSession(session.id).get().get().get('count').get() == 9
+
+        cleanup:
+        context.close()
+    }
+
+    private ApplicationContext run() {
+        ApplicationContext.run(
+                'micronaut.session.persistent.enabled': true,
+                'micronaut.session.persistent.path': directory.absolutePath,
+                'micronaut.session.persistent.write-behind-interval': '100ms'
+        )
+    }
+
+    @Singleton
+    static class TestListener implements ApplicationEventListener<AbstractSessionEvent> {
+        List<AbstractSessionEvent> events = []
+
+        @Override
+        void onApplicationEvent(AbstractSessionEvent event) {
+            events.add(event)
+        }
+    }
+}
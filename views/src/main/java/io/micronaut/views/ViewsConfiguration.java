@@ -30,4 +30,11 @@ public interface ViewsConfiguration extends Toggleable {
      * @return The resources folder where views should be searched for.
      */
     String getFolder();
+
+    /**
+     * @return Whether rendered views are streamed to the client in chunks as they are produced rather than buffered
+     */
+    default boolean isStreaming() {
+        return false;
+    }
 }
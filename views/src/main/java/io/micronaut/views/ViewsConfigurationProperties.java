@@ -45,8 +45,16 @@ public class ViewsConfigurationProperties implements ViewsConfiguration {
     @SuppressWarnings("WeakerAccess")
     public static final boolean DEFAULT_ENABLED = true;
 
+    /**
+     * The default streaming value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_STREAMING = false;
+
     private boolean enabled = DEFAULT_ENABLED;
 
+    private boolean streaming = DEFAULT_STREAMING;
+
     private String folder = DEFAULT_FOLDER;
 
     /**
@@ -67,6 +75,11 @@ public class ViewsConfigurationProperties implements ViewsConfiguration {
         return this.folder;
     }
 
+    @Override
+    public boolean isStreaming() {
+        return this.streaming;
+    }
+
     /**
      * Whether view rendering is enabled. Default value ({@value #DEFAULT_ENABLED}).
      *
@@ -76,6 +89,17 @@ public class ViewsConfigurationProperties implements ViewsConfiguration {
         this.enabled = enabled;
     }
 
+    /**
+     * Whether rendered views are written to the client with chunked transfer encoding as they are produced, which
+     * lowers the time to first byte of large pages. Errors that occur once the first chunk has been written close the
+     * connection. Default value ({@value #DEFAULT_STREAMING}).
+     *
+     * @param streaming True if rendered views should be streamed
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
     /**
      * The folder to look for views.
      *
@@ -32,6 +32,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
+import javax.inject.Inject;
 import java.util.Optional;
 
 /**
@@ -48,6 +49,7 @@ public class ViewsFilter implements HttpServerFilter {
 
     protected final Integer order;
     protected final BeanLocator beanLocator;
+    protected final boolean streaming;
 
     /**
      * Constructor.
@@ -57,12 +59,27 @@ public class ViewsFilter implements HttpServerFilter {
      */
     public ViewsFilter(BeanLocator beanLocator,
                        @Nullable ViewsFilterOrderProvider viewsFilterOrderProvider) {
+        this(beanLocator, viewsFilterOrderProvider, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param beanLocator The bean locator
+     * @param viewsFilterOrderProvider The order provider
+     * @param viewsConfiguration The views configuration
+     */
+    @Inject
+    public ViewsFilter(BeanLocator beanLocator,
+                       @Nullable ViewsFilterOrderProvider viewsFilterOrderProvider,
+                       @Nullable ViewsConfiguration viewsConfiguration) {
         this.beanLocator = beanLocator;
         if (viewsFilterOrderProvider != null) {
             this.order = viewsFilterOrderProvider.getOrder();
         } else {
             this.order = 0;
         }
+        this.streaming = viewsConfiguration != null && viewsConfiguration.isStreaming();
     }
 
     @Override
@@ -99,6 +116,10 @@ public class ViewsFilter implements HttpServerFilter {
                                 Object model = resolveModel(body);
                                 Writable writable = viewsRenderer.render(view, model);
                                 response.contentType(type);
+                                if (streaming) {
+                                    // signals the server to write the view chunk by chunk as it is rendered
+                                    response.header(HttpHeaders.TRANSFER_ENCODING, HttpHeaderValues.TRANSFER_ENCODING_CHUNKED);
+                                }
                                 ((MutableHttpResponse<Object>) response).body(writable);
                                 return Flowable.just(response);
                             } else {
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.views;
+
+import io.micronaut.core.io.scan.ClassPathResourceLoader;
+import io.micronaut.core.util.ArgumentUtils;
+
+import javax.annotation.Nonnull;
+import javax.inject.Singleton;
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * <p>A cache of compiled templates shared by the {@link ViewsRenderer} implementations, so that a template is parsed
+ * once rather than on every request.</p>
+ *
+ * <p>Templates are cached per renderer and template path. When {@link ViewsTemplateCacheConfiguration#isWatch()} is
+ * enabled, templates that were loaded from the file system are recompiled once the modification time of the file
+ * changes, which is checked at most once per {@link ViewsTemplateCacheConfiguration#getCheckInterval()}.</p>
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+@Singleton
+public class ViewsTemplateCache {
+
+    private final Map<Class<?>, Map<String, CachedTemplate>> templates = new ConcurrentHashMap<>();
+    private final ClassPathResourceLoader resourceLoader;
+    private final boolean enabled;
+    private final boolean watch;
+    private final long checkIntervalMillis;
+
+    /**
+     * @param configuration  The template cache configuration
+     * @param resourceLoader The resource loader used to locate the template files to watch
+     */
+    public ViewsTemplateCache(ViewsTemplateCacheConfiguration configuration, ClassPathResourceLoader resourceLoader) {
+        this.resourceLoader = resourceLoader;
+        this.enabled = configuration.isEnabled();
+        this.watch = configuration.isWatch();
+        this.checkIntervalMillis = configuration.getCheckInterval().toMillis();
+    }
+
+    /**
+     * Returns the compiled template for the given path, compiling it if it is not cached or has been modified.
+     *
+     * @param renderer The type of the renderer that compiles the template
+     * @param path     The resource path of the template, including the extension
+     * @param compiler The function that compiles the template at the given path
+     * @param <T>      The type of the compiled template
+     * @return The compiled template
+     */
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    public <T> T getTemplate(@Nonnull Class<? extends ViewsRenderer> renderer,
+                             @Nonnull String path,
+                             @Nonnull Function<String, T> compiler) {
+        ArgumentUtils.requireNonNull("path", path);
+        if (!enabled) {
+            return compiler.apply(path);
+        }
+        Map<String, CachedTemplate> rendererTemplates = templates.computeIfAbsent(renderer, type -> new ConcurrentHashMap<>());
+        CachedTemplate cached = rendererTemplates.get(path);
+        if (cached != null && watch && cached.isModified()) {
+            rendererTemplates.remove(path, cached);
+            cached = null;
+        }
+        if (cached == null) {
+            cached = rendererTemplates.computeIfAbsent(path, p -> new CachedTemplate(compiler.apply(p), watchedFile(p)));
+        }
+        return (T) cached.template;
+    }
+
+    /**
+     * @return Whether modified template files are recompiled
+     */
+    public boolean isWatch() {
+        return enabled && watch;
+    }
+
+    /**
+     * Removes the compiled templates for the given path of all renderers.
+     *
+     * @param path The resource path of the template
+     */
+    public void invalidate(@Nonnull String path) {
+        for (Map<String, CachedTemplate> rendererTemplates : templates.values()) {
+            rendererTemplates.remove(path);
+        }
+    }
+
+    /**
+     * Removes all compiled templates.
+     */
+    public void invalidateAll() {
+        templates.clear();
+    }
+
+    private File watchedFile(String path) {
+        if (!watch) {
+            return null;
+        }
+        Optional<URL> url = resourceLoader.getResource(path);
+        if (url.isPresent() && "file".equals(url.get().getProtocol())) {
+            try {
+                return new File(url.get().toURI());
+            } catch (URISyntaxException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A compiled template and the file it was compiled from.
+     */
+    private final class CachedTemplate {
+        private final Object template;
+        private final File file;
+        private final long lastModified;
+        private volatile long lastChecked;
+
+        private CachedTemplate(Object template, File file) {
+            this.template = template;
+            this.file = file;
+            this.lastModified = file != null ? file.lastModified() : 0;
+            this.lastChecked = System.currentTimeMillis();
+        }
+
+        private boolean isModified() {
+            if (file == null) {
+                return false;
+            }
+            long now = System.currentTimeMillis();
+            if (now - lastChecked < checkIntervalMillis) {
+                return false;
+            }
+            lastChecked = now;
+            return file.lastModified() != lastModified;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.views;
+
+import io.micronaut.core.util.Toggleable;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the {@link ViewsTemplateCache} shared by the {@link ViewsRenderer} implementations.
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+public interface ViewsTemplateCacheConfiguration extends Toggleable {
+
+    /**
+     * @return Whether compiled templates loaded from the file system are recompiled once the file is modified
+     */
+    boolean isWatch();
+
+    /**
+     * @return The minimum interval between two checks of the modification time of a template
+     */
+    Duration getCheckInterval();
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.views;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * {@link ConfigurationProperties} implementation of {@link ViewsTemplateCacheConfiguration}.
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+@ConfigurationProperties(ViewsTemplateCacheConfigurationProperties.PREFIX)
+public class ViewsTemplateCacheConfigurationProperties implements ViewsTemplateCacheConfiguration {
+
+    /**
+     * The prefix for the template cache configuration.
+     */
+    public static final String PREFIX = ViewsConfigurationProperties.PREFIX + ".cache";
+
+    /**
+     * The default enable value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_ENABLED = true;
+
+    /**
+     * The default watch value.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final boolean DEFAULT_WATCH = false;
+
+    /**
+     * The default check interval in seconds.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public static final long DEFAULT_CHECK_INTERVAL_SECONDS = 1;
+
+    private boolean enabled = DEFAULT_ENABLED;
+    private boolean watch = DEFAULT_WATCH;
+    private Duration checkInterval = Duration.ofSeconds(DEFAULT_CHECK_INTERVAL_SECONDS);
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public boolean isWatch() {
+        return watch;
+    }
+
+    @Override
+    public Duration getCheckInterval() {
+        return checkInterval;
+    }
+
+    /**
+     * Whether compiled templates are cached. Default value ({@value #DEFAULT_ENABLED}).
+     *
+     * @param enabled True if compiled templates are cached
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Whether cached templates loaded from the file system are recompiled once the file is modified. Intended for
+     * development. Default value ({@value #DEFAULT_WATCH}).
+     *
+     * @param watch True if template files should be watched for modifications
+     */
+    public void setWatch(boolean watch) {
+        this.watch = watch;
+    }
+
+    /**
+     * The minimum interval between two checks of the modification time of a template. Default value
+     * ({@value #DEFAULT_CHECK_INTERVAL_SECONDS} second).
+     *
+     * @param checkInterval The check interval
+     */
+    public void setCheckInterval(Duration checkInterval) {
+        if (checkInterval != null) {
+            this.checkInterval = checkInterval;
+        }
+    }
+}
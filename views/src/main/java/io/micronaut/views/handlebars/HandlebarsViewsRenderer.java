@@ -27,11 +27,16 @@ import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.Produces;
 import io.micronaut.views.ViewsConfiguration;
 import io.micronaut.views.ViewsRenderer;
+import io.micronaut.views.ViewsTemplateCache;
+import io.micronaut.views.ViewsTemplateCacheConfigurationProperties;
 import io.micronaut.views.exceptions.ViewRenderingException;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 /**
  * Renders Views with with Handlebars.java.
@@ -48,6 +53,7 @@ public class HandlebarsViewsRenderer implements ViewsRenderer {
 
     protected final ViewsConfiguration viewsConfiguration;
     protected final ResourceLoader resourceLoader;
+    protected final ViewsTemplateCache templateCache;
     protected HandlebarsViewsRendererConfiguration handlebarsViewsRendererConfiguration;
     protected Handlebars handlebars = new Handlebars();
     protected String folder;
@@ -61,9 +67,27 @@ public class HandlebarsViewsRenderer implements ViewsRenderer {
     public HandlebarsViewsRenderer(ViewsConfiguration viewsConfiguration,
                                    ClassPathResourceLoader resourceLoader,
                                    HandlebarsViewsRendererConfiguration handlebarsViewsRendererConfiguration) {
+        this(viewsConfiguration,
+                resourceLoader,
+                handlebarsViewsRendererConfiguration,
+                new ViewsTemplateCache(new ViewsTemplateCacheConfigurationProperties(), resourceLoader));
+    }
+
+    /**
+     * @param viewsConfiguration                   Views Configuration.
+     * @param resourceLoader                       Resource Loader
+     * @param handlebarsViewsRendererConfiguration Handlebars ViewRenderer Configuration.
+     * @param templateCache                        The cache of compiled templates
+     */
+    @Inject
+    public HandlebarsViewsRenderer(ViewsConfiguration viewsConfiguration,
+                                   ClassPathResourceLoader resourceLoader,
+                                   HandlebarsViewsRendererConfiguration handlebarsViewsRendererConfiguration,
+                                   ViewsTemplateCache templateCache) {
         this.viewsConfiguration = viewsConfiguration;
         this.resourceLoader = resourceLoader;
         this.handlebarsViewsRendererConfiguration = handlebarsViewsRendererConfiguration;
+        this.templateCache = templateCache;
         this.folder = normalizeFolder(viewsConfiguration.getFolder());
     }
 
@@ -73,7 +97,13 @@ public class HandlebarsViewsRenderer implements ViewsRenderer {
         return (writer) -> {
             String location = viewLocation(viewName);
             try {
-                Template template = handlebars.compile(location);
+                Template template = templateCache.getTemplate(getClass(), location + EXTENSION_SEPARATOR + extension(), path -> {
+                    try {
+                        return handlebars.compile(location);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
                 template.apply(data, writer);
             } catch (Throwable e) {
                 throw new ViewRenderingException("Error rendering Handlebars view [" + viewName + "]: " + e.getMessage(), e);
@@ -26,6 +26,8 @@ import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.Produces;
 import io.micronaut.views.ViewsConfiguration;
 import io.micronaut.views.ViewsRenderer;
+import io.micronaut.views.ViewsTemplateCache;
+import io.micronaut.views.ViewsTemplateCacheConfigurationProperties;
 import io.micronaut.views.exceptions.ViewRenderingException;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
@@ -35,6 +37,7 @@ import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.HashMap;
 import java.util.Locale;
@@ -59,6 +62,8 @@ public class ThymeleafViewsRenderer implements ViewsRenderer {
 
     protected final TemplateEngine engine;
 
+    protected final ViewsTemplateCache templateCache;
+
     protected ResourceLoader resourceLoader;
 
     /**
@@ -69,8 +74,29 @@ public class ThymeleafViewsRenderer implements ViewsRenderer {
     public ThymeleafViewsRenderer(ViewsConfiguration viewsConfiguration,
                                   ThymeleafViewsRendererConfiguration thConfiguration,
                                   ClassPathResourceLoader resourceLoader) {
+        this(viewsConfiguration,
+                thConfiguration,
+                resourceLoader,
+                new ViewsTemplateCache(new ViewsTemplateCacheConfigurationProperties(), resourceLoader));
+    }
+
+    /**
+     * Thymeleaf caches parsed templates itself, see {@link ThymeleafViewsRendererConfiguration#getCacheable()}. The
+     * shared template cache is used to evict templates from that cache once their file is modified.
+     *
+     * @param viewsConfiguration Views Configuration
+     * @param thConfiguration    Thymeleaf template renderer configuration
+     * @param resourceLoader     The resource loader
+     * @param templateCache      The cache of compiled templates
+     */
+    @Inject
+    public ThymeleafViewsRenderer(ViewsConfiguration viewsConfiguration,
+                                  ThymeleafViewsRendererConfiguration thConfiguration,
+                                  ClassPathResourceLoader resourceLoader,
+                                  ViewsTemplateCache templateCache) {
         this.templateResolver = initializeTemplateResolver(viewsConfiguration, thConfiguration);
         this.resourceLoader = resourceLoader;
+        this.templateCache = templateCache;
         this.engine = initializeTemplateEngine();
     }
 
@@ -80,6 +106,13 @@ public class ThymeleafViewsRenderer implements ViewsRenderer {
         ArgumentUtils.requireNonNull("viewName", viewName);
         return (writer) -> {
             final IContext context = new Context(Locale.US, variables(data));
+            if (templateCache.isWatch()) {
+                // a modified template is "recompiled" by evicting it from the cache of the template engine
+                templateCache.getTemplate(getClass(), viewLocation(viewName), path -> {
+                    engine.clearTemplateCacheFor(viewName);
+                    return viewName;
+                });
+            }
             try {
                 engine.process(viewName, context, writer);
             } catch (TemplateEngineException e) {
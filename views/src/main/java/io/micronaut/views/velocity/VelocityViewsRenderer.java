@@ -18,6 +18,7 @@ package io.micronaut.views.velocity;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
@@ -27,12 +28,16 @@ import java.util.Properties;
 import io.micronaut.context.annotation.Requires;
 import io.micronaut.core.beans.BeanMap;
 import io.micronaut.core.io.Writable;
+import io.micronaut.core.io.scan.ClassPathResourceLoader;
 import io.micronaut.core.util.ArgumentUtils;
 import io.micronaut.http.MediaType;
 import io.micronaut.http.annotation.Produces;
 import io.micronaut.views.ViewsConfiguration;
 import io.micronaut.views.ViewsRenderer;
+import io.micronaut.views.ViewsTemplateCache;
+import io.micronaut.views.ViewsTemplateCacheConfigurationProperties;
 import io.micronaut.views.exceptions.ViewRenderingException;
+import org.apache.velocity.Template;
 import org.apache.velocity.VelocityContext;
 import org.apache.velocity.app.VelocityEngine;
 import org.apache.velocity.exception.MethodInvocationException;
@@ -57,6 +62,7 @@ public class VelocityViewsRenderer implements ViewsRenderer {
     protected final VelocityEngine velocityEngine;
     protected final ViewsConfiguration viewsConfiguration;
     protected final VelocityViewsRendererConfiguration velocityConfiguration;
+    protected final ViewsTemplateCache templateCache;
     protected final String folder;
 
     /**
@@ -65,8 +71,25 @@ public class VelocityViewsRenderer implements ViewsRenderer {
      */
     VelocityViewsRenderer(ViewsConfiguration viewsConfiguration,
                           VelocityViewsRendererConfiguration velocityConfiguration) {
+        this(viewsConfiguration,
+                velocityConfiguration,
+                new ViewsTemplateCache(
+                        new ViewsTemplateCacheConfigurationProperties(),
+                        ClassPathResourceLoader.defaultLoader(VelocityViewsRenderer.class.getClassLoader())));
+    }
+
+    /**
+     * @param viewsConfiguration    Views Configuration
+     * @param velocityConfiguration Velocity Configuration
+     * @param templateCache         The cache of compiled templates
+     */
+    @Inject
+    VelocityViewsRenderer(ViewsConfiguration viewsConfiguration,
+                          VelocityViewsRendererConfiguration velocityConfiguration,
+                          ViewsTemplateCache templateCache) {
         this.viewsConfiguration = viewsConfiguration;
         this.velocityConfiguration = velocityConfiguration;
+        this.templateCache = templateCache;
         this.velocityEngine = initializeVelocityEngine();
         this.folder = normalizeFolder(viewsConfiguration.getFolder());
     }
@@ -79,7 +102,7 @@ public class VelocityViewsRenderer implements ViewsRenderer {
             final VelocityContext velocityContext = new VelocityContext(context);
             String viewName = viewName(view);
             try {
-                velocityEngine.mergeTemplate(viewName, StandardCharsets.UTF_8.name(), velocityContext, writer);
+                template(viewName).merge(velocityContext, writer);
             } catch (ResourceNotFoundException | ParseErrorException | MethodInvocationException e) {
                 throw new ViewRenderingException("Error rendering Velocity view [" + viewName + "]: " + e.getMessage(), e);
             }
@@ -89,7 +112,7 @@ public class VelocityViewsRenderer implements ViewsRenderer {
     @Override
     public boolean exists(@Nonnull String viewName) {
         try {
-            velocityEngine.getTemplate(viewName(viewName));
+            template(viewName(viewName));
         } catch (ResourceNotFoundException | ParseErrorException e) {
             return false;
         }
@@ -103,6 +126,11 @@ public class VelocityViewsRenderer implements ViewsRenderer {
         return new VelocityEngine(p);
     }
 
+    private Template template(String viewName) {
+        return templateCache.getTemplate(getClass(), viewName, path ->
+                velocityEngine.getTemplate(path, StandardCharsets.UTF_8.name()));
+    }
+
     private Map<String, Object> context(@Nullable Object data) {
         if (data == null) {
             return new HashMap<>();
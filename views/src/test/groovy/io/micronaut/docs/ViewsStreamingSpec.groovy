@@ -0,0 +1,66 @@
+package io.micronaut.docs
+
+import io.micronaut.context.ApplicationContext
+import io.micronaut.http.HttpResponse
+import io.micronaut.http.HttpStatus
+import io.micronaut.http.client.RxHttpClient
+import io.micronaut.runtime.server.EmbeddedServer
+import spock.lang.AutoCleanup
+import spock.lang.Shared
+import spock.lang.Specification
+
+class ViewsStreamingSpec extends Specification {
+
+    @Shared
+    @AutoCleanup
+    EmbeddedServer embeddedServer = ApplicationContext.run(EmbeddedServer,
+            [
+                    'spec.name': 'velocity',
+                    'micronaut.views.streaming': true,
+                    'micronaut.views.thymeleaf.enabled': false,
+                    'micronaut.views.handlebars.enabled': false,
+            ],
+            "test")
+
+    @Shared
+    @AutoCleanup
+    RxHttpClient client = embeddedServer.getApplicationContext().createBean(RxHttpClient, embeddedServer.getURL())
+
+    def "rendered views are written with chunked transfer encoding"() {
+        when:
+        HttpURLConnection connection = (HttpURLConnection) new URL(embeddedServer.getURL(), '/velocity').openConnection()
+
+        then:
+        connection.responseCode == 200
+        connection.getHeaderField('Transfer-Encoding') == 'chunked'
+        connection.getHeaderField('Content-Length') == null
+        connection.getHeaderField('Content-Type').startsWith('text/html')
+        connection.inputStream.text.contains("<h1>username: <span>sdelamo</span></h1>")
+
+        cleanup:
+        connection?.disconnect()
+    }
+
+    def "invoking /velocity/#path streams the rendered view"() {
+        when:
+        HttpResponse<String> rsp = client.toBlocking().exchange("/velocity/$path", String)
+
+        then:
+        rsp.status() == HttpStatus.OK
+        rsp.body().contains("<h1>username: <span>sdelamo</span></h1>")
+
+        where:
+        path << ['pogo', 'reactive', 'modelAndView']
+    }
+
+    def "views that do not exist are not streamed"() {
+        when:
+        HttpURLConnection connection = (HttpURLConnection) new URL(embeddedServer.getURL(), '/velocity/bogus').openConnection()
+
+        then:
+        connection.responseCode == 404
+
+        cleanup:
+        connection?.disconnect()
+    }
+}
@@ -0,0 +1,82 @@
+package io.micronaut.views
+
+import io.micronaut.core.io.scan.ClassPathResourceLoader
+import io.micronaut.views.velocity.VelocityViewsRenderer
+import spock.lang.Specification
+
+import java.time.Duration
+
+class ViewsTemplateCacheSpec extends Specification {
+
+    void "templates are compiled once per renderer and path"() {
+        given:
+        ViewsTemplateCache cache = new ViewsTemplateCache(new ViewsTemplateCacheConfigurationProperties(), ClassPathResourceLoader.defaultLoader(getClass().classLoader))
+        int compilations = 0
+        def compiler = { String path -> compilations++; "compiled $path".toString() }
+
+        when:
+        def first = cache.getTemplate(VelocityViewsRenderer, 'views/home.vm', compiler)
+        def second = cache.getTemplate(VelocityViewsRenderer, 'views/home.vm', compiler)
+
+        then:
+        first == 'compiled views/home.vm'
+        first.is(second)
+        compilations == 1
+
+        when:
+        cache.getTemplate(ViewsRenderer, 'views/home.vm', compiler)
+
+        then:"another renderer compiles its own template"
+        compilations == 2
+
+        when:
+        cache.invalidate('views/home.vm')
+        cache.getTemplate(VelocityViewsRenderer, 'views/home.vm', compiler)
+        cache.getTemplate(ViewsRenderer, 'views/home.vm', compiler)
+
+        then:
+        compilations == 4
+    }
+
+    void "templates are compiled on every call when the cache is disabled"() {
+        given:
+        ViewsTemplateCacheConfigurationProperties configuration = new ViewsTemplateCacheConfigurationProperties()
+        configuration.enabled = false
+        ViewsTemplateCache cache = new ViewsTemplateCache(configuration, ClassPathResourceLoader.defaultLoader(getClass().classLoader))
+        int compilations = 0
+
+        when:
+        3.times { cache.getTemplate(VelocityViewsRenderer, 'views/home.vm', { String path -> compilations++ }) }
+
+        then:
+        compilations == 3
+    }
+
+    void "modified template files are recompiled when watching"() {
+        given:
+        File folder = File.createTempDir()
+        File template = new File(folder, 'home.vm')
+        template.text = 'one'
+        ViewsTemplateCacheConfigurationProperties configuration = new ViewsTemplateCacheConfigurationProperties()
+        configuration.watch = true
+        configuration.checkInterval = Duration.ZERO
+        URLClassLoader classLoader = new URLClassLoader([folder.toURI().toURL()] as URL[], (ClassLoader) null)
+        ViewsTemplateCache cache = new ViewsTemplateCache(configuration, ClassPathResourceLoader.defaultLoader(classLoader))
+        def compiler = { String path -> template.text }
+
+        expect:
+        cache.getTemplate(VelocityViewsRenderer, 'home.vm', compiler) == 'one'
+
+        when:
+        template.text = 'two'
+        template.lastModified = template.lastModified() + 2000
+
+        then:
+        cache.getTemplate(VelocityViewsRenderer, 'home.vm', compiler) == 'two'
+        cache.getTemplate(VelocityViewsRenderer, 'home.vm', { String path -> 'three' }) == 'two'
+
+        cleanup:
+        classLoader?.close()
+        folder?.deleteDir()
+    }
+}
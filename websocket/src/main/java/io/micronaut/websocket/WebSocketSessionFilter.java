@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017-2018 original authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.micronaut.websocket;
+
+import io.micronaut.core.convert.value.ConvertibleValues;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * <p>A filter that selects the sessions whose URI variable or attribute has a given value. It can be passed anywhere
+ * a broadcast filter is accepted, and combined with further conditions via {@link #and(Predicate)}:</p>
+ *
+ * <pre class="code">
+ * broadcaster.broadcastSync(message, WebSocketSessionFilter.uriVariable("topic", topic).and(s -&gt; s != session));
+ * </pre>
+ *
+ * <p>Unlike an arbitrary {@link Predicate}, a broadcaster that maintains groups of sessions per URI variable and
+ * attribute value can resolve the matching sessions from its index rather than testing every open session.</p>
+ *
+ * @author graemerocher
+ * @since 1.0
+ */
+public final class WebSocketSessionFilter implements Predicate<WebSocketSession> {
+
+    private final boolean uriVariable;
+    private final String name;
+    private final Object value;
+    private final Predicate<WebSocketSession> condition;
+
+    private WebSocketSessionFilter(boolean uriVariable, String name, Object value, Predicate<WebSocketSession> condition) {
+        this.uriVariable = uriVariable;
+        this.name = name;
+        this.value = value;
+        this.condition = condition;
+    }
+
+    /**
+     * Selects the sessions opened with the given URI variable value. URI variables are compared as strings.
+     *
+     * @param name  The name of the URI variable
+     * @param value The value of the URI variable
+     * @return The filter
+     */
+    public static WebSocketSessionFilter uriVariable(String name, Object value) {
+        Objects.requireNonNull(name, "Argument [name] cannot be null");
+        Objects.requireNonNull(value, "Argument [value] cannot be null");
+        return new WebSocketSessionFilter(true, name, value.toString(), null);
+    }
+
+    /**
+     * Selects the sessions with an attribute equal to the given value.
+     *
+     * @param name  The name of the attribute
+     * @param value The value of the attribute
+     * @return The filter
+     */
+    public static WebSocketSessionFilter attribute(String name, Object value) {
+        Objects.requireNonNull(name, "Argument [name] cannot be null");
+        Objects.requireNonNull(value, "Argument [value] cannot be null");
+        return new WebSocketSessionFilter(false, name, value, null);
+    }
+
+    /**
+     * @return True if sessions are selected by URI variable, false if they are selected by attribute
+     */
+    public boolean isUriVariable() {
+        return uriVariable;
+    }
+
+    /**
+     * @return The name of the URI variable or attribute
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The value of the URI variable or attribute
+     */
+    public Object getValue() {
+        return value;
+    }
+
+    /**
+     * @return The additional condition the sessions of the group must satisfy, if any
+     */
+    public Optional<Predicate<WebSocketSession>> getCondition() {
+        return Optional.ofNullable(condition);
+    }
+
+    @Override
+    public boolean test(WebSocketSession session) {
+        ConvertibleValues<Object> values = uriVariable ? session.getUriVariables() : session.getAttributes();
+        Optional<?> actual = uriVariable ? values.get(name, String.class) : values.get(name, Object.class);
+        return actual.isPresent() && actual.get().equals(value) && (condition == null || condition.test(session));
+    }
+
+    /**
+     * Narrows the filter with an additional condition. The returned filter selects the same group of sessions.
+     *
+     * @param other The additional condition
+     * @return The combined filter
+     */
+    @Override
+    public WebSocketSessionFilter and(Predicate<? super WebSocketSession> other) {
+        Objects.requireNonNull(other, "Argument [other] cannot be null");
+        Predicate<WebSocketSession> combined = condition == null ? other::test : condition.and(other);
+        return new WebSocketSessionFilter(uriVariable, name, value, combined);
+    }
+}